@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.benchmarks;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import org.eclipse.ditto.client.configuration.AuthenticationConfiguration;
+import org.eclipse.ditto.client.configuration.BasicAuthenticationConfiguration;
+import org.eclipse.ditto.client.configuration.MessagingConfiguration;
+import org.eclipse.ditto.client.configuration.WebSocketMessagingConfiguration;
+import org.eclipse.ditto.client.internal.bus.AdaptableBus;
+import org.eclipse.ditto.client.internal.bus.BusFactory;
+import org.eclipse.ditto.client.messaging.MessagingProvider;
+
+/**
+ * Messaging provider without a connection: emitted messages are passed to a consumer, protocol commands starting
+ * or stopping the consumption of events or messages are acknowledged right away and inbound messages are published
+ * on its bus on the calling thread, so that benchmarks measure the work of the client only.
+ */
+public final class InMemoryMessagingProvider implements MessagingProvider {
+
+    private static final String START_SEND = "START-SEND-";
+    private static final String STOP_SEND = "STOP-SEND-";
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final AdaptableBus adaptableBus;
+    private final MessagingConfiguration messagingConfiguration;
+    private final AuthenticationConfiguration authenticationConfiguration;
+    private volatile Consumer<String> onEmit;
+
+    public InMemoryMessagingProvider() {
+        executor = new DirectExecutorService();
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        adaptableBus = BusFactory.createAdaptableBus(executor, scheduledExecutor);
+        messagingConfiguration = WebSocketMessagingConfiguration.newBuilder()
+                .endpoint("ws://localhost:8080")
+                .build();
+        authenticationConfiguration = BasicAuthenticationConfiguration.newBuilder()
+                .username("benchmark")
+                .password("benchmark")
+                .build();
+        onEmit = message -> {};
+    }
+
+    /**
+     * Sets the consumer of emitted messages other than protocol commands, e.g. to answer commands.
+     *
+     * @param onEmit the consumer.
+     */
+    public void onEmit(final Consumer<String> onEmit) {
+        this.onEmit = onEmit;
+    }
+
+    /**
+     * Publishes a message as if it was received from the back-end.
+     *
+     * @param message the message.
+     */
+    public void receive(final String message) {
+        adaptableBus.publish(message);
+    }
+
+    @Override
+    public CompletionStage<?> initializeAsync() {
+        return CompletableFuture.completedFuture(this);
+    }
+
+    @Override
+    public AuthenticationConfiguration getAuthenticationConfiguration() {
+        return authenticationConfiguration;
+    }
+
+    @Override
+    public MessagingConfiguration getMessagingConfiguration() {
+        return messagingConfiguration;
+    }
+
+    @Override
+    public ExecutorService getExecutorService() {
+        return executor;
+    }
+
+    @Override
+    public AdaptableBus getAdaptableBus() {
+        return adaptableBus;
+    }
+
+    @Override
+    public MessagingProvider registerSubscriptionMessage(final Object key, final String message) {
+        return this;
+    }
+
+    @Override
+    public MessagingProvider unregisterSubscriptionMessage(final Object key) {
+        return this;
+    }
+
+    @Override
+    public void emit(final String message) {
+        if (message.startsWith(START_SEND) || message.startsWith(STOP_SEND)) {
+            final int parametersStart = message.indexOf('?');
+            final String protocolCommand = parametersStart < 0 ? message : message.substring(0, parametersStart);
+            adaptableBus.publish(protocolCommand + ":ACK");
+        } else {
+            onEmit.accept(message);
+        }
+    }
+
+    @Override
+    public void close() {
+        adaptableBus.shutdownExecutors();
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Override
+    public void registerChannelCloser(final Runnable channelCloser) {
+        // no channel to close
+    }
+
+    @Override
+    public void onDittoProtocolError(final Throwable throwable) {
+        // nothing to report
+    }
+
+}
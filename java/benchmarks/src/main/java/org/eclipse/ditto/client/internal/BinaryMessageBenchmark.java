@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.messages.model.Message;
+import org.eclipse.ditto.messages.model.MessageDirection;
+import org.eclipse.ditto.messages.model.MessageHeaders;
+import org.eclipse.ditto.messages.model.MessagesModelFactory;
+import org.eclipse.ditto.messages.model.signals.commands.SendThingMessage;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.eclipse.ditto.protocol.adapter.DittoProtocolAdapter;
+import org.eclipse.ditto.protocol.adapter.ProtocolAdapter;
+import org.eclipse.ditto.things.model.ThingId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the round trip of a live message with an {@code application/octet-stream} payload: encoding it into a
+ * text message with base64 encoded payload and decoding it again, compared to encoding and decoding it as
+ * {@link BinaryMessageFrame}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryMessageBenchmark {
+
+    private static final ThingId THING_ID = ThingId.of("org.eclipse.ditto:benchmark");
+
+    @Param({"1024", "204800"})
+    public int payloadSize;
+
+    private final ProtocolAdapter protocolAdapter = DittoProtocolAdapter.newInstance();
+    private MessageHeaders messageHeaders;
+    private ByteBuffer payload;
+    private Adaptable envelope;
+
+    @Setup
+    public void setUp() {
+        final byte[] payloadBytes = new byte[payloadSize];
+        new Random(42L).nextBytes(payloadBytes);
+        payload = ByteBuffer.wrap(payloadBytes);
+        messageHeaders = MessageHeaders.newBuilder(MessageDirection.TO, THING_ID, "upload")
+                .contentType("application/octet-stream")
+                .correlationId("benchmark")
+                .build();
+        envelope = toAdaptable(MessagesModelFactory.newMessageBuilder(messageHeaders).build());
+    }
+
+    @Benchmark
+    public ByteBuffer textRoundTrip() {
+        final Message<ByteBuffer> message = MessagesModelFactory.<ByteBuffer>newMessageBuilder(messageHeaders)
+                .payload(payload)
+                .rawPayload(payload)
+                .build();
+        final String text = ProtocolFactory.wrapAsJsonifiableAdaptable(toAdaptable(message)).toJsonString();
+        final Adaptable received = ProtocolFactory.jsonifiableAdaptableFromJson(JsonFactory.newObject(text));
+        final SendThingMessage<?> command = (SendThingMessage<?>) protocolAdapter.fromAdaptable(received);
+        return command.getMessage().getRawPayload().orElseThrow(IllegalStateException::new);
+    }
+
+    @Benchmark
+    public ByteBuffer binaryRoundTrip() {
+        final byte[] frame = BinaryMessageFrame.encode(envelope, payload);
+        final Adaptable received = BinaryMessageFrame.decode(frame).orElseThrow(IllegalStateException::new);
+        protocolAdapter.fromAdaptable(received);
+        return BinaryMessageFrame.getBinaryPayload(received).orElseThrow(IllegalStateException::new);
+    }
+
+    private Adaptable toAdaptable(final Message<?> message) {
+        return protocolAdapter.toAdaptable(
+                SendThingMessage.of(THING_ID, message, DittoHeaders.of(message.getHeaders())));
+    }
+
+}
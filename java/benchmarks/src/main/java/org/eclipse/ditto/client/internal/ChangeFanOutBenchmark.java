@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.ditto.client.DittoClient;
+import org.eclipse.ditto.client.DittoClients;
+import org.eclipse.ditto.client.benchmarks.InMemoryMessagingProvider;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks delivering a twin event to the change handlers registered via
+ * {@link org.eclipse.ditto.client.internal.bus.SelectorUtil#registerForChanges}: the event modifies 10 attributes
+ * and each handler is registered for one of them, so that the event fans out to a tenth of the handlers plus one
+ * handler for all thing changes.
+ * <p>
+ * All work runs on the benchmark thread: {@code publishParsedEvent} measures the dispatch of a parsed event,
+ * {@code publishEventString} includes parsing the frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChangeFanOutBenchmark {
+
+    private static final String ATTRIBUTES_MODIFIED =
+            "{\"topic\":\"org.eclipse.ditto/benchmark/things/twin/events/modified\"," +
+                    "\"headers\":{\"correlation-id\":\"benchmark\"},\"path\":\"/attributes\",\"value\":" +
+                    "{\"attr0\":0,\"attr1\":1,\"attr2\":2,\"attr3\":3,\"attr4\":4,\"attr5\":5,\"attr6\":6," +
+                    "\"attr7\":7,\"attr8\":8,\"attr9\":{\"nested\":{\"deep\":true}}},\"revision\":7}";
+
+    @Param({"10", "100", "1000"})
+    public int handlers;
+
+    private InMemoryMessagingProvider messagingProvider;
+    private DittoClient client;
+    private Adaptable attributesModified;
+
+    @Setup
+    public void setUp(final Blackhole blackhole) throws Exception {
+        messagingProvider = new InMemoryMessagingProvider();
+        client = DittoClients.newInstance(messagingProvider).connect().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        final LongAdder delivered = new LongAdder();
+        client.twin().registerForThingChanges("thing", change -> {
+            delivered.increment();
+            blackhole.consume(change);
+        });
+        for (int i = 0; i < handlers; i++) {
+            client.twin().registerForAttributeChanges("attribute" + i, JsonPointer.of("attr" + (i % 10)),
+                    change -> {
+                        delivered.increment();
+                        blackhole.consume(change);
+                    });
+        }
+        client.twin().startConsumption().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        attributesModified = ProtocolFactory.jsonifiableAdaptableFromJson(JsonObject.of(ATTRIBUTES_MODIFIED));
+
+        messagingProvider.getAdaptableBus().publishAdaptable(attributesModified);
+        if (delivered.sum() != handlers + 1) {
+            throw new IllegalStateException("Expected " + (handlers + 1) + " deliveries, got: " + delivered.sum());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.destroy();
+    }
+
+    @Benchmark
+    public void publishParsedEvent() {
+        messagingProvider.getAdaptableBus().publishAdaptable(attributesModified);
+    }
+
+    @Benchmark
+    public void publishEventString() {
+        messagingProvider.receive(ATTRIBUTES_MODIFIED);
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.client.configuration.ExecutorConfiguration;
+import org.eclipse.ditto.client.internal.bus.AdaptableBus;
+import org.eclipse.ditto.client.internal.bus.BusFactory;
+import org.eclipse.ditto.client.internal.bus.Classification;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the throughput of the {@link AdaptableBus} dispatching events to handlers which block, e.g. on I/O,
+ * for each of the {@link ExecutorConfiguration.ExecutorStrategy executor strategies}.
+ * <p>
+ * The benchmark thread plays the part of the thread reading from the websocket: it publishes a batch of events and
+ * waits until all handlers finished. Virtual threads require running the benchmark on Java 21 or above; older
+ * runtimes fall back to the platform pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutorStrategyBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String TWIN_EVENT = "{\"topic\":\"org.eclipse.ditto/thing/things/twin/events/modified\"," +
+            "\"headers\":{},\"path\":\"/attributes/foo\",\"value\":42,\"revision\":7}";
+
+    @Param({"PLATFORM_POOL", "VIRTUAL_THREAD_PER_TASK", "BOUNDED_QUEUE"})
+    public ExecutorConfiguration.ExecutorStrategy strategy;
+
+    @Param({"1"})
+    public long blockingMillis;
+
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduledExecutor;
+    private AdaptableBus adaptableBus;
+    private Adaptable twinEvent;
+    private volatile CountDownLatch handled;
+
+    @Setup
+    public void setUp() {
+        executor = ExecutorFactory.newExecutorService("benchmark", ExecutorConfiguration.newBuilder()
+                .strategy(strategy)
+                .build());
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        adaptableBus = BusFactory.createAdaptableBus(executor, scheduledExecutor);
+        adaptableBus.subscribeForAdaptable(Classification.StreamingType.TWIN_EVENT, adaptable -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(blockingMillis);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handled.countDown();
+        });
+        twinEvent = ProtocolFactory.jsonifiableAdaptableFromJson(JsonObject.of(TWIN_EVENT));
+    }
+
+    @TearDown
+    public void tearDown() {
+        adaptableBus.shutdownExecutors();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void publishToBlockingHandlers() throws InterruptedException {
+        handled = new CountDownLatch(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            adaptableBus.publishAdaptable(twinEvent);
+        }
+        handled.await();
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
+import org.eclipse.ditto.base.model.signals.Signal;
+import org.eclipse.ditto.client.DittoClient;
+import org.eclipse.ditto.client.DittoClients;
+import org.eclipse.ditto.client.benchmarks.InMemoryMessagingProvider;
+import org.eclipse.ditto.client.options.Option;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.things.model.Thing;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.ThingsModelFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the outbound path of commands: creating them by the {@link OutgoingMessageFactory} and serializing
+ * them into Ditto protocol messages by {@link AbstractHandle#signalToJsonString(Signal)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutgoingMessageBenchmark {
+
+    private static final Option<?>[] NO_OPTIONS = new Option<?>[0];
+
+    private final ThingId thingId = ThingId.of("org.eclipse.ditto:benchmark");
+    private final JsonPointer attributePath = JsonPointer.of("location/latitude");
+    private final JsonValue attributeValue = JsonValue.of(47.68);
+    private final JsonObject properties = JsonObject.of("{\"temperature\":{\"value\":21.5,\"unit\":\"C\"}," +
+            "\"humidity\":{\"value\":48,\"unit\":\"%\"}}");
+    private final List<ThingId> thingIds = IntStream.range(0, 100)
+            .mapToObj(i -> ThingId.of("org.eclipse.ditto:benchmark-" + i))
+            .collect(Collectors.toList());
+
+    private OutgoingMessageFactory outgoingMessageFactory;
+    private DittoClient client;
+    private AbstractHandle handle;
+    private Thing thing;
+    private Signal<?> modifyAttribute;
+    private Signal<?> putThing;
+
+    @Setup
+    public void setUp() throws Exception {
+        outgoingMessageFactory = OutgoingMessageFactory.newInstance(JsonSchemaVersion.V_2);
+        client = DittoClients.newInstance(new InMemoryMessagingProvider())
+                .connect()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+        handle = (AbstractHandle) client.twin();
+        thing = Thing.newBuilder()
+                .setId(thingId)
+                .setAttribute(attributePath, attributeValue)
+                .setFeatureProperties("environment", ThingsModelFactory.newFeatureProperties(properties))
+                .build();
+        modifyAttribute = outgoingMessageFactory.setAttribute(thingId, attributePath, attributeValue, NO_OPTIONS);
+        putThing = outgoingMessageFactory.putThing(thing, null, NO_OPTIONS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.destroy();
+    }
+
+    @Benchmark
+    public Signal<?> createModifyAttribute() {
+        return outgoingMessageFactory.setAttribute(thingId, attributePath, attributeValue, NO_OPTIONS);
+    }
+
+    @Benchmark
+    public Signal<?> createMergeFeatureProperties() {
+        return outgoingMessageFactory.mergeFeatureProperties(thingId, "environment", properties, NO_OPTIONS);
+    }
+
+    @Benchmark
+    public Signal<?> createRetrieveThings() {
+        return outgoingMessageFactory.retrieveThings(thingIds);
+    }
+
+    @Benchmark
+    public Signal<?> createPutThing() {
+        return outgoingMessageFactory.putThing(thing, null, NO_OPTIONS);
+    }
+
+    @Benchmark
+    public String serializeModifyAttribute() {
+        return handle.signalToJsonString(modifyAttribute);
+    }
+
+    @Benchmark
+    public String serializePutThing() {
+        return handle.signalToJsonString(putThing);
+    }
+
+}
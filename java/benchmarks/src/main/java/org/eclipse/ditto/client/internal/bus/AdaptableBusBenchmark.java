@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.ditto.client.benchmarks.DirectExecutorService;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks classification and dispatch of inbound frames by the {@link AdaptableBus}.
+ * <p>
+ * {@code streamClassification} reproduces the former {@code Stream.flatMap}-based classification as the baseline
+ * for {@code indexedClassification}; compare their allocation rates reported by the GC profiler.
+ * {@code publishUnmatched} publishes a frame no subscriber is interested in, which is dropped without being parsed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdaptableBusBenchmark {
+
+    private static final String TWIN_EVENT = "{\"topic\":\"org.eclipse.ditto/thing/things/twin/events/modified\"," +
+            "\"headers\":{\"correlation-id\":\"benchmark\"},\"path\":\"/attributes/foo\",\"value\":42,\"revision\":7}";
+
+    private final List<Classifier<Adaptable>> classifiers = Arrays.asList(
+            Classifiers.correlationId(),
+            Classifiers.streamingType(),
+            Classifiers.thingsSearch(),
+            Classifiers.errors(),
+            Classifiers.errorCode()
+    );
+    private final List<Classification> tags = new ArrayList<>();
+
+    private ScheduledExecutorService scheduledExecutor;
+    private AdaptableBus adaptableBus;
+    private AdaptableBus unmatchedAdaptableBus;
+    private Adaptable twinEvent;
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        adaptableBus = BusFactory.createAdaptableBus(new DirectExecutorService(), scheduledExecutor);
+        adaptableBus.subscribeForAdaptable(Classification.StreamingType.TWIN_EVENT, blackhole::consume);
+        unmatchedAdaptableBus = BusFactory.createAdaptableBus(new DirectExecutorService(), scheduledExecutor);
+        unmatchedAdaptableBus.subscribeForAdaptable(Classification.forCorrelationId("other"), blackhole::consume);
+        twinEvent = ProtocolFactory.jsonifiableAdaptableFromJson(JsonObject.of(TWIN_EVENT));
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<Classification> streamClassification() {
+        return classifiers.stream()
+                .flatMap(classifier -> classifier.classify(twinEvent).map(Stream::of).orElseGet(Stream::empty))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Classification> indexedClassification() {
+        tags.clear();
+        for (int i = 0; i < classifiers.size(); i++) {
+            classifiers.get(i).classifyInto(twinEvent, tags);
+        }
+        return tags;
+    }
+
+    @Benchmark
+    public void publish() {
+        adaptableBus.publish(TWIN_EVENT);
+    }
+
+    @Benchmark
+    public void publishUnmatched() {
+        unmatchedAdaptableBus.publish(TWIN_EVENT);
+    }
+
+}
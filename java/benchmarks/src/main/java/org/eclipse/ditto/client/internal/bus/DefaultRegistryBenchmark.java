@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonObjectBuilder;
+import org.eclipse.ditto.json.JsonPointer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks selecting the registrations matching a pointer from a {@link DefaultRegistry} holding the templates
+ * of typical change handlers: for all things, for attributes and for the properties of features.
+ * <p>
+ * {@code selectCachedPointer} selects for a pointer whose selection is cached. {@code selectChangePaths} selects for a twin event modifying all features with a large value whose change paths
+ * are matched against the templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultRegistryBenchmark {
+
+    @Param({"10", "1000"})
+    public int registrations;
+
+    @Param({"1000"})
+    public int changedLeaves;
+
+    private DefaultRegistry<Object> registry;
+    private JsonPointer attributePointer;
+    private JsonObject changedFeatures;
+
+    @Setup
+    public void setUp() {
+        registry = new DefaultRegistry<>();
+        registry.register(JsonPointerSelectors.jsonPointer("/things/{thingId}"), new Object());
+        for (int i = 0; i < registrations; i++) {
+            registry.register(JsonPointerSelectors.jsonPointer("/things/{thingId}/attributes/attr" + i),
+                    new Object());
+            registry.register(JsonPointerSelectors.jsonPointer(
+                    "/things/{thingId}/features/feature" + i + "/properties/{propertyPath}"), new Object());
+        }
+        attributePointer = JsonPointer.of("/things/org.eclipse.ditto:benchmark/attributes/attr7");
+
+        // features of 10 properties each of which is an object of 10 leaves
+        final JsonObjectBuilder featuresBuilder = JsonObject.newBuilder();
+        for (int i = 0; i < changedLeaves; i++) {
+            featuresBuilder.set(JsonPointer.of(
+                    "/feature" + (i / 100) + "/properties/property" + (i / 10 % 10) + "/leaf" + (i % 10)), i);
+        }
+        changedFeatures = featuresBuilder.build();
+    }
+
+    @Benchmark
+    public List<Registration<Object>> selectCachedPointer() {
+        return registry.select(attributePointer);
+    }
+
+    @Benchmark
+    public List<Registration<Object>> selectChangePaths() {
+        return registry.select(JsonPointerWithChangePaths.of(
+                JsonPointer.of("/things/org.eclipse.ditto:benchmark/features"), changedFeatures));
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.management;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.eclipse.ditto.json.JsonArray;
+import org.eclipse.ditto.json.JsonCollectors;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.things.model.Thing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks decoding the items of a search result page or a retrieve response by {@link ThingDecoder}s against
+ * building a {@link Thing} of each item, for items with only two selected attributes and for full Things.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThingDecoderBenchmark {
+
+    private static final int ITEMS = 100;
+    private static final JsonPointer MANUFACTURER = JsonPointer.of("attributes/manufacturer");
+    private static final JsonPointer SERIAL_NUMBER = JsonPointer.of("attributes/serialNumber");
+
+    private static final ThingDecoder<Thing> THING = ThingDecoder.thing();
+    private static final ThingDecoder<Map<JsonPointer, JsonValue>> FLAT_FIELDS = ThingDecoder.flatFields();
+    private static final ThingDecoder<Device> DEVICE = thingJson -> new Device(
+            thingJson.getValue(MANUFACTURER).map(JsonValue::asString).orElse(null),
+            thingJson.getValue(SERIAL_NUMBER).map(JsonValue::asString).orElse(null));
+
+    @Param({"true", "false"})
+    public boolean projected;
+
+    private JsonArray page;
+
+    @Setup
+    public void setUp() {
+        page = IntStream.range(0, ITEMS)
+                .mapToObj(i -> projected ? projectedThing(i) : fullThing(i))
+                .collect(JsonCollectors.valuesToArray());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void thing(final Blackhole blackhole) {
+        decodePage(THING, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void flatFields(final Blackhole blackhole) {
+        decodePage(FLAT_FIELDS, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void callerType(final Blackhole blackhole) {
+        decodePage(DEVICE, blackhole);
+    }
+
+    private void decodePage(final ThingDecoder<?> decoder, final Blackhole blackhole) {
+        for (final JsonValue item : page) {
+            blackhole.consume(decoder.decode(item.asObject()));
+        }
+    }
+
+    private static JsonObject projectedThing(final int i) {
+        return JsonObject.newBuilder()
+                .set("thingId", "org.eclipse.ditto:benchmark-" + i)
+                .set("attributes", JsonObject.newBuilder()
+                        .set("manufacturer", "ACME")
+                        .set("serialNumber", "SN-" + i)
+                        .build())
+                .build();
+    }
+
+    private static JsonObject fullThing(final int i) {
+        final JsonObject feature = JsonObject.newBuilder()
+                .set("definition", JsonArray.of(JsonValue.of("org.eclipse.ditto:sensor:1.0.0")))
+                .set("properties", JsonObject.newBuilder()
+                        .set("value", 21.5 + i)
+                        .set("unit", "C")
+                        .set("lastUpdate", "2021-06-01T12:00:00Z")
+                        .build())
+                .build();
+        return JsonObject.newBuilder()
+                .set("thingId", "org.eclipse.ditto:benchmark-" + i)
+                .set("policyId", "org.eclipse.ditto:benchmark-policy")
+                .set("attributes", JsonObject.newBuilder()
+                        .set("manufacturer", "ACME")
+                        .set("serialNumber", "SN-" + i)
+                        .set("location", JsonObject.newBuilder()
+                                .set("latitude", 47.68)
+                                .set("longitude", 9.38)
+                                .build())
+                        .build())
+                .set("features", JsonObject.newBuilder()
+                        .set("temperature", feature)
+                        .set("humidity", feature)
+                        .set("pressure", feature)
+                        .build())
+                .build();
+    }
+
+    /**
+     * The type a caller decodes the selected attributes into.
+     */
+    private static final class Device {
+
+        private final String manufacturer;
+        private final String serialNumber;
+
+        private Device(final String manufacturer, final String serialNumber) {
+            this.manufacturer = manufacturer;
+            this.serialNumber = serialNumber;
+        }
+    }
+
+}
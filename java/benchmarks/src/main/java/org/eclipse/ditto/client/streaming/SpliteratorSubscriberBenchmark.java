@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.streaming;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Benchmarks streaming elements through a {@link SpliteratorSubscriber}, as done for the pages of a search, from a
+ * publisher which emits the requested elements right away.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpliteratorSubscriberBenchmark {
+
+    private static final int ELEMENTS = 10_000;
+
+    @Param({"1", "10", "100"})
+    public int bufferSize;
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public long stream() {
+        final SpliteratorSubscriber<Integer> subscriber =
+                SpliteratorSubscriber.of(Duration.ofSeconds(10L), bufferSize, Math.max(1, bufferSize / 2));
+        new RangePublisher(ELEMENTS).subscribe(subscriber);
+        return subscriber.asStream().mapToLong(Integer::longValue).sum();
+    }
+
+    /**
+     * Publishes a range of integers on the thread requesting them.
+     */
+    private static final class RangePublisher implements Publisher<Integer> {
+
+        private final int count;
+
+        private RangePublisher(final int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void subscribe(final Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private final AtomicBoolean cancelled = new AtomicBoolean(false);
+                private int next = 0;
+
+                @Override
+                public void request(final long n) {
+                    for (long i = 0; i < n && next < count && !cancelled.get(); i++) {
+                        subscriber.onNext(next++);
+                    }
+                    if (next == count && !cancelled.getAndSet(true)) {
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled.set(true);
+                }
+            });
+        }
+    }
+
+}
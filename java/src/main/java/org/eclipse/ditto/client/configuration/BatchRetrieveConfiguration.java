@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+/**
+ * Configures how a retrieval of many Things is split into batches: the number of Thing IDs per
+ * {@code RetrieveThings} command and how many of these commands may await their response at the same time.
+ *
+ * @since 2.2.0
+ */
+public final class BatchRetrieveConfiguration {
+
+    /**
+     * Default number of Thing IDs per batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    /**
+     * Default number of batches awaiting their response at the same time.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private static final BatchRetrieveConfiguration DEFAULT = newBuilder().build();
+
+    private final int batchSize;
+    private final int maxInFlight;
+
+    private BatchRetrieveConfiguration(final Builder builder) {
+        batchSize = builder.batchSize;
+        maxInFlight = builder.maxInFlight;
+    }
+
+    /**
+     * @return a new builder used to create a BatchRetrieveConfiguration object.
+     */
+    public static BatchRetrieveConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the configuration with the default batch size and number of batches in flight.
+     */
+    public static BatchRetrieveConfiguration defaultConfiguration() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return the maximum number of Thing IDs per batch.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return the maximum number of batches awaiting their response at the same time.
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "batchSize=" + batchSize +
+                ", maxInFlight=" + maxInFlight +
+                "]";
+    }
+
+    /**
+     * Builder for a BatchRetrieveConfiguration.
+     */
+    public interface BatchRetrieveConfigurationBuilder {
+
+        /**
+         * Sets the maximum number of Thing IDs per batch. Default is {@value #DEFAULT_BATCH_SIZE}.
+         *
+         * @param batchSize the batch size.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code batchSize} is not positive.
+         */
+        BatchRetrieveConfigurationBuilder batchSize(int batchSize);
+
+        /**
+         * Sets the maximum number of batches awaiting their response at the same time. Default is
+         * {@value #DEFAULT_MAX_IN_FLIGHT}.
+         *
+         * @param maxInFlight the maximum number of batches in flight.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maxInFlight} is not positive.
+         */
+        BatchRetrieveConfigurationBuilder maxInFlight(int maxInFlight);
+
+        /**
+         * @return new BatchRetrieveConfiguration instance.
+         */
+        BatchRetrieveConfiguration build();
+    }
+
+    private static final class Builder implements BatchRetrieveConfigurationBuilder {
+
+        private int batchSize;
+        private int maxInFlight;
+
+        private Builder() {
+            batchSize = DEFAULT_BATCH_SIZE;
+            maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+        }
+
+        @Override
+        public BatchRetrieveConfigurationBuilder batchSize(final int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("Batch size must be positive.");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        @Override
+        public BatchRetrieveConfigurationBuilder maxInFlight(final int maxInFlight) {
+            if (maxInFlight <= 0) {
+                throw new IllegalArgumentException("Maximum number of batches in flight must be positive.");
+            }
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        @Override
+        public BatchRetrieveConfiguration build() {
+            return new BatchRetrieveConfiguration(this);
+        }
+
+    }
+
+}
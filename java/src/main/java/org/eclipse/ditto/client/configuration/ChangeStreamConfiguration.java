@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.time.Duration;
+
+/**
+ * Configures the bounded buffer of each subscriber of a stream of changes. Changes are held in the buffer while the
+ * subscriber has no demand; the overflow strategy decides what happens to changes arriving while it is full.
+ *
+ * @since 2.2.0
+ */
+public final class ChangeStreamConfiguration {
+
+    /**
+     * Default maximum number of buffered changes per subscriber.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1000;
+
+    /**
+     * Default maximum time the {@link OverflowStrategy#BLOCK BLOCK} strategy blocks the dispatching thread.
+     */
+    public static final Duration DEFAULT_BLOCK_TIMEOUT = Duration.ofSeconds(1L);
+
+    private final int bufferSize;
+    private final OverflowStrategy overflowStrategy;
+    private final Duration blockTimeout;
+
+    private ChangeStreamConfiguration(final Builder builder) {
+        bufferSize = builder.bufferSize;
+        overflowStrategy = builder.overflowStrategy;
+        blockTimeout = builder.blockTimeout;
+    }
+
+    /**
+     * @return a new builder used to create a ChangeStreamConfiguration object.
+     */
+    public static ChangeStreamConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return a ChangeStreamConfiguration with default values.
+     */
+    public static ChangeStreamConfiguration defaultConfiguration() {
+        return newBuilder().build();
+    }
+
+    /**
+     * @return the maximum number of buffered changes per subscriber.
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return what to do when a change arrives while the buffer is full.
+     */
+    public OverflowStrategy getOverflowStrategy() {
+        return overflowStrategy;
+    }
+
+    /**
+     * @return the maximum time the {@link OverflowStrategy#BLOCK BLOCK} strategy blocks the dispatching thread.
+     */
+    public Duration getBlockTimeout() {
+        return blockTimeout;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "bufferSize=" + bufferSize +
+                ", overflowStrategy=" + overflowStrategy +
+                ", blockTimeout=" + blockTimeout +
+                "]";
+    }
+
+    /**
+     * Strategy applied when a change arrives while the buffer of a subscriber is full.
+     */
+    public enum OverflowStrategy {
+
+        /**
+         * Block the thread dispatching the change until the subscriber signals demand or cancels, at most for the
+         * {@link #getBlockTimeout() block timeout}; then cancel the stream and signal an
+         * {@link IllegalStateException} to the subscriber like {@link #ERROR}. Blocking holds back the changes of
+         * other handlers dispatched by the same thread, and the timeout ends the wait of a subscriber which can only
+         * signal demand once the blocked thread goes on.
+         */
+        BLOCK,
+
+        /**
+         * Discard the oldest buffered change.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Discard the new change.
+         */
+        DROP_NEWEST,
+
+        /**
+         * Replace the buffered change of the same Thing and path by the new one, so that only the latest state of
+         * each changed path is delivered. If there is none, discard the oldest buffered change.
+         */
+        LATEST_PER_THING,
+
+        /**
+         * Cancel the stream and signal an {@link IllegalStateException} to the subscriber.
+         */
+        ERROR
+    }
+
+    /**
+     * Builder for a ChangeStreamConfiguration.
+     */
+    public interface ChangeStreamConfigurationBuilder {
+
+        /**
+         * Sets the maximum number of buffered changes per subscriber. Default is {@value #DEFAULT_BUFFER_SIZE}.
+         *
+         * @param bufferSize the buffer size.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code bufferSize} is not positive.
+         */
+        ChangeStreamConfigurationBuilder bufferSize(int bufferSize);
+
+        /**
+         * Sets the strategy to apply when a change arrives while the buffer is full. Default is
+         * {@link OverflowStrategy#DROP_OLDEST}.
+         *
+         * @param overflowStrategy the overflow strategy.
+         * @return this builder.
+         * @throws NullPointerException if {@code overflowStrategy} is {@code null}.
+         */
+        ChangeStreamConfigurationBuilder overflowStrategy(OverflowStrategy overflowStrategy);
+
+        /**
+         * Sets the maximum time the {@link OverflowStrategy#BLOCK BLOCK} strategy blocks the dispatching thread
+         * before failing the stream. Default is 1 second.
+         *
+         * @param blockTimeout the block timeout.
+         * @return this builder.
+         * @throws NullPointerException if {@code blockTimeout} is {@code null}.
+         * @throws IllegalArgumentException if {@code blockTimeout} is not positive.
+         */
+        ChangeStreamConfigurationBuilder blockTimeout(Duration blockTimeout);
+
+        /**
+         * @return new ChangeStreamConfiguration instance.
+         */
+        ChangeStreamConfiguration build();
+    }
+
+    private static final class Builder implements ChangeStreamConfigurationBuilder {
+
+        private int bufferSize;
+        private OverflowStrategy overflowStrategy;
+        private Duration blockTimeout;
+
+        private Builder() {
+            bufferSize = DEFAULT_BUFFER_SIZE;
+            overflowStrategy = OverflowStrategy.DROP_OLDEST;
+            blockTimeout = DEFAULT_BLOCK_TIMEOUT;
+        }
+
+        @Override
+        public ChangeStreamConfigurationBuilder bufferSize(final int bufferSize) {
+            if (bufferSize <= 0) {
+                throw new IllegalArgumentException("Buffer size must be positive.");
+            }
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        @Override
+        public ChangeStreamConfigurationBuilder overflowStrategy(final OverflowStrategy overflowStrategy) {
+            this.overflowStrategy = checkNotNull(overflowStrategy, "overflowStrategy");
+            return this;
+        }
+
+        @Override
+        public ChangeStreamConfigurationBuilder blockTimeout(final Duration blockTimeout) {
+            checkNotNull(blockTimeout, "blockTimeout");
+            if (blockTimeout.isNegative() || blockTimeout.isZero()) {
+                throw new IllegalArgumentException("Block timeout must be positive.");
+            }
+            this.blockTimeout = blockTimeout;
+            return this;
+        }
+
+        @Override
+        public ChangeStreamConfiguration build() {
+            return new ChangeStreamConfiguration(this);
+        }
+    }
+
+}
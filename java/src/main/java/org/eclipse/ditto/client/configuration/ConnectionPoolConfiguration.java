@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+/**
+ * Configures a pool of WebSocket connections to the same endpoint used by one messaging provider instead of a single
+ * connection. Each connection has its own reader thread and reconnects independently; responses are correlated
+ * regardless of the connection they arrive on.
+ *
+ * @since 2.2.0
+ */
+public final class ConnectionPoolConfiguration {
+
+    /**
+     * Default number of connections of the pool.
+     */
+    public static final int DEFAULT_SIZE = 2;
+
+    private final int size;
+    private final Sharding sharding;
+
+    private ConnectionPoolConfiguration(final Builder builder) {
+        size = builder.size;
+        sharding = builder.sharding;
+    }
+
+    /**
+     * @return a new builder used to create a ConnectionPoolConfiguration object.
+     */
+    public static ConnectionPoolConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the number of connections of the pool.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return how outgoing messages are distributed across the connections.
+     */
+    public Sharding getSharding() {
+        return sharding;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "size=" + size +
+                ", sharding=" + sharding +
+                "]";
+    }
+
+    /**
+     * How outgoing messages are distributed across the connections of the pool.
+     */
+    public enum Sharding {
+
+        /**
+         * Messages concerning the same entity, e.g. the same Thing, are always sent via the same connection, so
+         * that they arrive in the order they were sent.
+         */
+        ENTITY_ID,
+
+        /**
+         * Messages are sent via the connections in turn, regardless of the entity they concern.
+         */
+        ROUND_ROBIN
+    }
+
+    /**
+     * Builder for a ConnectionPoolConfiguration.
+     */
+    public interface ConnectionPoolConfigurationBuilder {
+
+        /**
+         * Sets the number of connections of the pool. Default is {@value #DEFAULT_SIZE}.
+         *
+         * @param size the number of connections.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code size} is not positive.
+         */
+        ConnectionPoolConfigurationBuilder size(int size);
+
+        /**
+         * Sets how outgoing messages are distributed across the connections. Default is {@link Sharding#ENTITY_ID}.
+         *
+         * @param sharding the sharding.
+         * @return this builder.
+         * @throws NullPointerException if {@code sharding} is {@code null}.
+         */
+        ConnectionPoolConfigurationBuilder sharding(Sharding sharding);
+
+        /**
+         * @return new ConnectionPoolConfiguration instance.
+         */
+        ConnectionPoolConfiguration build();
+    }
+
+    private static final class Builder implements ConnectionPoolConfigurationBuilder {
+
+        private int size;
+        private Sharding sharding;
+
+        private Builder() {
+            size = DEFAULT_SIZE;
+            sharding = Sharding.ENTITY_ID;
+        }
+
+        @Override
+        public ConnectionPoolConfigurationBuilder size(final int size) {
+            if (size <= 0) {
+                throw new IllegalArgumentException("Size must be positive.");
+            }
+            this.size = size;
+            return this;
+        }
+
+        @Override
+        public ConnectionPoolConfigurationBuilder sharding(final Sharding sharding) {
+            this.sharding = checkNotNull(sharding, "sharding");
+            return this;
+        }
+
+        @Override
+        public ConnectionPoolConfiguration build() {
+            return new ConnectionPoolConfiguration(this);
+        }
+
+    }
+
+}
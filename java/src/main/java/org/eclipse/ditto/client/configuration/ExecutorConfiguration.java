@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+/**
+ * Configures the executors the client creates for running callbacks of the user and the tasks of its internal buses,
+ * search subscriptions and reconnection attempts, as well as the order in which events are delivered to handlers.
+ *
+ * @since 2.2.0
+ */
+public final class ExecutorConfiguration {
+
+    /**
+     * Default maximum number of tasks waiting for a thread of a {@link ExecutorStrategy#BOUNDED_QUEUE} executor.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    private static final ExecutorConfiguration DEFAULT = newBuilder().build();
+
+    private final ExecutorStrategy strategy;
+    private final int maxPoolSize;
+    private final int queueCapacity;
+    private final DispatchOrdering dispatchOrdering;
+    private final int dispatchLanes;
+
+    private ExecutorConfiguration(final Builder builder) {
+        strategy = builder.strategy;
+        maxPoolSize = builder.maxPoolSize;
+        queueCapacity = builder.queueCapacity;
+        dispatchOrdering = builder.dispatchOrdering;
+        dispatchLanes = builder.dispatchLanes;
+    }
+
+    /**
+     * @return a new builder used to create an ExecutorConfiguration object.
+     */
+    public static ExecutorConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the configuration used if none is configured: a {@link ExecutorStrategy#PLATFORM_POOL}.
+     */
+    public static ExecutorConfiguration defaultConfiguration() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return the kind of executor to create.
+     */
+    public ExecutorStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * @return the maximum number of platform threads of a pool; not applicable to
+     * {@link ExecutorStrategy#VIRTUAL_THREAD_PER_TASK}.
+     */
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * @return the maximum number of tasks waiting for a thread; only applicable to
+     * {@link ExecutorStrategy#BOUNDED_QUEUE}.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * @return the order guarantees of delivering events to handlers.
+     */
+    public DispatchOrdering getDispatchOrdering() {
+        return dispatchOrdering;
+    }
+
+    /**
+     * @return the number of serial lanes events are spread over; only applicable to
+     * {@link DispatchOrdering#PER_ENTITY}.
+     */
+    public int getDispatchLanes() {
+        return dispatchLanes;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "strategy=" + strategy +
+                ", maxPoolSize=" + maxPoolSize +
+                ", queueCapacity=" + queueCapacity +
+                ", dispatchOrdering=" + dispatchOrdering +
+                ", dispatchLanes=" + dispatchLanes +
+                "]";
+    }
+
+    /**
+     * The kinds of executors the client can create.
+     */
+    public enum ExecutorStrategy {
+
+        /**
+         * A pool of platform threads which grows up to the maximum pool size and shrinks when idle. Tasks submitted
+         * while all threads are busy run on the submitting thread, e.g. the thread reading from the websocket.
+         * This is the default.
+         */
+        PLATFORM_POOL,
+
+        /**
+         * A new virtual thread for each task, so that blocking callbacks neither stall other callbacks nor the
+         * thread reading from the websocket. Requires a Java runtime supporting virtual threads; on older runtimes
+         * {@link #PLATFORM_POOL} is used instead.
+         */
+        VIRTUAL_THREAD_PER_TASK,
+
+        /**
+         * A fixed number of platform threads with a bounded queue of waiting tasks. Tasks submitted while the queue
+         * is full block the submitting thread until there is room, which slows down reading from the websocket
+         * instead of running callbacks on its thread.
+         */
+        BOUNDED_QUEUE
+    }
+
+    /**
+     * The order guarantees of delivering events to handlers.
+     */
+    public enum DispatchOrdering {
+
+        /**
+         * Each event is delivered by a task of its own, so that events may reach handlers in any order. This is the
+         * default. Events are dispatched {@link #PER_ENTITY per entity} nevertheless if a
+         * {@link ResyncConfiguration} or a {@link ThingCacheConfiguration} is configured, as they rely on the events of
+         * each Thing arriving in order.
+         */
+        UNORDERED,
+
+        /**
+         * Events are spread over a fixed number of serial lanes by the ID of the entity they are about, so that the
+         * events of one entity, e.g. one thing, reach handlers in the order they were received while the events of
+         * different entities are still handled concurrently.
+         */
+        PER_ENTITY
+    }
+
+    /**
+     * Builder for an ExecutorConfiguration.
+     */
+    public interface ExecutorConfigurationBuilder {
+
+        /**
+         * Sets the kind of executor to create. Default is {@link ExecutorStrategy#PLATFORM_POOL}.
+         *
+         * @param strategy the executor strategy.
+         * @return this builder.
+         */
+        ExecutorConfigurationBuilder strategy(ExecutorStrategy strategy);
+
+        /**
+         * Sets the maximum number of platform threads of a pool. Default is 8 times the number of available
+         * processors.
+         *
+         * @param maxPoolSize the maximum number of threads.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maxPoolSize} is not positive.
+         */
+        ExecutorConfigurationBuilder maxPoolSize(int maxPoolSize);
+
+        /**
+         * Sets the maximum number of tasks waiting for a thread of a {@link ExecutorStrategy#BOUNDED_QUEUE}
+         * executor. Default is {@value #DEFAULT_QUEUE_CAPACITY}.
+         *
+         * @param queueCapacity the maximum number of waiting tasks.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code queueCapacity} is not positive.
+         */
+        ExecutorConfigurationBuilder queueCapacity(int queueCapacity);
+
+        /**
+         * Sets the order guarantees of delivering events to handlers. Default is {@link DispatchOrdering#UNORDERED}.
+         *
+         * @param dispatchOrdering the dispatch ordering.
+         * @return this builder.
+         */
+        ExecutorConfigurationBuilder dispatchOrdering(DispatchOrdering dispatchOrdering);
+
+        /**
+         * Sets the number of serial lanes events are spread over if dispatched in order
+         * {@link DispatchOrdering#PER_ENTITY per entity}. Default is 2 times the number of available processors.
+         *
+         * @param dispatchLanes the number of lanes.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code dispatchLanes} is not positive.
+         */
+        ExecutorConfigurationBuilder dispatchLanes(int dispatchLanes);
+
+        /**
+         * @return new ExecutorConfiguration instance.
+         */
+        ExecutorConfiguration build();
+    }
+
+    private static final class Builder implements ExecutorConfigurationBuilder {
+
+        private ExecutorStrategy strategy;
+        private int maxPoolSize;
+        private int queueCapacity;
+        private DispatchOrdering dispatchOrdering;
+        private int dispatchLanes;
+
+        private Builder() {
+            strategy = ExecutorStrategy.PLATFORM_POOL;
+            maxPoolSize = Runtime.getRuntime().availableProcessors() * 8;
+            queueCapacity = DEFAULT_QUEUE_CAPACITY;
+            dispatchOrdering = DispatchOrdering.UNORDERED;
+            dispatchLanes = Runtime.getRuntime().availableProcessors() * 2;
+        }
+
+        @Override
+        public ExecutorConfigurationBuilder strategy(final ExecutorStrategy strategy) {
+            this.strategy = checkNotNull(strategy, "strategy");
+            return this;
+        }
+
+        @Override
+        public ExecutorConfigurationBuilder maxPoolSize(final int maxPoolSize) {
+            if (maxPoolSize <= 0) {
+                throw new IllegalArgumentException("Maximum pool size must be positive.");
+            }
+            this.maxPoolSize = maxPoolSize;
+            return this;
+        }
+
+        @Override
+        public ExecutorConfigurationBuilder queueCapacity(final int queueCapacity) {
+            if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("Queue capacity must be positive.");
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        @Override
+        public ExecutorConfigurationBuilder dispatchOrdering(final DispatchOrdering dispatchOrdering) {
+            this.dispatchOrdering = checkNotNull(dispatchOrdering, "dispatchOrdering");
+            return this;
+        }
+
+        @Override
+        public ExecutorConfigurationBuilder dispatchLanes(final int dispatchLanes) {
+            if (dispatchLanes <= 0) {
+                throw new IllegalArgumentException("Number of dispatch lanes must be positive.");
+            }
+            this.dispatchLanes = dispatchLanes;
+            return this;
+        }
+
+        @Override
+        public ExecutorConfiguration build() {
+            return new ExecutorConfiguration(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.time.Duration;
+
+/**
+ * Configures the cache of the Thing and Feature handles created by {@code forId} and {@code forFeature}: how many
+ * handles are held at most and after which time without access a handle is evicted. Handles which still have live
+ * command handlers registered are never evicted; evicted handles which are still referenced elsewhere are returned
+ * again until they are garbage collected.
+ *
+ * @since 2.2.0
+ */
+public final class HandleCacheConfiguration {
+
+    /**
+     * Default maximum number of cached handles.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    /**
+     * Default time without access after which a handle is evicted.
+     */
+    public static final Duration DEFAULT_EXPIRE_AFTER_ACCESS = Duration.ofMinutes(10L);
+
+    private static final HandleCacheConfiguration DEFAULT = newBuilder().build();
+
+    private final int maximumSize;
+    private final Duration expireAfterAccess;
+
+    private HandleCacheConfiguration(final Builder builder) {
+        maximumSize = builder.maximumSize;
+        expireAfterAccess = builder.expireAfterAccess;
+    }
+
+    /**
+     * @return a new builder used to create a HandleCacheConfiguration object.
+     */
+    public static HandleCacheConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the configuration with the default maximum size and expiry.
+     */
+    public static HandleCacheConfiguration defaultConfiguration() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return the maximum number of cached handles which are not pinned by registered handlers.
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return the time without access after which a handle is evicted.
+     */
+    public Duration getExpireAfterAccess() {
+        return expireAfterAccess;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "maximumSize=" + maximumSize +
+                ", expireAfterAccess=" + expireAfterAccess +
+                "]";
+    }
+
+    /**
+     * Builder for a HandleCacheConfiguration.
+     */
+    public interface HandleCacheConfigurationBuilder {
+
+        /**
+         * Sets the maximum number of cached handles. Default is {@value #DEFAULT_MAXIMUM_SIZE}.
+         *
+         * @param maximumSize the maximum size.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maximumSize} is not positive.
+         */
+        HandleCacheConfigurationBuilder maximumSize(int maximumSize);
+
+        /**
+         * Sets the time without access after which a handle is evicted. Default is 10 minutes.
+         *
+         * @param expireAfterAccess the time without access.
+         * @return this builder.
+         * @throws NullPointerException if {@code expireAfterAccess} is {@code null}.
+         * @throws IllegalArgumentException if {@code expireAfterAccess} is not positive.
+         */
+        HandleCacheConfigurationBuilder expireAfterAccess(Duration expireAfterAccess);
+
+        /**
+         * @return new HandleCacheConfiguration instance.
+         */
+        HandleCacheConfiguration build();
+    }
+
+    private static final class Builder implements HandleCacheConfigurationBuilder {
+
+        private int maximumSize;
+        private Duration expireAfterAccess;
+
+        private Builder() {
+            maximumSize = DEFAULT_MAXIMUM_SIZE;
+            expireAfterAccess = DEFAULT_EXPIRE_AFTER_ACCESS;
+        }
+
+        @Override
+        public HandleCacheConfigurationBuilder maximumSize(final int maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("Maximum size must be positive.");
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        @Override
+        public HandleCacheConfigurationBuilder expireAfterAccess(final Duration expireAfterAccess) {
+            checkNotNull(expireAfterAccess, "expireAfterAccess");
+            if (expireAfterAccess.isNegative() || expireAfterAccess.isZero()) {
+                throw new IllegalArgumentException("Expiry after access must be positive.");
+            }
+            this.expireAfterAccess = expireAfterAccess;
+            return this;
+        }
+
+        @Override
+        public HandleCacheConfiguration build() {
+            return new HandleCacheConfiguration(this);
+        }
+
+    }
+
+}
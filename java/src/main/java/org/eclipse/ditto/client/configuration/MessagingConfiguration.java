@@ -23,6 +23,7 @@ import javax.annotation.Nullable;
 
 import org.eclipse.ditto.base.model.acks.AcknowledgementLabel;
 import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
+import org.eclipse.ditto.client.metrics.ClientMetrics;
 
 /**
  * Provides configuration for messaging.
@@ -100,6 +101,105 @@ public interface MessagingConfiguration {
      */
     Optional<Consumer<DisconnectedContext>> getDisconnectedListener();
 
+    /**
+     * Returns the configuration of the buffer holding outgoing messages while the connection is interrupted.
+     *
+     * @return the configuration or an empty optional if outgoing messages are discarded while disconnected.
+     * @since 2.2.0
+     */
+    Optional<OutgoingBufferConfiguration> getOutgoingBufferConfiguration();
+
+    /**
+     * Returns the configuration of the executors the client creates for callbacks, its internal buses, search
+     * subscriptions and reconnection attempts.
+     *
+     * @return the executor configuration.
+     * @since 2.2.0
+     */
+    ExecutorConfiguration getExecutorConfiguration();
+
+    /**
+     * Returns the metrics the messaging and bus layers report to.
+     *
+     * @return the metrics.
+     * @since 2.2.0
+     */
+    ClientMetrics getClientMetrics();
+
+    /**
+     * Returns the configuration of the cache of Thing and Feature handles.
+     *
+     * @return the handle cache configuration.
+     * @since 2.2.0
+     */
+    HandleCacheConfiguration getHandleCacheConfiguration();
+
+    /**
+     * Returns the configuration of the limiter of requests awaiting their response at the same time.
+     *
+     * @return the configuration or an empty optional if the number of requests in flight is not limited.
+     * @since 2.2.0
+     */
+    Optional<RequestLimiterConfiguration> getRequestLimiterConfiguration();
+
+    /**
+     * Returns the configuration of the write-behind coalescing twin attribute and feature property updates.
+     *
+     * @return the configuration or an empty optional if every update is sent on its own.
+     * @since 2.2.0
+     */
+    Optional<WriteBehindConfiguration> getWriteBehindConfiguration();
+
+    /**
+     * Indicates whether live messages with content-type {@code application/octet-stream} are sent in WebSocket
+     * binary frames instead of carrying their payload base64 encoded in text frames, provided that the server
+     * confirms binary frames in the opening handshake.
+     *
+     * @return whether binary message payloads are enabled.
+     * @since 2.2.0
+     */
+    boolean isBinaryMessagePayloadEnabled();
+
+    /**
+     * Returns the configuration of the frames of the WebSocket connection.
+     *
+     * @return the frame configuration.
+     * @since 2.2.0
+     */
+    WebSocketFrameConfiguration getWebSocketFrameConfiguration();
+
+    /**
+     * Returns the configuration of the pool of WebSocket connections.
+     *
+     * @return the configuration or an empty optional if a single connection is used.
+     * @since 2.2.0
+     */
+    Optional<ConnectionPoolConfiguration> getConnectionPoolConfiguration();
+
+    /**
+     * Returns the configuration of the local cache of Things kept up to date by twin events.
+     *
+     * @return the configuration or an empty optional if Things are not cached.
+     * @since 2.2.0
+     */
+    Optional<ThingCacheConfiguration> getThingCacheConfiguration();
+
+    /**
+     * Returns the configuration of the cache of responses to retrieve commands revalidated by entity tags.
+     *
+     * @return the configuration or an empty optional if responses are not cached.
+     * @since 2.2.0
+     */
+    Optional<ResponseCacheConfiguration> getResponseCacheConfiguration();
+
+    /**
+     * Returns the configuration of the resynchronization of Things whose twin events might have been missed.
+     *
+     * @return the configuration or an empty optional if missed events are not detected.
+     * @since 2.2.0
+     */
+    Optional<ResyncConfiguration> getResyncConfiguration();
+
     /**
      * Builder for creating an instance of {@code MessagingConfiguration} by utilizing Object Scoping and Method
      * Chaining.
@@ -194,6 +294,164 @@ public interface MessagingConfiguration {
          */
         Builder disconnectedListener(@Nullable Consumer<DisconnectedContext> contextListener);
 
+        /**
+         * Sets the {@code outgoingBufferConfiguration}.
+         * <p>
+         * Default is none: messages sent while the connection is interrupted are discarded. If set, they are buffered
+         * and sent once the connection is re-established, and responses to requests sent before or during the
+         * interruption are awaited for the configured timeout in addition to the interruption, which counts for at
+         * most the configured timeout as well. Buffered messages are discarded and awaited responses fail when the
+         * client is closed, including when it closes itself after the connection was lost and reconnecting is not
+         * enabled.
+         *
+         * @param outgoingBufferConfiguration the configuration of the buffer for outgoing messages.
+         * @return this builder.
+         * @since 2.2.0
+         */
+        Builder outgoingBufferConfiguration(@Nullable OutgoingBufferConfiguration outgoingBufferConfiguration);
+
+        /**
+         * Sets the {@code executorConfiguration}.
+         * <p>
+         * Default is {@link ExecutorConfiguration#defaultConfiguration()}. The configuration applies to the executors
+         * created by the client; an executor passed explicitly to
+         * {@link org.eclipse.ditto.client.messaging.MessagingProviders} is used as it is.
+         *
+         * @param executorConfiguration the configuration of the executors of the client.
+         * @return this builder.
+         * @throws NullPointerException if {@code executorConfiguration} is {@code null}.
+         * @since 2.2.0
+         */
+        Builder executorConfiguration(ExecutorConfiguration executorConfiguration);
+
+        /**
+         * Sets the {@code clientMetrics} the messaging and bus layers report to, e.g. frames, parse failures,
+         * subscribers, timeouts, round-trip times of requests and reconnection attempts.
+         * <p>
+         * Default is {@link ClientMetrics#noop()}.
+         *
+         * @param clientMetrics the metrics.
+         * @return this builder.
+         * @throws NullPointerException if {@code clientMetrics} is {@code null}.
+         * @since 2.2.0
+         */
+        Builder clientMetrics(ClientMetrics clientMetrics);
+
+        /**
+         * Sets the {@code handleCacheConfiguration} bounding the number of Thing and Feature handles held by the
+         * client.
+         * <p>
+         * Default is {@link HandleCacheConfiguration#defaultConfiguration()}.
+         *
+         * @param handleCacheConfiguration the configuration of the handle cache.
+         * @return this builder.
+         * @throws NullPointerException if {@code handleCacheConfiguration} is {@code null}.
+         * @since 2.2.0
+         */
+        Builder handleCacheConfiguration(HandleCacheConfiguration handleCacheConfiguration);
+
+        /**
+         * Sets the {@code requestLimiterConfiguration} limiting the number of requests awaiting their response at
+         * the same time.
+         * <p>
+         * Default is none: the number of requests in flight is not limited.
+         *
+         * @param requestLimiterConfiguration the configuration of the request limiter.
+         * @return this builder.
+         * @since 2.2.0
+         */
+        Builder requestLimiterConfiguration(@Nullable RequestLimiterConfiguration requestLimiterConfiguration);
+
+        /**
+         * Sets the {@code writeBehindConfiguration} coalescing {@code putAttribute} and {@code putProperty} updates
+         * of the same twin into single {@code MergeThing} commands.
+         * <p>
+         * Default is none: every update is sent on its own.
+         *
+         * @param writeBehindConfiguration the configuration of the write-behind.
+         * @return this builder.
+         * @since 2.2.0
+         */
+        Builder writeBehindConfiguration(@Nullable WriteBehindConfiguration writeBehindConfiguration);
+
+        /**
+         * Sets whether live messages with content-type {@code application/octet-stream} are sent in WebSocket binary
+         * frames: the payload is neither base64 encoded nor materialized as string. The frame format is no part of
+         * the Ditto Protocol: the client offers it in the opening handshake by the header
+         * {@code ditto-binary-message-frame: 1} and sends binary frames only if the server confirms this header in
+         * its handshake response, e.g. a proxy in front of Ditto which converts them to text messages. Otherwise
+         * messages are sent as text. Received binary frames are always supported.
+         * <p>
+         * Default is {@code false}.
+         *
+         * @param binaryMessagePayloadEnabled whether binary message payloads are enabled.
+         * @return this builder.
+         * @since 2.2.0
+         */
+        Builder binaryMessagePayloadEnabled(boolean binaryMessagePayloadEnabled);
+
+        /**
+         * Sets the {@code webSocketFrameConfiguration}: fragmentation of sent messages, the size of the frame queue,
+         * the ping interval, {@code permessage-deflate} compression and write coalescing.
+         * <p>
+         * Default is {@link WebSocketFrameConfiguration#defaultConfiguration()}.
+         *
+         * @param webSocketFrameConfiguration the configuration of the frames of the WebSocket connection.
+         * @return this builder.
+         * @throws NullPointerException if {@code webSocketFrameConfiguration} is {@code null}.
+         * @since 2.2.0
+         */
+        Builder webSocketFrameConfiguration(WebSocketFrameConfiguration webSocketFrameConfiguration);
+
+        /**
+         * Sets the {@code connectionPoolConfiguration} opening several WebSocket connections to the endpoint and
+         * distributing outgoing messages and event subscriptions across them.
+         * <p>
+         * Default is none: a single connection is used.
+         *
+         * @param connectionPoolConfiguration the configuration of the connection pool.
+         * @return this builder.
+         * @since 2.2.0
+         */
+        Builder connectionPoolConfiguration(@Nullable ConnectionPoolConfiguration connectionPoolConfiguration);
+
+        /**
+         * Sets the {@code thingCacheConfiguration} answering {@code twin().forId(thingId).retrieve()} from a local
+         * cache of Things while twin events are consumed.
+         * <p>
+         * Default is none: every retrieve is sent to the backend.
+         *
+         * @param thingCacheConfiguration the configuration of the cache.
+         * @return this builder.
+         * @since 2.2.0
+         */
+        Builder thingCacheConfiguration(@Nullable ThingCacheConfiguration thingCacheConfiguration);
+
+        /**
+         * Sets the {@code responseCacheConfiguration} sending retrieves of Twin Things, Features and Policies with
+         * the entity tag of the cached response, so that unchanged entities are not transferred again.
+         * <p>
+         * Default is none: every retrieve transfers the entity.
+         *
+         * @param responseCacheConfiguration the configuration of the cache.
+         * @return this builder.
+         * @since 2.2.0
+         */
+        Builder responseCacheConfiguration(@Nullable ResponseCacheConfiguration responseCacheConfiguration);
+
+        /**
+         * Sets the {@code resyncConfiguration} retrieving Things again whose twin events might have been missed
+         * because the connection was lost or the revisions of consumed events have a gap, and notifying the change
+         * handlers with the retrieved Things.
+         * <p>
+         * Default is none: events missed while the connection was down are not detected.
+         *
+         * @param resyncConfiguration the configuration of the resynchronization.
+         * @return this builder.
+         * @since 2.2.0
+         */
+        Builder resyncConfiguration(@Nullable ResyncConfiguration resyncConfiguration);
+
         /**
          * Creates a new instance of {@code MessagingConfiguration}.
          *
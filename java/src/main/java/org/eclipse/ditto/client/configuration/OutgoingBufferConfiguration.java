@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+/**
+ * Configures the bounded buffer holding outgoing messages while the connection to the back end is interrupted.
+ * Buffered messages are sent in order as soon as the connection is re-established, right after the subscriptions
+ * of the client were renewed.
+ *
+ * @since 2.2.0
+ */
+public final class OutgoingBufferConfiguration {
+
+    /**
+     * Default maximum number of buffered messages.
+     */
+    public static final int DEFAULT_MAX_MESSAGES = 1000;
+
+    /**
+     * Default maximum number of buffered bytes (UTF-8 encoded).
+     */
+    public static final long DEFAULT_MAX_BYTES = 10L * 1024 * 1024;
+
+    private final int maxMessages;
+    private final long maxBytes;
+    private final OverflowStrategy overflowStrategy;
+
+    private OutgoingBufferConfiguration(final Builder builder) {
+        maxMessages = builder.maxMessages;
+        maxBytes = builder.maxBytes;
+        overflowStrategy = builder.overflowStrategy;
+    }
+
+    /**
+     * @return a new builder used to create an OutgoingBufferConfiguration object.
+     */
+    public static OutgoingBufferConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the maximum number of messages to hold.
+     */
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    /**
+     * @return the maximum number of UTF-8 encoded bytes to hold.
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return what to do when a message does not fit into the buffer.
+     */
+    public OverflowStrategy getOverflowStrategy() {
+        return overflowStrategy;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "maxMessages=" + maxMessages +
+                ", maxBytes=" + maxBytes +
+                ", overflowStrategy=" + overflowStrategy +
+                "]";
+    }
+
+    /**
+     * Strategy applied when a message to send does not fit into the buffer.
+     */
+    public enum OverflowStrategy {
+
+        /**
+         * Discard the oldest buffered messages until the new message fits.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Discard the new message.
+         */
+        DROP_NEWEST,
+
+        /**
+         * Reject the new message by throwing a {@link org.eclipse.ditto.client.messaging.MessagingException} to
+         * the sender.
+         */
+        FAIL_FAST
+    }
+
+    /**
+     * Builder for an OutgoingBufferConfiguration.
+     */
+    public interface OutgoingBufferConfigurationBuilder {
+
+        /**
+         * Sets the maximum number of messages to hold. Default is {@value #DEFAULT_MAX_MESSAGES}.
+         *
+         * @param maxMessages the maximum number of messages.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maxMessages} is not positive.
+         */
+        OutgoingBufferConfigurationBuilder maxMessages(int maxMessages);
+
+        /**
+         * Sets the maximum number of UTF-8 encoded bytes to hold. Default is 10 MiB.
+         *
+         * @param maxBytes the maximum number of bytes.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maxBytes} is not positive.
+         */
+        OutgoingBufferConfigurationBuilder maxBytes(long maxBytes);
+
+        /**
+         * Sets the strategy to apply when a message does not fit into the buffer. Default is
+         * {@link OverflowStrategy#DROP_OLDEST}.
+         *
+         * @param overflowStrategy the overflow strategy.
+         * @return this builder.
+         */
+        OutgoingBufferConfigurationBuilder overflowStrategy(OverflowStrategy overflowStrategy);
+
+        /**
+         * @return new OutgoingBufferConfiguration instance.
+         */
+        OutgoingBufferConfiguration build();
+    }
+
+    private static final class Builder implements OutgoingBufferConfigurationBuilder {
+
+        private int maxMessages;
+        private long maxBytes;
+        private OverflowStrategy overflowStrategy;
+
+        private Builder() {
+            maxMessages = DEFAULT_MAX_MESSAGES;
+            maxBytes = DEFAULT_MAX_BYTES;
+            overflowStrategy = OverflowStrategy.DROP_OLDEST;
+        }
+
+        @Override
+        public OutgoingBufferConfigurationBuilder maxMessages(final int maxMessages) {
+            if (maxMessages <= 0) {
+                throw new IllegalArgumentException("Maximum number of buffered messages must be positive.");
+            }
+            this.maxMessages = maxMessages;
+            return this;
+        }
+
+        @Override
+        public OutgoingBufferConfigurationBuilder maxBytes(final long maxBytes) {
+            if (maxBytes <= 0) {
+                throw new IllegalArgumentException("Maximum number of buffered bytes must be positive.");
+            }
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        @Override
+        public OutgoingBufferConfigurationBuilder overflowStrategy(final OverflowStrategy overflowStrategy) {
+            this.overflowStrategy = checkNotNull(overflowStrategy, "overflowStrategy");
+            return this;
+        }
+
+        @Override
+        public OutgoingBufferConfiguration build() {
+            return new OutgoingBufferConfiguration(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+/**
+ * Configures the limiter of the number of requests awaiting their response at the same time, e.g. commands sent via
+ * a Thing or Feature handle. Requests beyond the limit wait in a bounded queue until a request in flight completes;
+ * requests which do not fit into the queue are rejected with a
+ * {@link org.eclipse.ditto.client.messaging.RequestLimitExceededException}.
+ *
+ * @since 2.2.0
+ */
+public final class RequestLimiterConfiguration {
+
+    /**
+     * Default number of requests in flight at the same time, which is the fixed limit or the initial adaptive limit.
+     */
+    public static final int DEFAULT_INITIAL_LIMIT = 100;
+
+    /**
+     * Default lower bound of the adaptive limit.
+     */
+    public static final int DEFAULT_MIN_LIMIT = 1;
+
+    /**
+     * Default upper bound of the adaptive limit.
+     */
+    public static final int DEFAULT_MAX_LIMIT = 1000;
+
+    /**
+     * Default maximum number of requests waiting for the limit.
+     */
+    public static final int DEFAULT_MAX_QUEUE_SIZE = 1000;
+
+    /**
+     * Default factor by which the adaptive limit is decreased when the back end is overloaded.
+     */
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+    /**
+     * Default factor of the minimum round-trip time above which a round-trip time signals an overloaded back end.
+     */
+    public static final double DEFAULT_LATENCY_TOLERANCE = 2.0;
+
+    private final LimitAlgorithm limitAlgorithm;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueueSize;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+
+    private RequestLimiterConfiguration(final Builder builder) {
+        limitAlgorithm = builder.limitAlgorithm;
+        initialLimit = builder.initialLimit;
+        minLimit = builder.minLimit;
+        maxLimit = builder.maxLimit;
+        maxQueueSize = builder.maxQueueSize;
+        backoffRatio = builder.backoffRatio;
+        latencyTolerance = builder.latencyTolerance;
+    }
+
+    /**
+     * @return a new builder used to create a RequestLimiterConfiguration object.
+     */
+    public static RequestLimiterConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return how the limit is determined.
+     */
+    public LimitAlgorithm getLimitAlgorithm() {
+        return limitAlgorithm;
+    }
+
+    /**
+     * @return the fixed limit or the initial adaptive limit.
+     */
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    /**
+     * @return the lower bound of the adaptive limit.
+     */
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    /**
+     * @return the upper bound of the adaptive limit.
+     */
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * @return the maximum number of requests waiting for the limit; 0 to reject requests beyond the limit right away.
+     */
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * @return the factor by which the adaptive limit is decreased when the back end is overloaded.
+     */
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    /**
+     * @return the factor of the minimum round-trip time above which a round-trip time signals an overloaded back end.
+     */
+    public double getLatencyTolerance() {
+        return latencyTolerance;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "limitAlgorithm=" + limitAlgorithm +
+                ", initialLimit=" + initialLimit +
+                ", minLimit=" + minLimit +
+                ", maxLimit=" + maxLimit +
+                ", maxQueueSize=" + maxQueueSize +
+                ", backoffRatio=" + backoffRatio +
+                ", latencyTolerance=" + latencyTolerance +
+                "]";
+    }
+
+    /**
+     * How the number of requests in flight at the same time is limited.
+     */
+    public enum LimitAlgorithm {
+
+        /**
+         * The limit stays at the initial limit.
+         */
+        FIXED,
+
+        /**
+         * Additive increase, multiplicative decrease: the limit grows by 1 per limit's worth of timely responses
+         * while it is used up, and shrinks by the backoff ratio for each response which timed out, signalled
+         * throttling or took longer than the latency tolerance times the minimum round-trip time observed.
+         */
+        AIMD
+    }
+
+    /**
+     * Builder for a RequestLimiterConfiguration.
+     */
+    public interface RequestLimiterConfigurationBuilder {
+
+        /**
+         * Sets how the limit is determined. Default is {@link LimitAlgorithm#AIMD}.
+         *
+         * @param limitAlgorithm the limit algorithm.
+         * @return this builder.
+         * @throws NullPointerException if {@code limitAlgorithm} is {@code null}.
+         */
+        RequestLimiterConfigurationBuilder limitAlgorithm(LimitAlgorithm limitAlgorithm);
+
+        /**
+         * Sets the fixed limit or the initial adaptive limit. Default is {@value #DEFAULT_INITIAL_LIMIT}.
+         *
+         * @param initialLimit the initial limit.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code initialLimit} is not positive.
+         */
+        RequestLimiterConfigurationBuilder initialLimit(int initialLimit);
+
+        /**
+         * Sets the bounds of the adaptive limit. Default is {@value #DEFAULT_MIN_LIMIT} to
+         * {@value #DEFAULT_MAX_LIMIT}.
+         *
+         * @param minLimit the lower bound.
+         * @param maxLimit the upper bound.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code minLimit} is not positive or greater than {@code maxLimit}.
+         */
+        RequestLimiterConfigurationBuilder limitBounds(int minLimit, int maxLimit);
+
+        /**
+         * Sets the maximum number of requests waiting for the limit. Default is {@value #DEFAULT_MAX_QUEUE_SIZE}.
+         *
+         * @param maxQueueSize the maximum queue size; 0 to reject requests beyond the limit right away.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maxQueueSize} is negative.
+         */
+        RequestLimiterConfigurationBuilder maxQueueSize(int maxQueueSize);
+
+        /**
+         * Sets the factor by which the adaptive limit is decreased. Default is {@value #DEFAULT_BACKOFF_RATIO}.
+         *
+         * @param backoffRatio the backoff ratio.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code backoffRatio} is not between 0 and 1, exclusively.
+         */
+        RequestLimiterConfigurationBuilder backoffRatio(double backoffRatio);
+
+        /**
+         * Sets the factor of the minimum round-trip time above which a round-trip time signals an overloaded back
+         * end. Default is {@value #DEFAULT_LATENCY_TOLERANCE}.
+         *
+         * @param latencyTolerance the latency tolerance.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code latencyTolerance} is less than 1.
+         */
+        RequestLimiterConfigurationBuilder latencyTolerance(double latencyTolerance);
+
+        /**
+         * @return new RequestLimiterConfiguration instance.
+         */
+        RequestLimiterConfiguration build();
+    }
+
+    private static final class Builder implements RequestLimiterConfigurationBuilder {
+
+        private LimitAlgorithm limitAlgorithm;
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        private int maxQueueSize;
+        private double backoffRatio;
+        private double latencyTolerance;
+
+        private Builder() {
+            limitAlgorithm = LimitAlgorithm.AIMD;
+            initialLimit = DEFAULT_INITIAL_LIMIT;
+            minLimit = DEFAULT_MIN_LIMIT;
+            maxLimit = DEFAULT_MAX_LIMIT;
+            maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+            backoffRatio = DEFAULT_BACKOFF_RATIO;
+            latencyTolerance = DEFAULT_LATENCY_TOLERANCE;
+        }
+
+        @Override
+        public RequestLimiterConfigurationBuilder limitAlgorithm(final LimitAlgorithm limitAlgorithm) {
+            this.limitAlgorithm = checkNotNull(limitAlgorithm, "limitAlgorithm");
+            return this;
+        }
+
+        @Override
+        public RequestLimiterConfigurationBuilder initialLimit(final int initialLimit) {
+            if (initialLimit <= 0) {
+                throw new IllegalArgumentException("Initial limit must be positive.");
+            }
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        @Override
+        public RequestLimiterConfigurationBuilder limitBounds(final int minLimit, final int maxLimit) {
+            if (minLimit <= 0 || minLimit > maxLimit) {
+                throw new IllegalArgumentException("Limit bounds must be positive and the lower bound must not " +
+                        "exceed the upper bound.");
+            }
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        @Override
+        public RequestLimiterConfigurationBuilder maxQueueSize(final int maxQueueSize) {
+            if (maxQueueSize < 0) {
+                throw new IllegalArgumentException("Maximum queue size must not be negative.");
+            }
+            this.maxQueueSize = maxQueueSize;
+            return this;
+        }
+
+        @Override
+        public RequestLimiterConfigurationBuilder backoffRatio(final double backoffRatio) {
+            if (backoffRatio <= 0.0 || backoffRatio >= 1.0) {
+                throw new IllegalArgumentException("Backoff ratio must be between 0 and 1.");
+            }
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        @Override
+        public RequestLimiterConfigurationBuilder latencyTolerance(final double latencyTolerance) {
+            if (latencyTolerance < 1.0) {
+                throw new IllegalArgumentException("Latency tolerance must be at least 1.");
+            }
+            this.latencyTolerance = latencyTolerance;
+            return this;
+        }
+
+        @Override
+        public RequestLimiterConfiguration build() {
+            return new RequestLimiterConfiguration(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+/**
+ * Configures the cache of the responses to retrieve commands of Twin Things, Features and Policies. Retrieves of a
+ * cached entity with the same field selector are sent with the entity tag of the cached response in the
+ * {@code If-None-Match} header, so that the backend answers with {@code 304 Not Modified} instead of the entity if it
+ * did not change. The responses of a Thing are dropped when a twin event of the Thing is consumed. The responses of
+ * least recently used entities are evicted when either bound is exceeded.
+ *
+ * @since 2.2.0
+ */
+public final class ResponseCacheConfiguration {
+
+    /**
+     * Default maximum number of cached responses.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    /**
+     * Default maximum total weight of the cached responses, which is the length of their JSON string representation.
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 64L * 1024L * 1024L;
+
+    private final int maximumSize;
+    private final long maximumWeight;
+
+    private ResponseCacheConfiguration(final Builder builder) {
+        maximumSize = builder.maximumSize;
+        maximumWeight = builder.maximumWeight;
+    }
+
+    /**
+     * @return a new builder used to create a ResponseCacheConfiguration object.
+     */
+    public static ResponseCacheConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the maximum number of cached responses.
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return the maximum total length of the JSON string representations of the cached responses.
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "maximumSize=" + maximumSize +
+                ", maximumWeight=" + maximumWeight +
+                "]";
+    }
+
+    /**
+     * Builder for a ResponseCacheConfiguration.
+     */
+    public interface ResponseCacheConfigurationBuilder {
+
+        /**
+         * Sets the maximum number of cached responses. Default is {@value #DEFAULT_MAXIMUM_SIZE}.
+         *
+         * @param maximumSize the maximum size.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maximumSize} is not positive.
+         */
+        ResponseCacheConfigurationBuilder maximumSize(int maximumSize);
+
+        /**
+         * Sets the maximum total length of the JSON string representations of the cached responses. Responses
+         * heavier than this are not cached at all. Default is 64 MiB.
+         *
+         * @param maximumWeight the maximum weight.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maximumWeight} is not positive.
+         */
+        ResponseCacheConfigurationBuilder maximumWeight(long maximumWeight);
+
+        /**
+         * @return new ResponseCacheConfiguration instance.
+         */
+        ResponseCacheConfiguration build();
+    }
+
+    private static final class Builder implements ResponseCacheConfigurationBuilder {
+
+        private int maximumSize;
+        private long maximumWeight;
+
+        private Builder() {
+            maximumSize = DEFAULT_MAXIMUM_SIZE;
+            maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+        }
+
+        @Override
+        public ResponseCacheConfigurationBuilder maximumSize(final int maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("Maximum size must be positive.");
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        @Override
+        public ResponseCacheConfigurationBuilder maximumWeight(final long maximumWeight) {
+            if (maximumWeight <= 0L) {
+                throw new IllegalArgumentException("Maximum weight must be positive.");
+            }
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        @Override
+        public ResponseCacheConfiguration build() {
+            return new ResponseCacheConfiguration(this);
+        }
+    }
+
+}
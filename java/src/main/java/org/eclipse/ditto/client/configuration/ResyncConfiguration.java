@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+/**
+ * Configures the resynchronization of Things whose twin events might have been missed. While change handlers are
+ * registered on {@code twin()}, the revision of the last consumed event of each Thing is tracked. The Things are
+ * retrieved again after the connection was restored and whenever the revision of a consumed event does not follow the
+ * tracked one, see {@link ResyncConfigurationBuilder#gapDetection(boolean)}. If retrieving them fails, it is retried a
+ * few times with increasing delay. Their handlers receive a catch-up
+ * {@link org.eclipse.ditto.client.changes.ThingChange} with the retrieved Thing, or with action {@code DELETED} if it
+ * could no longer be retrieved.
+ * <p>
+ * Tracking revisions relies on the events of each Thing being consumed in the order they were received; with
+ * {@link ExecutorConfiguration.DispatchOrdering#UNORDERED unordered} dispatching, a later event could overtake an
+ * earlier one and appear as a gap. Configuring resynchronization therefore switches on dispatching events in
+ * order {@link ExecutorConfiguration.DispatchOrdering#PER_ENTITY per entity}, whatever the configured dispatch
+ * ordering.
+ * </p>
+ *
+ * @since 2.2.0
+ */
+public final class ResyncConfiguration {
+
+    /**
+     * Default maximum number of Things whose revisions are tracked.
+     */
+    public static final int DEFAULT_MAXIMUM_TRACKED_THINGS = 100_000;
+
+    private final int maximumTrackedThings;
+    private final boolean gapDetection;
+    private final BatchRetrieveConfiguration batchRetrieveConfiguration;
+
+    private ResyncConfiguration(final Builder builder) {
+        maximumTrackedThings = builder.maximumTrackedThings;
+        gapDetection = builder.gapDetection;
+        batchRetrieveConfiguration = builder.batchRetrieveConfiguration;
+    }
+
+    /**
+     * @return a new builder used to create a ResyncConfiguration object.
+     */
+    public static ResyncConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the maximum number of Things whose revisions are tracked.
+     */
+    public int getMaximumTrackedThings() {
+        return maximumTrackedThings;
+    }
+
+    /**
+     * @return whether a Thing is resynchronized when the revision of a consumed event does not follow the tracked
+     * one.
+     */
+    public boolean isGapDetection() {
+        return gapDetection;
+    }
+
+    /**
+     * @return how the Things to resynchronize are split into batches of retrieve commands.
+     */
+    public BatchRetrieveConfiguration getBatchRetrieveConfiguration() {
+        return batchRetrieveConfiguration;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "maximumTrackedThings=" + maximumTrackedThings +
+                ", gapDetection=" + gapDetection +
+                ", batchRetrieveConfiguration=" + batchRetrieveConfiguration +
+                "]";
+    }
+
+    /**
+     * Builder for a ResyncConfiguration.
+     */
+    public interface ResyncConfigurationBuilder {
+
+        /**
+         * Sets the maximum number of Things whose revisions are tracked. The least recently changed Things are no
+         * longer tracked beyond it, so that missed events of them are not detected. Default is
+         * {@value #DEFAULT_MAXIMUM_TRACKED_THINGS}.
+         *
+         * @param maximumTrackedThings the maximum number of tracked Things.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maximumTrackedThings} is not positive.
+         */
+        ResyncConfigurationBuilder maximumTrackedThings(int maximumTrackedThings);
+
+        /**
+         * Sets whether a Thing is resynchronized when the revision of a consumed event does not follow the tracked
+         * one. Gaps are never detected while twin events are consumed with a filter or for certain namespaces only,
+         * as events are skipped by design then. Disable it if the subject is not permitted to read all changes of the
+         * Things, which skips the revisions of the events hidden from it as well. Things are resynchronized after the
+         * connection was restored either way. Default is {@code true}.
+         *
+         * @param gapDetection whether to resynchronize a Thing on a gap in the revisions of its events.
+         * @return this builder.
+         */
+        ResyncConfigurationBuilder gapDetection(boolean gapDetection);
+
+        /**
+         * Sets how the Things to resynchronize are split into batches of retrieve commands and how many batches are
+         * requested at the same time. Default is {@link BatchRetrieveConfiguration#defaultConfiguration()}.
+         *
+         * @param batchRetrieveConfiguration the batch size and the maximum number of batches in flight.
+         * @return this builder.
+         * @throws NullPointerException if {@code batchRetrieveConfiguration} is {@code null}.
+         */
+        ResyncConfigurationBuilder batchRetrieveConfiguration(BatchRetrieveConfiguration batchRetrieveConfiguration);
+
+        /**
+         * @return new ResyncConfiguration instance.
+         */
+        ResyncConfiguration build();
+    }
+
+    private static final class Builder implements ResyncConfigurationBuilder {
+
+        private int maximumTrackedThings;
+        private boolean gapDetection;
+        private BatchRetrieveConfiguration batchRetrieveConfiguration;
+
+        private Builder() {
+            maximumTrackedThings = DEFAULT_MAXIMUM_TRACKED_THINGS;
+            gapDetection = true;
+            batchRetrieveConfiguration = BatchRetrieveConfiguration.defaultConfiguration();
+        }
+
+        @Override
+        public ResyncConfigurationBuilder maximumTrackedThings(final int maximumTrackedThings) {
+            if (maximumTrackedThings <= 0) {
+                throw new IllegalArgumentException("Maximum tracked things must be positive.");
+            }
+            this.maximumTrackedThings = maximumTrackedThings;
+            return this;
+        }
+
+        @Override
+        public ResyncConfigurationBuilder gapDetection(final boolean gapDetection) {
+            this.gapDetection = gapDetection;
+            return this;
+        }
+
+        @Override
+        public ResyncConfigurationBuilder batchRetrieveConfiguration(
+                final BatchRetrieveConfiguration batchRetrieveConfiguration) {
+            this.batchRetrieveConfiguration = checkNotNull(batchRetrieveConfiguration, "batchRetrieveConfiguration");
+            return this;
+        }
+
+        @Override
+        public ResyncConfiguration build() {
+            return new ResyncConfiguration(this);
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+/**
+ * Configures the local cache of Things answering {@code twin().forId(thingId).retrieve()}. The cache is populated by
+ * the responses to retrieve commands and kept up to date by the twin events received while
+ * {@code twin().startConsumption()} is active; cached Things are served only as long as the revisions of the received
+ * events follow each other without gaps. Least recently used Things are evicted when either bound is exceeded.
+ * Configuring the cache switches on dispatching events in order
+ * {@link ExecutorConfiguration.DispatchOrdering#PER_ENTITY per entity}, so that no event overtakes an earlier one
+ * of the same Thing and makes a cached Thing appear stale.
+ *
+ * @since 2.2.0
+ */
+public final class ThingCacheConfiguration {
+
+    /**
+     * Default maximum number of cached Things.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    /**
+     * Default maximum total weight of the cached Things, which is the length of their JSON string representation.
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 64L * 1024L * 1024L;
+
+    private final int maximumSize;
+    private final long maximumWeight;
+
+    private ThingCacheConfiguration(final Builder builder) {
+        maximumSize = builder.maximumSize;
+        maximumWeight = builder.maximumWeight;
+    }
+
+    /**
+     * @return a new builder used to create a ThingCacheConfiguration object.
+     */
+    public static ThingCacheConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the maximum number of cached Things.
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return the maximum total length of the JSON string representations of the cached Things.
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "maximumSize=" + maximumSize +
+                ", maximumWeight=" + maximumWeight +
+                "]";
+    }
+
+    /**
+     * Builder for a ThingCacheConfiguration.
+     */
+    public interface ThingCacheConfigurationBuilder {
+
+        /**
+         * Sets the maximum number of cached Things. Default is {@value #DEFAULT_MAXIMUM_SIZE}.
+         *
+         * @param maximumSize the maximum size.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maximumSize} is not positive.
+         */
+        ThingCacheConfigurationBuilder maximumSize(int maximumSize);
+
+        /**
+         * Sets the maximum total length of the JSON string representations of the cached Things. Things heavier than
+         * this are not cached at all. Default is 64 MiB.
+         *
+         * @param maximumWeight the maximum weight.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maximumWeight} is not positive.
+         */
+        ThingCacheConfigurationBuilder maximumWeight(long maximumWeight);
+
+        /**
+         * @return new ThingCacheConfiguration instance.
+         */
+        ThingCacheConfiguration build();
+    }
+
+    private static final class Builder implements ThingCacheConfigurationBuilder {
+
+        private int maximumSize;
+        private long maximumWeight;
+
+        private Builder() {
+            maximumSize = DEFAULT_MAXIMUM_SIZE;
+            maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+        }
+
+        @Override
+        public ThingCacheConfigurationBuilder maximumSize(final int maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("Maximum size must be positive.");
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        @Override
+        public ThingCacheConfigurationBuilder maximumWeight(final long maximumWeight) {
+            if (maximumWeight <= 0L) {
+                throw new IllegalArgumentException("Maximum weight must be positive.");
+            }
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        @Override
+        public ThingCacheConfiguration build() {
+            return new ThingCacheConfiguration(this);
+        }
+    }
+
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * Configures the frames of the WebSocket connection: the payload size above which sent messages are fragmented, the
+ * number of frames queued for sending, the interval of pings, the negotiation of {@code permessage-deflate}
+ * compression and whether frames are written as they are queued or coalesced within an interval.
+ *
+ * @since 2.2.0
+ */
+public final class WebSocketFrameConfiguration {
+
+    /**
+     * Default payload size in bytes above which sent messages are fragmented into several frames.
+     */
+    public static final int DEFAULT_MAX_PAYLOAD_SIZE = 256 * 1024;
+
+    /**
+     * Default interval in which pings are sent.
+     */
+    public static final Duration DEFAULT_PING_INTERVAL = Duration.ofSeconds(5L);
+
+    private static final WebSocketFrameConfiguration DEFAULT = newBuilder().build();
+
+    private final int maxPayloadSize;
+    private final int frameQueueSize;
+    private final Duration pingInterval;
+    private final boolean perMessageDeflateEnabled;
+    @Nullable private final Duration writeCoalescingInterval;
+
+    private WebSocketFrameConfiguration(final Builder builder) {
+        maxPayloadSize = builder.maxPayloadSize;
+        frameQueueSize = builder.frameQueueSize;
+        pingInterval = builder.pingInterval;
+        perMessageDeflateEnabled = builder.perMessageDeflateEnabled;
+        writeCoalescingInterval = builder.writeCoalescingInterval;
+    }
+
+    /**
+     * @return a new builder used to create a WebSocketFrameConfiguration object.
+     */
+    public static WebSocketFrameConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the configuration the client used before the frames of the WebSocket connection were configurable.
+     */
+    public static WebSocketFrameConfiguration defaultConfiguration() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return the payload size in bytes above which sent messages are fragmented or 0 if they are never fragmented.
+     */
+    public int getMaxPayloadSize() {
+        return maxPayloadSize;
+    }
+
+    /**
+     * @return the number of frames queued for sending after which sending blocks or 0 if the queue is unbounded.
+     */
+    public int getFrameQueueSize() {
+        return frameQueueSize;
+    }
+
+    /**
+     * @return the interval in which pings are sent; zero if no pings are sent.
+     */
+    public Duration getPingInterval() {
+        return pingInterval;
+    }
+
+    /**
+     * @return whether the {@code permessage-deflate} extension is offered to the server.
+     */
+    public boolean isPerMessageDeflateEnabled() {
+        return perMessageDeflateEnabled;
+    }
+
+    /**
+     * @return the interval in which queued frames are written at once or an empty optional if frames are written as
+     * soon as they are queued.
+     */
+    public Optional<Duration> getWriteCoalescingInterval() {
+        return Optional.ofNullable(writeCoalescingInterval);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "maxPayloadSize=" + maxPayloadSize +
+                ", frameQueueSize=" + frameQueueSize +
+                ", pingInterval=" + pingInterval +
+                ", perMessageDeflateEnabled=" + perMessageDeflateEnabled +
+                ", writeCoalescingInterval=" + writeCoalescingInterval +
+                "]";
+    }
+
+    /**
+     * Builder for a WebSocketFrameConfiguration.
+     */
+    public interface WebSocketFrameConfigurationBuilder {
+
+        /**
+         * Sets the payload size in bytes above which sent messages are fragmented into several frames. 0 disables
+         * fragmentation. Default is 256 KiB.
+         *
+         * @param maxPayloadSize the maximum payload size of a frame.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maxPayloadSize} is negative.
+         */
+        WebSocketFrameConfigurationBuilder maxPayloadSize(int maxPayloadSize);
+
+        /**
+         * Sets the number of frames queued for sending after which sending a message blocks until the queue has
+         * capacity again. 0 leaves the queue unbounded. Default is 0.
+         *
+         * @param frameQueueSize the size of the frame queue.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code frameQueueSize} is negative.
+         */
+        WebSocketFrameConfigurationBuilder frameQueueSize(int frameQueueSize);
+
+        /**
+         * Sets the interval in which pings are sent to keep the connection alive. Zero disables pings. Default is
+         * 5 seconds.
+         *
+         * @param pingInterval the ping interval.
+         * @return this builder.
+         * @throws NullPointerException if {@code pingInterval} is {@code null}.
+         * @throws IllegalArgumentException if {@code pingInterval} is negative.
+         */
+        WebSocketFrameConfigurationBuilder pingInterval(Duration pingInterval);
+
+        /**
+         * Sets whether the {@code permessage-deflate} extension (RFC 7692) is offered to the server. If the server
+         * agrees, messages are compressed in both directions. Default is {@code false}.
+         *
+         * @param perMessageDeflateEnabled whether to offer compression.
+         * @return this builder.
+         */
+        WebSocketFrameConfigurationBuilder perMessageDeflateEnabled(boolean perMessageDeflateEnabled);
+
+        /**
+         * Sets the interval in which queued frames are written to the connection at once instead of being written
+         * as soon as they are queued. This reduces the number of writes and TCP segments for many small messages
+         * at the expense of up to the interval of additional latency. Control frames are always written at once.
+         * Default is none.
+         *
+         * @param writeCoalescingInterval the interval or {@code null} to write frames as soon as they are queued.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code writeCoalescingInterval} is not positive.
+         */
+        WebSocketFrameConfigurationBuilder writeCoalescingInterval(@Nullable Duration writeCoalescingInterval);
+
+        /**
+         * @return new WebSocketFrameConfiguration instance.
+         */
+        WebSocketFrameConfiguration build();
+    }
+
+    private static final class Builder implements WebSocketFrameConfigurationBuilder {
+
+        private int maxPayloadSize;
+        private int frameQueueSize;
+        private Duration pingInterval;
+        private boolean perMessageDeflateEnabled;
+        @Nullable private Duration writeCoalescingInterval;
+
+        private Builder() {
+            maxPayloadSize = DEFAULT_MAX_PAYLOAD_SIZE;
+            frameQueueSize = 0;
+            pingInterval = DEFAULT_PING_INTERVAL;
+            perMessageDeflateEnabled = false;
+            writeCoalescingInterval = null;
+        }
+
+        @Override
+        public WebSocketFrameConfigurationBuilder maxPayloadSize(final int maxPayloadSize) {
+            if (maxPayloadSize < 0) {
+                throw new IllegalArgumentException("Maximum payload size must not be negative.");
+            }
+            this.maxPayloadSize = maxPayloadSize;
+            return this;
+        }
+
+        @Override
+        public WebSocketFrameConfigurationBuilder frameQueueSize(final int frameQueueSize) {
+            if (frameQueueSize < 0) {
+                throw new IllegalArgumentException("Frame queue size must not be negative.");
+            }
+            this.frameQueueSize = frameQueueSize;
+            return this;
+        }
+
+        @Override
+        public WebSocketFrameConfigurationBuilder pingInterval(final Duration pingInterval) {
+            checkNotNull(pingInterval, "pingInterval");
+            if (pingInterval.isNegative()) {
+                throw new IllegalArgumentException("Ping interval must not be negative.");
+            }
+            this.pingInterval = pingInterval;
+            return this;
+        }
+
+        @Override
+        public WebSocketFrameConfigurationBuilder perMessageDeflateEnabled(final boolean perMessageDeflateEnabled) {
+            this.perMessageDeflateEnabled = perMessageDeflateEnabled;
+            return this;
+        }
+
+        @Override
+        public WebSocketFrameConfigurationBuilder writeCoalescingInterval(
+                @Nullable final Duration writeCoalescingInterval) {
+            if (writeCoalescingInterval != null &&
+                    (writeCoalescingInterval.isNegative() || writeCoalescingInterval.isZero())) {
+                throw new IllegalArgumentException("Write coalescing interval must be positive.");
+            }
+            this.writeCoalescingInterval = writeCoalescingInterval;
+            return this;
+        }
+
+        @Override
+        public WebSocketFrameConfiguration build() {
+            return new WebSocketFrameConfiguration(this);
+        }
+
+    }
+
+}
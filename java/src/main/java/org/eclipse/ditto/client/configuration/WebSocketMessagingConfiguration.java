@@ -33,6 +33,7 @@ import javax.annotation.Nullable;
 
 import org.eclipse.ditto.base.model.acks.AcknowledgementLabel;
 import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
+import org.eclipse.ditto.client.metrics.ClientMetrics;
 
 /**
  * Provides Ditto WebSocket messaging specific configuration.
@@ -50,6 +51,18 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
     @Nullable private final TrustStoreConfiguration trustStoreConfiguration;
     @Nullable private final Consumer<Throwable> connectionErrorHandler;
     @Nullable private final Consumer<DisconnectedContext> disconnectedListener;
+    @Nullable private final OutgoingBufferConfiguration outgoingBufferConfiguration;
+    private final ExecutorConfiguration executorConfiguration;
+    private final ClientMetrics clientMetrics;
+    private final HandleCacheConfiguration handleCacheConfiguration;
+    @Nullable private final RequestLimiterConfiguration requestLimiterConfiguration;
+    @Nullable private final WriteBehindConfiguration writeBehindConfiguration;
+    private final boolean binaryMessagePayloadEnabled;
+    private final WebSocketFrameConfiguration webSocketFrameConfiguration;
+    @Nullable private final ConnectionPoolConfiguration connectionPoolConfiguration;
+    @Nullable private final ThingCacheConfiguration thingCacheConfiguration;
+    @Nullable private final ResponseCacheConfiguration responseCacheConfiguration;
+    @Nullable private final ResyncConfiguration resyncConfiguration;
     private final Set<AcknowledgementLabel> declaredAcknowledgements;
 
     public WebSocketMessagingConfiguration(final WebSocketMessagingConfigurationBuilder builder,
@@ -62,6 +75,18 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
         trustStoreConfiguration = builder.trustStoreConfiguration;
         connectionErrorHandler = builder.connectionErrorHandler;
         disconnectedListener = builder.disconnectedListener;
+        outgoingBufferConfiguration = builder.outgoingBufferConfiguration;
+        executorConfiguration = builder.executorConfiguration;
+        clientMetrics = builder.clientMetrics;
+        handleCacheConfiguration = builder.handleCacheConfiguration;
+        requestLimiterConfiguration = builder.requestLimiterConfiguration;
+        writeBehindConfiguration = builder.writeBehindConfiguration;
+        binaryMessagePayloadEnabled = builder.binaryMessagePayloadEnabled;
+        webSocketFrameConfiguration = builder.webSocketFrameConfiguration;
+        connectionPoolConfiguration = builder.connectionPoolConfiguration;
+        thingCacheConfiguration = builder.thingCacheConfiguration;
+        responseCacheConfiguration = builder.responseCacheConfiguration;
+        resyncConfiguration = builder.resyncConfiguration;
         this.timeout = builder.timeout;
         this.declaredAcknowledgements = Collections.unmodifiableSet(builder.declaredAcknowledgements);
         this.endpointUri = endpointUri;
@@ -121,6 +146,66 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
         return Optional.ofNullable(disconnectedListener);
     }
 
+    @Override
+    public Optional<OutgoingBufferConfiguration> getOutgoingBufferConfiguration() {
+        return Optional.ofNullable(outgoingBufferConfiguration);
+    }
+
+    @Override
+    public ExecutorConfiguration getExecutorConfiguration() {
+        return executorConfiguration;
+    }
+
+    @Override
+    public ClientMetrics getClientMetrics() {
+        return clientMetrics;
+    }
+
+    @Override
+    public HandleCacheConfiguration getHandleCacheConfiguration() {
+        return handleCacheConfiguration;
+    }
+
+    @Override
+    public Optional<RequestLimiterConfiguration> getRequestLimiterConfiguration() {
+        return Optional.ofNullable(requestLimiterConfiguration);
+    }
+
+    @Override
+    public Optional<WriteBehindConfiguration> getWriteBehindConfiguration() {
+        return Optional.ofNullable(writeBehindConfiguration);
+    }
+
+    @Override
+    public boolean isBinaryMessagePayloadEnabled() {
+        return binaryMessagePayloadEnabled;
+    }
+
+    @Override
+    public WebSocketFrameConfiguration getWebSocketFrameConfiguration() {
+        return webSocketFrameConfiguration;
+    }
+
+    @Override
+    public Optional<ConnectionPoolConfiguration> getConnectionPoolConfiguration() {
+        return Optional.ofNullable(connectionPoolConfiguration);
+    }
+
+    @Override
+    public Optional<ThingCacheConfiguration> getThingCacheConfiguration() {
+        return Optional.ofNullable(thingCacheConfiguration);
+    }
+
+    @Override
+    public Optional<ResponseCacheConfiguration> getResponseCacheConfiguration() {
+        return Optional.ofNullable(responseCacheConfiguration);
+    }
+
+    @Override
+    public Optional<ResyncConfiguration> getResyncConfiguration() {
+        return Optional.ofNullable(resyncConfiguration);
+    }
+
     private static final class WebSocketMessagingConfigurationBuilder implements MessagingConfiguration.Builder {
 
         private static final List<String> ALLOWED_URI_SCHEME = Arrays.asList("wss", "ws");
@@ -136,6 +221,18 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
         private TrustStoreConfiguration trustStoreConfiguration;
         @Nullable private Consumer<Throwable> connectionErrorHandler;
         @Nullable private Consumer<DisconnectedContext> disconnectedListener;
+        @Nullable private OutgoingBufferConfiguration outgoingBufferConfiguration;
+        private ExecutorConfiguration executorConfiguration;
+        private ClientMetrics clientMetrics;
+        private HandleCacheConfiguration handleCacheConfiguration;
+        @Nullable private RequestLimiterConfiguration requestLimiterConfiguration;
+        @Nullable private WriteBehindConfiguration writeBehindConfiguration;
+        private boolean binaryMessagePayloadEnabled;
+        private WebSocketFrameConfiguration webSocketFrameConfiguration;
+        @Nullable private ConnectionPoolConfiguration connectionPoolConfiguration;
+        @Nullable private ThingCacheConfiguration thingCacheConfiguration;
+        @Nullable private ResponseCacheConfiguration responseCacheConfiguration;
+        @Nullable private ResyncConfiguration resyncConfiguration;
         private final Set<AcknowledgementLabel> declaredAcknowledgements = new HashSet<>();
 
         private WebSocketMessagingConfigurationBuilder() {
@@ -145,6 +242,18 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
             proxyConfiguration = null;
             connectionErrorHandler = null;
             disconnectedListener = null;
+            outgoingBufferConfiguration = null;
+            executorConfiguration = ExecutorConfiguration.defaultConfiguration();
+            clientMetrics = ClientMetrics.noop();
+            handleCacheConfiguration = HandleCacheConfiguration.defaultConfiguration();
+            requestLimiterConfiguration = null;
+            writeBehindConfiguration = null;
+            binaryMessagePayloadEnabled = false;
+            webSocketFrameConfiguration = WebSocketFrameConfiguration.defaultConfiguration();
+            connectionPoolConfiguration = null;
+            thingCacheConfiguration = null;
+            responseCacheConfiguration = null;
+            resyncConfiguration = null;
         }
 
         @Override
@@ -217,6 +326,83 @@ public final class WebSocketMessagingConfiguration implements MessagingConfigura
             return this;
         }
 
+        @Override
+        public Builder outgoingBufferConfiguration(
+                @Nullable final OutgoingBufferConfiguration outgoingBufferConfiguration) {
+            this.outgoingBufferConfiguration = outgoingBufferConfiguration;
+            return this;
+        }
+
+        @Override
+        public Builder executorConfiguration(final ExecutorConfiguration executorConfiguration) {
+            this.executorConfiguration = checkNotNull(executorConfiguration, "executorConfiguration");
+            return this;
+        }
+
+        @Override
+        public Builder clientMetrics(final ClientMetrics clientMetrics) {
+            this.clientMetrics = checkNotNull(clientMetrics, "clientMetrics");
+            return this;
+        }
+
+        @Override
+        public Builder handleCacheConfiguration(final HandleCacheConfiguration handleCacheConfiguration) {
+            this.handleCacheConfiguration = checkNotNull(handleCacheConfiguration, "handleCacheConfiguration");
+            return this;
+        }
+
+        @Override
+        public Builder requestLimiterConfiguration(
+                @Nullable final RequestLimiterConfiguration requestLimiterConfiguration) {
+            this.requestLimiterConfiguration = requestLimiterConfiguration;
+            return this;
+        }
+
+        @Override
+        public Builder writeBehindConfiguration(@Nullable final WriteBehindConfiguration writeBehindConfiguration) {
+            this.writeBehindConfiguration = writeBehindConfiguration;
+            return this;
+        }
+
+        @Override
+        public Builder binaryMessagePayloadEnabled(final boolean binaryMessagePayloadEnabled) {
+            this.binaryMessagePayloadEnabled = binaryMessagePayloadEnabled;
+            return this;
+        }
+
+        @Override
+        public Builder webSocketFrameConfiguration(final WebSocketFrameConfiguration webSocketFrameConfiguration) {
+            this.webSocketFrameConfiguration =
+                    checkNotNull(webSocketFrameConfiguration, "webSocketFrameConfiguration");
+            return this;
+        }
+
+        @Override
+        public Builder connectionPoolConfiguration(
+                @Nullable final ConnectionPoolConfiguration connectionPoolConfiguration) {
+            this.connectionPoolConfiguration = connectionPoolConfiguration;
+            return this;
+        }
+
+        @Override
+        public Builder thingCacheConfiguration(@Nullable final ThingCacheConfiguration thingCacheConfiguration) {
+            this.thingCacheConfiguration = thingCacheConfiguration;
+            return this;
+        }
+
+        @Override
+        public Builder responseCacheConfiguration(
+                @Nullable final ResponseCacheConfiguration responseCacheConfiguration) {
+            this.responseCacheConfiguration = responseCacheConfiguration;
+            return this;
+        }
+
+        @Override
+        public Builder resyncConfiguration(@Nullable final ResyncConfiguration resyncConfiguration) {
+            this.resyncConfiguration = resyncConfiguration;
+            return this;
+        }
+
         @Override
         public MessagingConfiguration build() {
             final URI wsEndpointUri = appendWsPathIfNecessary(this.endpointUri, jsonSchemaVersion);
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.configuration;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.time.Duration;
+
+/**
+ * Configures the write-behind of twin attribute and feature property updates: updates of the same thing issued via
+ * {@code putAttribute} and {@code putProperty} within a window are coalesced into a single {@code MergeThing}
+ * command, later updates of a path superseding earlier ones. Every coalesced update completes with the outcome of
+ * that command.
+ *
+ * @since 2.2.0
+ */
+public final class WriteBehindConfiguration {
+
+    /**
+     * Default window in which updates of the same thing are coalesced.
+     */
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(100L);
+
+    /**
+     * Default maximum number of coalesced updates of a thing after which they are sent without awaiting the end of
+     * the window.
+     */
+    public static final int DEFAULT_MAX_UPDATES = 100;
+
+    private final Duration window;
+    private final int maxUpdates;
+
+    private WriteBehindConfiguration(final Builder builder) {
+        window = builder.window;
+        maxUpdates = builder.maxUpdates;
+    }
+
+    /**
+     * @return a new builder used to create a WriteBehindConfiguration object.
+     */
+    public static WriteBehindConfigurationBuilder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return how long updates of the same thing are coalesced after the first one.
+     */
+    public Duration getWindow() {
+        return window;
+    }
+
+    /**
+     * @return the maximum number of updates of a thing to coalesce.
+     */
+    public int getMaxUpdates() {
+        return maxUpdates;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "window=" + window +
+                ", maxUpdates=" + maxUpdates +
+                "]";
+    }
+
+    /**
+     * Builder for a WriteBehindConfiguration.
+     */
+    public interface WriteBehindConfigurationBuilder {
+
+        /**
+         * Sets how long updates of the same thing are coalesced after the first one. Default is 100 ms.
+         *
+         * @param window the window.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code window} is negative.
+         */
+        WriteBehindConfigurationBuilder window(Duration window);
+
+        /**
+         * Sets the maximum number of updates of a thing to coalesce. Default is {@value #DEFAULT_MAX_UPDATES}.
+         *
+         * @param maxUpdates the maximum number of updates.
+         * @return this builder.
+         * @throws IllegalArgumentException if {@code maxUpdates} is not positive.
+         */
+        WriteBehindConfigurationBuilder maxUpdates(int maxUpdates);
+
+        /**
+         * @return new WriteBehindConfiguration instance.
+         */
+        WriteBehindConfiguration build();
+    }
+
+    private static final class Builder implements WriteBehindConfigurationBuilder {
+
+        private Duration window;
+        private int maxUpdates;
+
+        private Builder() {
+            window = DEFAULT_WINDOW;
+            maxUpdates = DEFAULT_MAX_UPDATES;
+        }
+
+        @Override
+        public WriteBehindConfigurationBuilder window(final Duration window) {
+            checkNotNull(window, "window");
+            if (window.isNegative()) {
+                throw new IllegalArgumentException("Write-behind window must not be negative.");
+            }
+            this.window = window;
+            return this;
+        }
+
+        @Override
+        public WriteBehindConfigurationBuilder maxUpdates(final int maxUpdates) {
+            if (maxUpdates <= 0) {
+                throw new IllegalArgumentException("Maximum number of coalesced updates must be positive.");
+            }
+            this.maxUpdates = maxUpdates;
+            return this;
+        }
+
+        @Override
+        public WriteBehindConfiguration build() {
+            return new WriteBehindConfiguration(this);
+        }
+
+    }
+
+}
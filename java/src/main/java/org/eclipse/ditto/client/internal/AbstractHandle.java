@@ -24,12 +24,14 @@ import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.eclipse.ditto.client.ack.internal.AcknowledgementRequestsValidator;
 import org.eclipse.ditto.client.internal.bus.Classification;
 import org.eclipse.ditto.client.management.AcknowledgementsFailedException;
 import org.eclipse.ditto.client.messaging.MessagingProvider;
 import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonFieldSelector;
 import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonPointer;
 import org.eclipse.ditto.json.JsonValue;
@@ -169,6 +171,28 @@ public abstract class AbstractHandle {
                 ErrorResponse::getDittoRuntimeException);
     }
 
+    /**
+     * Specialization of {@code this#askThingCommand(ThingCommand,Class,Function)} for commands retrieving a Thing or
+     * parts of it, whose responses subclasses may cache. Sends the command as it is by default.
+     *
+     * @param command the thing query command.
+     * @param fieldSelector the fields selected by the command or {@code null}.
+     * @param expectedResponse expected response class.
+     * @param onSuccess what happens if the expected response arrives.
+     * @param <T> type of the command.
+     * @param <S> type of the expected response.
+     * @param <R> type of the result.
+     * @return future of the result if the expected response arrives or a failed future on error.
+     * @since 2.2.0
+     */
+    protected <T extends ThingCommand<T>, S extends CommandResponse<?>, R> CompletionStage<R> askThingQueryCommand(
+            final T command,
+            @Nullable final JsonFieldSelector fieldSelector,
+            final Class<S> expectedResponse,
+            final Function<S, R> onSuccess) {
+        return askThingCommand(command, expectedResponse, onSuccess);
+    }
+
     /**
      * Send a request and expect a response.
      *
@@ -188,11 +212,28 @@ public abstract class AbstractHandle {
             final Class<E> expectedErrorResponseClass,
             final Function<E, ? extends RuntimeException> onError) {
 
+        return messagingProvider.getRequestLimiter()
+                .map(limiter -> limiter.submit(() ->
+                        sendSignal(signal, expectedResponseClass, onSuccess, expectedErrorResponseClass, onError)))
+                .orElseGet(() ->
+                        sendSignal(signal, expectedResponseClass, onSuccess, expectedErrorResponseClass, onError));
+    }
+
+    private <S, E, R> CompletionStage<R> sendSignal(final Signal<?> signal,
+            final Class<S> expectedResponseClass,
+            final Function<S, R> onSuccess,
+            final Class<E> expectedErrorResponseClass,
+            final Function<E, ? extends RuntimeException> onError) {
+
         final CompletionStage<Adaptable> responseFuture = messagingProvider.getAdaptableBus()
                 .subscribeOnceForAdaptable(Classification.forCorrelationId(signal), getTimeout());
 
+        final long startNanos = System.nanoTime();
         messagingProvider.emit(signalToJsonString(signal));
         return responseFuture.thenApply(responseAdaptable -> {
+            messagingProvider.getMessagingConfiguration()
+                    .getClientMetrics()
+                    .onRoundTrip(signal.getType(), System.nanoTime() - startNanos);
             final Signal<?> response = signalFromAdaptable(responseAdaptable);
             if (expectedErrorResponseClass.isInstance(response)) {
                 // extracted runtime exception will be wrapped in CompletionException.
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Single-use publisher of the results of a request split into batches. Up to a maximum number of batches are requested
+ * at the same time; their results are published in the order of the batches, each batch as soon as it and all batches
+ * before it arrived. Batches are only requested while the subscriber has demand and at most the maximum number of
+ * batches are held back, so that a slow subscriber bounds the memory used.
+ *
+ * @param <K> the type of the keys of a batch, e.g. Thing IDs.
+ * @param <T> the type of the results.
+ * @since 2.2.0
+ */
+final class BatchedPublisher<K, T> implements Publisher<T> {
+
+    private final List<List<K>> batches;
+    private final Function<List<K>, CompletionStage<List<T>>> requestBatch;
+    private final int maxInFlight;
+    private final Executor executor;
+    private final AtomicBoolean subscribed;
+
+    private BatchedPublisher(final List<List<K>> batches,
+            final Function<List<K>, CompletionStage<List<T>>> requestBatch,
+            final int maxInFlight,
+            final Executor executor) {
+        this.batches = batches;
+        this.requestBatch = requestBatch;
+        this.maxInFlight = maxInFlight;
+        this.executor = executor;
+        subscribed = new AtomicBoolean(false);
+    }
+
+    /**
+     * Create a publisher of the results of the batches of the passed keys.
+     *
+     * @param keys the keys to request results for.
+     * @param batchSize the maximum number of keys per batch.
+     * @param maxInFlight the maximum number of batches awaiting their results at the same time.
+     * @param requestBatch requests the results of one batch.
+     * @param executor the executor to signal the subscriber on.
+     * @param <K> the type of the keys.
+     * @param <T> the type of the results.
+     * @return the publisher.
+     */
+    static <K, T> BatchedPublisher<K, T> of(final Iterable<K> keys,
+            final int batchSize,
+            final int maxInFlight,
+            final Function<List<K>, CompletionStage<List<T>>> requestBatch,
+            final Executor executor) {
+
+        final List<List<K>> batches = new ArrayList<>();
+        final Iterator<K> iterator = keys.iterator();
+        while (iterator.hasNext()) {
+            final List<K> batch = new ArrayList<>(batchSize);
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                batch.add(checkNotNull(iterator.next(), "key"));
+            }
+            batches.add(batch);
+        }
+        return new BatchedPublisher<>(batches, requestBatch, maxInFlight, executor);
+    }
+
+    /**
+     * Request all batches and collect their results in order.
+     *
+     * @return a future list of all results, or a failed future if any batch failed.
+     */
+    CompletionStage<List<T>> collect() {
+        final CompletableFuture<List<T>> result = new CompletableFuture<>();
+        subscribe(new Subscriber<T>() {
+            private final List<T> collected = new ArrayList<>();
+
+            @Override
+            public void onSubscribe(final Subscription s) {
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(final T t) {
+                collected.add(t);
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+                result.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(collected);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super T> subscriber) {
+        checkNotNull(subscriber, "subscriber");
+        if (subscribed.getAndSet(true)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(final long n) {
+                    // already failed
+                }
+
+                @Override
+                public void cancel() {
+                    // already failed
+                }
+            });
+            subscriber.onError(new IllegalStateException("BatchedPublisher supports at most 1 subscriber."));
+        } else {
+            new BatchSubscription(subscriber).start();
+        }
+    }
+
+    /**
+     * All state is confined to tasks of a serial executor, which also signals the subscriber.
+     */
+    private final class BatchSubscription implements Subscription {
+
+        private final Subscriber<? super T> subscriber;
+        private final SerialExecutor serialExecutor;
+        private final List<List<T>> results;
+        private long demand;
+        private int nextToRequest;
+        private int nextToPublish;
+        private int nextInBatch;
+        private boolean terminated;
+
+        private BatchSubscription(final Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+            serialExecutor = new SerialExecutor(executor);
+            results = new ArrayList<>(batches.size());
+            for (int i = 0; i < batches.size(); i++) {
+                results.add(null);
+            }
+            demand = 0L;
+            nextToRequest = 0;
+            nextToPublish = 0;
+            nextInBatch = 0;
+            terminated = false;
+        }
+
+        private void start() {
+            serialExecutor.execute(() -> {
+                subscriber.onSubscribe(this);
+                // completes right away if there are no batches
+                publish();
+            });
+        }
+
+        @Override
+        public void request(final long n) {
+            serialExecutor.execute(() -> {
+                if (terminated) {
+                    return;
+                }
+                if (n <= 0) {
+                    fail(new IllegalArgumentException("Expect positive demand, got: " + n));
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                    requestBatches();
+                    publish();
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            serialExecutor.execute(() -> terminated = true);
+        }
+
+        private void requestBatches() {
+            while (!terminated && nextToRequest < batches.size() && nextToRequest < nextToPublish + maxInFlight) {
+                final int index = nextToRequest++;
+                final CompletionStage<List<T>> batchResultStage;
+                try {
+                    batchResultStage = requestBatch.apply(batches.get(index));
+                } catch (final RuntimeException e) {
+                    fail(e);
+                    return;
+                }
+                batchResultStage.whenComplete((batchResult, error) ->
+                        serialExecutor.execute(() -> onBatchResult(index, batchResult, error)));
+            }
+        }
+
+        private void onBatchResult(final int index, @Nullable final List<T> batchResult,
+                @Nullable final Throwable error) {
+            if (terminated) {
+                return;
+            }
+            if (error != null) {
+                fail(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            } else {
+                results.set(index, batchResult != null ? batchResult : new ArrayList<>());
+                publish();
+            }
+        }
+
+        private void publish() {
+            while (!terminated && nextToPublish < batches.size() && results.get(nextToPublish) != null) {
+                final List<T> batchResult = results.get(nextToPublish);
+                while (demand > 0 && nextInBatch < batchResult.size() && !terminated) {
+                    demand--;
+                    subscriber.onNext(batchResult.get(nextInBatch++));
+                }
+                if (nextInBatch < batchResult.size()) {
+                    return;
+                }
+                results.set(nextToPublish++, null);
+                nextInBatch = 0;
+                requestBatches();
+            }
+            if (!terminated && nextToPublish == batches.size()) {
+                terminated = true;
+                subscriber.onComplete();
+            }
+        }
+
+        private void fail(final Throwable error) {
+            terminated = true;
+            subscriber.onError(error);
+        }
+    }
+
+}
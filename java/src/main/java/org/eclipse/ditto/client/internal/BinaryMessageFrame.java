@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.Payload;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.eclipse.ditto.protocol.TopicPath;
+
+/**
+ * Codec of WebSocket binary frames carrying a live message with a binary payload, e.g. of content-type
+ * {@code application/octet-stream}, without encoding the payload in base64. A frame consists of
+ * <ol>
+ * <li>the magic bytes {@code 0xD1 0x77}, followed by the version of the format {@code 0x01},</li>
+ * <li>the length of the envelope in bytes as a 4 byte big-endian integer,</li>
+ * <li>the envelope: the UTF-8 encoded Ditto Protocol message without {@code value},</li>
+ * <li>the raw payload up to the end of the frame.</li>
+ * </ol>
+ * Adding the base64 encoded payload as {@code value} to the envelope yields the equivalent text message, so
+ * that the binary frame stays interoperable with the text protocol.
+ * <p>
+ * The format is no part of the Ditto Protocol. The client offers it by the {@value #CAPABILITY_HEADER} header of the
+ * opening handshake and sends binary frames only if the server confirms the header with the same version in its
+ * handshake response.
+ *
+ * @since 2.2.0
+ */
+@Immutable
+public final class BinaryMessageFrame {
+
+    /**
+     * Header of the opening handshake by which the client offers and the server confirms binary message frames. Its
+     * value is the version of the format.
+     */
+    public static final String CAPABILITY_HEADER = "ditto-binary-message-frame";
+
+    /**
+     * Value of the {@value #CAPABILITY_HEADER} header: the version of the format.
+     */
+    public static final String CAPABILITY_VERSION = "1";
+
+    private static final byte MAGIC_0 = (byte) 0xD1;
+    private static final byte MAGIC_1 = (byte) 0x77;
+    private static final byte VERSION = 0x01;
+    private static final int HEADER_LENGTH = 3 + Integer.BYTES;
+
+    private BinaryMessageFrame() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Encodes a live message into a binary frame.
+     *
+     * @param envelope the Ditto Protocol message without payload value.
+     * @param payload the raw payload; its position is not changed.
+     * @return the frame.
+     */
+    public static byte[] encode(final Adaptable envelope, final ByteBuffer payload) {
+        final byte[] envelopeBytes = ProtocolFactory.wrapAsJsonifiableAdaptable(envelope)
+                .toJsonString()
+                .getBytes(StandardCharsets.UTF_8);
+        final int payloadLength = payload.remaining();
+        final byte[] frame = new byte[HEADER_LENGTH + envelopeBytes.length + payloadLength];
+        final ByteBuffer frameBuffer = ByteBuffer.wrap(frame);
+        frameBuffer.put(MAGIC_0).put(MAGIC_1).put(VERSION).putInt(envelopeBytes.length).put(envelopeBytes);
+        frameBuffer.put(payload.duplicate());
+        return frame;
+    }
+
+    /**
+     * Decodes a binary frame. The payload of the decoded message is a read-only view of the frame and can be
+     * retrieved by {@link #getBinaryPayload(Adaptable)}.
+     *
+     * @param frame the frame.
+     * @return the decoded message or an empty optional if the frame is no binary message frame.
+     */
+    public static Optional<Adaptable> decode(final byte[] frame) {
+        if (!isBinaryMessageFrame(frame)) {
+            return Optional.empty();
+        }
+        final int envelopeLength = ByteBuffer.wrap(frame, 3, Integer.BYTES).getInt();
+        if (envelopeLength < 0 || envelopeLength > frame.length - HEADER_LENGTH) {
+            return Optional.empty();
+        }
+        // parse the envelope from the bytes of the frame without materializing it as string
+        final Reader envelopeReader = new InputStreamReader(
+                new ByteArrayInputStream(frame, HEADER_LENGTH, envelopeLength), StandardCharsets.UTF_8);
+        final JsonValue envelopeJson = JsonFactory.readFrom(envelopeReader);
+        if (!envelopeJson.isObject()) {
+            return Optional.empty();
+        }
+        final int payloadOffset = HEADER_LENGTH + envelopeLength;
+        final ByteBuffer payload = ByteBuffer.wrap(frame, payloadOffset, frame.length - payloadOffset)
+                .slice()
+                .asReadOnlyBuffer();
+        return Optional.of(new AdaptableWithBinaryPayload(
+                ProtocolFactory.jsonifiableAdaptableFromJson(envelopeJson.asObject()), payload));
+    }
+
+    /**
+     * Returns the payload of a message decoded from a binary frame.
+     *
+     * @param adaptable the message.
+     * @return a new read-only view of the payload or an empty optional if the message was not decoded from a binary
+     * frame.
+     */
+    public static Optional<ByteBuffer> getBinaryPayload(final Adaptable adaptable) {
+        if (adaptable instanceof AdaptableWithBinaryPayload) {
+            return Optional.of(((AdaptableWithBinaryPayload) adaptable).payload.duplicate());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Tests whether the server confirmed binary message frames in its response to the opening handshake.
+     *
+     * @param handshakeResponseHeaders the headers of the handshake response.
+     * @return whether the server accepts binary message frames of this version.
+     */
+    public static boolean isAcceptedBy(final Map<String, List<String>> handshakeResponseHeaders) {
+        for (final Map.Entry<String, List<String>> header : handshakeResponseHeaders.entrySet()) {
+            if (CAPABILITY_HEADER.equalsIgnoreCase(header.getKey()) && header.getValue() != null &&
+                    header.getValue().contains(CAPABILITY_VERSION)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isBinaryMessageFrame(final byte[] frame) {
+        return frame.length >= HEADER_LENGTH && frame[0] == MAGIC_0 && frame[1] == MAGIC_1 && frame[2] == VERSION;
+    }
+
+    @Immutable
+    private static final class AdaptableWithBinaryPayload implements Adaptable {
+
+        private final Adaptable envelope;
+        private final ByteBuffer payload;
+
+        private AdaptableWithBinaryPayload(final Adaptable envelope, final ByteBuffer payload) {
+            this.envelope = envelope;
+            this.payload = payload;
+        }
+
+        @Override
+        public TopicPath getTopicPath() {
+            return envelope.getTopicPath();
+        }
+
+        @Override
+        public Payload getPayload() {
+            return envelope.getPayload();
+        }
+
+        @Override
+        public boolean containsHeaderForKey(final CharSequence key) {
+            return envelope.containsHeaderForKey(key);
+        }
+
+        @Override
+        public DittoHeaders getDittoHeaders() {
+            return envelope.getDittoHeaders();
+        }
+
+        @Override
+        public Adaptable setDittoHeaders(final DittoHeaders dittoHeaders) {
+            return new AdaptableWithBinaryPayload(envelope.setDittoHeaders(dittoHeaders), payload);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " [" +
+                    "envelope=" + envelope +
+                    ", payloadBytes=" + payload.remaining() +
+                    "]";
+        }
+
+    }
+
+}
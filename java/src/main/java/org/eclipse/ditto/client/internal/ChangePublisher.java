@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.client.changes.Change;
+import org.eclipse.ditto.client.configuration.ChangeStreamConfiguration;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Publisher of the changes passed to a handler registration. Each subscriber gets a registration of its own, which is
+ * removed when it cancels, and a bounded buffer holding the changes it has no demand for yet. Changes are signalled
+ * by whichever thread finds the subscriber with demand and a non-empty buffer: the thread dispatching a change or the
+ * thread requesting more.
+ *
+ * @param <T> the type of the changes.
+ * @since 2.2.0
+ */
+final class ChangePublisher<T extends Change> implements Publisher<T> {
+
+    private final ChangeStreamConfiguration configuration;
+    private final BiConsumer<String, Consumer<T>> register;
+    private final Consumer<String> deregister;
+
+    private ChangePublisher(final ChangeStreamConfiguration configuration,
+            final BiConsumer<String, Consumer<T>> register,
+            final Consumer<String> deregister) {
+        this.configuration = configuration;
+        this.register = register;
+        this.deregister = deregister;
+    }
+
+    /**
+     * Create a publisher of the changes passed to handlers registered by the given function.
+     *
+     * @param configuration the buffer size and overflow strategy of each subscriber.
+     * @param register registers a handler with a registration ID.
+     * @param deregister removes the registration with an ID.
+     * @param <T> the type of the changes.
+     * @return the publisher.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    static <T extends Change> ChangePublisher<T> of(final ChangeStreamConfiguration configuration,
+            final BiConsumer<String, Consumer<T>> register,
+            final Consumer<String> deregister) {
+
+        return new ChangePublisher<>(checkNotNull(configuration, "configuration"),
+                checkNotNull(register, "register"),
+                checkNotNull(deregister, "deregister"));
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super T> subscriber) {
+        checkNotNull(subscriber, "subscriber");
+        final ChangeSubscription subscription = new ChangeSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        try {
+            register.accept(subscription.registrationId, subscription::offer);
+        } catch (final RuntimeException e) {
+            subscription.fail(e);
+        }
+    }
+
+    /**
+     * The buffer and the demand are guarded by the monitor of the subscription; the subscriber is signalled outside
+     * of it, by one thread at a time.
+     */
+    private final class ChangeSubscription implements Subscription {
+
+        private final Subscriber<? super T> subscriber;
+        private final String registrationId;
+        private final ArrayDeque<T> buffer;
+        private final AtomicInteger workInProgress;
+        private long demand;
+        private boolean cancelled;
+        @Nullable private Throwable error;
+
+        private ChangeSubscription(final Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+            registrationId = "change-stream-" + UUID.randomUUID();
+            buffer = new ArrayDeque<>();
+            workInProgress = new AtomicInteger();
+            demand = 0L;
+            cancelled = false;
+            error = null;
+        }
+
+        @Override
+        public void request(final long n) {
+            synchronized (this) {
+                if (n <= 0) {
+                    error = new IllegalArgumentException("Expect positive demand, got: " + n);
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (terminate()) {
+                deregister.accept(registrationId);
+            }
+        }
+
+        private void offer(final T change) {
+            synchronized (this) {
+                if (cancelled || error != null) {
+                    return;
+                }
+                final boolean accepted = buffer.size() < configuration.getBufferSize() || makeRoom(change);
+                // the subscription may have been terminated while blocked
+                if (accepted && !cancelled && error == null) {
+                    buffer.add(change);
+                }
+            }
+            drain();
+        }
+
+        private void fail(final Throwable failure) {
+            synchronized (this) {
+                if (error == null) {
+                    error = failure;
+                }
+            }
+            drain();
+        }
+
+        /**
+         * Applies the overflow strategy to a change arriving while the buffer is full.
+         *
+         * @return whether to add the change to the buffer.
+         */
+        private boolean makeRoom(final T change) {
+            switch (configuration.getOverflowStrategy()) {
+                case BLOCK:
+                    return awaitRoom();
+                case DROP_NEWEST:
+                    return false;
+                case LATEST_PER_THING:
+                    if (!removeBufferedChangeOfSamePath(change)) {
+                        buffer.poll();
+                    }
+                    return true;
+                case ERROR:
+                    error = new IllegalStateException(
+                            "Buffer of " + configuration.getBufferSize() + " changes overflowed.");
+                    return false;
+                case DROP_OLDEST:
+                default:
+                    buffer.poll();
+                    return true;
+            }
+        }
+
+        /**
+         * Blocks until the buffer is no longer full, at most for the block timeout: the subscriber may only be able
+         * to signal demand once the blocked thread goes on, e.g. if it is signalled by that thread.
+         */
+        private boolean awaitRoom() {
+            final long timeoutNanos = configuration.getBlockTimeout().toNanos();
+            final long deadline = System.nanoTime() + timeoutNanos;
+            long remainingNanos = timeoutNanos;
+            while (buffer.size() >= configuration.getBufferSize() && !cancelled && error == null) {
+                if (remainingNanos <= 0) {
+                    error = new IllegalStateException("Buffer of " + configuration.getBufferSize() +
+                            " changes stayed full for " + configuration.getBlockTimeout() + ".");
+                    return false;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                remainingNanos = deadline - System.nanoTime();
+            }
+            return true;
+        }
+
+        private boolean removeBufferedChangeOfSamePath(final T change) {
+            final Iterator<T> iterator = buffer.iterator();
+            while (iterator.hasNext()) {
+                final T buffered = iterator.next();
+                if (Objects.equals(buffered.getEntityId(), change.getEntityId()) &&
+                        buffered.getPath().equals(change.getPath())) {
+                    iterator.remove();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private synchronized boolean terminate() {
+            if (cancelled) {
+                return false;
+            }
+            cancelled = true;
+            buffer.clear();
+            // wake up threads blocked by a full buffer
+            notifyAll();
+            return true;
+        }
+
+        private void drain() {
+            if (workInProgress.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (true) {
+                    final T next;
+                    final Throwable failure;
+                    synchronized (this) {
+                        if (cancelled) {
+                            return;
+                        }
+                        failure = error;
+                        if (failure == null && demand > 0 && !buffer.isEmpty()) {
+                            next = buffer.poll();
+                            demand--;
+                            // a slot became free for threads blocked by a full buffer
+                            notifyAll();
+                        } else {
+                            next = null;
+                        }
+                    }
+                    if (failure != null) {
+                        if (terminate()) {
+                            deregister.accept(registrationId);
+                            subscriber.onError(failure);
+                        }
+                        return;
+                    }
+                    if (next == null) {
+                        break;
+                    }
+                    subscriber.onNext(next);
+                }
+                missed = workInProgress.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+
+}
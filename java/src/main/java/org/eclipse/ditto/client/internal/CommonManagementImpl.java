@@ -40,17 +40,22 @@ import org.eclipse.ditto.client.changes.ThingChange;
 import org.eclipse.ditto.client.changes.internal.ImmutableFeatureChange;
 import org.eclipse.ditto.client.changes.internal.ImmutableFeaturesChange;
 import org.eclipse.ditto.client.changes.internal.ImmutableThingChange;
+import org.eclipse.ditto.client.configuration.BatchRetrieveConfiguration;
+import org.eclipse.ditto.client.configuration.ChangeStreamConfiguration;
 import org.eclipse.ditto.client.internal.bus.AdaptableBus;
 import org.eclipse.ditto.client.internal.bus.Classification;
 import org.eclipse.ditto.client.internal.bus.PointerBus;
 import org.eclipse.ditto.client.internal.bus.SelectorUtil;
 import org.eclipse.ditto.client.management.CommonManagement;
 import org.eclipse.ditto.client.management.FeatureHandle;
+import org.eclipse.ditto.client.management.ThingDecoder;
 import org.eclipse.ditto.client.management.ThingHandle;
 import org.eclipse.ditto.client.messaging.MessagingProvider;
+import org.eclipse.ditto.client.metrics.ClientMetrics;
 import org.eclipse.ditto.client.options.Option;
 import org.eclipse.ditto.client.options.OptionName;
 import org.eclipse.ditto.client.options.internal.OptionsEvaluator;
+import org.eclipse.ditto.json.JsonArray;
 import org.eclipse.ditto.json.JsonFieldSelector;
 import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonPointer;
@@ -79,6 +84,7 @@ import org.eclipse.ditto.things.model.signals.commands.modify.DeleteThing;
 import org.eclipse.ditto.things.model.signals.commands.modify.ModifyThing;
 import org.eclipse.ditto.things.model.signals.commands.query.RetrieveThings;
 import org.eclipse.ditto.things.model.signals.commands.query.RetrieveThingsResponse;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -115,6 +121,11 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
         this.outgoingMessageFactory = outgoingMessageFactory;
         this.handlerRegistry = handlerRegistry;
         this.bus = bus;
+        final ClientMetrics clientMetrics = messagingProvider.getMessagingConfiguration().getClientMetrics();
+        clientMetrics.bindCacheStatistics(channel.getName() + "-thing-handles",
+                handlerRegistry::getThingHandleCacheStatistics);
+        clientMetrics.bindCacheStatistics(channel.getName() + "-feature-handles",
+                handlerRegistry::getFeatureHandleCacheStatistics);
     }
 
     @Override
@@ -538,6 +549,68 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
         return sendRetrieveThingsMessage(outgoingMessageFactory.retrieveThings(thingIds, fieldSelector.getPointers()));
     }
 
+    @Override
+    public <R> CompletionStage<List<R>> retrieve(final JsonFieldSelector fieldSelector,
+            final Iterable<ThingId> thingIds,
+            final ThingDecoder<R> decoder) {
+
+        argumentNotNull(fieldSelector);
+        argumentNotNull(thingIds);
+        argumentNotNull(decoder);
+
+        return sendSignalAndExpectResponse(outgoingMessageFactory.retrieveThings(thingIds, fieldSelector.getPointers()),
+                RetrieveThingsResponse.class, response -> decodeThings(response, decoder),
+                ErrorResponse.class,
+                ErrorResponse::getDittoRuntimeException);
+    }
+
+    @Override
+    public CompletionStage<List<Thing>> retrieveInBatches(final Iterable<ThingId> thingIds,
+            final BatchRetrieveConfiguration batchRetrieveConfiguration) {
+
+        return batchedRetrieveThings(null, thingIds, batchRetrieveConfiguration).collect();
+    }
+
+    @Override
+    public CompletionStage<List<Thing>> retrieveInBatches(final JsonFieldSelector fieldSelector,
+            final Iterable<ThingId> thingIds,
+            final BatchRetrieveConfiguration batchRetrieveConfiguration) {
+
+        argumentNotNull(fieldSelector);
+        return batchedRetrieveThings(fieldSelector, thingIds, batchRetrieveConfiguration).collect();
+    }
+
+    @Override
+    public Publisher<Thing> streamInBatches(final Iterable<ThingId> thingIds,
+            final BatchRetrieveConfiguration batchRetrieveConfiguration) {
+
+        return batchedRetrieveThings(null, thingIds, batchRetrieveConfiguration);
+    }
+
+    @Override
+    public Publisher<Thing> streamInBatches(final JsonFieldSelector fieldSelector,
+            final Iterable<ThingId> thingIds,
+            final BatchRetrieveConfiguration batchRetrieveConfiguration) {
+
+        argumentNotNull(fieldSelector);
+        return batchedRetrieveThings(fieldSelector, thingIds, batchRetrieveConfiguration);
+    }
+
+    private BatchedPublisher<ThingId, Thing> batchedRetrieveThings(@Nullable final JsonFieldSelector fieldSelector,
+            final Iterable<ThingId> thingIds,
+            final BatchRetrieveConfiguration batchRetrieveConfiguration) {
+
+        argumentNotNull(thingIds);
+        argumentNotNull(batchRetrieveConfiguration);
+
+        return BatchedPublisher.of(thingIds, batchRetrieveConfiguration.getBatchSize(),
+                batchRetrieveConfiguration.getMaxInFlight(),
+                batch -> sendRetrieveThingsMessage(fieldSelector != null
+                        ? outgoingMessageFactory.retrieveThings(batch, fieldSelector.getPointers())
+                        : outgoingMessageFactory.retrieveThings(batch)),
+                messagingProvider.getExecutorService());
+    }
+
     @Override
     public void registerForAttributesChanges(final String registrationId, final Consumer<Change> handler) {
         argumentNotNull(handler);
@@ -638,6 +711,81 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
                 });
     }
 
+    @Override
+    public Publisher<ThingChange> streamThingChanges(final ChangeStreamConfiguration changeStreamConfiguration) {
+        return ChangePublisher.of(changeStreamConfiguration, this::registerForThingChanges, this::deregister);
+    }
+
+    @Override
+    public Publisher<Change> streamAttributesChanges(final ChangeStreamConfiguration changeStreamConfiguration) {
+        return ChangePublisher.of(changeStreamConfiguration, this::registerForAttributesChanges, this::deregister);
+    }
+
+    @Override
+    public Publisher<Change> streamAttributeChanges(final JsonPointer path,
+            final ChangeStreamConfiguration changeStreamConfiguration) {
+
+        argumentNotNull(path);
+        return ChangePublisher.of(changeStreamConfiguration,
+                (registrationId, handler) -> registerForAttributeChanges(registrationId, path, handler),
+                this::deregister);
+    }
+
+    @Override
+    public Publisher<FeatureChange> streamFeatureChanges(final ChangeStreamConfiguration changeStreamConfiguration) {
+        return ChangePublisher.of(changeStreamConfiguration,
+                (registrationId, handler) -> registerForFeatureChanges(registrationId, handler),
+                this::deregister);
+    }
+
+    @Override
+    public Publisher<FeatureChange> streamFeatureChanges(final String featureId,
+            final ChangeStreamConfiguration changeStreamConfiguration) {
+
+        argumentNotNull(featureId);
+        return ChangePublisher.of(changeStreamConfiguration,
+                (registrationId, handler) -> registerForFeatureChanges(registrationId, featureId, handler),
+                this::deregister);
+    }
+
+    @Override
+    public Publisher<FeaturesChange> streamFeaturesChanges(final ChangeStreamConfiguration changeStreamConfiguration) {
+        return ChangePublisher.of(changeStreamConfiguration, this::registerForFeaturesChanges, this::deregister);
+    }
+
+    @Override
+    public Publisher<Change> streamFeaturePropertyChanges(final String featureId,
+            final ChangeStreamConfiguration changeStreamConfiguration) {
+
+        argumentNotNull(featureId);
+        return ChangePublisher.of(changeStreamConfiguration,
+                (registrationId, handler) -> registerForFeaturePropertyChanges(registrationId, featureId, handler),
+                this::deregister);
+    }
+
+    @Override
+    public Publisher<Change> streamFeaturePropertyChanges(final String featureId, final JsonPointer path,
+            final ChangeStreamConfiguration changeStreamConfiguration) {
+
+        argumentNotNull(featureId);
+        argumentNotNull(path);
+        return ChangePublisher.of(changeStreamConfiguration,
+                (registrationId, handler) ->
+                        registerForFeaturePropertyChanges(registrationId, featureId, path, handler),
+                this::deregister);
+    }
+
+    /**
+     * Notifies the handlers registered for changes of a Thing or of its parts as if a twin event had been received.
+     *
+     * @param thingId the ID of the changed Thing.
+     * @param change the change of the whole Thing.
+     * @since 2.2.0
+     */
+    protected void notifyThingChange(final ThingId thingId, final ThingChange change) {
+        SelectorUtil.notifyChange(LOGGER, bus, BusAddressFactory.forThing(thingId), change);
+    }
+
     /**
      * Request a subscription for a streaming type.
      *
@@ -657,9 +805,23 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
             final CompletableFuture<Void> futureToCompleteOrFailAfterAck) {
 
         return subscribeAndPublishMessage(previousSubscriptionId, streamingType, protocolCommand, protocolCommandAck,
-                futureToCompleteOrFailAfterAck, adaptable -> pointerBus ->
-                        asThingMessage(adaptable).ifPresent(message -> pointerBus.notify(message.getSubject(), message))
-                );
+                futureToCompleteOrFailAfterAck, adaptable -> pointerBus -> {
+                    final Signal<?> signal = PROTOCOL_ADAPTER.fromAdaptable(adaptable);
+                    onSubscribedSignal(signal);
+                    asThingMessage(adaptable, signal)
+                            .ifPresent(message -> pointerBus.notify(message.getSubject(), message));
+                });
+    }
+
+    /**
+     * Called with each signal received by a subscription requested via {@code subscribe} before it is published to
+     * the handlers registered on the bus. Does nothing by default.
+     *
+     * @param signal the received signal.
+     * @since 2.2.0
+     */
+    protected void onSubscribedSignal(final Signal<?> signal) {
+        // no state kept up to date by subscribed signals
     }
 
     protected AdaptableBus.SubscriptionId subscribeAndPublishMessage(
@@ -748,10 +910,10 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
      * Build a {@link Message} out of the given {@link Adaptable}.
      *
      * @param adaptable from which the things {@link Message} shall be build from.
+     * @param signal the signal of the adaptable.
      * @return empty if the adaptable doesn't provide a thingId, or the build {@link Message}.
      */
-    private static Optional<Message<?>> asThingMessage(final Adaptable adaptable) {
-        final Signal<?> signal = PROTOCOL_ADAPTER.fromAdaptable(adaptable);
+    private static Optional<Message<?>> asThingMessage(final Adaptable adaptable, final Signal<?> signal) {
         final Optional<ThingId> thingIdOptional = WithEntityId.getEntityIdOfType(ThingId.class, signal);
         final Message<?> message;
         if (thingIdOptional.isPresent()) {
@@ -798,6 +960,16 @@ public abstract class CommonManagementImpl<T extends ThingHandle<F>, F extends F
                 ErrorResponse::getDittoRuntimeException);
     }
 
+    private static <R> List<R> decodeThings(final RetrieveThingsResponse response, final ThingDecoder<R> decoder) {
+        // the entity is the plain JSON of the things, so no Thing is built unless the decoder does so
+        final JsonArray things = response.getEntity(response.getImplementedSchemaVersion()).asArray();
+        final List<R> result = new ArrayList<>(things.getSize());
+        for (final JsonValue thing : things) {
+            result.add(decoder.decode(thing.asObject()));
+        }
+        return result;
+    }
+
     @Nullable
     private static Thing transformModifyResponse(final CommandResponse<?> response) {
         if (response instanceof WithOptionalEntity) {
@@ -194,6 +194,7 @@ public final class DefaultDittoClient implements DittoClient, DisconnectedDittoC
 
     @Override
     public void destroy() {
+        twin.flushWriteBehindBuffer();
         twin.getMessagingProvider().close();
         twin.getBus().close();
         live.getMessagingProvider().close();
@@ -208,9 +209,14 @@ public final class DefaultDittoClient implements DittoClient, DisconnectedDittoC
         LOGGER.info("Ditto Client [{}//{}] initialized successfully", clientVersion, buildTimeStamp);
     }
 
+    private static PointerBus createPointerBus(final String name, final MessagingProvider messagingProvider) {
+        return BusFactory.createPointerBus(name, messagingProvider.getExecutorService(),
+                messagingProvider.getMessagingConfiguration().getExecutorConfiguration());
+    }
+
     private static TwinImpl configureTwin(final MessagingProvider messagingProvider) {
         final String name = TopicPath.Channel.TWIN.getName();
-        final PointerBus bus = BusFactory.createPointerBus(name, messagingProvider.getExecutorService());
+        final PointerBus bus = createPointerBus(name, messagingProvider);
         init(bus, messagingProvider);
         final JsonSchemaVersion schemaVersion = messagingProvider.getMessagingConfiguration().getJsonSchemaVersion();
         final OutgoingMessageFactory messageFactory = OutgoingMessageFactory.newInstance(schemaVersion);
@@ -220,7 +226,7 @@ public final class DefaultDittoClient implements DittoClient, DisconnectedDittoC
     private static LiveImpl configureLive(final MessagingProvider messagingProvider,
             final MessageSerializerRegistry messageSerializerRegistry) {
         final String name = TopicPath.Channel.LIVE.getName();
-        final PointerBus bus = BusFactory.createPointerBus(name, messagingProvider.getExecutorService());
+        final PointerBus bus = createPointerBus(name, messagingProvider);
         init(bus, messagingProvider);
         final JsonSchemaVersion schemaVersion = messagingProvider.getMessagingConfiguration().getJsonSchemaVersion();
         final OutgoingMessageFactory messageFactory = OutgoingMessageFactory.newInstance(schemaVersion);
@@ -230,7 +236,7 @@ public final class DefaultDittoClient implements DittoClient, DisconnectedDittoC
 
     private static PoliciesImpl configurePolicyClient(final MessagingProvider messagingProvider) {
         final String busName = TopicPath.Channel.NONE.getName();
-        final PointerBus bus = BusFactory.createPointerBus(busName, messagingProvider.getExecutorService());
+        final PointerBus bus = createPointerBus(busName, messagingProvider);
         init(bus, messagingProvider);
         final OutgoingMessageFactory messageFactory = getOutgoingMessageFactoryForPolicies(messagingProvider);
         return PoliciesImpl.newInstance(messagingProvider, messageFactory, bus);
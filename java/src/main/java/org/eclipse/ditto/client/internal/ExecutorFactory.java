@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.client.configuration.ExecutorConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the executors of the client according to an {@link ExecutorConfiguration}.
+ * <p>
+ * Virtual threads are looked up reflectively so that the client still builds and runs on Java 8.
+ * </p>
+ *
+ * @since 2.2.0
+ */
+public final class ExecutorFactory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorFactory.class);
+
+    @Nullable private static final VirtualThreads VIRTUAL_THREADS = VirtualThreads.lookUp();
+
+    private ExecutorFactory() {
+        throw new AssertionError();
+    }
+
+    /**
+     * @return whether the Java runtime supports virtual threads.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREADS != null;
+    }
+
+    /**
+     * Creates an executor for callbacks and tasks of the client.
+     *
+     * @param name the name to use in the created threads.
+     * @param configuration the executor configuration.
+     * @return the executor.
+     */
+    public static ExecutorService newExecutorService(final String name, final ExecutorConfiguration configuration) {
+        checkNotNull(configuration, "configuration");
+        final String threadNamePrefix = "ditto-client-" + checkNotNull(name, "name");
+        switch (getEffectiveStrategy(configuration)) {
+            case VIRTUAL_THREAD_PER_TASK:
+                return VIRTUAL_THREADS.perTaskExecutor(threadNamePrefix);
+            case BOUNDED_QUEUE:
+                return newBoundedQueueExecutor(threadNamePrefix, configuration);
+            case PLATFORM_POOL:
+            default:
+                return newPlatformPool(threadNamePrefix, configuration);
+        }
+    }
+
+    /**
+     * Creates a scheduled executor whose threads are created according to the executor configuration, i.e. which
+     * runs tasks in virtual threads if configured and supported.
+     *
+     * @param name the name to use in the created threads.
+     * @param configuration the executor configuration.
+     * @return the scheduled executor.
+     */
+    public static ScheduledExecutorService newScheduledExecutorService(final String name,
+            final ExecutorConfiguration configuration) {
+        return Executors.newScheduledThreadPool(0, newThreadFactory(name, configuration));
+    }
+
+    /**
+     * Creates a thread factory creating virtual threads if configured and supported, platform threads otherwise.
+     *
+     * @param name the name to use in the created threads.
+     * @param configuration the executor configuration.
+     * @return the thread factory.
+     */
+    public static ThreadFactory newThreadFactory(final String name, final ExecutorConfiguration configuration) {
+        final String threadNamePrefix = "ditto-client-" + checkNotNull(name, "name");
+        if (getEffectiveStrategy(configuration) == ExecutorConfiguration.ExecutorStrategy.VIRTUAL_THREAD_PER_TASK) {
+            return VIRTUAL_THREADS.threadFactory(threadNamePrefix);
+        }
+        return new DefaultThreadFactory(threadNamePrefix);
+    }
+
+    private static ExecutorConfiguration.ExecutorStrategy getEffectiveStrategy(
+            final ExecutorConfiguration configuration) {
+        final ExecutorConfiguration.ExecutorStrategy strategy = configuration.getStrategy();
+        if (strategy == ExecutorConfiguration.ExecutorStrategy.VIRTUAL_THREAD_PER_TASK && !isVirtualThreadSupported()) {
+            LOGGER.warn("Virtual threads are not supported by the Java runtime <{}>, using a pool of platform " +
+                    "threads instead.", System.getProperty("java.version"));
+            return ExecutorConfiguration.ExecutorStrategy.PLATFORM_POOL;
+        }
+        return strategy;
+    }
+
+    private static ExecutorService newPlatformPool(final String threadNamePrefix,
+            final ExecutorConfiguration configuration) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                0, configuration.getMaxPoolSize(), 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new DefaultThreadFactory(threadNamePrefix),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ExecutorService newBoundedQueueExecutor(final String threadNamePrefix,
+            final ExecutorConfiguration configuration) {
+        final int poolSize = configuration.getMaxPoolSize();
+        final BlockingPolicy blockingPolicy = new BlockingPolicy();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(configuration.getQueueCapacity()),
+                blockingPolicy.markPoolThreads(new DefaultThreadFactory(threadNamePrefix)),
+                blockingPolicy);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Blocks the submitting thread until the queue of the executor has room for the rejected task. A task submitted by
+     * a thread of the pool itself is run by that thread instead: blocking it could deadlock the pool, as the queue
+     * only gets room when one of its threads finishes its task.
+     */
+    private static final class BlockingPolicy implements RejectedExecutionHandler {
+
+        private final ThreadLocal<Boolean> isPoolThread = ThreadLocal.withInitial(() -> false);
+
+        private ThreadFactory markPoolThreads(final ThreadFactory threadFactory) {
+            return runnable -> threadFactory.newThread(() -> {
+                isPoolThread.set(true);
+                runnable.run();
+            });
+        }
+
+        @Override
+        public void rejectedExecution(final Runnable r, final ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Executor was shut down.");
+            }
+            if (isPoolThread.get()) {
+                r.run();
+                return;
+            }
+            try {
+                executor.getQueue().put(r);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for room in the queue.", e);
+            }
+        }
+    }
+
+    /**
+     * Reflective access to the virtual threads of Java 21 and above.
+     */
+    private static final class VirtualThreads {
+
+        private final Method ofVirtual;
+        private final Method builderName;
+        private final Method builderFactory;
+        private final Method newThreadPerTaskExecutor;
+
+        private VirtualThreads(final Method ofVirtual, final Method builderName, final Method builderFactory,
+                final Method newThreadPerTaskExecutor) {
+            this.ofVirtual = ofVirtual;
+            this.builderName = builderName;
+            this.builderFactory = builderFactory;
+            this.newThreadPerTaskExecutor = newThreadPerTaskExecutor;
+        }
+
+        @Nullable
+        private static VirtualThreads lookUp() {
+            try {
+                final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+                final Method builderName = builderClass.getMethod("name", String.class, long.class);
+                final Method builderFactory = builderClass.getMethod("factory");
+                final Method newThreadPerTaskExecutor =
+                        Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+                final VirtualThreads virtualThreads =
+                        new VirtualThreads(ofVirtual, builderName, builderFactory, newThreadPerTaskExecutor);
+                // fails if virtual threads are a preview feature which is not enabled
+                virtualThreads.threadFactory("ditto-client-probe").newThread(() -> {});
+                return virtualThreads;
+            } catch (final ReflectiveOperationException | RuntimeException | LinkageError e) {
+                LOGGER.debug("Virtual threads are not available: {}", e.toString());
+                return null;
+            }
+        }
+
+        private ThreadFactory threadFactory(final String threadNamePrefix) {
+            try {
+                // builders are mutable and not thread-safe: use a new one for each factory
+                final Object namedBuilder = builderName.invoke(ofVirtual.invoke(null), threadNamePrefix + "-", 1L);
+                return (ThreadFactory) builderFactory.invoke(namedBuilder);
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to create a factory of virtual threads.", e);
+            }
+        }
+
+        private ExecutorService perTaskExecutor(final String threadNamePrefix) {
+            try {
+                return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory(threadNamePrefix));
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to create an executor of virtual threads.", e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.configuration.HandleCacheConfiguration;
+import org.eclipse.ditto.client.metrics.CacheStatistics;
+
+/**
+ * Size- and idle-bounded cache of handles in least-recently-used order.
+ * <ul>
+ * <li>Pinned handles, i.e. handles which still own registrations, are never evicted and do not count towards the
+ * maximum size.</li>
+ * <li>Evicted handles are only weakly referenced: as long as a handle is still referenced elsewhere, looking it up
+ * again returns the same instance instead of creating a new one.</li>
+ * </ul>
+ * Handles are cheap to create and looked up far less often than events are dispatched, so all operations are
+ * serialized by the monitor of the cache; this makes creating an absent handle atomic.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the handles.
+ * @since 2.2.0
+ */
+@ThreadSafe
+final class HandleCache<K, V> {
+
+    private final int maximumSize;
+    private final long expireAfterAccessNanos;
+    private final Predicate<? super V> isPinned;
+    private final LongSupplier nanoClock;
+
+    private final LinkedHashMap<K, Node<V>> entries;
+    private final Map<K, Node<V>> pinned;
+    private final Map<K, WeakValue<K, V>> evicted;
+    private final ReferenceQueue<V> collected;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private int operationsSinceUnpinCheck;
+
+    HandleCache(final HandleCacheConfiguration configuration, final Predicate<? super V> isPinned,
+            final LongSupplier nanoClock) {
+        maximumSize = configuration.getMaximumSize();
+        expireAfterAccessNanos = configuration.getExpireAfterAccess().toNanos();
+        this.isPinned = isPinned;
+        this.nanoClock = nanoClock;
+        entries = new LinkedHashMap<>(16, 0.75f, true);
+        pinned = new HashMap<>();
+        evicted = new HashMap<>();
+        collected = new ReferenceQueue<>();
+    }
+
+    /**
+     * Create a cache evicting according to the given configuration.
+     *
+     * @param configuration the maximum size and expiry.
+     * @param isPinned tests whether a handle must not be evicted.
+     * @param <K> the type of the keys.
+     * @param <V> the type of the handles.
+     * @return the cache.
+     */
+    static <K, V> HandleCache<K, V> of(final HandleCacheConfiguration configuration,
+            final Predicate<? super V> isPinned) {
+        return new HandleCache<>(configuration, isPinned, System::nanoTime);
+    }
+
+    /**
+     * Returns the handle for the key, creating and caching it if absent.
+     *
+     * @param key the key.
+     * @param handleSupplier creates the handle if absent.
+     * @return the cached or created handle.
+     */
+    synchronized V computeIfAbsent(final K key, final Supplier<? extends V> handleSupplier) {
+        final long now = nanoClock.getAsLong();
+        V handle = lookUp(key, now);
+        if (handle != null) {
+            hitCount++;
+        } else {
+            missCount++;
+            handle = handleSupplier.get();
+            entries.put(key, new Node<>(handle, now));
+        }
+        evict(now);
+        return handle;
+    }
+
+    /**
+     * Returns the handle for the key if it is cached without creating it.
+     *
+     * @param key the key.
+     * @return the handle or an empty optional.
+     */
+    synchronized Optional<V> getIfPresent(final K key) {
+        final long now = nanoClock.getAsLong();
+        final V handle = lookUp(key, now);
+        evict(now);
+        return Optional.ofNullable(handle);
+    }
+
+    /**
+     * @return a snapshot of the statistics of this cache.
+     */
+    synchronized CacheStatistics getStatistics() {
+        return CacheStatistics.of(hitCount, missCount, evictionCount, entries.size() + pinned.size());
+    }
+
+    @Nullable
+    private V lookUp(final K key, final long now) {
+        Node<V> node = entries.get(key);
+        if (node == null) {
+            node = pinned.get(key);
+        }
+        if (node != null) {
+            node.lastAccessNanos = now;
+            return node.handle;
+        }
+        final WeakValue<K, V> weakValue = evicted.remove(key);
+        final V stillReferenced = weakValue != null ? weakValue.get() : null;
+        if (stillReferenced != null) {
+            entries.put(key, new Node<>(stillReferenced, now));
+        }
+        return stillReferenced;
+    }
+
+    private void evict(final long now) {
+        drainCollected();
+        releaseUnpinned();
+        final Iterator<Map.Entry<K, Node<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<K, Node<V>> eldest = iterator.next();
+            final Node<V> node = eldest.getValue();
+            if (entries.size() <= maximumSize && now - node.lastAccessNanos < expireAfterAccessNanos) {
+                break;
+            }
+            iterator.remove();
+            if (isPinned.test(node.handle)) {
+                // pinned handles neither count towards the maximum size nor expire
+                pinned.put(eldest.getKey(), node);
+            } else {
+                evicted.put(eldest.getKey(), new WeakValue<>(eldest.getKey(), node.handle, collected));
+                evictionCount++;
+            }
+        }
+    }
+
+    private void releaseUnpinned() {
+        // checking all pinned handles once per as many operations as there are pinned handles keeps the cost constant
+        if (++operationsSinceUnpinCheck >= pinned.size()) {
+            operationsSinceUnpinCheck = 0;
+            final Iterator<Map.Entry<K, Node<V>>> iterator = pinned.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<K, Node<V>> entry = iterator.next();
+                if (!isPinned.test(entry.getValue().handle)) {
+                    iterator.remove();
+                    entries.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    private void drainCollected() {
+        Reference<? extends V> reference = collected.poll();
+        while (reference != null) {
+            final WeakValue<?, ?> weakValue = (WeakValue<?, ?>) reference;
+            evicted.remove(weakValue.key, weakValue);
+            reference = collected.poll();
+        }
+    }
+
+    private static final class Node<V> {
+
+        private final V handle;
+        private long lastAccessNanos;
+
+        private Node(final V handle, final long lastAccessNanos) {
+            this.handle = handle;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+    }
+
+    private static final class WeakValue<K, V> extends WeakReference<V> {
+
+        private final K key;
+
+        private WeakValue(final K key, final V handle, final ReferenceQueue<V> queue) {
+            super(handle, queue);
+            this.key = key;
+        }
+    }
+
+}
@@ -20,14 +20,17 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+import org.eclipse.ditto.client.configuration.HandleCacheConfiguration;
 import org.eclipse.ditto.client.internal.bus.JsonPointerSelector;
 import org.eclipse.ditto.client.internal.bus.PointerBus;
 import org.eclipse.ditto.client.internal.bus.PointerWithData;
 import org.eclipse.ditto.client.internal.bus.Registration;
 import org.eclipse.ditto.client.management.FeatureHandle;
 import org.eclipse.ditto.client.management.ThingHandle;
+import org.eclipse.ditto.client.metrics.CacheStatistics;
 import org.eclipse.ditto.client.registration.DuplicateRegistrationIdException;
 import org.eclipse.ditto.things.model.ThingId;
 
@@ -43,8 +46,8 @@ public final class HandlerRegistry<T extends ThingHandle<F>, F extends FeatureHa
 
     private final PointerBus bus;
     private final Map<String, Registration<Consumer<PointerWithData<?>>>> registry;
-    private final Map<ThingId, T> thingHandles;
-    private final Map<String, F> featureHandles;
+    private final HandleCache<ThingId, T> thingHandles;
+    private final HandleCache<String, F> featureHandles;
 
     /**
      * Constructor.
@@ -52,10 +55,23 @@ public final class HandlerRegistry<T extends ThingHandle<F>, F extends FeatureHa
      * @param bus the Bus
      */
     public HandlerRegistry(final PointerBus bus) {
+        this(bus, HandleCacheConfiguration.defaultConfiguration(), handle -> false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param bus the Bus
+     * @param handleCacheConfiguration bounds the number of cached Thing and Feature handles.
+     * @param isPinned tests whether a Thing or Feature handle still owns registrations and must not be evicted.
+     * @since 2.2.0
+     */
+    public HandlerRegistry(final PointerBus bus, final HandleCacheConfiguration handleCacheConfiguration,
+            final Predicate<Object> isPinned) {
         this.bus = requireNonNull(bus);
         registry = new ConcurrentHashMap<>();
-        thingHandles = new ConcurrentHashMap<>();
-        featureHandles = new ConcurrentHashMap<>();
+        thingHandles = HandleCache.of(handleCacheConfiguration, isPinned);
+        featureHandles = HandleCache.of(handleCacheConfiguration, isPinned);
     }
 
     private static void checkRegistrationId(final String registrationId) {
@@ -71,6 +87,17 @@ public final class HandlerRegistry<T extends ThingHandle<F>, F extends FeatureHa
         return bus.getExecutor();
     }
 
+    /**
+     * Returns the {@link Executor} of the {@code bus} this registry manages to run tasks concerning an entity with.
+     *
+     * @param entityId the ID of the entity.
+     * @return the {@link Executor}.
+     * @since 2.2.0
+     */
+    public Executor getBusExecutor(final CharSequence entityId) {
+        return bus.getExecutor(entityId);
+    }
+
     /**
      * Register a Consumer to be triggered when a notification matches the given JsonPointerSelector.
      *
@@ -113,6 +140,16 @@ public final class HandlerRegistry<T extends ThingHandle<F>, F extends FeatureHa
         return true;
     }
 
+    /**
+     * Returns whether any consumer is registered.
+     *
+     * @return {@code true} if at least one consumer is registered.
+     * @since 2.2.0
+     */
+    public boolean hasRegistrations() {
+        return !registry.isEmpty();
+    }
+
     /**
      * Retrieves a for the passed {@code thingId} already registered {@link ThingHandle} or if not yet present, creates
      * one by invoking the passed {@code thingHandleSupplier}, stores that with the {@code thingId} and returns it.
@@ -122,10 +159,7 @@ public final class HandlerRegistry<T extends ThingHandle<F>, F extends FeatureHa
      * @return the looked up or created thing handle
      */
     public T thingHandleForThingId(final ThingId thingId, final Supplier<T> thingHandleSupplier) {
-        if (!thingHandles.containsKey(thingId)) {
-            thingHandles.put(thingId, thingHandleSupplier.get());
-        }
-        return thingHandles.get(thingId);
+        return thingHandles.computeIfAbsent(thingId, thingHandleSupplier);
     }
 
     /**
@@ -135,7 +169,7 @@ public final class HandlerRegistry<T extends ThingHandle<F>, F extends FeatureHa
      * @return the looked up thing handle
      */
     public Optional<T> getThingHandle(final ThingId thingId) {
-        return Optional.ofNullable(thingHandles.get(thingId));
+        return thingHandles.getIfPresent(thingId);
     }
 
     /**
@@ -150,11 +184,7 @@ public final class HandlerRegistry<T extends ThingHandle<F>, F extends FeatureHa
      */
     public F featureHandleForFeatureId(final ThingId thingId, final String featureId,
             final Supplier<F> featureHandleSupplier) {
-        final String key = getFeatureKey(thingId, featureId);
-        if (!featureHandles.containsKey(key)) {
-            featureHandles.put(key, featureHandleSupplier.get());
-        }
-        return featureHandles.get(key);
+        return featureHandles.computeIfAbsent(getFeatureKey(thingId, featureId), featureHandleSupplier);
     }
 
     /**
@@ -166,8 +196,27 @@ public final class HandlerRegistry<T extends ThingHandle<F>, F extends FeatureHa
      * @return the looked up feature handle
      */
     protected Optional<F> getFeatureHandle(final ThingId thingId, final String featureId) {
-        final String key = getFeatureKey(thingId, featureId);
-        return Optional.ofNullable(featureHandles.get(key));
+        return featureHandles.getIfPresent(getFeatureKey(thingId, featureId));
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the cache of Thing handles.
+     *
+     * @return the statistics.
+     * @since 2.2.0
+     */
+    public CacheStatistics getThingHandleCacheStatistics() {
+        return thingHandles.getStatistics();
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the cache of Feature handles.
+     *
+     * @return the statistics.
+     * @since 2.2.0
+     */
+    public CacheStatistics getFeatureHandleCacheStatistics() {
+        return featureHandles.getStatistics();
     }
 
     private static String getFeatureKey(final ThingId thingId, final String featureId) {
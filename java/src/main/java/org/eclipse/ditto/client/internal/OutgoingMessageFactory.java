@@ -25,11 +25,13 @@ import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 
+import org.eclipse.ditto.base.model.headers.DittoHeaderDefinition;
 import org.eclipse.ditto.base.model.headers.DittoHeaders;
 import org.eclipse.ditto.base.model.headers.DittoHeadersBuilder;
 import org.eclipse.ditto.base.model.headers.entitytag.EntityTagMatcher;
 import org.eclipse.ditto.base.model.headers.entitytag.EntityTagMatchers;
 import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
+import org.eclipse.ditto.base.model.signals.commands.Command;
 import org.eclipse.ditto.client.live.messages.MessageSerializationException;
 import org.eclipse.ditto.client.live.messages.MessageSerializer;
 import org.eclipse.ditto.client.live.messages.MessageSerializerRegistry;
@@ -295,6 +297,26 @@ public final class OutgoingMessageFactory {
         return RetrievePolicy.of(policyId, buildDittoHeaders(false));
     }
 
+    /**
+     * Makes a retrieve command conditional on the entity tag of the retrieved entity: the backend answers with an
+     * error of status {@code 304 Not Modified} instead of the entity if the entity tag still matches.
+     *
+     * @param command the retrieve command.
+     * @param entityTag the entity tag of the entity retrieved before.
+     * @param <C> the type of the command.
+     * @return the command with the {@code If-None-Match} header.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @since 2.2.0
+     */
+    public <C extends Command<C>> C ifNoneMatch(final C command, final String entityTag) {
+        checkNotNull(command, "command");
+        checkNotNull(entityTag, "entityTag");
+        return command.setDittoHeaders(command.getDittoHeaders()
+                .toBuilder()
+                .putHeader(DittoHeaderDefinition.IF_NONE_MATCH.getKey(), entityTag)
+                .build());
+    }
+
     /**
      * Builds a command to delete the policy with ID {@code policyId}.
      *
@@ -324,6 +346,19 @@ public final class OutgoingMessageFactory {
         return MergeThing.withAttribute(thingId, path, value, buildDittoHeaders(true, options));
     }
 
+    /**
+     * Creates a {@link MergeThing} command merging a JSON merge patch into the root of a thing.
+     *
+     * @param thingId the thing to be merged.
+     * @param patch the JSON merge patch.
+     * @param options options to be applied configuring behaviour of this method.
+     * @return the MergeThing command.
+     * @since 2.2.0
+     */
+    public MergeThing mergeThingPatch(final ThingId thingId, final JsonObject patch, final Option<?>... options) {
+        return MergeThing.of(thingId, JsonPointer.empty(), patch, buildDittoHeaders(true, options));
+    }
+
     public ModifyAttributes setAttributes(final ThingId thingId, final JsonObject attributes,
             final Option<?>... options) {
         return ModifyAttributes.of(thingId, ThingsModelFactory.newAttributes(attributes),
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.base.model.common.HttpStatus;
+import org.eclipse.ditto.base.model.entity.id.EntityId;
+import org.eclipse.ditto.base.model.exceptions.DittoRuntimeException;
+import org.eclipse.ditto.base.model.headers.DittoHeaderDefinition;
+import org.eclipse.ditto.base.model.signals.commands.Command;
+import org.eclipse.ditto.base.model.signals.commands.CommandResponse;
+import org.eclipse.ditto.client.configuration.ResponseCacheConfiguration;
+import org.eclipse.ditto.client.metrics.CacheStatistics;
+import org.eclipse.ditto.json.JsonFieldSelector;
+
+/**
+ * Weight- and size-bounded cache of the responses to retrieve commands, revalidated by their entity tags.
+ * <ul>
+ * <li>A retrieve of an entity whose response to the same command with the same field selector is cached is sent with
+ * the entity tag of that response in the {@code If-None-Match} header; if the backend answers with
+ * {@code 304 Not Modified}, the cached response is used as if it had been received again.</li>
+ * <li>The responses are grouped by entity, so that all responses of an entity are dropped at once when it changes and
+ * the responses of the least recently retrieved entity are evicted when a bound is exceeded.</li>
+ * </ul>
+ * Since every cached response is revalidated, dropping responses on changes only saves sending outdated entity tags;
+ * correctness does not depend on it.
+ *
+ * @since 2.2.0
+ */
+@ThreadSafe
+public final class ResponseCache {
+
+    private final int maximumSize;
+    private final long maximumWeight;
+    private final OutgoingMessageFactory outgoingMessageFactory;
+    private final LinkedHashMap<EntityId, Map<String, Entry>> entries;
+
+    private int size;
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    private ResponseCache(final ResponseCacheConfiguration configuration,
+            final OutgoingMessageFactory outgoingMessageFactory) {
+        maximumSize = configuration.getMaximumSize();
+        maximumWeight = configuration.getMaximumWeight();
+        this.outgoingMessageFactory = outgoingMessageFactory;
+        entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Create a cache evicting according to the given configuration.
+     *
+     * @param configuration the maximum size and weight.
+     * @param outgoingMessageFactory the factory making retrieve commands conditional.
+     * @return the cache.
+     */
+    public static ResponseCache of(final ResponseCacheConfiguration configuration,
+            final OutgoingMessageFactory outgoingMessageFactory) {
+        return new ResponseCache(configuration, outgoingMessageFactory);
+    }
+
+    /**
+     * Sends a retrieve command, conditional on the entity tag of the cached response if there is one, and caches the
+     * response.
+     *
+     * @param entityId the ID of the retrieved entity.
+     * @param command the retrieve command.
+     * @param fieldSelector the fields selected by the command or {@code null}.
+     * @param expectedResponse the class of the expected response.
+     * @param onSuccess what happens if the expected response arrives or the cached response is still valid.
+     * @param ask sends a command and applies the passed function to the expected response.
+     * @param <C> the type of the command.
+     * @param <S> the type of the expected response.
+     * @param <R> the type of the result.
+     * @return future of the result.
+     */
+    public <C extends Command<C>, S extends CommandResponse<?>, R> CompletionStage<R> retrieve(
+            final EntityId entityId,
+            final C command,
+            @Nullable final JsonFieldSelector fieldSelector,
+            final Class<S> expectedResponse,
+            final Function<S, R> onSuccess,
+            final BiFunction<C, Function<S, R>, CompletionStage<R>> ask) {
+
+        final String key = command.getType() + command.getResourcePath() +
+                (fieldSelector != null ? "?fields=" + fieldSelector : "");
+        final Entry cached = get(entityId, key);
+        final C commandToSend = cached != null
+                ? outgoingMessageFactory.ifNoneMatch(command, cached.entityTag)
+                : command;
+
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        ask.apply(commandToSend, response -> {
+            put(entityId, key, response);
+            return onSuccess.apply(response);
+        }).whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (cached != null && isNotModified(error) && expectedResponse.isInstance(cached.response)) {
+                recordHit();
+                try {
+                    result.complete(onSuccess.apply(expectedResponse.cast(cached.response)));
+                } catch (final RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Drops all responses of an entity because it changed.
+     *
+     * @param entityId the ID of the entity.
+     */
+    public synchronized void invalidate(final EntityId entityId) {
+        final Map<String, Entry> removed = entries.remove(entityId);
+        if (removed != null) {
+            removed.values().forEach(this::forget);
+        }
+    }
+
+    /**
+     * @return a snapshot of the statistics of this cache, where hits are retrieves answered with
+     * {@code 304 Not Modified}.
+     */
+    public synchronized CacheStatistics getStatistics() {
+        return CacheStatistics.of(hitCount, missCount, evictionCount, size);
+    }
+
+    @Nullable
+    private synchronized Entry get(final EntityId entityId, final String key) {
+        final Map<String, Entry> responses = entries.get(entityId);
+        return responses != null ? responses.get(key) : null;
+    }
+
+    private synchronized void recordHit() {
+        hitCount++;
+    }
+
+    private synchronized void put(final EntityId entityId, final String key, final CommandResponse<?> response) {
+        missCount++;
+        final String entityTag = response.getDittoHeaders().get(DittoHeaderDefinition.ETAG.getKey());
+        if (entityTag == null) {
+            return;
+        }
+        final long responseWeight = response.toJsonString().length();
+        if (responseWeight > maximumWeight) {
+            return;
+        }
+        final Entry replaced = entries.computeIfAbsent(entityId, id -> new HashMap<>())
+                .put(key, new Entry(entityTag, response, responseWeight));
+        if (replaced != null) {
+            forget(replaced);
+        }
+        size++;
+        weight += responseWeight;
+        final Iterator<Map<String, Entry>> leastRecentlyUsed = entries.values().iterator();
+        while (size > maximumSize || weight > maximumWeight) {
+            final Map<String, Entry> evicted = leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            evicted.values().forEach(this::forget);
+            evictionCount += evicted.size();
+        }
+    }
+
+    private void forget(final Entry entry) {
+        size--;
+        weight -= entry.weight;
+    }
+
+    private static boolean isNotModified(final Throwable error) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+        return cause instanceof DittoRuntimeException &&
+                HttpStatus.NOT_MODIFIED.equals(((DittoRuntimeException) cause).getHttpStatus());
+    }
+
+    private static final class Entry {
+
+        private final String entityTag;
+        private final CommandResponse<?> response;
+        private final long weight;
+
+        private Entry(final String entityTag, final CommandResponse<?> response, final long weight) {
+            this.entityTag = entityTag;
+            this.response = response;
+            this.weight = weight;
+        }
+    }
+}
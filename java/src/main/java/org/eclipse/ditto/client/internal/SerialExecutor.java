@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executor running its tasks one after another in the order of submission on a shared delegate executor, so that
+ * serial processing does not need a thread of its own.
+ *
+ * @since 2.2.0
+ */
+@ThreadSafe
+public final class SerialExecutor implements Executor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SerialExecutor.class);
+
+    private final Executor delegate;
+    private final Queue<Runnable> tasks;
+    private final AtomicBoolean scheduled;
+
+    /**
+     * Constructs a new SerialExecutor.
+     *
+     * @param delegate the executor to run the tasks on.
+     */
+    public SerialExecutor(final Executor delegate) {
+        this.delegate = checkNotNull(delegate, "delegate");
+        tasks = new ConcurrentLinkedQueue<>();
+        scheduled = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        tasks.add(checkNotNull(task, "task"));
+        schedule();
+    }
+
+    private void schedule() {
+        if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+            try {
+                delegate.execute(this::runTasks);
+            } catch (final RejectedExecutionException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void runTasks() {
+        try {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (final RuntimeException e) {
+                    LOGGER.error("Uncaught exception in serially executed task", e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // tasks added after the last poll but before releasing the flag would be stranded otherwise
+            try {
+                schedule();
+            } catch (final RejectedExecutionException e) {
+                LOGGER.debug("Dropping serially executed tasks as the executor rejected them: {}", e.getMessage());
+            }
+        }
+    }
+}
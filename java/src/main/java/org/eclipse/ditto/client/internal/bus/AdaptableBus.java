@@ -140,6 +140,34 @@ public interface AdaptableBus {
      */
     void shutdownExecutors();
 
+    /**
+     * Stop the timeouts of all one-time subscriptions from elapsing, e.g. while the connection is interrupted and
+     * the requests they await responses for are held back. Timeouts of one-time subscriptions made while suspended
+     * start only when resumed. The timeouts resume on their own once they were suspended for the passed maximum
+     * duration, so that no request waits for its response indefinitely.
+     *
+     * @param maximumSuspension how long the timeouts are suspended at most.
+     * @since 2.2.0
+     */
+    void suspendOneTimeSubscriptionTimeouts(Duration maximumSuspension);
+
+    /**
+     * Let the suspended timeouts of one-time subscriptions elapse again with the time they had left when they were
+     * suspended.
+     *
+     * @since 2.2.0
+     */
+    void resumeOneTimeSubscriptionTimeouts();
+
+    /**
+     * Fail all one-time subscriptions, e.g. because the connection is closed and the responses they await will never
+     * arrive.
+     *
+     * @param cause the cause to fail the one-time subscriptions with.
+     * @since 2.2.0
+     */
+    void failOneTimeSubscriptions(Throwable cause);
+
     /**
      * Publish a string message that may or may not be an adaptable.
      *
@@ -147,6 +175,16 @@ public interface AdaptableBus {
      */
     void publish(String message);
 
+    /**
+     * Publish an already parsed adaptable, e.g. one that was received by other means than the websocket or one that
+     * is republished after inspection. The adaptable is classified and passed to its subscribers right away, skipping
+     * the string classification as well as serializing and re-parsing it.
+     *
+     * @param adaptable the adaptable.
+     * @since 2.2.0
+     */
+    void publishAdaptable(Adaptable adaptable);
+
     /**
      * An empty interface to mark adaptable bus subscriptions.
      */
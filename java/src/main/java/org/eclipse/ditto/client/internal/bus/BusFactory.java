@@ -15,6 +15,12 @@ package org.eclipse.ditto.client.internal.bus;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.client.configuration.ExecutorConfiguration;
+import org.eclipse.ditto.client.configuration.MessagingConfiguration;
+import org.eclipse.ditto.client.metrics.ClientMetrics;
+
 /**
  * Factory for creating Buses (e.g. {@link PointerBus}).
  *
@@ -37,6 +43,21 @@ public final class BusFactory {
         return new DefaultPointerBus(name, executor);
     }
 
+    /**
+     * Creates a new {@link PointerBus} using the passed in {@code name} and {@code executor} which delivers events
+     * to handlers in the order demanded by the passed {@code executorConfiguration}.
+     *
+     * @param name the name of the bus (e.g. used in thread names).
+     * @param executor the {@link ExecutorService} to use for asynchronous operations on the Bus.
+     * @param executorConfiguration the executor configuration.
+     * @return the newly created PointerBus
+     * @since 2.2.0
+     */
+    public static PointerBus createPointerBus(final String name, final ExecutorService executor,
+            final ExecutorConfiguration executorConfiguration) {
+        return new DefaultPointerBus(name, executor, DispatchLanes.of(executor, executorConfiguration));
+    }
+
     /**
      * Create an adaptable bus.
      *
@@ -46,8 +67,75 @@ public final class BusFactory {
      */
     public static AdaptableBus createAdaptableBus(final ExecutorService defaultExecutor,
             final ScheduledExecutorService scheduledExecutor) {
+        return createAdaptableBus(defaultExecutor, scheduledExecutor, ExecutorConfiguration.defaultConfiguration());
+    }
+
+    /**
+     * Create an adaptable bus which delivers events to persistent subscribers in the order demanded by the passed
+     * {@code executorConfiguration}.
+     *
+     * @return the adaptable bus.
+     * @param defaultExecutor the default executor to run non-scheduled tasks on.
+     * @param scheduledExecutor the {@code ScheduledExecutorService} to use for scheduling tasks.
+     * @param executorConfiguration the executor configuration.
+     * @since 2.2.0
+     */
+    public static AdaptableBus createAdaptableBus(final ExecutorService defaultExecutor,
+            final ScheduledExecutorService scheduledExecutor,
+            final ExecutorConfiguration executorConfiguration) {
+        return createAdaptableBus(defaultExecutor, scheduledExecutor, executorConfiguration, ClientMetrics.noop());
+    }
+
+    /**
+     * Create an adaptable bus which delivers events in the order demanded by the passed {@code executorConfiguration}
+     * and reports parse failures, subscribers and timeouts to the passed {@code clientMetrics}.
+     *
+     * @return the adaptable bus.
+     * @param defaultExecutor the default executor to run non-scheduled tasks on.
+     * @param scheduledExecutor the {@code ScheduledExecutorService} to use for scheduling tasks.
+     * @param executorConfiguration the executor configuration.
+     * @param clientMetrics the metrics to report to.
+     * @since 2.2.0
+     */
+    public static AdaptableBus createAdaptableBus(final ExecutorService defaultExecutor,
+            final ScheduledExecutorService scheduledExecutor,
+            final ExecutorConfiguration executorConfiguration,
+            final ClientMetrics clientMetrics) {
+        return createAdaptableBus(defaultExecutor, scheduledExecutor,
+                DispatchLanes.of(defaultExecutor, executorConfiguration), clientMetrics);
+    }
+
+    /**
+     * Create an adaptable bus for the passed {@code messagingConfiguration}. Events are delivered to persistent
+     * subscribers in order per entity if the twin keeps Things cached or resynchronizes them, which relies on the
+     * revisions of the events of each Thing arriving in order, even if the executor configuration demands
+     * {@link ExecutorConfiguration.DispatchOrdering#UNORDERED unordered} delivery.
+     *
+     * @return the adaptable bus.
+     * @param defaultExecutor the default executor to run non-scheduled tasks on.
+     * @param scheduledExecutor the {@code ScheduledExecutorService} to use for scheduling tasks.
+     * @param messagingConfiguration the messaging configuration.
+     * @since 2.2.0
+     */
+    public static AdaptableBus createAdaptableBus(final ExecutorService defaultExecutor,
+            final ScheduledExecutorService scheduledExecutor,
+            final MessagingConfiguration messagingConfiguration) {
+        final ExecutorConfiguration executorConfiguration = messagingConfiguration.getExecutorConfiguration();
+        final boolean orderedPerThing = messagingConfiguration.getResyncConfiguration().isPresent() ||
+                messagingConfiguration.getThingCacheConfiguration().isPresent();
+        final DispatchLanes dispatchLanes = orderedPerThing
+                ? DispatchLanes.perEntity(defaultExecutor, executorConfiguration)
+                : DispatchLanes.of(defaultExecutor, executorConfiguration);
+        return createAdaptableBus(defaultExecutor, scheduledExecutor, dispatchLanes,
+                messagingConfiguration.getClientMetrics());
+    }
+
+    private static AdaptableBus createAdaptableBus(final ExecutorService defaultExecutor,
+            final ScheduledExecutorService scheduledExecutor,
+            @Nullable final DispatchLanes dispatchLanes,
+            final ClientMetrics clientMetrics) {
         // the executor service will shutdown when garbage-collected.
-        return new DefaultAdaptableBus(defaultExecutor, scheduledExecutor)
+        return new DefaultAdaptableBus(defaultExecutor, scheduledExecutor, dispatchLanes, clientMetrics)
                 .addStringClassifier(Classifiers.identity())
                 .addAdaptableClassifier(Classifiers.correlationId())
                 .addAdaptableClassifier(Classifiers.streamingType())
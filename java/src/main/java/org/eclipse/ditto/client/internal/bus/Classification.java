@@ -76,7 +76,7 @@ public interface Classification {
      * @return the key.
      */
     static Classification forErrors() {
-        return new Errors();
+        return Errors.INSTANCE;
     }
 
     /**
@@ -98,6 +98,16 @@ public interface Classification {
         return false;
     }
 
+    /**
+     * Returns the kind of this classification, e.g. to report metrics per kind rather than per classification.
+     *
+     * @return the kind.
+     * @since 2.2.0
+     */
+    default String getKind() {
+        return getClass().getSimpleName();
+    }
+
     /**
      * The classified streaming types.
      */
@@ -147,6 +157,11 @@ public interface Classification {
             return stopAck;
         }
 
+        @Override
+        public String getKind() {
+            return name();
+        }
+
 
         private static String ack(final String command) {
             return command + ":ACK";
@@ -215,6 +230,7 @@ public interface Classification {
     final class Errors extends Literal<String> {
 
         private static final String ANY_ERROR = "";
+        private static final Errors INSTANCE = new Errors();
 
         private Errors() {
             super(ANY_ERROR);
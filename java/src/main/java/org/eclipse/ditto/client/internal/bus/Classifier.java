@@ -12,6 +12,7 @@
  */
 package org.eclipse.ditto.client.internal.bus;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -28,4 +29,17 @@ public interface Classifier<T> {
      */
     Optional<Classification> classify(T message);
 
+    /**
+     * Classify a message and append its classification, if any is known, to the given list of tags.
+     * Classifiers on the hot path of the bus override this method to avoid allocating an {@code Optional} per
+     * message.
+     *
+     * @param message the message.
+     * @param tags the list of tags to append the classification to.
+     * @since 2.2.0
+     */
+    default void classifyInto(final T message, final List<Classification> tags) {
+        classify(message).ifPresent(tags::add);
+    }
+
 }
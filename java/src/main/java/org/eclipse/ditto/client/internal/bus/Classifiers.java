@@ -13,9 +13,13 @@
 package org.eclipse.ditto.client.internal.bus;
 
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 import org.eclipse.ditto.base.model.exceptions.DittoRuntimeException;
+import org.eclipse.ditto.base.model.headers.DittoHeaderDefinition;
 import org.eclipse.ditto.json.JsonValue;
 import org.eclipse.ditto.protocol.Adaptable;
 import org.eclipse.ditto.protocol.TopicPath;
@@ -85,38 +89,86 @@ public final class Classifiers {
         return Instances.ERROR_CODE_CLASSIFIER;
     }
 
-    private static final class StreamingTypeClassifier implements Classifier<Adaptable> {
+    private static final class CorrelationIdClassifier implements Classifier<Adaptable>, RawFrameClassifier {
+
+        private static final String CORRELATION_ID_KEY = DittoHeaderDefinition.CORRELATION_ID.getKey();
+
+        @Override
+        public Optional<Classification> classify(final Adaptable message) {
+            return message.getDittoHeaders()
+                    .getCorrelationId()
+                    .map(Classification::forCorrelationId);
+        }
+
+        @Override
+        public void classifyInto(final Adaptable message, final List<Classification> tags) {
+            final String correlationId = message.getDittoHeaders().get(CORRELATION_ID_KEY);
+            if (correlationId != null) {
+                tags.add(Classification.forCorrelationId(correlationId));
+            }
+        }
+
+        @Override
+        public void classifyInto(final RawFrame frame, final List<Classification> tags) {
+            final String correlationId = frame.getCorrelationId();
+            if (correlationId != null) {
+                tags.add(Classification.forCorrelationId(correlationId));
+            }
+        }
+    }
+
+    private static final class StreamingTypeClassifier implements Classifier<Adaptable>, RawFrameClassifier {
 
         @Override
         public Optional<Classification> classify(final Adaptable message) {
-            final TopicPath topicPath = message.getTopicPath();
+            return Optional.ofNullable(getStreamingType(message.getTopicPath()));
+        }
+
+        @Override
+        public void classifyInto(final Adaptable message, final List<Classification> tags) {
+            final Classification streamingType = getStreamingType(message.getTopicPath());
+            if (streamingType != null) {
+                tags.add(streamingType);
+            }
+        }
+
+        @Override
+        public void classifyInto(final RawFrame frame, final List<Classification> tags) {
+            final Classification streamingType = getStreamingType(frame.getTopicPath());
+            if (streamingType != null) {
+                tags.add(streamingType);
+            }
+        }
+
+        @Nullable
+        private static Classification getStreamingType(final TopicPath topicPath) {
             if (topicPath.getGroup() == TopicPath.Group.THINGS) {
                 switch (topicPath.getChannel()) {
                     case LIVE:
                         switch (topicPath.getCriterion()) {
                             case COMMANDS:
-                                return Optional.of(Classification.StreamingType.LIVE_COMMAND);
+                                return Classification.StreamingType.LIVE_COMMAND;
                             case EVENTS:
-                                return Optional.of(Classification.StreamingType.LIVE_EVENT);
+                                return Classification.StreamingType.LIVE_EVENT;
                             case MESSAGES:
-                                return Optional.of(Classification.StreamingType.LIVE_MESSAGE);
+                                return Classification.StreamingType.LIVE_MESSAGE;
                             default:
-                                return Optional.empty();
+                                return null;
                         }
                     case TWIN:
                         if (topicPath.getCriterion() == TopicPath.Criterion.EVENTS) {
-                            return Optional.of(Classification.StreamingType.TWIN_EVENT);
+                            return Classification.StreamingType.TWIN_EVENT;
                         }
                         break;
                     default:
-                        return Optional.empty();
+                        return null;
                 }
             }
-            return Optional.empty();
+            return null;
         }
     }
 
-    private static final class ThingsSearchClassifier implements Classifier<Adaptable> {
+    private static final class ThingsSearchClassifier implements Classifier<Adaptable>, RawFrameClassifier {
 
         private static final EnumSet<TopicPath.SearchAction> SEARCH_EVENTS = EnumSet.of(
                 TopicPath.SearchAction.NEXT,
@@ -133,9 +185,27 @@ public final class Classifiers {
                     .flatMap(jsonValue -> jsonValue.asObject().getValue(SubscriptionEvent.JsonFields.SUBSCRIPTION_ID))
                     .map(Classification::forThingsSearch);
         }
+
+        @Override
+        public void classifyInto(final Adaptable message, final List<Classification> tags) {
+            // only search messages carry a search action; skip the Optional chain for everything else
+            if (message.getTopicPath().getCriterion() == TopicPath.Criterion.SEARCH) {
+                classify(message).ifPresent(tags::add);
+            }
+        }
+
+        @Override
+        public void classifyInto(final RawFrame frame, final List<Classification> tags) {
+            final TopicPath topicPath = frame.getTopicPath();
+            final String subscriptionId = frame.getSubscriptionId();
+            if (topicPath.getCriterion() == TopicPath.Criterion.SEARCH && subscriptionId != null &&
+                    topicPath.getSearchAction().filter(SEARCH_EVENTS::contains).isPresent()) {
+                tags.add(Classification.forThingsSearch(subscriptionId));
+            }
+        }
     }
 
-    private static final class ErrorsClassifier implements Classifier<Adaptable> {
+    private static final class ErrorsClassifier implements Classifier<Adaptable>, RawFrameClassifier {
 
         @Override
         public Optional<Classification> classify(final Adaptable message) {
@@ -145,9 +215,23 @@ public final class Classifiers {
                 return Optional.empty();
             }
         }
+
+        @Override
+        public void classifyInto(final Adaptable message, final List<Classification> tags) {
+            if (message.getTopicPath().getCriterion() == TopicPath.Criterion.ERRORS) {
+                tags.add(Classification.forErrors());
+            }
+        }
+
+        @Override
+        public void classifyInto(final RawFrame frame, final List<Classification> tags) {
+            if (frame.getTopicPath().getCriterion() == TopicPath.Criterion.ERRORS) {
+                tags.add(Classification.forErrors());
+            }
+        }
     }
 
-    private static final class ErrorCodeClassifier implements Classifier<Adaptable> {
+    private static final class ErrorCodeClassifier implements Classifier<Adaptable>, RawFrameClassifier {
 
         @Override
         public Optional<Classification> classify(final Adaptable message) {
@@ -161,14 +245,26 @@ public final class Classifiers {
                 return Optional.empty();
             }
         }
+
+        @Override
+        public void classifyInto(final Adaptable message, final List<Classification> tags) {
+            if (message.getTopicPath().getCriterion() == TopicPath.Criterion.ERRORS) {
+                classify(message).ifPresent(tags::add);
+            }
+        }
+
+        @Override
+        public void classifyInto(final RawFrame frame, final List<Classification> tags) {
+            final String errorCode = frame.getErrorCode();
+            if (frame.getTopicPath().getCriterion() == TopicPath.Criterion.ERRORS && errorCode != null) {
+                tags.add(Classification.forErrorCode(errorCode));
+            }
+        }
     }
 
     private static final class Instances {
 
-        private static final Classifier<Adaptable> CORRELATION_ID_CLASSIFIER = adaptable ->
-                adaptable.getDittoHeaders()
-                        .getCorrelationId()
-                        .map(Classification::forCorrelationId);
+        private static final Classifier<Adaptable> CORRELATION_ID_CLASSIFIER = new CorrelationIdClassifier();
 
         private static final Classifier<Adaptable> STREAMING_TYPE_CLASSIFIER = new StreamingTypeClassifier();
 
@@ -13,8 +13,8 @@
 package org.eclipse.ditto.client.internal.bus;
 
 import java.time.Duration;
-import java.time.Instant;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,26 +22,26 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
+import org.eclipse.ditto.base.model.exceptions.DittoRuntimeException;
+import org.eclipse.ditto.client.metrics.ClientMetrics;
 import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonParseException;
 import org.eclipse.ditto.json.JsonRuntimeException;
 import org.eclipse.ditto.protocol.Adaptable;
 import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.eclipse.ditto.protocol.TopicPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,25 +50,62 @@ final class DefaultAdaptableBus implements AdaptableBus {
     private static final String ACK_SUFFIX = ":ACK";
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultAdaptableBus.class);
 
+    /**
+     * Precision and number of buckets of the timing wheel for the timeouts of requests awaiting their response.
+     */
+    private static final Duration REQUEST_TIMEOUT_TICK = Duration.ofMillis(10L);
+    private static final int REQUEST_TIMEOUT_WHEEL_SIZE = 512;
+
+    /**
+     * Per-thread buffers for the tags of the message currently being published; reused across messages so that
+     * classification does not allocate a list per message.
+     */
+    private static final ThreadLocal<TagBuffer> TAG_BUFFERS = ThreadLocal.withInitial(TagBuffer::new);
+
     private final ExecutorService defaultExecutor;
     private final ScheduledExecutorService scheduledExecutor;
-    private final Collection<Classifier<String>> stringClassifiers;
-    private final Collection<Classifier<Adaptable>> adaptableClassifiers;
-
-    private final Map<Classification, Set<Entry<Consumer<String>>>> oneTimeStringConsumers;
-    private final Map<Classification, Set<Entry<Consumer<Adaptable>>>> oneTimeAdaptableConsumers;
+    @Nullable private final DispatchLanes dispatchLanes;
+    private final ClientMetrics clientMetrics;
+    private final Set<String> subscriberKindsWithBoundCount;
+    private final List<Classifier<String>> stringClassifiers;
+    private volatile AdaptableClassifiers adaptableClassifiers;
+
+    private final TimingWheel timingWheel;
+    private final PendingRequests<String> pendingStringRequests;
+    private final PendingRequests<Adaptable> pendingRequests;
     private final Map<Classification, Set<Entry<Consumer<Adaptable>>>> persistentAdaptableConsumers;
-    private final Map<SubscriptionId, Future<?>> timeoutFutures;
+    private final AtomicLong suspensions;
 
     DefaultAdaptableBus(final ExecutorService defaultExecutor, final ScheduledExecutorService scheduledExecutor) {
+        this(defaultExecutor, scheduledExecutor, null, ClientMetrics.noop());
+    }
+
+    /**
+     * Constructs a new DefaultAdaptableBus.
+     *
+     * @param defaultExecutor the executor to run subscribers on.
+     * @param scheduledExecutor the executor to schedule timeouts with.
+     * @param dispatchLanes lanes to run persistent subscribers on in order per entity, or {@code null} to run them
+     * unordered.
+     * @param clientMetrics the metrics to report parse failures, subscribers and timeouts to.
+     */
+    DefaultAdaptableBus(final ExecutorService defaultExecutor, final ScheduledExecutorService scheduledExecutor,
+            @Nullable final DispatchLanes dispatchLanes, final ClientMetrics clientMetrics) {
         this.defaultExecutor = defaultExecutor;
         this.scheduledExecutor = scheduledExecutor;
-        stringClassifiers = new ConcurrentLinkedQueue<>();
-        adaptableClassifiers = new ConcurrentLinkedQueue<>();
-        oneTimeStringConsumers = new ConcurrentHashMap<>();
-        oneTimeAdaptableConsumers = new ConcurrentHashMap<>();
+        this.dispatchLanes = dispatchLanes;
+        this.clientMetrics = clientMetrics;
+        subscriberKindsWithBoundCount = ConcurrentHashMap.newKeySet();
+        stringClassifiers = new CopyOnWriteArrayList<>();
+        adaptableClassifiers = AdaptableClassifiers.EMPTY;
+        timingWheel = TimingWheel.of(scheduledExecutor, REQUEST_TIMEOUT_TICK, REQUEST_TIMEOUT_WHEEL_SIZE);
+        pendingStringRequests = new PendingRequests<>(timingWheel,
+                tag -> clientMetrics.onOneTimeSubscriptionTimeout(tag.getKind()));
+        pendingRequests = new PendingRequests<>(timingWheel,
+                tag -> clientMetrics.onOneTimeSubscriptionTimeout(tag.getKind()));
         persistentAdaptableConsumers = new ConcurrentHashMap<>();
-        timeoutFutures = new ConcurrentHashMap<>();
+        suspensions = new AtomicLong();
+        clientMetrics.bindInFlightRequestCount(pendingRequests::size);
     }
 
     @Override
@@ -78,25 +115,28 @@ final class DefaultAdaptableBus implements AdaptableBus {
     }
 
     @Override
-    public AdaptableBus addAdaptableClassifier(final Classifier<Adaptable> adaptableClassifier) {
-        adaptableClassifiers.add(adaptableClassifier);
+    public synchronized AdaptableBus addAdaptableClassifier(final Classifier<Adaptable> adaptableClassifier) {
+        adaptableClassifiers = adaptableClassifiers.with(adaptableClassifier);
         return this;
     }
 
     @Override
     public CompletionStage<String> subscribeOnceForString(final Classification tag, final Duration timeout) {
-        return subscribeOnce(oneTimeStringConsumers, tag, timeout);
+        bindSubscriberCount(tag);
+        return pendingStringRequests.register(tag, timeout);
     }
 
     @Override
     public CompletionStage<String> subscribeOnceForStringExclusively(final Classification tag, final Duration timeout) {
-        return subscribeOnce(oneTimeStringConsumers, tag, timeout, true);
+        bindSubscriberCount(tag);
+        return pendingStringRequests.registerExclusively(tag, timeout);
     }
 
     @Override
     public CompletionStage<Adaptable> subscribeOnceForAdaptable(final Classification tag,
             final Duration timeout) {
-        return subscribeOnce(oneTimeAdaptableConsumers, tag, timeout);
+        bindSubscriberCount(tag);
+        return pendingRequests.register(tag, timeout);
     }
 
     @Override
@@ -122,13 +162,14 @@ final class DefaultAdaptableBus implements AdaptableBus {
             final Consumer<Adaptable> adaptableConsumer, final Predicate<Adaptable> terminationPredicate,
             final Consumer<Throwable> onTimeout) {
         final CompletableFuture<Adaptable> terminationFuture = new CompletableFuture<>();
-        final AtomicReference<Instant> lastMessage = new AtomicReference<>(Instant.now());
+        final AtomicLong lastMessageNanos = new AtomicLong(System.nanoTime());
         final Entry<Consumer<Adaptable>> entry = new Entry<>(
                 tag,
-                withTermination(adaptableConsumer, terminationPredicate, terminationFuture, lastMessage)
+                withTermination(adaptableConsumer, terminationPredicate, terminationFuture, lastMessageNanos)
         );
+        entry.idleTimeout = new IdleTimeout(entry, timeout, terminationFuture, lastMessageNanos);
         addEntry(persistentAdaptableConsumers, entry);
-        removeAfterIdle(persistentAdaptableConsumers, entry, timeout, terminationFuture, lastMessage);
+        timingWheel.schedule(entry.idleTimeout, timeout.toNanos());
         terminationFuture.thenAccept(terminated -> removeEntry(persistentAdaptableConsumers, entry, () -> {}))
                 .exceptionally(timeoutError -> {
                     onTimeout.accept(timeoutError);
@@ -161,6 +202,13 @@ final class DefaultAdaptableBus implements AdaptableBus {
         doPublish(message);
     }
 
+    @Override
+    public void publishAdaptable(final Adaptable adaptable) {
+        if (!dispatchAdaptable(adaptable, adaptableClassifiers)) {
+            LOGGER.trace("Client got unhandled adaptable: {}", adaptable);
+        }
+    }
+
     @Override
     public void shutdownExecutors() {
         LOGGER.trace("Shutting down AdaptableBus Executors");
@@ -175,6 +223,33 @@ final class DefaultAdaptableBus implements AdaptableBus {
         }
     }
 
+    @Override
+    public void suspendOneTimeSubscriptionTimeouts(final Duration maximumSuspension) {
+        final long suspension = suspensions.incrementAndGet();
+        final long now = System.nanoTime();
+        pendingStringRequests.suspendTimeouts(now);
+        pendingRequests.suspendTimeouts(now);
+        scheduledExecutor.schedule(() -> {
+            // a later suspension has a maximum of its own
+            if (suspensions.get() == suspension) {
+                LOGGER.debug("Resuming timeouts of one-time subscriptions suspended for <{}>", maximumSuspension);
+                resumeOneTimeSubscriptionTimeouts();
+            }
+        }, maximumSuspension.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void resumeOneTimeSubscriptionTimeouts() {
+        pendingStringRequests.resumeTimeouts();
+        pendingRequests.resumeTimeouts();
+    }
+
+    @Override
+    public void failOneTimeSubscriptions(final Throwable cause) {
+        pendingStringRequests.failAll(cause);
+        pendingRequests.failAll(cause);
+    }
+
     // call this in a single-threaded executor so that ordering is preserved
     private void doPublish(final String message) {
         if (publishToOneTimeStringSubscribers(message)) {
@@ -183,12 +258,18 @@ final class DefaultAdaptableBus implements AdaptableBus {
         if (message.endsWith(ACK_SUFFIX)) {
             LOGGER.trace("Client got acknowledgement for which there is no subscriber: {}", message);
         } else {
-            final Optional<Adaptable> adaptableOptional = parseAsAdaptable(message);
-            if (adaptableOptional.isPresent()) {
-                final Adaptable adaptable = adaptableOptional.get();
-                final List<Classification> tags = getAllAdaptableTags(adaptable);
-                if (publishToOneTimeAdaptableSubscribers(adaptable, tags) ||
-                        publishToPersistentAdaptableSubscribers(adaptable, tags)) {
+            // read the classifiers once so that a classifier added meanwhile cannot change how this message is handled
+            final AdaptableClassifiers classifiers = adaptableClassifiers;
+            // classify the message by the fields extracted from its text and leave parsing it to the subscribers
+            final List<RawFrameClassifier> rawFrameClassifiers = classifiers.rawFrameClassifiers;
+            final RawFrame frame = rawFrameClassifiers != null ? RawFrame.scan(message) : null;
+            if (rawFrameClassifiers != null && frame != null) {
+                if (dispatchFrame(frame, rawFrameClassifiers)) {
+                    return;
+                }
+            } else {
+                final Optional<Adaptable> adaptableOptional = parseAsAdaptable(message);
+                if (adaptableOptional.isPresent() && dispatchAdaptable(adaptableOptional.get(), classifiers)) {
                     return;
                 }
             }
@@ -196,11 +277,49 @@ final class DefaultAdaptableBus implements AdaptableBus {
         }
     }
 
+    private boolean dispatchFrame(final RawFrame frame, final List<RawFrameClassifier> rawFrameClassifiers) {
+        if (pendingRequests.isEmpty() && persistentAdaptableConsumers.isEmpty()) {
+            // nobody to dispatch to; drop the message without parsing it
+            return false;
+        }
+        final TagBuffer tagBuffer = TAG_BUFFERS.get();
+        final List<Classification> tags = tagBuffer.acquire();
+        try {
+            // index-based loop: no iterator is allocated
+            for (int i = 0; i < rawFrameClassifiers.size(); i++) {
+                rawFrameClassifiers.get(i).classifyInto(frame, tags);
+            }
+            return dispatch(new DeferredAdaptable(frame), tags);
+        } finally {
+            tagBuffer.release(tags);
+        }
+    }
+
+    private boolean dispatchAdaptable(final Adaptable adaptable, final AdaptableClassifiers classifiers) {
+        if (pendingRequests.isEmpty() && persistentAdaptableConsumers.isEmpty()) {
+            // nobody to dispatch to; skip classification altogether
+            return false;
+        }
+        final TagBuffer tagBuffer = TAG_BUFFERS.get();
+        final List<Classification> tags = tagBuffer.acquire();
+        try {
+            classifyAdaptable(adaptable, classifiers.classifiers, tags);
+            return dispatch(new DeferredAdaptable(adaptable), tags);
+        } finally {
+            tagBuffer.release(tags);
+        }
+    }
+
+    private boolean dispatch(final DeferredAdaptable adaptable, final List<Classification> tags) {
+        return publishToOneTimeAdaptableSubscribers(adaptable, tags) ||
+                publishToPersistentAdaptableSubscribers(adaptable, tags);
+    }
+
     private Consumer<Adaptable> withTermination(
             final Consumer<Adaptable> adaptableConsumer,
             final Predicate<Adaptable> terminationPredicate,
             final CompletableFuture<Adaptable> terminationFuture,
-            final AtomicReference<Instant> lastMessage) {
+            final AtomicLong lastMessageNanos) {
 
         return message -> {
             if (terminationPredicate.test(message)) {
@@ -208,43 +327,23 @@ final class DefaultAdaptableBus implements AdaptableBus {
                 terminationFuture.complete(message);
             } else {
                 // not terminated
-                lastMessage.set(Instant.now());
+                lastMessageNanos.set(System.nanoTime());
             }
             // feed message to adaptable consumer in any case
             adaptableConsumer.accept(message);
         };
     }
 
-    private <T> CompletionStage<T> subscribeOnce(
-            final Map<Classification, Set<Entry<Consumer<T>>>> registry,
-            final Classification tag,
-            final Duration timeout) {
-        return subscribeOnce(registry, tag, timeout, false);
-    }
-
-    private <T> CompletionStage<T> subscribeOnce(
-            final Map<Classification, Set<Entry<Consumer<T>>>> registry,
-            final Classification tag,
-            final Duration timeout,
-            final boolean exclusively) {
-        final CompletableFuture<T> resultFuture = new CompletableFuture<>();
-        final Entry<Consumer<T>> subscriber = new Entry<>(tag, resultFuture::complete);
-        if (exclusively) {
-            replaceEntry(registry, subscriber);
-        } else {
-            addEntry(registry, subscriber);
-        }
-        removeAfter(registry, subscriber, timeout, resultFuture);
-        return resultFuture;
-    }
-
     private boolean publishToOneTimeStringSubscribers(final String message) {
+        if (pendingStringRequests.isEmpty()) {
+            return false;
+        }
         for (final Classifier<String> stringClassifier : stringClassifiers) {
             final Optional<Classification> tag = stringClassifier.classify(message);
             if (tag.isPresent()) {
-                final Consumer<String> consumer = removeOne(oneTimeStringConsumers, tag.get());
-                if (consumer != null) {
-                    runConsumerAsync(consumer, message, tag.get());
+                final CompletableFuture<String> pendingResponse = pendingStringRequests.remove(tag.get());
+                if (pendingResponse != null) {
+                    runConsumerAsync(pendingResponse::complete, message, tag.get());
                     return true;
                 }
             }
@@ -261,77 +360,64 @@ final class DefaultAdaptableBus implements AdaptableBus {
         }
     }
 
-    private boolean publishToOneTimeAdaptableSubscribers(final Adaptable adaptable, final List<Classification> tags) {
-        for (final Classification tag : tags) {
-            final Consumer<Adaptable> oneTimeSubscriber = removeOne(oneTimeAdaptableConsumers, tag);
-            if (oneTimeSubscriber != null) {
-                runConsumerAsync(oneTimeSubscriber, adaptable, tag);
+    private void runPersistentConsumer(final Consumer<Adaptable> consumer, final DeferredAdaptable adaptable,
+            final Classification tag) {
+        if (dispatchLanes != null && !tag.mustBeSequential()) {
+            LOGGER.trace("publishing in order for {}: {}", tag, adaptable);
+            final TopicPath topicPath = adaptable.topicPath;
+            dispatchLanes.laneFor(DispatchLanes.entityHash(topicPath.getNamespace(), topicPath.getEntityName()))
+                    .execute(() -> adaptable.feed(consumer));
+        } else {
+            runConsumerAsync(deferred -> deferred.feed(consumer), adaptable, tag);
+        }
+    }
+
+    private boolean publishToOneTimeAdaptableSubscribers(final DeferredAdaptable adaptable,
+            final List<Classification> tags) {
+        if (pendingRequests.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < tags.size(); i++) {
+            final Classification tag = tags.get(i);
+            final CompletableFuture<Adaptable> pendingResponse = pendingRequests.remove(tag);
+            if (pendingResponse != null) {
+                runConsumerAsync(deferred -> deferred.complete(pendingResponse), adaptable, tag);
                 return true;
             }
         }
         return false;
     }
 
-    private boolean publishToPersistentAdaptableSubscribers(final Adaptable adaptable,
+    private boolean publishToPersistentAdaptableSubscribers(final DeferredAdaptable adaptable,
             final List<Classification> tags) {
+        if (persistentAdaptableConsumers.isEmpty()) {
+            return false;
+        }
         boolean publishedToPersistentSubscribers = false;
-        for (final Classification tag : tags) {
+        for (int i = 0; i < tags.size(); i++) {
+            final Classification tag = tags.get(i);
             final Set<Entry<Consumer<Adaptable>>> persistentConsumers = persistentAdaptableConsumers.get(tag);
             if (persistentConsumers != null && !persistentConsumers.isEmpty()) {
                 publishedToPersistentSubscribers = true;
                 for (final Entry<Consumer<Adaptable>> entry : persistentConsumers) {
-                    runConsumerAsync(entry.value, adaptable, tag);
+                    runPersistentConsumer(entry.value, adaptable, tag);
                 }
             }
         }
         return publishedToPersistentSubscribers;
     }
 
-    private List<Classification> getAllAdaptableTags(final Adaptable adaptable) {
-        return adaptableClassifiers.stream()
-                .flatMap(classifier -> classifier.classify(adaptable).map(Stream::of).orElseGet(Stream::empty))
-                .collect(Collectors.toList());
-    }
-
-    private <T> void removeAfter(final Map<Classification, Set<Entry<T>>> registry,
-            final Entry<T> entry,
-            final Duration after,
-            final CompletableFuture<?> futureToFail) {
-        final Runnable cancellationRunnable = () ->
-                removeEntry(registry, entry, () -> futureToFail.completeExceptionally(timeout(after)));
-        schedule(entry, cancellationRunnable, after);
-    }
-
-    private void schedule(final SubscriptionId subscriptionId, final Runnable runnable, final Duration when) {
-        timeoutFutures.compute(subscriptionId, (k, v) -> {
-            if (v != null) {
-                v.cancel(false);
-            }
-            return scheduledExecutor.schedule(runnable, when.toMillis(), TimeUnit.MILLISECONDS);
-        });
-    }
-
-    private <T> void removeAfterIdle(
-            final Map<Classification, Set<Entry<T>>> registry,
-            final Entry<T> entry,
-            final Duration timeout,
-            final CompletableFuture<Adaptable> terminationFuture,
-            final AtomicReference<Instant> lastMessage) {
-
-        final Runnable cancellationRunnable = () -> {
-            if (timeout.minus(Duration.between(lastMessage.get(), Instant.now())).isNegative()) {
-                // timeout reached; fail with idle timeout
-                removeEntry(registry, entry, () -> terminationFuture.completeExceptionally(timeout(timeout)));
-            } else {
-                // timeout not reached; re-submit.
-                removeAfterIdle(registry, entry, timeout, terminationFuture, lastMessage);
-            }
-        };
-        schedule(entry, cancellationRunnable, timeout);
+    private static void classifyAdaptable(final Adaptable adaptable, final List<Classifier<Adaptable>> classifiers,
+            final List<Classification> tags) {
+        // index-based loop: no iterator is allocated
+        for (int i = 0; i < classifiers.size(); i++) {
+            classifiers.get(i).classifyInto(adaptable, tags);
+        }
     }
 
-    private static <T> void addEntry(final Map<Classification, Set<Entry<T>>> registry,
+    private <T> void addEntry(final Map<Classification, Set<Entry<T>>> registry,
             final Entry<T> entry) {
+        bindSubscriberCount(entry.key);
         registry.compute(entry.key, (key, previousSet) -> {
             final Set<Entry<T>> concurrentHashSet =
                     previousSet != null ? previousSet : ConcurrentHashMap.newKeySet();
@@ -340,24 +426,58 @@ final class DefaultAdaptableBus implements AdaptableBus {
         });
     }
 
-    private static <T> void replaceEntry(final Map<Classification, Set<Entry<T>>> registry, final Entry<T> entry) {
+    private <T> void replaceEntry(final Map<Classification, Set<Entry<T>>> registry, final Entry<T> entry) {
+        bindSubscriberCount(entry.key);
         final Set<Entry<T>> set = ConcurrentHashMap.newKeySet();
         set.add(entry);
         registry.put(entry.key, set);
     }
 
+    private void bindSubscriberCount(final Classification tag) {
+        final String kind = tag.getKind();
+        if (subscriberKindsWithBoundCount.add(kind)) {
+            clientMetrics.bindSubscriberCount(kind, () -> countSubscribers(kind));
+        }
+    }
+
+    private long countSubscribers(final String kind) {
+        return pendingStringRequests.count(kind) + pendingRequests.count(kind) +
+                countSubscribers(persistentAdaptableConsumers, kind);
+    }
+
+    private static <T> long countSubscribers(final Map<Classification, Set<Entry<T>>> registry, final String kind) {
+        long count = 0L;
+        for (final Map.Entry<Classification, Set<Entry<T>>> subscribers : registry.entrySet()) {
+            if (kind.equals(subscribers.getKey().getKind())) {
+                count += subscribers.getValue().size();
+            }
+        }
+        return count;
+    }
+
     private Optional<Adaptable> parseAsAdaptable(final String message) {
+        try {
+            return Optional.of(parse(message));
+        } catch (final JsonRuntimeException | DittoRuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Adaptable parse(final String message) {
         try {
             final JsonObject jsonObject = JsonObject.of(message);
-            return Optional.of(ProtocolFactory.jsonifiableAdaptableFromJson(jsonObject));
+            return ProtocolFactory.jsonifiableAdaptableFromJson(jsonObject);
         } catch (final JsonParseException e) {
+            clientMetrics.onParseFailure();
             final String msgPattern = "Client got unknown non-JSON message: {}";
             LOGGER.warn(msgPattern, message, e);
-        } catch (final JsonRuntimeException e) {
+            throw e;
+        } catch (final JsonRuntimeException | DittoRuntimeException e) {
+            clientMetrics.onParseFailure();
             final String msgPattern = "Client could not understand incoming JSON due to: <{}>:\n  <{}>";
             LOGGER.warn(msgPattern, e.getMessage(), message);
+            throw e;
         }
-        return Optional.empty();
     }
 
     private <T> void removeEntry(final Map<Classification, Set<Entry<T>>> registry,
@@ -369,32 +489,179 @@ final class DefaultAdaptableBus implements AdaptableBus {
             }
             return set.isEmpty() ? null : set;
         });
-        timeoutFutures.computeIfPresent(entry, (k, v) -> {
-            v.cancel(false);
-            return null;
-        });
-    }
-
-    @Nullable
-    private static <T> T removeOne(final Map<Classification, Set<Entry<T>>> registry,
-            final Classification tag) {
-        final AtomicReference<T> result = new AtomicReference<>(null);
-        registry.computeIfPresent(tag, (k, set) -> set.stream()
-                .findAny()
-                .map(entry -> {
-                    if (set.remove(entry)) {
-                        result.set(entry.value);
-                    }
-                    return set.isEmpty() ? null : set;
-                })
-                .orElse(null));
-        return result.get();
+        if (entry.idleTimeout != null) {
+            timingWheel.cancel(entry.idleTimeout);
+        }
     }
 
     private static Throwable timeout(final Duration duration) {
         return new TimeoutException("Timed out after " + duration);
     }
 
+    /**
+     * Timeout of a persistent subscription which removes it once no message arrived for the timeout.
+     */
+    private final class IdleTimeout extends TimingWheel.Timeout {
+
+        private final Entry<Consumer<Adaptable>> entry;
+        private final Duration timeout;
+        private final CompletableFuture<Adaptable> terminationFuture;
+        private final AtomicLong lastMessageNanos;
+
+        private IdleTimeout(final Entry<Consumer<Adaptable>> entry, final Duration timeout,
+                final CompletableFuture<Adaptable> terminationFuture, final AtomicLong lastMessageNanos) {
+            this.entry = entry;
+            this.timeout = timeout;
+            this.terminationFuture = terminationFuture;
+            this.lastMessageNanos = lastMessageNanos;
+        }
+
+        @Override
+        protected void expire() {
+            final long idleNanos = System.nanoTime() - lastMessageNanos.get();
+            if (idleNanos >= timeout.toNanos()) {
+                // timeout reached; fail with idle timeout
+                removeEntry(persistentAdaptableConsumers, entry,
+                        () -> terminationFuture.completeExceptionally(timeout(timeout)));
+            } else {
+                // a message arrived meanwhile; wait for the rest of the timeout
+                timingWheel.schedule(this, timeout.toNanos() - idleNanos);
+            }
+        }
+    }
+
+    /**
+     * A message to be consumed by subscribers, parsed by the first subscriber consuming it, i.e. on the executor of
+     * the subscriber instead of the thread publishing all messages, and at most once for all of them.
+     */
+    private final class DeferredAdaptable {
+
+        private final TopicPath topicPath;
+        @Nullable private String message;
+        @Nullable private Adaptable adaptable;
+        @Nullable private RuntimeException parseFailure;
+
+        private DeferredAdaptable(final Adaptable adaptable) {
+            topicPath = adaptable.getTopicPath();
+            message = null;
+            this.adaptable = adaptable;
+            parseFailure = null;
+        }
+
+        private DeferredAdaptable(final RawFrame frame) {
+            topicPath = frame.getTopicPath();
+            message = frame.getMessage();
+            adaptable = null;
+            parseFailure = null;
+        }
+
+        private synchronized Adaptable get() {
+            if (adaptable == null && parseFailure == null) {
+                try {
+                    adaptable = parse(String.valueOf(message));
+                } catch (final JsonRuntimeException | DittoRuntimeException e) {
+                    parseFailure = e;
+                }
+                message = null;
+            }
+            if (parseFailure != null) {
+                throw parseFailure;
+            }
+            return adaptable;
+        }
+
+        private void feed(final Consumer<Adaptable> consumer) {
+            final Adaptable parsed;
+            try {
+                parsed = get();
+            } catch (final RuntimeException e) {
+                // reported when parsing failed
+                return;
+            }
+            consumer.accept(parsed);
+        }
+
+        private void complete(final CompletableFuture<Adaptable> response) {
+            try {
+                response.complete(get());
+            } catch (final RuntimeException e) {
+                response.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public synchronized String toString() {
+            return adaptable != null ? adaptable.toString() : String.valueOf(message);
+        }
+    }
+
+    /**
+     * Immutable snapshot of the adaptable classifiers, published as a whole so that a message is never classified by
+     * raw frame while a classifier requiring the parsed message is added.
+     */
+    private static final class AdaptableClassifiers {
+
+        private static final AdaptableClassifiers EMPTY =
+                new AdaptableClassifiers(Collections.emptyList(), Collections.emptyList());
+
+        private final List<Classifier<Adaptable>> classifiers;
+
+        /**
+         * The classifiers as raw frame classifiers, or {@code null} if messages have to be parsed in full before
+         * any of them can classify them.
+         */
+        @Nullable private final List<RawFrameClassifier> rawFrameClassifiers;
+
+        private AdaptableClassifiers(final List<Classifier<Adaptable>> classifiers,
+                @Nullable final List<RawFrameClassifier> rawFrameClassifiers) {
+            this.classifiers = classifiers;
+            this.rawFrameClassifiers = rawFrameClassifiers;
+        }
+
+        private AdaptableClassifiers with(final Classifier<Adaptable> classifier) {
+            final List<Classifier<Adaptable>> newClassifiers = new ArrayList<>(classifiers.size() + 1);
+            newClassifiers.addAll(classifiers);
+            newClassifiers.add(classifier);
+            final List<RawFrameClassifier> newRawFrameClassifiers;
+            if (rawFrameClassifiers != null && classifier instanceof RawFrameClassifier) {
+                newRawFrameClassifiers = new ArrayList<>(rawFrameClassifiers.size() + 1);
+                newRawFrameClassifiers.addAll(rawFrameClassifiers);
+                newRawFrameClassifiers.add((RawFrameClassifier) classifier);
+            } else {
+                newRawFrameClassifiers = null;
+            }
+            return new AdaptableClassifiers(Collections.unmodifiableList(newClassifiers),
+                    newRawFrameClassifiers != null ? Collections.unmodifiableList(newRawFrameClassifiers) : null);
+        }
+    }
+
+    /**
+     * Reusable list of tags of one thread. A consumer running synchronously on the publishing thread may publish
+     * again; such nested publications get a fresh list instead of clobbering the tags of the outer one.
+     */
+    private static final class TagBuffer {
+
+        private static final int INITIAL_CAPACITY = 8;
+
+        private final List<Classification> tags = new ArrayList<>(INITIAL_CAPACITY);
+        private boolean inUse = false;
+
+        private List<Classification> acquire() {
+            if (inUse) {
+                return new ArrayList<>(INITIAL_CAPACITY);
+            }
+            inUse = true;
+            return tags;
+        }
+
+        private void release(final List<Classification> acquiredTags) {
+            if (acquiredTags == tags) {
+                tags.clear();
+                inUse = false;
+            }
+        }
+    }
+
     /**
      * Similar to Map.Entry but with object reference identity and fixed key type to act as identifier for
      * a subscription.
@@ -403,10 +670,12 @@ final class DefaultAdaptableBus implements AdaptableBus {
 
         private final Classification key;
         private final T value;
+        @Nullable private volatile IdleTimeout idleTimeout;
 
         private Entry(final Classification key, final T value) {
             this.key = key;
             this.value = value;
+            idleTimeout = null;
         }
     }
 }
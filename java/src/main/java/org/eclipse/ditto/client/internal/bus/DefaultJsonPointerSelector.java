@@ -12,9 +12,6 @@
  */
 package org.eclipse.ditto.client.internal.bus;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import javax.annotation.Nullable;
 
 import org.eclipse.ditto.json.JsonPointer;
@@ -68,16 +65,16 @@ final class DefaultJsonPointerSelector implements JsonPointerSelector {
             final JsonPointerWithChangePaths target = (JsonPointerWithChangePaths) pointer;
             final JsonPointer targetPointer = target.getTargetPath();
 
+            // iterate over the "changePaths" down to the depth of the template and check if the "changePath"
+            // appended to the initial "targetPath" matches the template key looked up via "getObject()":
+            final int maxLevels = getPointer().getLevelCount() - targetPointer.getLevelCount();
+            for (final JsonPointer changePath : target.getChangePaths(maxLevels)) {
+                if (JsonPointerSelector.doesTargetMatchTemplate(targetPointer.append(changePath), getPointer())) {
+                    return true;
+                }
+            }
             // we need to add the target path for modification on empty objects
-            final List<JsonPointer> targetPaths = new ArrayList<>(target.getChangePaths());
-            targetPaths.add(JsonPointer.empty());
-
-            return targetPaths.stream() // iterate over all configured "changePaths"
-                    .anyMatch(
-                            targetPath -> // and check if the "changePath" appended to the initial "targetPath" matches
-                                    // the template key looked up via "getObject()":
-                                    JsonPointerSelector.doesTargetMatchTemplate(targetPointer.append(targetPath),
-                                            getPointer()));
+            return JsonPointerSelector.doesTargetMatchTemplate(targetPointer, getPointer());
         } else if (JsonPointer.class.isAssignableFrom(type)) // or JsonPointer class are supported
         {
             return JsonPointerSelector.doesTargetMatchTemplate(pointer, getPointer());
@@ -13,9 +13,12 @@
 package org.eclipse.ditto.client.internal.bus;
 
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
+import javax.annotation.Nullable;
+
 /**
  * Default implementation of {@link PointerBus}.
  *
@@ -25,11 +28,17 @@ final class DefaultPointerBus implements PointerBus {
 
     private final String name;
     private final ExecutorService executor;
+    @Nullable private final DispatchLanes dispatchLanes;
     private final Registry<Consumer<PointerWithData<?>>> consumerRegistry;
 
     DefaultPointerBus(final String name, final ExecutorService executor) {
+        this(name, executor, null);
+    }
+
+    DefaultPointerBus(final String name, final ExecutorService executor, @Nullable final DispatchLanes dispatchLanes) {
         this.name = name;
         this.executor = executor;
+        this.dispatchLanes = dispatchLanes;
         consumerRegistry = new DefaultRegistry<>();
     }
 
@@ -38,6 +47,14 @@ final class DefaultPointerBus implements PointerBus {
         return executor;
     }
 
+    @Override
+    public Executor getExecutor(final CharSequence entityId) {
+        if (dispatchLanes != null) {
+            return dispatchLanes.laneFor(entityId.toString().hashCode());
+        }
+        return executor;
+    }
+
     @Override
     public <T> void notify(final PointerWithData<T> pointerWithData) {
         consumerRegistry.select(pointerWithData.getPointer())
@@ -63,6 +80,7 @@ final class DefaultPointerBus implements PointerBus {
         return getClass().getSimpleName() + " [" +
                 "name=" + name +
                 ", executor=" + executor +
+                ", ordered=" + (dispatchLanes != null) +
                 "]";
     }
 
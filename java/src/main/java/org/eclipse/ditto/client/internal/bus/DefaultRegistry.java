@@ -13,25 +13,66 @@
 package org.eclipse.ditto.client.internal.bus;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.json.JsonKey;
 import org.eclipse.ditto.json.JsonPointer;
 
 /**
  * Default implementation of {@link Registry}.
+ * <p>
+ * Selectors created by {@link JsonPointerSelectors#jsonPointer(CharSequence)} are indexed in a trie of path segments
+ * in which all template parameters like {@code {thingId}} of a level share one wildcard node. Selecting the
+ * registrations for a pointer therefore costs a walk along the levels of the pointer instead of a match against every
+ * registered selector. Other selectors are matched one by one.
+ * </p>
+ * <p>
+ * Reads are lock-free: the lists of registrations held by the nodes are replaced copy-on-write and the children of a
+ * node are kept in concurrent maps, so a selection sees each concurrent registration or cancellation either
+ * completely or not at all. Writes are serialized. Changes only evict the cached selections of pointers matched by the
+ * changed selector.
+ * </p>
  *
  * @since 1.0.0
  */
 final class DefaultRegistry<T> implements Registry<T> {
 
+    /**
+     * Maximum number of cached selections; the cache is flushed when it grows beyond.
+     */
+    private static final int MAX_CACHED_POINTERS = 10_000;
+
+    private static final Pattern TEMPLATE_PARAM = Pattern.compile("^\\{.*}$");
+
     private final ConcurrentHashMap<JsonPointer, List<Registration<T>>> pointerCache = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<JsonPointerSelector, List<Registration<T>>> registrationMap =
-            new ConcurrentHashMap<>();
 
     private final boolean useCache;
 
+    private volatile Node<T> root = new Node<>();
+    private volatile List<Entry<T>> unindexedEntries = Collections.emptyList();
+
+    /**
+     * Number of levels of the deepest indexed template; change paths need not be looked at any deeper.
+     */
+    private volatile int maxTemplateLevels = 0;
+
+    /**
+     * Incremented by each write before it evicts cached selections, so that selections computed concurrently to a
+     * write are not cached.
+     */
+    private volatile long version = 0L;
+
     /**
      * Constructs a new DefaultRegistry with JsonPointer caching enabled.
      */
@@ -49,56 +90,61 @@ final class DefaultRegistry<T> implements Registry<T> {
     }
 
     @Override
-    public synchronized Registration<T> register(final JsonPointerSelector sel, final T obj) {
-        List<Registration<T>> registrations;
-        if (null == (registrations = this.registrationMap.get(sel))) {
-            registrations = this.registrationMap.computeIfAbsent(sel, selector -> new ArrayList<>());
+    public Registration<T> register(final JsonPointerSelector sel, final T obj) {
+        final Registration<T> reg = new DefaultRegistration<>(sel, obj, () -> removeSelector(sel));
+        final Entry<T> entry = new Entry<>(sel, reg);
+        synchronized (this) {
+            if (isIndexable(sel)) {
+                final String[] keys = getKeys(sel.getPointer());
+                root.descend(keys, 0).add(entry);
+                maxTemplateLevels = Math.max(maxTemplateLevels, keys.length);
+            } else {
+                unindexedEntries = with(unindexedEntries, entry);
+            }
+            invalidateCache(sel::matches);
         }
-
-        final Registration<T> reg = new DefaultRegistration<>(sel, obj, () -> {
-            this.registrationMap.remove(sel);
-            pointerCache.clear();
-        });
-        registrations.add(reg);
-
-        pointerCache.clear();
         return reg;
     }
 
     @Override
     public synchronized boolean unregister(final JsonPointer pointer) {
-        boolean found = false;
-        for (final JsonPointerSelector sel : registrationMap.keySet()) {
-            if (!sel.matches(pointer)) {
-                continue;
-            }
-            if (null != registrationMap.remove(sel) && !found) {
-                found = true;
+        final List<JsonPointerSelector> matchingSelectors = new ArrayList<>();
+        forEachEntry(entry -> {
+            if (entry.selector.matches(pointer) && !matchingSelectors.contains(entry.selector)) {
+                matchingSelectors.add(entry.selector);
             }
-        }
+        });
+        matchingSelectors.forEach(this::removeSelector);
 
         if (useCache) {
             pointerCache.remove(pointer);
         }
-        return found;
+        return !matchingSelectors.isEmpty();
     }
 
     @Override
-    public synchronized List<Registration<T>> select(final JsonPointer pointer) {
+    public List<Registration<T>> select(final JsonPointer pointer) {
+        if (pointer instanceof JsonPointerWithChangePaths) {
+            // selections of changes depend on the changed value, which rarely repeats and should not be retained
+            return doSelect(pointer);
+        }
         List<Registration<T>> selectedRegs;
         if (null != (selectedRegs = pointerCache.get(pointer))) {
             return selectedRegs;
         }
 
-        final List<Registration<T>> regs = new ArrayList<>();
-        registrationMap.forEach((selector, theRegistrations) -> {
-            if (selector.matches(pointer)) {
-                regs.addAll(theRegistrations);
-            }
-        });
+        final long versionBeforeSelection = version;
+        final List<Registration<T>> regs = doSelect(pointer);
 
         if (useCache && !regs.isEmpty()) {
+            if (pointerCache.size() >= MAX_CACHED_POINTERS) {
+                pointerCache.clear();
+            }
             pointerCache.put(pointer, regs);
+            if (version != versionBeforeSelection) {
+                // a concurrent write may have missed this selection when evicting cached selections
+                pointerCache.remove(pointer, regs);
+            }
         }
 
         return regs;
@@ -106,14 +152,237 @@ final class DefaultRegistry<T> implements Registry<T> {
 
     @Override
     public synchronized void clear() {
+        root = new Node<>();
+        unindexedEntries = Collections.emptyList();
+        maxTemplateLevels = 0;
+        version++;
         pointerCache.clear();
-        registrationMap.clear();
     }
 
     @Override
     public synchronized Iterator<Registration<T>> iterator() {
         final List<Registration<T>> regs = new ArrayList<>();
-        registrationMap.forEach((selector, theRegistrations) -> regs.addAll(theRegistrations));
+        forEachEntry(entry -> regs.add(entry.registration));
         return regs.iterator();
     }
+
+    private List<Registration<T>> doSelect(final JsonPointer pointer) {
+        final List<Registration<T>> regs = new ArrayList<>();
+        final Node<T> currentRoot = root;
+        if (pointer instanceof JsonPointerWithChangePaths) {
+            final JsonPointerWithChangePaths withChangePaths = (JsonPointerWithChangePaths) pointer;
+            final JsonPointer targetPath = withChangePaths.getTargetPath();
+            // templates deeper than the target path only match change paths down to their own depth
+            final Iterable<JsonPointer> changePaths =
+                    withChangePaths.getChangePaths(maxTemplateLevels - targetPath.getLevelCount());
+            if (targetPath.isEmpty()) {
+                // the target path itself is a target for modification on empty objects and matches everything
+                currentRoot.forEachEntry(entry -> regs.add(entry.registration));
+            } else {
+                // each node holds the registrations of exactly one template: collect them once even if the node is
+                // reached via several change paths
+                final Set<Node<T>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (final JsonPointer changePath : changePaths) {
+                    currentRoot.collect(getKeys(targetPath.append(changePath)), 0, regs, visited);
+                }
+                // we need to add the target path for modification on empty objects
+                currentRoot.collect(getKeys(targetPath), 0, regs, visited);
+            }
+        } else if (pointer.isEmpty()) {
+            currentRoot.forEachEntry(entry -> regs.add(entry.registration));
+        } else {
+            currentRoot.collect(getKeys(pointer), 0, regs, null);
+        }
+        for (final Entry<T> entry : unindexedEntries) {
+            if (entry.selector.matches(pointer)) {
+                regs.add(entry.registration);
+            }
+        }
+        return regs;
+    }
+
+    private synchronized void removeSelector(final JsonPointerSelector sel) {
+        if (isIndexable(sel)) {
+            root.remove(getKeys(sel.getPointer()), 0, sel);
+        } else {
+            unindexedEntries = without(unindexedEntries, sel);
+        }
+        invalidateCache(sel::matches);
+    }
+
+    private void invalidateCache(final Predicate<JsonPointer> isAffected) {
+        version++;
+        if (useCache) {
+            pointerCache.keySet().removeIf(isAffected);
+        }
+    }
+
+    private void forEachEntry(final Consumer<Entry<T>> action) {
+        root.forEachEntry(action);
+        unindexedEntries.forEach(action);
+    }
+
+    private static boolean isIndexable(final JsonPointerSelector selector) {
+        return selector instanceof DefaultJsonPointerSelector;
+    }
+
+    private static String[] getKeys(final JsonPointer pointer) {
+        final String[] keys = new String[pointer.getLevelCount()];
+        int i = 0;
+        for (final JsonKey key : pointer) {
+            keys[i++] = key.toString();
+        }
+        return keys;
+    }
+
+    /**
+     * Whether a key of a template is a placeholder for any key, e.g. {@code {thingId}}.
+     *
+     * @see JsonPointerSelector#matchesTemplateParam(JsonKey, JsonKey)
+     */
+    private static boolean isTemplateParam(final String key) {
+        return TEMPLATE_PARAM.matcher(key).matches();
+    }
+
+    private static <T> List<Entry<T>> with(final List<Entry<T>> entries, final Entry<T> entry) {
+        final List<Entry<T>> result = new ArrayList<>(entries.size() + 1);
+        result.addAll(entries);
+        result.add(entry);
+        return Collections.unmodifiableList(result);
+    }
+
+    private static <T> List<Entry<T>> without(final List<Entry<T>> entries, final JsonPointerSelector selector) {
+        final List<Entry<T>> result = new ArrayList<>(entries.size());
+        for (final Entry<T> entry : entries) {
+            if (entry.selector != selector) {
+                result.add(entry);
+            }
+        }
+        return result.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(result);
+    }
+
+    /**
+     * A registration together with the selector it was made with; the selector of a cancelled registration is not
+     * available anymore from the registration itself.
+     */
+    private static final class Entry<T> {
+
+        private final JsonPointerSelector selector;
+        private final Registration<T> registration;
+
+        private Entry(final JsonPointerSelector selector, final Registration<T> registration) {
+            this.selector = selector;
+            this.registration = registration;
+        }
+    }
+
+    /**
+     * Node of the trie holding the registrations of the template ending at its level. Only mutated while holding the
+     * lock of the registry.
+     */
+    private static final class Node<T> {
+
+        @Nullable private volatile Map<String, Node<T>> children = null;
+        @Nullable private volatile Node<T> wildcard = null;
+        private volatile List<Entry<T>> entries = Collections.emptyList();
+
+        private Node<T> descend(final String[] keys, final int level) {
+            if (level == keys.length) {
+                return this;
+            }
+            final String key = keys[level];
+            final Node<T> child;
+            if (isTemplateParam(key)) {
+                Node<T> theWildcard = wildcard;
+                if (theWildcard == null) {
+                    theWildcard = new Node<>();
+                    wildcard = theWildcard;
+                }
+                child = theWildcard;
+            } else {
+                Map<String, Node<T>> theChildren = children;
+                if (theChildren == null) {
+                    theChildren = new ConcurrentHashMap<>();
+                    children = theChildren;
+                }
+                child = theChildren.computeIfAbsent(key, k -> new Node<>());
+            }
+            return child.descend(keys, level + 1);
+        }
+
+        private void add(final Entry<T> entry) {
+            entries = with(entries, entry);
+        }
+
+        /**
+         * Remove the registrations of a selector.
+         *
+         * @return whether this node became empty and may be pruned.
+         */
+        private boolean remove(final String[] keys, final int level, final JsonPointerSelector selector) {
+            if (level == keys.length) {
+                entries = without(entries, selector);
+            } else {
+                final String key = keys[level];
+                if (isTemplateParam(key)) {
+                    final Node<T> theWildcard = wildcard;
+                    if (theWildcard != null && theWildcard.remove(keys, level + 1, selector)) {
+                        wildcard = null;
+                    }
+                } else {
+                    final Map<String, Node<T>> theChildren = children;
+                    final Node<T> child = theChildren != null ? theChildren.get(key) : null;
+                    if (child != null && child.remove(keys, level + 1, selector)) {
+                        theChildren.remove(key);
+                    }
+                }
+            }
+            return isEmpty();
+        }
+
+        private boolean isEmpty() {
+            final Map<String, Node<T>> theChildren = children;
+            return entries.isEmpty() && wildcard == null && (theChildren == null || theChildren.isEmpty());
+        }
+
+        /**
+         * Collect the registrations of all templates matching the non-empty target pointer given by its keys, i.e.
+         * of all non-empty templates which are a prefix of the target, considering template parameters.
+         */
+        private void collect(final String[] keys, final int level, final List<Registration<T>> regs,
+                @Nullable final Set<Node<T>> visited) {
+
+            if (level > 0 && (visited == null || visited.add(this))) {
+                for (final Entry<T> entry : entries) {
+                    regs.add(entry.registration);
+                }
+            }
+            if (level == keys.length) {
+                return;
+            }
+            final Map<String, Node<T>> theChildren = children;
+            if (theChildren != null) {
+                final Node<T> child = theChildren.get(keys[level]);
+                if (child != null) {
+                    child.collect(keys, level + 1, regs, visited);
+                }
+            }
+            final Node<T> theWildcard = wildcard;
+            if (theWildcard != null) {
+                theWildcard.collect(keys, level + 1, regs, visited);
+            }
+        }
+
+        private void forEachEntry(final Consumer<Entry<T>> action) {
+            entries.forEach(action);
+            final Map<String, Node<T>> theChildren = children;
+            if (theChildren != null) {
+                theChildren.values().forEach(child -> child.forEachEntry(action));
+            }
+            final Node<T> theWildcard = wildcard;
+            if (theWildcard != null) {
+                theWildcard.forEachEntry(action);
+            }
+        }
+    }
 }
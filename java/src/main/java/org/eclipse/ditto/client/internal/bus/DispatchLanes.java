@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.util.concurrent.Executor;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.configuration.ExecutorConfiguration;
+import org.eclipse.ditto.client.internal.SerialExecutor;
+
+/**
+ * A fixed number of serial lanes on a shared executor. Tasks with the same key always run on the same lane, i.e. in
+ * the order of their submission, while tasks with different keys may run concurrently.
+ *
+ * @since 2.2.0
+ */
+@ThreadSafe
+final class DispatchLanes {
+
+    private final Executor[] lanes;
+
+    private DispatchLanes(final Executor delegate, final int laneCount) {
+        lanes = new Executor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new SerialExecutor(delegate);
+        }
+    }
+
+    /**
+     * Create dispatch lanes if the executor configuration demands events to be delivered in order per entity.
+     *
+     * @param delegate the executor to run the tasks of all lanes on.
+     * @param executorConfiguration the executor configuration.
+     * @return the lanes or {@code null} if events are delivered unordered.
+     */
+    @Nullable
+    static DispatchLanes of(final Executor delegate, final ExecutorConfiguration executorConfiguration) {
+        if (executorConfiguration.getDispatchOrdering() == ExecutorConfiguration.DispatchOrdering.PER_ENTITY) {
+            return perEntity(delegate, executorConfiguration);
+        }
+        return null;
+    }
+
+    /**
+     * Create dispatch lanes regardless of the dispatch ordering of the executor configuration, for consumers which
+     * rely on the events of one entity arriving in order.
+     *
+     * @param delegate the executor to run the tasks of all lanes on.
+     * @param executorConfiguration the executor configuration providing the number of lanes.
+     * @return the lanes.
+     */
+    static DispatchLanes perEntity(final Executor delegate, final ExecutorConfiguration executorConfiguration) {
+        return new DispatchLanes(delegate, executorConfiguration.getDispatchLanes());
+    }
+
+    /**
+     * Get the lane of a key.
+     *
+     * @param keyHash the hash code of the key, e.g. of an entity ID.
+     * @return the lane.
+     */
+    Executor laneFor(final int keyHash) {
+        // spread the high bits as the hash codes of similar entity IDs mostly differ in the low ones
+        final int spread = keyHash ^ (keyHash >>> 16);
+        return lanes[Math.floorMod(spread, lanes.length)];
+    }
+
+    /**
+     * Compute the key hash of an entity ID given by namespace and name without concatenating them.
+     *
+     * @param namespace the namespace.
+     * @param name the name.
+     * @return the key hash.
+     */
+    static int entityHash(final String namespace, final String name) {
+        return 31 * namespace.hashCode() + name.hashCode();
+    }
+
+}
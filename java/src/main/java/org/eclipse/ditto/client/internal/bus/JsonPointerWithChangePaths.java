@@ -12,27 +12,43 @@
  */
 package org.eclipse.ditto.client.internal.bus;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.json.JsonField;
 import org.eclipse.ditto.json.JsonFieldSelector;
 import org.eclipse.ditto.json.JsonKey;
+import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
 
 /**
  * Contains a {@code targetPath} where a Change was initially created and a list of changed paths relative to this base
  * {@code targetPath} containing information about which elements got changes together with the "root".
+ * <p>
+ * If created from the changed value, the change paths are the paths of all fields nested in the value. They are
+ * not computed up front: selectors only look at the change paths up to the depth of their template via
+ * {@link #getChangePaths(int)}, and the complete list is only built if asked for by {@link #getChangePaths()}.
+ * </p>
  *
  * @since 1.0.0
  */
 final class JsonPointerWithChangePaths implements JsonPointer {
 
     private final JsonPointer targetPath;
-    private final List<JsonPointer> changePaths;
+    @Nullable private final JsonObject changedObject;
+    @Nullable private volatile List<JsonPointer> changePaths;
 
     /**
      * Constructs a new {@code JsonPointerWithChangePaths}.
@@ -43,9 +59,32 @@ final class JsonPointerWithChangePaths implements JsonPointer {
      */
     JsonPointerWithChangePaths(final JsonPointer targetPath, final List<JsonPointer> changePaths) {
         this.targetPath = targetPath;
+        changedObject = null;
         this.changePaths = Collections.unmodifiableList(new ArrayList<>(changePaths));
     }
 
+    private JsonPointerWithChangePaths(final JsonPointer targetPath, final JsonObject changedObject) {
+        this.targetPath = targetPath;
+        this.changedObject = changedObject;
+        changePaths = null;
+    }
+
+    /**
+     * Creates a {@code JsonPointerWithChangePaths} whose change paths are the paths of all fields nested in the changed
+     * value if it is an object, or only the empty path otherwise.
+     *
+     * @param targetPath the JsonPointer where a Change was initially created
+     * @param changedValue the value of the Change
+     * @return the JsonPointerWithChangePaths
+     * @since 2.2.0
+     */
+    static JsonPointerWithChangePaths of(final JsonPointer targetPath, @Nullable final JsonValue changedValue) {
+        if (changedValue != null && changedValue.isObject()) {
+            return new JsonPointerWithChangePaths(targetPath, changedValue.asObject());
+        }
+        return new JsonPointerWithChangePaths(targetPath, Collections.singletonList(JsonPointer.empty()));
+    }
+
     /**
      * Returns the JsonPointer where a Change was initially created.
      *
@@ -61,7 +100,61 @@ final class JsonPointerWithChangePaths implements JsonPointer {
      * @return a list of changed paths relative to the {@code targetPath} which were also involved in a change.
      */
     List<JsonPointer> getChangePaths() {
-        return changePaths;
+        List<JsonPointer> result = changePaths;
+        if (result == null) {
+            final List<JsonPointer> allChangePaths = new ArrayList<>();
+            getChangePaths(Integer.MAX_VALUE).forEach(allChangePaths::add);
+            result = Collections.unmodifiableList(allChangePaths);
+            changePaths = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns a view of the changed paths relative to the {@code targetPath} cut to at most {@code maxLevels} levels.
+     * As templates are matched by prefix, a template of {@code maxLevels} levels relative to the {@code targetPath}
+     * matches one of the change paths if and only if it matches one of the returned paths. If created from the
+     * changed value, the paths are computed while iterating and the value is descended no deeper than
+     * {@code maxLevels}.
+     *
+     * @param maxLevels the maximum number of levels of the returned paths.
+     * @return the change paths cut to {@code maxLevels} levels in pre-order.
+     * @since 2.2.0
+     */
+    Iterable<JsonPointer> getChangePaths(final int maxLevels) {
+        final List<JsonPointer> materialized = changePaths;
+        if (changedObject != null && (materialized == null || maxLevels < Integer.MAX_VALUE)) {
+            final JsonObject theChangedObject = changedObject;
+            return () -> new ChangePathIterator(theChangedObject, maxLevels);
+        } else if (materialized == null) {
+            return Collections.emptyList();
+        } else {
+            return cutToLevels(materialized, maxLevels);
+        }
+    }
+
+    private static List<JsonPointer> cutToLevels(final List<JsonPointer> paths, final int maxLevels) {
+        boolean allWithinLevels = true;
+        for (final JsonPointer path : paths) {
+            allWithinLevels &= path.getLevelCount() <= maxLevels;
+        }
+        if (allWithinLevels) {
+            return paths;
+        }
+        final Set<JsonPointer> cutPaths = new LinkedHashSet<>();
+        for (final JsonPointer path : paths) {
+            if (path.getLevelCount() <= maxLevels) {
+                cutPaths.add(path);
+            } else {
+                JsonPointer cutPath = JsonPointer.empty();
+                final Iterator<JsonKey> keys = path.iterator();
+                for (int level = 0; level < maxLevels; level++) {
+                    cutPath = cutPath.addLeaf(keys.next());
+                }
+                cutPaths.add(cutPath);
+            }
+        }
+        return new ArrayList<>(cutPaths);
     }
 
     public static JsonPointer empty() {return JsonPointer.empty();}
@@ -127,16 +220,78 @@ final class JsonPointerWithChangePaths implements JsonPointer {
             return false;
         }
         final JsonPointerWithChangePaths that = (JsonPointerWithChangePaths) o;
-        return Objects.equals(targetPath, that.targetPath) && Objects.equals(changePaths, that.changePaths);
+        return Objects.equals(targetPath, that.targetPath) &&
+                Objects.equals(getChangePaths(), that.getChangePaths());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(targetPath, changePaths);
+        return Objects.hash(targetPath, getChangePaths());
     }
 
     @Override
     public String toString() {
-        return targetPath + " + " + changePaths;
+        return targetPath + " + " + (changePaths != null ? changePaths : "changed paths of " + changedObject);
+    }
+
+    /**
+     * Iterates the paths of the fields nested in an object in pre-order without descending deeper than a maximum
+     * number of levels.
+     */
+    private static final class ChangePathIterator implements Iterator<JsonPointer> {
+
+        private final int maxLevels;
+        private final Deque<Iterator<JsonField>> fieldIterators;
+        private final Deque<JsonPointer> parentPaths;
+        @Nullable private JsonPointer next;
+
+        private ChangePathIterator(final JsonObject changedObject, final int maxLevels) {
+            this.maxLevels = maxLevels;
+            fieldIterators = new ArrayDeque<>();
+            parentPaths = new ArrayDeque<>();
+            if (maxLevels > 0) {
+                fieldIterators.push(changedObject.iterator());
+                parentPaths.push(JsonPointer.empty());
+            }
+            next = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public JsonPointer next() {
+            final JsonPointer result = next;
+            if (result == null) {
+                throw new NoSuchElementException();
+            }
+            next = advance();
+            return result;
+        }
+
+        @Nullable
+        private JsonPointer advance() {
+            while (!fieldIterators.isEmpty()) {
+                final Iterator<JsonField> fields = fieldIterators.peek();
+                if (fields.hasNext()) {
+                    final JsonField field = fields.next();
+                    final JsonPointer path = parentPaths.peek().addLeaf(field.getKey());
+                    final JsonValue value = field.getValue();
+                    if (fieldIterators.size() < maxLevels && value.isObject()) {
+                        // recurse further "down" after returning the path of the object itself:
+                        fieldIterators.push(value.asObject().iterator());
+                        parentPaths.push(path);
+                    }
+                    return path;
+                } else {
+                    fieldIterators.pop();
+                    parentPaths.pop();
+                }
+            }
+            return null;
+        }
     }
+
 }
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Table of the requests awaiting their response, keyed directly by the classification of the response, e.g. its
+ * correlation ID. Requests sharing a classification are chained in the order they were registered and receive one
+ * response each. Timeouts are kept on a {@link TimingWheel}, so that registering and completing a request are O(1).
+ *
+ * @param <T> the type of the responses.
+ * @since 2.2.0
+ */
+@ThreadSafe
+final class PendingRequests<T> {
+
+    private final ConcurrentMap<Classification, PendingRequest> table;
+    private final TimingWheel timingWheel;
+    private final Consumer<Classification> onTimeout;
+    private final AtomicInteger inFlight;
+    private boolean suspended;
+
+    PendingRequests(final TimingWheel timingWheel, final Consumer<Classification> onTimeout) {
+        this.timingWheel = timingWheel;
+        this.onTimeout = onTimeout;
+        table = new ConcurrentHashMap<>();
+        inFlight = new AtomicInteger(0);
+        suspended = false;
+    }
+
+    /**
+     * Register a request awaiting its response.
+     *
+     * @param tag the classification of the response.
+     * @param timeout how long to wait for the response.
+     * @return the future response, failed with a {@link TimeoutException} if it did not arrive in time.
+     */
+    CompletableFuture<T> register(final Classification tag, final Duration timeout) {
+        final PendingRequest request = new PendingRequest(tag, timeout);
+        table.compute(tag, (key, head) -> {
+            inFlight.incrementAndGet();
+            // scheduled while the chain is locked, so that a concurrent remove cannot unlink it before it is scheduled
+            scheduleUnlessSuspended(request);
+            return head == null ? request : append(head, request);
+        });
+        return request.future;
+    }
+
+    /**
+     * Register a request awaiting its response in place of all requests awaiting a response with the same
+     * classification. The replaced requests are discarded without completing them.
+     *
+     * @param tag the classification of the response.
+     * @param timeout how long to wait for the response.
+     * @return the future response, failed with a {@link TimeoutException} if it did not arrive in time.
+     */
+    CompletableFuture<T> registerExclusively(final Classification tag, final Duration timeout) {
+        final PendingRequest request = new PendingRequest(tag, timeout);
+        table.compute(tag, (key, head) -> {
+            for (PendingRequest replaced = head; replaced != null; replaced = replaced.next) {
+                timingWheel.cancel(replaced);
+                inFlight.decrementAndGet();
+            }
+            inFlight.incrementAndGet();
+            scheduleUnlessSuspended(request);
+            return request;
+        });
+        return request.future;
+    }
+
+    /**
+     * Remove the request which has been awaiting a response with the passed classification for the longest time.
+     *
+     * @param tag the classification of a response.
+     * @return the future of the removed request to complete with the response, or {@code null} if no request awaits
+     * such a response.
+     */
+    @Nullable
+    CompletableFuture<T> remove(final Classification tag) {
+        PendingRequest head = table.get(tag);
+        while (head != null) {
+            if (unlink(head)) {
+                timingWheel.cancel(head);
+                return head.future;
+            }
+            // completed concurrently; try the next one
+            head = table.get(tag);
+        }
+        return null;
+    }
+
+    /**
+     * Remove all requests and fail them.
+     *
+     * @param cause the cause to fail the requests with.
+     */
+    void failAll(final Throwable cause) {
+        for (final Classification tag : table.keySet()) {
+            for (CompletableFuture<T> future = remove(tag); future != null; future = remove(tag)) {
+                future.completeExceptionally(cause);
+            }
+        }
+    }
+
+    /**
+     * @return whether no request awaits its response.
+     */
+    boolean isEmpty() {
+        return table.isEmpty();
+    }
+
+    /**
+     * @return the number of requests awaiting their response.
+     */
+    int size() {
+        return inFlight.get();
+    }
+
+    /**
+     * Count the requests awaiting a response of a kind.
+     *
+     * @param kind the kind of classification of the response.
+     * @return the number of requests.
+     */
+    long count(final String kind) {
+        long count = 0L;
+        for (final PendingRequest head : table.values()) {
+            if (kind.equals(head.tag.getKind())) {
+                for (PendingRequest request = head; request != null; request = request.next) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Stop the timeouts of all requests, keeping the time they have left.
+     *
+     * @param nowNanos the current time as per {@link System#nanoTime()}.
+     */
+    synchronized void suspendTimeouts(final long nowNanos) {
+        if (!suspended) {
+            suspended = true;
+            forEachRequest(request -> {
+                if (timingWheel.cancel(request)) {
+                    request.remainingNanos = request.getRemainingNanos(nowNanos);
+                }
+            });
+        }
+    }
+
+    /**
+     * Let the timeouts of all requests elapse again with the time they had left.
+     */
+    synchronized void resumeTimeouts() {
+        if (suspended) {
+            suspended = false;
+            forEachRequest(request -> timingWheel.schedule(request, request.remainingNanos));
+        }
+    }
+
+    private synchronized void scheduleUnlessSuspended(final PendingRequest request) {
+        if (!suspended) {
+            timingWheel.schedule(request, request.remainingNanos);
+        }
+    }
+
+    private void forEachRequest(final Consumer<PendingRequest> action) {
+        for (final PendingRequest head : table.values()) {
+            for (PendingRequest request = head; request != null; request = request.next) {
+                action.accept(request);
+            }
+        }
+    }
+
+    private boolean unlink(final PendingRequest request) {
+        final boolean[] unlinked = {false};
+        table.computeIfPresent(request.tag, (tag, head) -> {
+            PendingRequest previous = null;
+            for (PendingRequest current = head; current != null; current = current.next) {
+                if (current == request) {
+                    unlinked[0] = true;
+                    if (previous == null) {
+                        return current.next;
+                    }
+                    previous.next = current.next;
+                    return head;
+                }
+                previous = current;
+            }
+            return head;
+        });
+        if (unlinked[0]) {
+            inFlight.decrementAndGet();
+        }
+        return unlinked[0];
+    }
+
+    private PendingRequest append(final PendingRequest head, final PendingRequest request) {
+        // requests with the same correlation ID are rare; the chain is only modified in the compute functions
+        PendingRequest last = head;
+        while (last.next != null) {
+            last = last.next;
+        }
+        last.next = request;
+        return head;
+    }
+
+    private final class PendingRequest extends TimingWheel.Timeout {
+
+        private final Classification tag;
+        private final Duration timeout;
+        private final CompletableFuture<T> future;
+        private long remainingNanos;
+        @Nullable private volatile PendingRequest next;
+
+        private PendingRequest(final Classification tag, final Duration timeout) {
+            this.tag = tag;
+            this.timeout = timeout;
+            future = new CompletableFuture<>();
+            remainingNanos = timeout.toNanos();
+            next = null;
+        }
+
+        @Override
+        protected void expire() {
+            if (unlink(this)) {
+                onTimeout.accept(tag);
+                future.completeExceptionally(new TimeoutException("Timed out after " + timeout));
+            }
+        }
+    }
+
+}
@@ -12,6 +12,7 @@
  */
 package org.eclipse.ditto.client.internal.bus;
 
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
@@ -71,6 +72,18 @@ public interface PointerBus {
      */
     ExecutorService getExecutor();
 
+    /**
+     * Returns the executor to run tasks concerning an entity with, e.g. delivering its changes to handlers. The tasks
+     * of one entity run in order of submission if the bus delivers events in order per entity.
+     *
+     * @param entityId the ID of the entity.
+     * @return the executor.
+     * @since 2.2.0
+     */
+    default Executor getExecutor(final CharSequence entityId) {
+        return getExecutor();
+    }
+
     /**
      * Closes the Bus.
      */
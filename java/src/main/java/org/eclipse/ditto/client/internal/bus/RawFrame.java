@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.eclipse.ditto.base.model.exceptions.DittoRuntimeException;
+import org.eclipse.ditto.base.model.headers.DittoHeaderDefinition;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.eclipse.ditto.protocol.TopicPath;
+
+/**
+ * The fields of a Ditto Protocol message in text form which determine its classification: the topic, the correlation
+ * ID and, within the value, the search subscription ID and the error code. They are extracted by a single pass of a
+ * streaming tokenizer over the text which neither builds the JSON tree nor copies any other part of the message, so
+ * that messages without subscribers can be dropped without being parsed.
+ *
+ * @since 2.2.0
+ */
+@Immutable
+final class RawFrame {
+
+    // names of the classifying fields of the Ditto Protocol and of search and error payloads
+    private static final String TOPIC = "topic";
+    private static final String HEADERS = "headers";
+    private static final String VALUE = "value";
+    private static final String CORRELATION_ID = DittoHeaderDefinition.CORRELATION_ID.getKey();
+    private static final String SUBSCRIPTION_ID = "subscriptionId";
+    private static final String ERROR_CODE = "error";
+
+    private final String message;
+    private final TopicPath topicPath;
+    @Nullable private final String correlationId;
+    @Nullable private final String subscriptionId;
+    @Nullable private final String errorCode;
+
+    private RawFrame(final String message, final TopicPath topicPath, @Nullable final String correlationId,
+            @Nullable final String subscriptionId, @Nullable final String errorCode) {
+        this.message = message;
+        this.topicPath = topicPath;
+        this.correlationId = correlationId;
+        this.subscriptionId = subscriptionId;
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * Extracts the classifying fields of a message.
+     *
+     * @param message the message in text form.
+     * @return the fields or {@code null} if the message is no JSON object with a valid topic, or if a classifying
+     * field has an unexpected type; such messages have to be parsed in full to be classified or rejected.
+     */
+    @Nullable
+    static RawFrame scan(final String message) {
+        try {
+            final Tokenizer tokenizer = new Tokenizer(message);
+            tokenizer.scanMessage();
+            if (tokenizer.topic == null) {
+                return null;
+            }
+            return new RawFrame(message, ProtocolFactory.newTopicPath(tokenizer.topic), tokenizer.correlationId,
+                    tokenizer.subscriptionId, tokenizer.errorCode);
+        } catch (final NotScannableException | DittoRuntimeException e) {
+            return null;
+        }
+    }
+
+    String getMessage() {
+        return message;
+    }
+
+    TopicPath getTopicPath() {
+        return topicPath;
+    }
+
+    @Nullable
+    String getCorrelationId() {
+        return correlationId;
+    }
+
+    @Nullable
+    String getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    @Nullable
+    String getErrorCode() {
+        return errorCode;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "topicPath=" + topicPath +
+                ", correlationId=" + correlationId +
+                ", subscriptionId=" + subscriptionId +
+                ", errorCode=" + errorCode +
+                "]";
+    }
+
+    /**
+     * Tokenizer skipping over everything but the classifying fields. Of fields occurring more than once the last
+     * one wins, as when parsing the message in full.
+     */
+    private static final class Tokenizer {
+
+        private final String text;
+        private int position;
+        @Nullable private String topic;
+        @Nullable private String correlationId;
+        @Nullable private String subscriptionId;
+        @Nullable private String errorCode;
+
+        private Tokenizer(final String text) {
+            this.text = text;
+            position = 0;
+        }
+
+        private void scanMessage() {
+            expectObjectStart();
+            while (nextMember()) {
+                final String key = readString();
+                expectColon();
+                if (TOPIC.equals(key)) {
+                    topic = readStringValue();
+                } else if (HEADERS.equals(key) && peek() == '{') {
+                    scanHeaders();
+                } else if (VALUE.equals(key) && peek() == '{') {
+                    scanValue();
+                } else {
+                    skipValue();
+                }
+            }
+            skipWhitespace();
+            if (position != text.length()) {
+                throw NotScannableException.INSTANCE;
+            }
+        }
+
+        private void scanHeaders() {
+            expectObjectStart();
+            while (nextMember()) {
+                final String key = readString();
+                expectColon();
+                // header keys are case-insensitive
+                if (CORRELATION_ID.equalsIgnoreCase(key)) {
+                    correlationId = readStringValue();
+                } else {
+                    skipValue();
+                }
+            }
+        }
+
+        private void scanValue() {
+            expectObjectStart();
+            while (nextMember()) {
+                final String key = readString();
+                expectColon();
+                // values of other messages than search events and errors may have such fields of any type
+                if (SUBSCRIPTION_ID.equals(key)) {
+                    subscriptionId = readStringValueOrSkip();
+                } else if (ERROR_CODE.equals(key)) {
+                    errorCode = readStringValueOrSkip();
+                } else {
+                    skipValue();
+                }
+            }
+        }
+
+        private void expectObjectStart() {
+            if (peek() != '{') {
+                throw NotScannableException.INSTANCE;
+            }
+            position++;
+        }
+
+        private void expectColon() {
+            if (peek() != ':') {
+                throw NotScannableException.INSTANCE;
+            }
+            position++;
+        }
+
+        /**
+         * Advances to the key of the next member of the current object.
+         *
+         * @return whether there is a next member; {@code false} if the end of the object was consumed.
+         */
+        private boolean nextMember() {
+            char c = peek();
+            if (c == ',') {
+                position++;
+                c = peek();
+            } else if (c == '}') {
+                position++;
+                return false;
+            }
+            if (c != '"') {
+                throw NotScannableException.INSTANCE;
+            }
+            return true;
+        }
+
+        private String readStringValue() {
+            // a classifying field of another type is not classified the same way by the parsed message
+            if (peek() != '"') {
+                throw NotScannableException.INSTANCE;
+            }
+            return readString();
+        }
+
+        @Nullable
+        private String readStringValueOrSkip() {
+            if (peek() == '"') {
+                return readString();
+            }
+            skipValue();
+            return null;
+        }
+
+        private String readString() {
+            final int start = ++position;
+            for (int i = start; i < text.length(); i++) {
+                final char c = text.charAt(i);
+                if (c == '"') {
+                    position = i + 1;
+                    return text.substring(start, i);
+                } else if (c == '\\') {
+                    return readEscapedString(start);
+                }
+            }
+            throw NotScannableException.INSTANCE;
+        }
+
+        private String readEscapedString(final int start) {
+            final StringBuilder builder = new StringBuilder();
+            int i = start;
+            while (i < text.length()) {
+                final char c = text.charAt(i++);
+                if (c == '"') {
+                    position = i;
+                    return builder.toString();
+                } else if (c != '\\') {
+                    builder.append(c);
+                } else if (i < text.length()) {
+                    final char escaped = text.charAt(i++);
+                    switch (escaped) {
+                        case 'b':
+                            builder.append('\b');
+                            break;
+                        case 'f':
+                            builder.append('\f');
+                            break;
+                        case 'n':
+                            builder.append('\n');
+                            break;
+                        case 'r':
+                            builder.append('\r');
+                            break;
+                        case 't':
+                            builder.append('\t');
+                            break;
+                        case 'u':
+                            if (i + 4 > text.length()) {
+                                throw NotScannableException.INSTANCE;
+                            }
+                            try {
+                                builder.append((char) Integer.parseInt(text.substring(i, i + 4), 16));
+                            } catch (final NumberFormatException e) {
+                                throw NotScannableException.INSTANCE;
+                            }
+                            i += 4;
+                            break;
+                        default:
+                            builder.append(escaped);
+                    }
+                }
+            }
+            throw NotScannableException.INSTANCE;
+        }
+
+        private void skipValue() {
+            final char c = peek();
+            if (c == '"') {
+                skipString();
+            } else if (c == '{' || c == '[') {
+                skipNested();
+            } else {
+                final int start = position;
+                while (position < text.length() && !isEndOfLiteral(text.charAt(position))) {
+                    position++;
+                }
+                if (position == start) {
+                    throw NotScannableException.INSTANCE;
+                }
+            }
+        }
+
+        private void skipString() {
+            for (int i = position + 1; i < text.length(); i++) {
+                final char c = text.charAt(i);
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    position = i + 1;
+                    return;
+                }
+            }
+            throw NotScannableException.INSTANCE;
+        }
+
+        private void skipNested() {
+            int depth = 0;
+            while (position < text.length()) {
+                final char c = text.charAt(position);
+                if (c == '"') {
+                    skipString();
+                    continue;
+                }
+                position++;
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if ((c == '}' || c == ']') && --depth == 0) {
+                    return;
+                }
+            }
+            throw NotScannableException.INSTANCE;
+        }
+
+        private char peek() {
+            skipWhitespace();
+            if (position >= text.length()) {
+                throw NotScannableException.INSTANCE;
+            }
+            return text.charAt(position);
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private static boolean isWhitespace(final char c) {
+            return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+        }
+
+        private static boolean isEndOfLiteral(final char c) {
+            return c == ',' || c == '}' || c == ']' || isWhitespace(c);
+        }
+
+    }
+
+    /**
+     * Signals that a message cannot be classified without parsing it in full. Thrown by the tokenizer only; carries
+     * no stack trace as it does not leave this class.
+     */
+    private static final class NotScannableException extends RuntimeException {
+
+        private static final long serialVersionUID = -1385484212466302452L;
+
+        private static final NotScannableException INSTANCE = new NotScannableException();
+
+        private NotScannableException() {
+            super(null, null, false, false);
+        }
+
+    }
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.util.List;
+
+/**
+ * Classifier of adaptables which can classify a message from its {@link RawFrame} alone, i.e. before it is parsed.
+ * It must append the same classification as it appends for the parsed message.
+ *
+ * @since 2.2.0
+ */
+interface RawFrameClassifier {
+
+    /**
+     * Classify a message by its classifying fields and append its classification, if any is known, to the given
+     * list of tags.
+     *
+     * @param frame the classifying fields of the message.
+     * @param tags the list of tags to append the classification to.
+     */
+    void classifyInto(RawFrame frame, List<Classification> tags);
+
+}
@@ -15,11 +15,8 @@ package org.eclipse.ditto.client.internal.bus;
 import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
 
 import java.text.MessageFormat;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Executor;
@@ -34,12 +31,10 @@ import org.eclipse.ditto.base.model.signals.events.Event;
 import org.eclipse.ditto.client.changes.Change;
 import org.eclipse.ditto.client.internal.HandlerRegistry;
 import org.eclipse.ditto.client.internal.SpecificChangeBuilderFunction;
-import org.eclipse.ditto.json.JsonField;
 import org.eclipse.ditto.json.JsonKey;
 import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonPointer;
 import org.eclipse.ditto.json.JsonValue;
-import org.eclipse.ditto.json.JsonValueContainer;
 import org.eclipse.ditto.messages.model.Message;
 import org.slf4j.Logger;
 
@@ -136,57 +131,30 @@ public final class SelectorUtil {
 
             final Change change = changeBuilderFunction.apply(event, message.getExtra().orElse(null));
 
-            final List<JsonPointer> jsonPointers = change.getValue()
-                    .filter(JsonValue::isObject)
-                    .map(JsonValue::asObject)
-                    .map(obj -> calculateJsonPointerHierarchy(JsonPointer.empty(), obj))
-                    .orElse(Collections.singletonList(JsonPointer.empty()));
-
             // notify the address where the Change actually happened:
-            String address = addressBuilderFunction.apply(event);
-            final JsonPointer jsonPointer = JsonPointer.of(address);
-            final JsonPointerWithChangePaths
-                    jsonPointerWithChangePaths = new JsonPointerWithChangePaths(jsonPointer, jsonPointers);
-            logger.trace("Notifying bus at address '{}' with obj: {}", jsonPointerWithChangePaths, change);
-            in.notify(jsonPointerWithChangePaths, change);
+            notifyChange(logger, in, addressBuilderFunction.apply(event), change);
         });
     }
 
     /**
-     * Calculates a List of JsonPointers based on the passed {@code entryPointer} and the passed {@code fromJsonObject}.
-     * The hierarchy of the {@code fromJsonObject} will be "mapped" to the returned List of JsonPointers.
-     * <p>
-     * Example: If a {@code entryPointer} of "/things/my:thing1/attributes" is given and a {@code fromJsonObject} of
-     * {@code { "foo": { "sub": 1, "misc": "hello" }, "bar": { "other": false } } } the resulting List of JsonPointers
-     * would be:
-     * <ul>
-     * <li>/things/my:thing1/attributes/foo</li>
-     * <li>/things/my:thing1/attributes/bar/other</li>
-     * </ul>
+     * Notifies the handlers registered on the passed {@link PointerBus in Bus} for the passed {@code address} or for
+     * paths within the value of the passed {@code change}.
+     *
+     * @param logger the Logger to use for logging
+     * @param in the "in" Bus to notify
+     * @param address the Bus address where the Change happened
+     * @param change the Change to pass to the handlers
+     * @since 2.2.0
      */
-    private static List<JsonPointer> calculateJsonPointerHierarchy(final JsonPointer entryPointer,
-            final JsonValueContainer<JsonField> fromJsonObject) {
-
-        return fromJsonObject.stream()
-                .map(jsonField -> {
-                    final JsonValue value = jsonField.getValue();
-                    final JsonPointer pointerOnLevel = entryPointer.addLeaf(jsonField.getKey());
-                    if (value.isObject()) {
-                        final List<JsonPointer> pointersOnLevel = new ArrayList<>();
-                        final JsonObject objectOnLevel = value.asObject();
-                        pointersOnLevel.add(pointerOnLevel);
-
-                        // recurse further "down":
-                        pointersOnLevel.addAll(calculateJsonPointerHierarchy(pointerOnLevel, objectOnLevel));
-                        return pointersOnLevel;
-                    } else {
-                        return Collections.singletonList(pointerOnLevel);
-                    }
-                })
-                .reduce(new ArrayList<>(), (a, b) -> {
-                    a.addAll(b);
-                    return a;
-                });
+    public static void notifyChange(final Logger logger, final PointerBus in, final String address,
+            final Change change) {
+
+        final JsonPointer jsonPointer = JsonPointer.of(address);
+        // the change paths are only computed as far as selectors look at them:
+        final JsonPointerWithChangePaths jsonPointerWithChangePaths =
+                JsonPointerWithChangePaths.of(jsonPointer, change.getValue().orElse(null));
+        logger.trace("Notifying bus at address '{}' with obj: {}", jsonPointerWithChangePaths, change);
+        in.notify(jsonPointerWithChangePaths, change);
     }
 
     /**
@@ -214,12 +182,12 @@ public final class SelectorUtil {
         final Optional<JsonPointer> subPath = selector.getPointer().getSubPointer(2);
         final JsonPointer selectorTemplatePath = subPath.orElse(JsonPointer.empty());
 
-        // get the configured Dispatcher for the Thing Client
-        final Executor busDispatcher = inHandlerRegistry.getBusExecutor();
-
         inHandlerRegistry.register(registrationId, selector, event -> {
             if (event.getData() instanceof Change) {
                 final Change rootChange = (Change) event.getData();
+                // get the configured Dispatcher for the Thing Client, which keeps the changes of one entity in order
+                // if so configured
+                final Executor busDispatcher = inHandlerRegistry.getBusExecutor(rootChange.getEntityId());
 
                 if (event.getPointer() instanceof JsonPointerWithChangePaths) {
 
@@ -239,17 +207,20 @@ public final class SelectorUtil {
                         resolveTemplateParametersAndPassChangeToHandler(targetPointer, targetPointer,
                                 selectorTemplatePath, rootChange, changeBuilderFunction, handler, busDispatcher);
                     } else {
-                        // otherwise, we iterate over all "changePaths", find the matching paths and invoke the handler
-                        // for them:
-                        jsonPointerWithChangePaths.getChangePaths().stream() // for each change path
-                                .map(targetPointer::append) // append the changePath to the targetPointer
-                                // filter only matching combined paths:
-                                .filter(combinedPath -> JsonPointerSelector.doesTargetMatchTemplate(combinedPath,
-                                        selector.getPointer()))
-                                // for each matching combinedPath, resolve its template parameters and pass it to the handler:
-                                .forEach(combinedPath -> resolveTemplateParametersAndPassChangeToHandler(targetPointer,
-                                        combinedPath, selectorTemplatePath, rootChange, changeBuilderFunction, handler,
-                                        busDispatcher));
+                        // otherwise, we iterate over the "changePaths" down to the depth of the selector, find the
+                        // matching paths and invoke the handler for them:
+                        final int maxLevels = selector.getPointer().getLevelCount() - targetPointer.getLevelCount();
+                        for (final JsonPointer changePath : jsonPointerWithChangePaths.getChangePaths(maxLevels)) {
+                            // append the changePath to the targetPointer
+                            final JsonPointer combinedPath = targetPointer.append(changePath);
+                            // for each matching combinedPath, resolve its template parameters and pass it to the
+                            // handler:
+                            if (JsonPointerSelector.doesTargetMatchTemplate(combinedPath, selector.getPointer())) {
+                                resolveTemplateParametersAndPassChangeToHandler(targetPointer, combinedPath,
+                                        selectorTemplatePath, rootChange, changeBuilderFunction, handler,
+                                        busDispatcher);
+                            }
+                        }
                     }
                 } else {
                     // only of the rootChange defines the passed in "changeClass" directly as interface (not inherited)
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed timing wheel: timeouts are kept in intrusive lists in buckets of one tick each, so that scheduling and
+ * cancelling a timeout are O(1) and allocate nothing. A single periodic task advances the wheel while timeouts are
+ * scheduled and expires them with a precision of one tick.
+ *
+ * @since 2.2.0
+ */
+@ThreadSafe
+final class TimingWheel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimingWheel.class);
+
+    private final ScheduledExecutorService scheduledExecutor;
+    private final long tickNanos;
+    private final LongSupplier nanoClock;
+    private final Timeout[] buckets;
+    private final int mask;
+    private final long startNanos;
+
+    private long currentTick;
+    private int size;
+    @Nullable private ScheduledFuture<?> ticker;
+
+    TimingWheel(final ScheduledExecutorService scheduledExecutor, final Duration tick, final int wheelSize,
+            final LongSupplier nanoClock) {
+        this.scheduledExecutor = scheduledExecutor;
+        tickNanos = tick.toNanos();
+        this.nanoClock = nanoClock;
+        final int bucketCount = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        buckets = new Timeout[bucketCount];
+        mask = bucketCount - 1;
+        startNanos = nanoClock.getAsLong();
+        currentTick = 0L;
+        size = 0;
+        ticker = null;
+    }
+
+    /**
+     * Create a timing wheel advancing on the passed executor.
+     *
+     * @param scheduledExecutor the executor to advance the wheel and to expire timeouts on.
+     * @param tick the precision of the timeouts.
+     * @param wheelSize the number of buckets, rounded up to a power of 2.
+     * @return the timing wheel.
+     */
+    static TimingWheel of(final ScheduledExecutorService scheduledExecutor, final Duration tick, final int wheelSize) {
+        return new TimingWheel(scheduledExecutor, tick, wheelSize, System::nanoTime);
+    }
+
+    /**
+     * Schedule a timeout to expire after the passed delay. A timeout which is already scheduled is rescheduled.
+     *
+     * @param timeout the timeout.
+     * @param delayNanos the delay in nanoseconds.
+     */
+    synchronized void schedule(final Timeout timeout, final long delayNanos) {
+        if (timeout.isScheduled()) {
+            unlink(timeout);
+        }
+        final long now = nanoClock.getAsLong();
+        if (ticker == null) {
+            // the wheel was empty, so nothing is lost by skipping the ticks it did not advance
+            currentTick = tickOf(now);
+            ticker = scheduledExecutor.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+        }
+        timeout.deadlineNanos = now + Math.max(0L, delayNanos);
+        // round up and expire at the next tick at the earliest
+        timeout.deadlineTick = Math.max(currentTick + 1, tickOf(timeout.deadlineNanos + tickNanos - 1));
+        link(timeout, (int) (timeout.deadlineTick & mask));
+    }
+
+    /**
+     * Cancel a timeout.
+     *
+     * @param timeout the timeout.
+     * @return whether the timeout was scheduled.
+     */
+    synchronized boolean cancel(final Timeout timeout) {
+        if (timeout.isScheduled()) {
+            unlink(timeout);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of scheduled timeouts.
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    private long tickOf(final long nanos) {
+        return (nanos - startNanos) / tickNanos;
+    }
+
+    private void tick() {
+        final List<Timeout> expired = new ArrayList<>(0);
+        synchronized (this) {
+            final long targetTick = tickOf(nanoClock.getAsLong());
+            if (targetTick - currentTick >= buckets.length) {
+                // fell behind by more than one rotation: each bucket needs to be looked at only once
+                for (int i = 0; i < buckets.length; i++) {
+                    expireBucket(i, targetTick, expired);
+                }
+                currentTick = targetTick;
+            } else {
+                while (currentTick < targetTick) {
+                    currentTick++;
+                    expireBucket((int) (currentTick & mask), currentTick, expired);
+                }
+            }
+            if (size == 0 && ticker != null) {
+                ticker.cancel(false);
+                ticker = null;
+            }
+        }
+        for (final Timeout timeout : expired) {
+            try {
+                timeout.expire();
+            } catch (final RuntimeException e) {
+                LOGGER.warn("Expiring timeout failed.", e);
+            }
+        }
+    }
+
+    private void expireBucket(final int bucket, final long upToTick, final List<Timeout> expired) {
+        Timeout timeout = buckets[bucket];
+        while (timeout != null) {
+            final Timeout next = timeout.next;
+            if (timeout.deadlineTick <= upToTick) {
+                unlink(timeout);
+                expired.add(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    private void link(final Timeout timeout, final int bucket) {
+        final Timeout head = buckets[bucket];
+        timeout.bucket = bucket;
+        timeout.previous = null;
+        timeout.next = head;
+        if (head != null) {
+            head.previous = timeout;
+        }
+        buckets[bucket] = timeout;
+        size++;
+    }
+
+    private void unlink(final Timeout timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            buckets[timeout.bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.bucket = Timeout.UNSCHEDULED;
+        size--;
+    }
+
+    /**
+     * A timeout which can be scheduled on one timing wheel at a time. Its links are guarded by the wheel.
+     */
+    abstract static class Timeout {
+
+        private static final int UNSCHEDULED = -1;
+
+        @Nullable private Timeout previous = null;
+        @Nullable private Timeout next = null;
+        private int bucket = UNSCHEDULED;
+        private long deadlineTick = 0L;
+        private long deadlineNanos = 0L;
+
+        /**
+         * Called on the executor of the timing wheel when the timeout expired.
+         */
+        protected abstract void expire();
+
+        /**
+         * Returns the time left until the deadline of the timeout as of the last time it was scheduled.
+         *
+         * @param nowNanos the current time as per {@link System#nanoTime()}.
+         * @return the remaining time in nanoseconds, at least 0.
+         */
+        long getRemainingNanos(final long nowNanos) {
+            return Math.max(0L, deadlineNanos - nowNanos);
+        }
+
+        private boolean isScheduled() {
+            return bucket != UNSCHEDULED;
+        }
+    }
+
+}
@@ -57,7 +57,6 @@ import org.eclipse.ditto.messages.model.Message;
 import org.eclipse.ditto.messages.model.signals.commands.MessageCommand;
 import org.eclipse.ditto.messages.model.signals.commands.MessageCommandResponse;
 import org.eclipse.ditto.protocol.Adaptable;
-import org.eclipse.ditto.protocol.ProtocolFactory;
 import org.eclipse.ditto.protocol.TopicPath;
 import org.eclipse.ditto.things.model.ThingId;
 import org.eclipse.ditto.things.model.WithThingId;
@@ -87,7 +86,9 @@ public final class LiveImpl extends CommonManagementImpl<LiveThingHandle, LiveFe
         super(TopicPath.Channel.LIVE,
                 messagingProvider,
                 outgoingMessageFactory,
-                new HandlerRegistry<>(bus),
+                new HandlerRegistry<>(bus,
+                        messagingProvider.getMessagingConfiguration().getHandleCacheConfiguration(),
+                        LiveImpl::hasLiveCommandHandlers),
                 bus);
 
         this.schemaVersion = schemaVersion;
@@ -96,6 +97,12 @@ public final class LiveImpl extends CommonManagementImpl<LiveThingHandle, LiveFe
         subscriptionIds = new ConcurrentHashMap<>();
     }
 
+    private static boolean hasLiveCommandHandlers(final Object handle) {
+        // live command handlers are kept by the handles themselves, so these must not be evicted
+        return handle instanceof LiveCommandProcessor &&
+                !((LiveCommandProcessor) handle).getLiveCommandHandlers().isEmpty();
+    }
+
     /**
      * Creates a new {@code LiveImpl} instance.
      *
@@ -321,8 +328,7 @@ public final class LiveImpl extends CommonManagementImpl<LiveThingHandle, LiveFe
     private void handleLiveCommandOrResponse(final Adaptable adaptable) {
         if (adaptable.getPayload().getHttpStatus().isPresent()) {
             // is live command response; just publish.
-            messagingProvider.getAdaptableBus()
-                    .publish(ProtocolFactory.wrapAsJsonifiableAdaptable(adaptable).toJsonString());
+            messagingProvider.getAdaptableBus().publishAdaptable(adaptable);
         } else {
             // throw ClassCastException when called on signal of incorrect type
             final Command<?> command = (Command<?>) PROTOCOL_ADAPTER.fromAdaptable(adaptable);
@@ -380,7 +386,7 @@ public final class LiveImpl extends CommonManagementImpl<LiveThingHandle, LiveFe
     }
 
     private static Message<?> adaptableAsLiveMessage(final Adaptable adaptable) {
-        final Signal<?> signal = PROTOCOL_ADAPTER.fromAdaptable(adaptable);
+        final Signal<?> signal = LiveMessagesUtil.signalFromAdaptable(adaptable, PROTOCOL_ADAPTER);
         if (signal instanceof MessageCommand) {
             return ((MessageCommand<?, ?>) signal).getMessage();
         } else {
@@ -14,6 +14,7 @@ package org.eclipse.ditto.client.live.internal;
 
 import static org.eclipse.ditto.base.model.common.ConditionChecker.argumentNotNull;
 
+import java.nio.ByteBuffer;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -21,10 +22,13 @@ import org.eclipse.ditto.base.model.common.HttpStatus;
 import org.eclipse.ditto.base.model.headers.DittoHeaders;
 import org.eclipse.ditto.base.model.headers.DittoHeadersBuilder;
 import org.eclipse.ditto.base.model.signals.acks.Acknowledgement;
+import org.eclipse.ditto.base.model.signals.Signal;
+import org.eclipse.ditto.client.internal.BinaryMessageFrame;
 import org.eclipse.ditto.client.internal.OutgoingMessageFactory;
 import org.eclipse.ditto.client.internal.bus.PointerWithData;
 import org.eclipse.ditto.client.live.messages.MessageSerializationException;
 import org.eclipse.ditto.client.live.messages.MessageSerializerRegistry;
+import org.eclipse.ditto.client.live.messages.MessageSerializers;
 import org.eclipse.ditto.client.live.messages.RepliableMessage;
 import org.eclipse.ditto.client.live.messages.internal.ImmutableDeserializingMessage;
 import org.eclipse.ditto.client.live.messages.internal.ImmutableRepliableMessage;
@@ -133,7 +137,7 @@ final class LiveMessagesUtil {
         {
             final Message<U> toBeSentMessage = outgoingMessageFactory.sendMessage(messageSerializerRegistry, msg);
             LOGGER.trace("Response Message about to send: {}", toBeSentMessage);
-            messagingProvider.emitAdaptable(constructAdaptableFromMessage(toBeSentMessage, protocolAdapter));
+            emitMessage(toBeSentMessage, messagingProvider, protocolAdapter);
         };
     }
 
@@ -189,6 +193,90 @@ final class LiveMessagesUtil {
         return adaptable;
     }
 
+    /**
+     * Emits a live message. If enabled, messages with content-type
+     * {@value MessageSerializers#CONTENT_TYPE_APPLICATION_OCTET_STREAM} are emitted as binary frame, unless the
+     * messaging provider cannot send binary frames, e.g. because the server did not confirm them; then they are
+     * emitted as text.
+     *
+     * @param message the message to emit.
+     * @param messagingProvider the messaging provider to emit the message with.
+     * @param protocolAdapter the protocol adapter.
+     * @since 2.2.0
+     */
+    static void emitMessage(final Message<?> message, final MessagingProvider messagingProvider,
+            final ProtocolAdapter protocolAdapter) {
+
+        final Optional<ByteBuffer> rawPayload = message.getRawPayload();
+        if (rawPayload.isPresent() && isOctetStream(message) &&
+                messagingProvider.getMessagingConfiguration().isBinaryMessagePayloadEnabled()) {
+            final Message<?> envelope = MessagesModelFactory.newMessageBuilder(message.getHeaders()).build();
+            final byte[] frame =
+                    BinaryMessageFrame.encode(constructAdaptableFromMessage(envelope, protocolAdapter),
+                            rawPayload.get());
+            if (messagingProvider.emitBinary(frame)) {
+                return;
+            }
+        }
+        messagingProvider.emitAdaptable(constructAdaptableFromMessage(message, protocolAdapter));
+    }
+
+    /**
+     * Converts an adaptable into a signal, handing the payload of messages received in binary frames to the
+     * signal as read-only view of the frame.
+     *
+     * @param adaptable the adaptable.
+     * @param protocolAdapter the protocol adapter.
+     * @return the signal.
+     * @since 2.2.0
+     */
+    static Signal<?> signalFromAdaptable(final Adaptable adaptable, final ProtocolAdapter protocolAdapter) {
+        final Signal<?> signal = protocolAdapter.fromAdaptable(adaptable);
+        return BinaryMessageFrame.getBinaryPayload(adaptable)
+                .<Signal<?>>map(payload -> withBinaryPayload(signal, payload))
+                .orElse(signal);
+    }
+
+    private static Signal<?> withBinaryPayload(final Signal<?> signal, final ByteBuffer payload) {
+        if (signal instanceof SendThingMessage) {
+            final SendThingMessage<?> command = (SendThingMessage<?>) signal;
+            return SendThingMessage.of(command.getEntityId(), withBinaryPayload(command.getMessage(), payload),
+                    command.getDittoHeaders());
+        } else if (signal instanceof SendFeatureMessage) {
+            final SendFeatureMessage<?> command = (SendFeatureMessage<?>) signal;
+            return SendFeatureMessage.of(command.getEntityId(), command.getFeatureId(),
+                    withBinaryPayload(command.getMessage(), payload), command.getDittoHeaders());
+        } else if (signal instanceof SendThingMessageResponse) {
+            final SendThingMessageResponse<?> response = (SendThingMessageResponse<?>) signal;
+            return SendThingMessageResponse.of(response.getEntityId(),
+                    withBinaryPayload(response.getMessage(), payload), response.getHttpStatus(),
+                    response.getDittoHeaders());
+        } else if (signal instanceof SendFeatureMessageResponse) {
+            final SendFeatureMessageResponse<?> response = (SendFeatureMessageResponse<?>) signal;
+            return SendFeatureMessageResponse.of(response.getEntityId(), response.getFeatureId(),
+                    withBinaryPayload(response.getMessage(), payload), response.getHttpStatus(),
+                    response.getDittoHeaders());
+        }
+        return signal;
+    }
+
+    private static Message<ByteBuffer> withBinaryPayload(final Message<?> message, final ByteBuffer payload) {
+        final MessageBuilder<ByteBuffer> messageBuilder = MessagesModelFactory.<ByteBuffer>newMessageBuilder(
+                message.getHeaders())
+                .payload(payload)
+                .rawPayload(payload);
+        message.getExtra().ifPresent(messageBuilder::extra);
+        return messageBuilder.build();
+    }
+
+    private static boolean isOctetStream(final Message<?> message) {
+        return message.getContentType()
+                .filter(contentType -> contentType.regionMatches(true, 0,
+                        MessageSerializers.CONTENT_TYPE_APPLICATION_OCTET_STREAM, 0,
+                        MessageSerializers.CONTENT_TYPE_APPLICATION_OCTET_STREAM.length()))
+                .isPresent();
+    }
+
     public static void checkSubject(final String subject) {
         argumentNotNull(subject, "subject");
     }
@@ -128,13 +128,13 @@ final class PendingMessageImpl<T> implements PendingMessage<T> {
                             Classification.forCorrelationId(correlationId),
                             getCallbackTTL(message)
                     ).handle((responseAdaptable, error) -> {
-                        typeCheckAndConsume(responseConsumer, protocolAdapter.fromAdaptable(responseAdaptable));
+                        typeCheckAndConsume(responseConsumer,
+                                LiveMessagesUtil.signalFromAdaptable(responseAdaptable, protocolAdapter));
                         return null;
                     })
             );
         }
-        messagingProvider.emitAdaptable(
-                LiveMessagesUtil.constructAdaptableFromMessage(toBeSentMessage, protocolAdapter));
+        LiveMessagesUtil.emitMessage(toBeSentMessage, messagingProvider, protocolAdapter);
     }
 
     private static Duration getCallbackTTL(final Message<?> message) {
@@ -14,11 +14,14 @@ package org.eclipse.ditto.client.live.messages.internal;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.annotation.concurrent.ThreadSafe;
+
 import org.eclipse.ditto.client.live.messages.MessageSerializationException;
 import org.eclipse.ditto.client.live.messages.MessageSerializer;
 import org.eclipse.ditto.client.live.messages.MessageSerializerKey;
@@ -28,36 +31,56 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Implementation of {@code MessageSerializerRegistry} which manages and finds {@link MessageSerializer}s.
+ * <p>
+ * The results of finding serializers and keys, including finding none, are cached until the next registration or
+ * unregistration of a serializer, so that finding the serializer of a message is a single map lookup in the steady
+ * state instead of a scan of all registered keys, and a missing serializer is logged once instead of for each
+ * message. The cache is cleared when it is full, because the keys are taken from received messages and thus are
+ * unbounded.
+ * </p>
  *
  * @since 1.0.0
  */
+@ThreadSafe
 public final class DefaultMessageSerializerRegistry implements MessageSerializerRegistry {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultMessageSerializerRegistry.class);
 
+    /**
+     * Maximum number of cached serializers and of cached keys.
+     */
+    private static final int MAX_CACHED_RESOLUTIONS = 1024;
+
     private final Map<MessageSerializerKey<?>, MessageSerializer<?>> serializers;
 
+    // replaced as a whole after each change of the serializers, so that no lookup caches a result of stale serializers
+    private volatile Resolutions resolutions;
+
     /**
      * Constructs a new {@code SerializerRegistryImpl}.
      */
     public DefaultMessageSerializerRegistry() {
         serializers = new ConcurrentHashMap<>();
+        resolutions = new Resolutions();
     }
 
     @Override
-    public <T> void registerMessageSerializer(final MessageSerializer<T> messageSerializer) {
+    public synchronized <T> void registerMessageSerializer(final MessageSerializer<T> messageSerializer) {
         final MessageSerializerKey<T> key = messageSerializer.getKey();
         if (serializers.containsKey(key)) {
             throw new MessageSerializationException("Serializer for combination '" + key + "' already registered. " +
                     "Unregister first if you intend to overwrite the existing one.");
         } else {
             serializers.put(key, messageSerializer);
+            resolutions = new Resolutions();
         }
     }
 
     @Override
-    public <T> void unregisterMessageSerializer(final MessageSerializer<T> messageSerializer) {
-        serializers.remove(messageSerializer.getKey());
+    public synchronized <T> void unregisterMessageSerializer(final MessageSerializer<T> messageSerializer) {
+        if (serializers.remove(messageSerializer.getKey()) != null) {
+            resolutions = new Resolutions();
+        }
     }
 
     @Override
@@ -84,6 +107,19 @@ public final class DefaultMessageSerializerRegistry implements MessageSerializer
 
     @Override
     public <T> Optional<MessageSerializer<T>> findSerializerFor(final MessageSerializerKey<T> key) {
+        // read the cache before the serializers: a result computed from serializers older than the cache is
+        // impossible, and one computed from newer serializers ends up in a cache which was already replaced
+        final Resolutions currentResolutions = resolutions;
+        final Optional<?> cached = currentResolutions.serializersByKey.get(key);
+        if (cached != null) {
+            return (Optional<MessageSerializer<T>>) cached;
+        }
+        final Optional<MessageSerializer<T>> resolved = resolveSerializerFor(key);
+        cache(currentResolutions.serializersByKey, key, resolved);
+        return resolved;
+    }
+
+    private <T> Optional<MessageSerializer<T>> resolveSerializerFor(final MessageSerializerKey<T> key) {
         LOGGER.trace("Finding MessageSerializer for key '{}' ...", key);
         final MessageSerializer<?> foundSerializer = serializers.get(key);
         if (foundSerializer != null) {
@@ -123,6 +159,18 @@ public final class DefaultMessageSerializerRegistry implements MessageSerializer
 
     @Override
     public <T> Optional<MessageSerializerKey<T>> findKeyFor(final Class<T> javaType, final String subject) {
+        final Resolutions currentResolutions = resolutions;
+        final TypeAndSubject typeAndSubject = new TypeAndSubject(javaType, subject);
+        final Optional<?> cached = currentResolutions.keysByTypeAndSubject.get(typeAndSubject);
+        if (cached != null) {
+            return (Optional<MessageSerializerKey<T>>) cached;
+        }
+        final Optional<MessageSerializerKey<T>> resolved = resolveKeyFor(javaType, subject);
+        cache(currentResolutions.keysByTypeAndSubject, typeAndSubject, resolved);
+        return resolved;
+    }
+
+    private <T> Optional<MessageSerializerKey<T>> resolveKeyFor(final Class<T> javaType, final String subject) {
         LOGGER.trace("Finding MessageSerializerKey for type '{}' and subject '{}' ...", javaType, subject);
         final List<MessageSerializerKey<?>> foundCandidates = getSerializerKeysForJavaTypeAndSubject(javaType, subject)
                 .collect(Collectors.toList());
@@ -155,6 +203,14 @@ public final class DefaultMessageSerializerRegistry implements MessageSerializer
         return findKeyFor(javaType, MessageSerializerKey.SUBJECT_WILDCARD);
     }
 
+    private static <K, V> void cache(final Map<K, V> cache, final K key, final V value) {
+        if (cache.size() >= MAX_CACHED_RESOLUTIONS) {
+            // start over rather than keeping the keys of past messages for good
+            cache.clear();
+        }
+        cache.put(key, value);
+    }
+
     private <T> Stream<MessageSerializerKey<?>> getSerializerKeysForJavaTypeAndSubject(final Class<T> javaType,
             final String subject) {
         return serializers.keySet()
@@ -163,4 +219,43 @@ public final class DefaultMessageSerializerRegistry implements MessageSerializer
                 .filter(key -> key.getSubject().equals(subject));
     }
 
+    /**
+     * Found serializers and keys for the serializers registered at one time.
+     */
+    private static final class Resolutions {
+
+        private final Map<MessageSerializerKey<?>, Optional<? extends MessageSerializer<?>>> serializersByKey =
+                new ConcurrentHashMap<>();
+        private final Map<TypeAndSubject, Optional<? extends MessageSerializerKey<?>>> keysByTypeAndSubject =
+                new ConcurrentHashMap<>();
+    }
+
+    private static final class TypeAndSubject {
+
+        private final Class<?> javaType;
+        private final String subject;
+
+        private TypeAndSubject(final Class<?> javaType, final String subject) {
+            this.javaType = javaType;
+            this.subject = subject;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final TypeAndSubject that = (TypeAndSubject) o;
+            return javaType.equals(that.javaType) && subject.equals(that.subject);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(javaType, subject);
+        }
+    }
+
 }
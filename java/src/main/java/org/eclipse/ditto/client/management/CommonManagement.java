@@ -17,7 +17,11 @@ import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 
 import org.eclipse.ditto.client.changes.Change;
+import org.eclipse.ditto.client.changes.FeatureChange;
+import org.eclipse.ditto.client.changes.FeaturesChange;
 import org.eclipse.ditto.client.changes.ThingChange;
+import org.eclipse.ditto.client.configuration.BatchRetrieveConfiguration;
+import org.eclipse.ditto.client.configuration.ChangeStreamConfiguration;
 import org.eclipse.ditto.client.options.Option;
 import org.eclipse.ditto.client.registration.FeatureChangeRegistration;
 import org.eclipse.ditto.client.registration.ThingAttributeChangeRegistration;
@@ -25,9 +29,11 @@ import org.eclipse.ditto.client.registration.ThingChangeRegistration;
 import org.eclipse.ditto.client.registration.ThingFeaturePropertiesChangeRegistration;
 import org.eclipse.ditto.json.JsonFieldSelector;
 import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
 import org.eclipse.ditto.policies.model.Policy;
 import org.eclipse.ditto.things.model.Thing;
 import org.eclipse.ditto.things.model.ThingId;
+import org.reactivestreams.Publisher;
 
 /**
  * A {@code CommonManagement} provides the basic functionality, which can be used to manage (i.e., create and delete)
@@ -533,4 +539,201 @@ public interface CommonManagement<T extends ThingHandle, F extends FeatureHandle
      * @throws IllegalArgumentException if any argument is {@code null}.
      */
     CompletionStage<List<Thing>> retrieve(JsonFieldSelector fieldSelector, Iterable<ThingId> thingIds);
+
+    /**
+     * Gets the Things specified by the given identifiers decoded by the given decoder. The result contains only
+     * existing and readable Things.
+     * <p>
+     * Other than {@link #retrieve(JsonFieldSelector, Iterable)}, no {@link Thing} is built from the selected fields
+     * unless the decoder does so.
+     * </p>
+     *
+     * @param fieldSelector a field selector allowing to select a subset of fields on the Things to be retrieved.
+     * @param thingIds the identifiers of the Things to be retrieved.
+     * @param decoder decodes each retrieved Thing.
+     * @param <R> the type of the decoded Things.
+     * @return CompletionStage providing the decoded Things, an empty list or a specific {@link
+     * org.eclipse.ditto.base.model.exceptions.DittoRuntimeException} if the operation failed
+     * @throws IllegalArgumentException if any argument is {@code null}.
+     * @since 2.2.0
+     */
+    <R> CompletionStage<List<R>> retrieve(JsonFieldSelector fieldSelector, Iterable<ThingId> thingIds,
+            ThingDecoder<R> decoder);
+
+    /**
+     * Gets a list of {@link Thing}s specified by the given identifiers, split into several {@code RetrieveThings}
+     * commands of which some await their response at the same time. The result contains only existing and readable
+     * Things in the order of their identifiers.
+     * <p>
+     * Other than {@link #retrieve(Iterable)}, the size of a single response is bounded by the batch size, so that
+     * retrieving many Things neither exceeds the maximum size of a message nor fails or times out as a whole because
+     * of a single large response.
+     * </p>
+     *
+     * @param thingIds the identifiers of the Things to be retrieved.
+     * @param batchRetrieveConfiguration the size of the batches and how many of them are requested at the same time.
+     * @return CompletionStage providing the requested Things, an empty list or a specific {@link
+     * org.eclipse.ditto.base.model.exceptions.DittoRuntimeException} if the retrieval of any batch failed
+     * @throws IllegalArgumentException if any argument is {@code null}.
+     * @since 2.2.0
+     */
+    CompletionStage<List<Thing>> retrieveInBatches(Iterable<ThingId> thingIds,
+            BatchRetrieveConfiguration batchRetrieveConfiguration);
+
+    /**
+     * Gets a list of {@link Thing}s specified by the given identifiers, split into several {@code RetrieveThings}
+     * commands of which some await their response at the same time. The result contains only existing and readable
+     * Things in the order of their identifiers.
+     *
+     * @param fieldSelector a field selector allowing to select a subset of fields on the Things to be retrieved.
+     * @param thingIds the identifiers of the Things to be retrieved.
+     * @param batchRetrieveConfiguration the size of the batches and how many of them are requested at the same time.
+     * @return CompletionStage providing the requested Things, an empty list or a specific {@link
+     * org.eclipse.ditto.base.model.exceptions.DittoRuntimeException} if the retrieval of any batch failed
+     * @throws IllegalArgumentException if any argument is {@code null}.
+     * @since 2.2.0
+     * @see #retrieveInBatches(Iterable, BatchRetrieveConfiguration)
+     */
+    CompletionStage<List<Thing>> retrieveInBatches(JsonFieldSelector fieldSelector, Iterable<ThingId> thingIds,
+            BatchRetrieveConfiguration batchRetrieveConfiguration);
+
+    /**
+     * Streams the {@link Thing}s specified by the given identifiers, split into several {@code RetrieveThings}
+     * commands of which some await their response at the same time. The stream contains only existing and readable
+     * Things in the order of their identifiers; the Things of a batch are published as soon as the batch and all
+     * batches before it arrived. Batches are requested according to the demand of the subscriber.
+     * <p>
+     * The returned publisher supports only a single subscriber.
+     * </p>
+     *
+     * @param thingIds the identifiers of the Things to be retrieved.
+     * @param batchRetrieveConfiguration the size of the batches and how many of them are requested at the same time.
+     * @return a publisher of the requested Things which fails with a specific {@link
+     * org.eclipse.ditto.base.model.exceptions.DittoRuntimeException} if the retrieval of any batch failed
+     * @throws IllegalArgumentException if any argument is {@code null}.
+     * @since 2.2.0
+     */
+    Publisher<Thing> streamInBatches(Iterable<ThingId> thingIds, BatchRetrieveConfiguration batchRetrieveConfiguration);
+
+    /**
+     * Streams the {@link Thing}s specified by the given identifiers, split into several {@code RetrieveThings}
+     * commands of which some await their response at the same time.
+     *
+     * @param fieldSelector a field selector allowing to select a subset of fields on the Things to be retrieved.
+     * @param thingIds the identifiers of the Things to be retrieved.
+     * @param batchRetrieveConfiguration the size of the batches and how many of them are requested at the same time.
+     * @return a publisher of the requested Things which fails with a specific {@link
+     * org.eclipse.ditto.base.model.exceptions.DittoRuntimeException} if the retrieval of any batch failed
+     * @throws IllegalArgumentException if any argument is {@code null}.
+     * @since 2.2.0
+     * @see #streamInBatches(Iterable, BatchRetrieveConfiguration)
+     */
+    Publisher<Thing> streamInBatches(JsonFieldSelector fieldSelector, Iterable<ThingId> thingIds,
+            BatchRetrieveConfiguration batchRetrieveConfiguration);
+
+    /**
+     * Streams the changes of <em>all</em> Things, as passed to handlers registered by
+     * {@link #registerForThingChanges(String, java.util.function.Consumer)}.
+     * <p>
+     * Each subscriber registers a handler of its own when it subscribes, which is deregistered when it cancels.
+     * Changes are buffered per subscriber while it has no demand, bounded by the passed configuration. The stream
+     * completes never; it fails only if the overflow strategy is
+     * {@link ChangeStreamConfiguration.OverflowStrategy#ERROR}.
+     * </p>
+     *
+     * @param changeStreamConfiguration the buffer size and overflow strategy of each subscriber.
+     * @return a publisher of the changes.
+     * @throws NullPointerException if {@code changeStreamConfiguration} is {@code null}.
+     * @since 2.2.0
+     */
+    Publisher<ThingChange> streamThingChanges(ChangeStreamConfiguration changeStreamConfiguration);
+
+    /**
+     * Streams <em>all</em> attribute changes of all Things.
+     *
+     * @param changeStreamConfiguration the buffer size and overflow strategy of each subscriber.
+     * @return a publisher of the changes.
+     * @throws NullPointerException if {@code changeStreamConfiguration} is {@code null}.
+     * @since 2.2.0
+     * @see #streamThingChanges(ChangeStreamConfiguration)
+     */
+    Publisher<Change> streamAttributesChanges(ChangeStreamConfiguration changeStreamConfiguration);
+
+    /**
+     * Streams the changes of a <em>specific</em> attribute of all Things.
+     *
+     * @param path the path to the attribute of interest.
+     * @param changeStreamConfiguration the buffer size and overflow strategy of each subscriber.
+     * @return a publisher of the changes.
+     * @throws IllegalArgumentException if {@code path} is {@code null}.
+     * @throws NullPointerException if {@code changeStreamConfiguration} is {@code null}.
+     * @since 2.2.0
+     * @see #streamThingChanges(ChangeStreamConfiguration)
+     */
+    Publisher<Change> streamAttributeChanges(JsonPointer path, ChangeStreamConfiguration changeStreamConfiguration);
+
+    /**
+     * Streams the changes of <em>all</em> Features of all Things.
+     *
+     * @param changeStreamConfiguration the buffer size and overflow strategy of each subscriber.
+     * @return a publisher of the changes.
+     * @throws NullPointerException if {@code changeStreamConfiguration} is {@code null}.
+     * @since 2.2.0
+     * @see #streamThingChanges(ChangeStreamConfiguration)
+     */
+    Publisher<FeatureChange> streamFeatureChanges(ChangeStreamConfiguration changeStreamConfiguration);
+
+    /**
+     * Streams the changes of a <em>specific</em> Feature of all Things.
+     *
+     * @param featureId the ID of the Feature of interest.
+     * @param changeStreamConfiguration the buffer size and overflow strategy of each subscriber.
+     * @return a publisher of the changes.
+     * @throws IllegalArgumentException if {@code featureId} is {@code null}.
+     * @throws NullPointerException if {@code changeStreamConfiguration} is {@code null}.
+     * @since 2.2.0
+     * @see #streamThingChanges(ChangeStreamConfiguration)
+     */
+    Publisher<FeatureChange> streamFeatureChanges(String featureId,
+            ChangeStreamConfiguration changeStreamConfiguration);
+
+    /**
+     * Streams the changes of the Features of all Things as a whole.
+     *
+     * @param changeStreamConfiguration the buffer size and overflow strategy of each subscriber.
+     * @return a publisher of the changes.
+     * @throws NullPointerException if {@code changeStreamConfiguration} is {@code null}.
+     * @since 2.2.0
+     * @see #streamThingChanges(ChangeStreamConfiguration)
+     */
+    Publisher<FeaturesChange> streamFeaturesChanges(ChangeStreamConfiguration changeStreamConfiguration);
+
+    /**
+     * Streams <em>all</em> property changes of a <em>specific</em> Feature of all Things.
+     *
+     * @param featureId the ID of the Feature of interest.
+     * @param changeStreamConfiguration the buffer size and overflow strategy of each subscriber.
+     * @return a publisher of the changes.
+     * @throws IllegalArgumentException if {@code featureId} is {@code null}.
+     * @throws NullPointerException if {@code changeStreamConfiguration} is {@code null}.
+     * @since 2.2.0
+     * @see #streamThingChanges(ChangeStreamConfiguration)
+     */
+    Publisher<Change> streamFeaturePropertyChanges(String featureId,
+            ChangeStreamConfiguration changeStreamConfiguration);
+
+    /**
+     * Streams the changes of a <em>specific</em> property of a <em>specific</em> Feature of all Things.
+     *
+     * @param featureId the ID of the Feature of interest.
+     * @param path the path to the property of interest.
+     * @param changeStreamConfiguration the buffer size and overflow strategy of each subscriber.
+     * @return a publisher of the changes.
+     * @throws IllegalArgumentException if {@code featureId} or {@code path} is {@code null}.
+     * @throws NullPointerException if {@code changeStreamConfiguration} is {@code null}.
+     * @since 2.2.0
+     * @see #streamThingChanges(ChangeStreamConfiguration)
+     */
+    Publisher<Change> streamFeaturePropertyChanges(String featureId, JsonPointer path,
+            ChangeStreamConfiguration changeStreamConfiguration);
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.management;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.ditto.json.JsonField;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.things.model.Thing;
+import org.eclipse.ditto.things.model.ThingsModelFactory;
+
+/**
+ * Decodes the JSON representation of a Thing, as contained in search results and responses to retrieve commands, into
+ * a type of the caller's choice. Decoding only the fields selected by a query straight from the JSON object avoids
+ * building the {@link Thing} with its {@code Attributes} and {@code Features}, which dominates the cost of processing
+ * many Things.
+ *
+ * @param <T> the type to decode into.
+ * @since 2.2.0
+ */
+@FunctionalInterface
+public interface ThingDecoder<T> {
+
+    /**
+     * Decodes the JSON representation of a Thing.
+     *
+     * @param thingJson the JSON object of the Thing, containing only the selected fields if fields were selected.
+     * @return the decoded value.
+     * @throws RuntimeException if {@code thingJson} cannot be decoded; the exception fails the retrieve or search.
+     */
+    T decode(JsonObject thingJson);
+
+    /**
+     * Returns the decoder building a {@link Thing}, as done by the methods not taking a decoder.
+     *
+     * @return the decoder.
+     */
+    static ThingDecoder<Thing> thing() {
+        return ThingsModelFactory::newThing;
+    }
+
+    /**
+     * Returns the decoder keeping the JSON object as it is.
+     *
+     * @return the decoder.
+     */
+    static ThingDecoder<JsonObject> jsonObject() {
+        return thingJson -> thingJson;
+    }
+
+    /**
+     * Returns the decoder of a flat view of the fields: the values which are no JSON objects by their pointers, e.g.
+     * {@code /attributes/location/latitude}, in the order they appear in the JSON object. Empty JSON objects are
+     * kept as values.
+     *
+     * @return the decoder.
+     */
+    static ThingDecoder<Map<JsonPointer, JsonValue>> flatFields() {
+        return thingJson -> {
+            final Map<JsonPointer, JsonValue> fields = new LinkedHashMap<>();
+            // iterators of the enclosing objects with their pointers, so that nesting depth costs no stack frames
+            final Deque<Map.Entry<JsonPointer, Iterator<JsonField>>> objects = new ArrayDeque<>();
+            objects.push(new AbstractMap.SimpleImmutableEntry<>(JsonPointer.empty(), thingJson.iterator()));
+            while (!objects.isEmpty()) {
+                final Map.Entry<JsonPointer, Iterator<JsonField>> object = objects.peek();
+                if (!object.getValue().hasNext()) {
+                    objects.pop();
+                    continue;
+                }
+                final JsonField field = object.getValue().next();
+                final JsonPointer pointer = object.getKey().addLeaf(field.getKey());
+                final JsonValue value = field.getValue();
+                if (value.isObject() && !value.asObject().isEmpty()) {
+                    objects.push(new AbstractMap.SimpleImmutableEntry<>(pointer, value.asObject().iterator()));
+                } else {
+                    fields.put(pointer, value);
+                }
+            }
+            return Collections.unmodifiableMap(fields);
+        };
+    }
+
+}
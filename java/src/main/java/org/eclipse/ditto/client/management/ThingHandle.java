@@ -96,6 +96,23 @@ public interface ThingHandle<F extends FeatureHandle> extends WithThingId, Thing
      */
     CompletionStage<Thing> retrieve(JsonFieldSelector fieldSelector);
 
+    /**
+     * Retrieve the {@code Thing} object being handled by this {@code ThingHandle} decoded by the given decoder.
+     * <p>
+     * Other than {@link #retrieve(JsonFieldSelector)}, no {@link Thing} is built from the selected fields unless the
+     * decoder does so.
+     * </p>
+     *
+     * @param fieldSelector a field selector object allowing to select a subset of fields on the Thing to be retrieved.
+     * @param decoder decodes the retrieved Thing.
+     * @param <R> the type of the decoded Thing.
+     * @return CompletionStage providing the decoded Thing or a specific
+     * {@link org.eclipse.ditto.base.model.exceptions.DittoRuntimeException} if the operation failed
+     * @throws IllegalArgumentException if any argument is {@code null}.
+     * @since 2.2.0
+     */
+    <R> CompletionStage<R> retrieve(JsonFieldSelector fieldSelector, ThingDecoder<R> decoder);
+
     /**
      * Sets the given {@code policyId} to this Thing.
      *
@@ -17,6 +17,9 @@ import static org.eclipse.ditto.base.model.common.ConditionChecker.checkArgument
 
 import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
 
 import org.eclipse.ditto.client.changes.Change;
 import org.eclipse.ditto.client.internal.AbstractHandle;
@@ -37,6 +40,7 @@ import org.eclipse.ditto.things.model.FeatureDefinition;
 import org.eclipse.ditto.things.model.ThingId;
 import org.eclipse.ditto.protocol.TopicPath;
 import org.eclipse.ditto.base.model.signals.commands.CommandResponse;
+import org.eclipse.ditto.things.model.signals.commands.ThingCommand;
 import org.eclipse.ditto.things.model.signals.commands.modify.DeleteFeature;
 import org.eclipse.ditto.things.model.signals.commands.modify.DeleteFeatureDefinition;
 import org.eclipse.ditto.things.model.signals.commands.modify.DeleteFeatureProperties;
@@ -67,6 +71,7 @@ public abstract class FeatureHandleImpl<T extends ThingHandle<F>, F extends Feat
     private final ThingId thingId;
     private final String featureId;
     private final HandlerRegistry<T, F> handlerRegistry;
+    @Nullable private final WriteBehindBuffer writeBehindBuffer;
 
     protected FeatureHandleImpl(final TopicPath.Channel channel,
             final ThingId thingId,
@@ -75,11 +80,35 @@ public abstract class FeatureHandleImpl<T extends ThingHandle<F>, F extends Feat
             final OutgoingMessageFactory outgoingMessageFactory,
             final HandlerRegistry<T, F> handlerRegistry) {
 
+        this(channel, thingId, featureId, messagingProvider, outgoingMessageFactory, handlerRegistry, null);
+    }
+
+    /**
+     * Creates a feature handle coalescing property updates in the passed write-behind buffer.
+     *
+     * @param channel the channel of the handle.
+     * @param thingId the thing.
+     * @param featureId the feature.
+     * @param messagingProvider the messaging provider.
+     * @param outgoingMessageFactory the outgoing message factory.
+     * @param handlerRegistry the handler registry.
+     * @param writeBehindBuffer the write-behind buffer or {@code null} to send every update on its own.
+     * @since 2.2.0
+     */
+    protected FeatureHandleImpl(final TopicPath.Channel channel,
+            final ThingId thingId,
+            final String featureId,
+            final MessagingProvider messagingProvider,
+            final OutgoingMessageFactory outgoingMessageFactory,
+            final HandlerRegistry<T, F> handlerRegistry,
+            @Nullable final WriteBehindBuffer writeBehindBuffer) {
+
         super(messagingProvider, channel);
         this.thingId = thingId;
         this.featureId = featureId;
         this.outgoingMessageFactory = outgoingMessageFactory;
         this.handlerRegistry = handlerRegistry;
+        this.writeBehindBuffer = writeBehindBuffer;
     }
 
     /**
@@ -109,6 +138,18 @@ public abstract class FeatureHandleImpl<T extends ThingHandle<F>, F extends Feat
         return handlerRegistry;
     }
 
+    @Override
+    protected <C extends ThingCommand<C>, S extends CommandResponse<?>, R> CompletionStage<R> askThingCommand(
+            final C command,
+            final Class<S> expectedResponse,
+            final Function<S, R> onSuccess) {
+        if (writeBehindBuffer != null) {
+            // updates issued earlier must not be overtaken
+            writeBehindBuffer.flush(thingId);
+        }
+        return super.askThingCommand(command, expectedResponse, onSuccess);
+    }
+
     @Override
     public ThingId getEntityId() {
         return thingId;
@@ -128,14 +169,16 @@ public abstract class FeatureHandleImpl<T extends ThingHandle<F>, F extends Feat
     @Override
     public CompletionStage<Feature> retrieve() {
         final RetrieveFeature command = outgoingMessageFactory.retrieveFeature(thingId, featureId);
-        return askThingCommand(command, RetrieveFeatureResponse.class, RetrieveFeatureResponse::getFeature);
+        return askThingQueryCommand(command, null, RetrieveFeatureResponse.class,
+                RetrieveFeatureResponse::getFeature);
     }
 
     @Override
     public CompletionStage<Feature> retrieve(final JsonFieldSelector fieldSelector) {
         final RetrieveFeature command =
                 outgoingMessageFactory.retrieveFeature(thingId, featureId, fieldSelector.getPointers());
-        return askThingCommand(command, RetrieveFeatureResponse.class, RetrieveFeatureResponse::getFeature);
+        return askThingQueryCommand(command, fieldSelector, RetrieveFeatureResponse.class,
+                RetrieveFeatureResponse::getFeature);
     }
 
     @Override
@@ -196,6 +239,9 @@ public abstract class FeatureHandleImpl<T extends ThingHandle<F>, F extends Feat
         checkArgument(path, p -> !p.isEmpty(), () -> "The path is not allowed to be empty! " +
                 "If you want to update the whole properties object, please use the setProperties(JsonObject) method.");
 
+        if (writeBehindBuffer != null && WriteBehindBuffer.canCoalesce(value, options)) {
+            return writeBehindBuffer.putProperty(thingId, featureId, path, value);
+        }
         final ModifyFeatureProperty command =
                 outgoingMessageFactory.setFeatureProperty(thingId, featureId, path, value, options);
         return askThingCommand(command, CommandResponse.class, this::toVoid);
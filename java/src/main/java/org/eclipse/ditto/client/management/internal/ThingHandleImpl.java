@@ -17,6 +17,9 @@ import static org.eclipse.ditto.base.model.common.ConditionChecker.checkArgument
 
 import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
 
 import org.eclipse.ditto.client.changes.Change;
 import org.eclipse.ditto.client.changes.FeatureChange;
@@ -30,6 +33,7 @@ import org.eclipse.ditto.client.internal.HandlerRegistry;
 import org.eclipse.ditto.client.internal.OutgoingMessageFactory;
 import org.eclipse.ditto.client.internal.bus.SelectorUtil;
 import org.eclipse.ditto.client.management.FeatureHandle;
+import org.eclipse.ditto.client.management.ThingDecoder;
 import org.eclipse.ditto.client.management.ThingHandle;
 import org.eclipse.ditto.client.messaging.MessagingProvider;
 import org.eclipse.ditto.client.options.Option;
@@ -46,6 +50,7 @@ import org.eclipse.ditto.things.model.ThingId;
 import org.eclipse.ditto.things.model.ThingsModelFactory;
 import org.eclipse.ditto.protocol.TopicPath;
 import org.eclipse.ditto.base.model.signals.commands.CommandResponse;
+import org.eclipse.ditto.things.model.signals.commands.ThingCommand;
 import org.eclipse.ditto.things.model.signals.commands.modify.DeleteAttribute;
 import org.eclipse.ditto.things.model.signals.commands.modify.DeleteAttributes;
 import org.eclipse.ditto.things.model.signals.commands.modify.DeleteFeature;
@@ -79,6 +84,7 @@ public abstract class ThingHandleImpl<T extends ThingHandle<F>, F extends Featur
 
     private final ThingId thingId;
     private final HandlerRegistry<T, F> handlerRegistry;
+    @Nullable private final WriteBehindBuffer writeBehindBuffer;
 
     protected ThingHandleImpl(
             final TopicPath.Channel channel,
@@ -86,10 +92,32 @@ public abstract class ThingHandleImpl<T extends ThingHandle<F>, F extends Featur
             final MessagingProvider messagingProvider,
             final OutgoingMessageFactory outgoingMessageFactory,
             final HandlerRegistry<T, F> handlerRegistry) {
+        this(channel, thingId, messagingProvider, outgoingMessageFactory, handlerRegistry, null);
+    }
+
+    /**
+     * Creates a thing handle coalescing attribute updates in the passed write-behind buffer.
+     *
+     * @param channel the channel of the handle.
+     * @param thingId the thing.
+     * @param messagingProvider the messaging provider.
+     * @param outgoingMessageFactory the outgoing message factory.
+     * @param handlerRegistry the handler registry.
+     * @param writeBehindBuffer the write-behind buffer or {@code null} to send every update on its own.
+     * @since 2.2.0
+     */
+    protected ThingHandleImpl(
+            final TopicPath.Channel channel,
+            final ThingId thingId,
+            final MessagingProvider messagingProvider,
+            final OutgoingMessageFactory outgoingMessageFactory,
+            final HandlerRegistry<T, F> handlerRegistry,
+            @Nullable final WriteBehindBuffer writeBehindBuffer) {
         super(messagingProvider, channel);
         this.thingId = thingId;
         this.outgoingMessageFactory = outgoingMessageFactory;
         this.handlerRegistry = handlerRegistry;
+        this.writeBehindBuffer = writeBehindBuffer;
     }
 
     /**
@@ -119,6 +147,38 @@ public abstract class ThingHandleImpl<T extends ThingHandle<F>, F extends Featur
         return handlerRegistry;
     }
 
+    /**
+     * Returns the WriteBehindBuffer this ThingHandle coalesces updates in.
+     *
+     * @return the WriteBehindBuffer or {@code null} if every update is sent on its own.
+     * @since 2.2.0
+     */
+    @Nullable
+    protected WriteBehindBuffer getWriteBehindBuffer() {
+        return writeBehindBuffer;
+    }
+
+    @Override
+    protected <C extends ThingCommand<C>, S extends CommandResponse<?>, R> CompletionStage<R> askThingCommand(
+            final C command,
+            final Class<S> expectedResponse,
+            final Function<S, R> onSuccess) {
+        // updates issued earlier must not be overtaken
+        flushWriteBehindBuffer();
+        return super.askThingCommand(command, expectedResponse, onSuccess);
+    }
+
+    /**
+     * Sends the updates of the Thing waiting in the write-behind buffer, if any.
+     *
+     * @since 2.2.0
+     */
+    protected void flushWriteBehindBuffer() {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.flush(thingId);
+        }
+    }
+
     @Override
     public ThingId getEntityId() {
         return thingId;
@@ -177,6 +237,9 @@ public abstract class ThingHandleImpl<T extends ThingHandle<F>, F extends Featur
         checkArgument(path, p -> !p.isEmpty(), () -> "The path is not allowed to be empty! " +
                 "If you want to update the whole attributes object, please use the setAttributes(JsonObject) method.");
 
+        if (writeBehindBuffer != null && WriteBehindBuffer.canCoalesce(value, options)) {
+            return writeBehindBuffer.putAttribute(thingId, path, value);
+        }
         final ModifyAttribute command = outgoingMessageFactory.setAttribute(thingId, path, value, options);
         return askThingCommand(command, CommandResponse.class, this::toVoid);
     }
@@ -375,7 +438,7 @@ public abstract class ThingHandleImpl<T extends ThingHandle<F>, F extends Featur
     @Override
     public CompletionStage<Thing> retrieve() {
         final RetrieveThing command = outgoingMessageFactory.retrieveThing(thingId);
-        return askThingCommand(command, RetrieveThingResponse.class, RetrieveThingResponse::getThing);
+        return askThingQueryCommand(command, null, RetrieveThingResponse.class, RetrieveThingResponse::getThing);
     }
 
     @Override
@@ -383,7 +446,19 @@ public abstract class ThingHandleImpl<T extends ThingHandle<F>, F extends Featur
         argumentNotNull(fieldSelector);
 
         final RetrieveThing command = outgoingMessageFactory.retrieveThing(thingId, fieldSelector.getPointers());
-        return askThingCommand(command, RetrieveThingResponse.class, RetrieveThingResponse::getThing);
+        return askThingQueryCommand(command, fieldSelector, RetrieveThingResponse.class,
+                RetrieveThingResponse::getThing);
+    }
+
+    @Override
+    public <R> CompletionStage<R> retrieve(final JsonFieldSelector fieldSelector, final ThingDecoder<R> decoder) {
+        argumentNotNull(fieldSelector);
+        argumentNotNull(decoder);
+
+        final RetrieveThing command = outgoingMessageFactory.retrieveThing(thingId, fieldSelector.getPointers());
+        // the entity is the plain JSON of the Thing, so no Thing is built unless the decoder does so
+        return askThingQueryCommand(command, fieldSelector, RetrieveThingResponse.class,
+                response -> decoder.decode(response.getEntity(response.getImplementedSchemaVersion()).asObject()));
     }
 
 }
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.management.internal;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.configuration.WriteBehindConfiguration;
+import org.eclipse.ditto.client.internal.OutgoingMessageFactory;
+import org.eclipse.ditto.client.options.Option;
+import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonKey;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.signals.commands.modify.MergeThing;
+
+/**
+ * Coalesces updates of the same thing issued within a window into a JSON merge patch which is sent as a single
+ * {@link MergeThing} command. Later updates of a path supersede earlier ones. All coalesced updates complete with the
+ * outcome of the merge command.
+ * <p>
+ * Only updates whose replace semantics equal their merge semantics are coalesced, i.e. values which are neither JSON
+ * objects nor {@code null}. Any other command for a thing has to {@link #flush(ThingId) flush} the pending updates of
+ * the thing first, so that commands are sent in the order they were issued.
+ *
+ * @since 2.2.0
+ */
+@ThreadSafe
+public final class WriteBehindBuffer {
+
+    private static final JsonKey ATTRIBUTES = JsonKey.of("attributes");
+    private static final JsonKey FEATURES = JsonKey.of("features");
+    private static final JsonKey PROPERTIES = JsonKey.of("properties");
+    private static final Option<?>[] NO_OPTIONS = new Option<?>[0];
+
+    private final long windowNanos;
+    private final int maxUpdates;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final OutgoingMessageFactory outgoingMessageFactory;
+    private final Function<MergeThing, CompletionStage<Void>> sender;
+    private final ConcurrentMap<ThingId, Batch> batches;
+
+    private WriteBehindBuffer(final WriteBehindConfiguration configuration,
+            final ScheduledExecutorService scheduledExecutor,
+            final OutgoingMessageFactory outgoingMessageFactory,
+            final Function<MergeThing, CompletionStage<Void>> sender) {
+        windowNanos = configuration.getWindow().toNanos();
+        maxUpdates = configuration.getMaxUpdates();
+        this.scheduledExecutor = scheduledExecutor;
+        this.outgoingMessageFactory = outgoingMessageFactory;
+        this.sender = sender;
+        batches = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates a new {@code WriteBehindBuffer}.
+     *
+     * @param configuration the window and maximum number of updates to coalesce.
+     * @param scheduledExecutor the executor to send the coalesced updates on at the end of the window.
+     * @param outgoingMessageFactory the factory of the merge commands.
+     * @param sender sends a merge command and returns its outcome.
+     * @return the buffer.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    public static WriteBehindBuffer newInstance(final WriteBehindConfiguration configuration,
+            final ScheduledExecutorService scheduledExecutor,
+            final OutgoingMessageFactory outgoingMessageFactory,
+            final Function<MergeThing, CompletionStage<Void>> sender) {
+        return new WriteBehindBuffer(checkNotNull(configuration, "configuration"),
+                checkNotNull(scheduledExecutor, "scheduledExecutor"),
+                checkNotNull(outgoingMessageFactory, "outgoingMessageFactory"),
+                checkNotNull(sender, "sender"));
+    }
+
+    /**
+     * Tests whether an update may be coalesced with other updates.
+     *
+     * @param value the new value.
+     * @param options the options of the update.
+     * @return whether the update may be buffered.
+     */
+    static boolean canCoalesce(final JsonValue value, final Option<?>[] options) {
+        // objects are merged instead of replaced and null deletes in a merge patch; options apply per command
+        return options.length == 0 && !value.isObject() && !value.isNull();
+    }
+
+    /**
+     * Buffers an update of an attribute.
+     *
+     * @param thingId the thing to update.
+     * @param path the path of the attribute.
+     * @param value the new value.
+     * @return the outcome of the merge command the update is coalesced into.
+     */
+    CompletionStage<Void> putAttribute(final ThingId thingId, final JsonPointer path, final JsonValue value) {
+        return put(thingId, JsonPointer.of(ATTRIBUTES).append(path), value);
+    }
+
+    /**
+     * Buffers an update of a feature property.
+     *
+     * @param thingId the thing to update.
+     * @param featureId the feature to update.
+     * @param path the path of the property.
+     * @param value the new value.
+     * @return the outcome of the merge command the update is coalesced into.
+     */
+    CompletionStage<Void> putProperty(final ThingId thingId, final String featureId, final JsonPointer path,
+            final JsonValue value) {
+        return put(thingId, JsonPointer.of(FEATURES).addLeaf(JsonKey.of(featureId)).addLeaf(PROPERTIES).append(path),
+                value);
+    }
+
+    /**
+     * Buffers an update of a thing.
+     *
+     * @param thingId the thing to update.
+     * @param path the path to update relative to the thing.
+     * @param value the new value.
+     * @return the outcome of the merge command the update is coalesced into.
+     */
+    CompletionStage<Void> put(final ThingId thingId, final JsonPointer path, final JsonValue value) {
+        final Batch[] updated = new Batch[1];
+        final int[] updates = {0};
+        batches.compute(thingId, (id, batch) -> {
+            final Batch current = batch != null ? batch : new Batch(id);
+            current.patch = current.patch.setValue(path, value);
+            updates[0] = ++current.updates;
+            updated[0] = current;
+            return updates[0] >= maxUpdates ? null : current;
+        });
+        final Batch batch = updated[0];
+        if (updates[0] >= maxUpdates) {
+            send(batch);
+        } else if (updates[0] == 1) {
+            schedule(batch);
+        }
+        // callers get their own stage, so that none of them can complete the others'
+        return batch.result.thenApply(Function.identity());
+    }
+
+    /**
+     * Sends the pending updates of a thing at once.
+     *
+     * @param thingId the thing.
+     */
+    public void flush(final ThingId thingId) {
+        final Batch batch = batches.remove(thingId);
+        if (batch != null) {
+            send(batch);
+        }
+    }
+
+    /**
+     * Sends the pending updates of all things at once, e.g. before the client is destroyed.
+     */
+    public void flushAll() {
+        batches.keySet().forEach(this::flush);
+    }
+
+    private void schedule(final Batch batch) {
+        try {
+            batch.scheduledFlush = scheduledExecutor.schedule(() -> {
+                if (batches.remove(batch.thingId, batch)) {
+                    send(batch);
+                }
+            }, windowNanos, TimeUnit.NANOSECONDS);
+        } catch (final RejectedExecutionException e) {
+            flush(batch.thingId);
+        }
+    }
+
+    private void send(final Batch batch) {
+        final ScheduledFuture<?> scheduledFlush = batch.scheduledFlush;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+        }
+        try {
+            sender.apply(toMergeCommand(batch.thingId, batch.patch)).whenComplete((result, error) -> {
+                if (error != null) {
+                    batch.result.completeExceptionally(error);
+                } else {
+                    batch.result.complete(null);
+                }
+            });
+        } catch (final RuntimeException e) {
+            batch.result.completeExceptionally(e);
+        }
+    }
+
+    private MergeThing toMergeCommand(final ThingId thingId, final JsonObject patch) {
+        if (patch.getSize() == 1) {
+            final JsonObject attributes = patch.getValue(ATTRIBUTES)
+                    .filter(JsonValue::isObject)
+                    .map(JsonValue::asObject)
+                    .orElse(null);
+            if (attributes != null) {
+                return outgoingMessageFactory.mergeAttributes(thingId, attributes, NO_OPTIONS);
+            }
+            final JsonObject features = patch.getValue(FEATURES)
+                    .filter(JsonValue::isObject)
+                    .map(JsonValue::asObject)
+                    .orElse(null);
+            if (features != null && features.getSize() == 1) {
+                final JsonKey featureId = features.getKeys().get(0);
+                final JsonObject feature = features.getValue(featureId).map(JsonValue::asObject)
+                        .orElseGet(JsonFactory::newObject);
+                if (feature.getSize() == 1 && feature.getValue(PROPERTIES).filter(JsonValue::isObject).isPresent()) {
+                    return outgoingMessageFactory.mergeFeatureProperties(thingId, featureId.toString(),
+                            feature.getValue(PROPERTIES).get().asObject());
+                }
+            }
+        }
+        return outgoingMessageFactory.mergeThingPatch(thingId, patch);
+    }
+
+    private static final class Batch {
+
+        private final ThingId thingId;
+        private final CompletableFuture<Void> result;
+        private JsonObject patch;
+        private int updates;
+        @Nullable private volatile ScheduledFuture<?> scheduledFlush;
+
+        private Batch(final ThingId thingId) {
+            this.thingId = thingId;
+            result = new CompletableFuture<>();
+            patch = JsonFactory.newObject();
+            updates = 0;
+            scheduledFlush = null;
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging;
+
+/**
+ * Listens for a connection of a {@link MessagingProvider} being lost unintentionally and being restored. Messages
+ * published by the backend in between are not received, so state kept up to date by them has to be considered
+ * stale. Listeners are called on the callback executor of the provider and should return quickly.
+ *
+ * @since 2.2.0
+ */
+public interface ConnectionListener {
+
+    /**
+     * Called when a connection was lost without the client being closed.
+     */
+    void onConnectionLost();
+
+    /**
+     * Called when a lost connection was established again, after the subscriptions for messages from the backend
+     * were sent again.
+     */
+    void onConnectionRestored();
+
+}
@@ -12,6 +12,7 @@
  */
 package org.eclipse.ditto.client.messaging;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
 /**
@@ -32,9 +33,13 @@ public class MessagingException extends RuntimeException {
 
     private static final String RECREATE_FAILED_TEMPLATE = "Recreating WebSocket of session <%s> failed.";
 
+    private static final String OUTGOING_BUFFER_FULL_TEMPLATE =
+            "Message of session <%s> was rejected because the connection is interrupted and the buffer for " +
+                    "outgoing messages is full.";
+
     private static final long serialVersionUID = 6930767503633213674L;
 
-    private MessagingException(final String message, final Throwable cause) {
+    private MessagingException(final String message, @Nullable final Throwable cause) {
         super(message, cause);
     }
 
@@ -54,4 +59,16 @@ public class MessagingException extends RuntimeException {
         return new MessagingException(String.format(RECREATE_FAILED_TEMPLATE, sessionId), cause);
     }
 
+    /**
+     * Create an exception signalling that a message could not be sent because the connection is interrupted and the
+     * buffer for outgoing messages is full.
+     *
+     * @param sessionId the session ID of the client.
+     * @return the exception.
+     * @since 2.2.0
+     */
+    public static MessagingException outgoingBufferFull(final String sessionId) {
+        return new MessagingException(String.format(OUTGOING_BUFFER_FULL_TEMPLATE, sessionId), null);
+    }
+
 }
@@ -13,6 +13,7 @@
 package org.eclipse.ditto.client.messaging;
 
 import java.time.Duration;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
@@ -108,6 +109,17 @@ public interface MessagingProvider {
         emit(ProtocolFactory.wrapAsJsonifiableAdaptable(message).toJsonString());
     }
 
+    /**
+     * Emit a binary frame in a fire-and-forget manner if the underlying connection supports it and is available.
+     *
+     * @param frame the frame to emit.
+     * @return whether the frame was emitted; if not, the caller has to emit the equivalent text message instead.
+     * @since 2.2.0
+     */
+    default boolean emitBinary(final byte[] frame) {
+        return false;
+    }
+
     /**
      * Send Ditto Protocol {@link Adaptable} using the underlying connection and expect a response.
      *
@@ -132,6 +144,27 @@ public interface MessagingProvider {
     }
 
     /**
+     * Returns the limiter of requests awaiting their response at the same time.
+     *
+     * @return the request limiter or an empty optional if the number of requests in flight is not limited.
+     * @since 2.2.0
+     */
+    default Optional<RequestLimiter> getRequestLimiter() {
+        return Optional.empty();
+    }
+
+    /**
+     * Adds a listener for the connection being lost and restored. It should be a no-op for messaging providers
+     * without a connection which could be lost.
+     *
+     * @param listener the listener.
+     * @since 2.2.0
+     */
+    default void addConnectionListener(final ConnectionListener listener) {
+        // no connection which could be lost
+    }
+
+        /**
      * Close the underlying connection.
      */
     void close();
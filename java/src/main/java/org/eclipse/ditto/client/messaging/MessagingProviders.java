@@ -15,12 +15,12 @@ package org.eclipse.ditto.client.messaging;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
+import org.eclipse.ditto.client.configuration.ExecutorConfiguration;
 import org.eclipse.ditto.client.configuration.MessagingConfiguration;
 import org.eclipse.ditto.client.internal.DefaultThreadFactory;
+import org.eclipse.ditto.client.internal.ExecutorFactory;
+import org.eclipse.ditto.client.messaging.internal.PooledMessagingProvider;
 import org.eclipse.ditto.client.messaging.internal.WebSocketMessagingProvider;
 
 import com.neovisionaries.ws.client.WebSocket;
@@ -50,12 +50,12 @@ public final class MessagingProviders {
             final ExecutorService defaultExecutor) {
         final ScheduledExecutorService defaultScheduledExecutor = createScheduledExecutorService(
                 "adaptable-bus-" + authenticationProvider.getConfiguration().getSessionId());
-        return WebSocketMessagingProvider.newInstance(configuration, authenticationProvider, defaultExecutor,
-                defaultScheduledExecutor);
+        return webSocket(configuration, authenticationProvider, defaultExecutor, defaultScheduledExecutor);
     }
 
     /**
-     * Creates a new {@code WebSocketMessagingProvider}.
+     * Creates a new {@code WebSocketMessagingProvider}, or a pool of them if the configuration has a
+     * {@link MessagingConfiguration#getConnectionPoolConfiguration() connection pool configuration}.
      *
      * @param configuration configuration of websocket messaging.
      * @param authenticationProvider provides authentication.
@@ -68,12 +68,17 @@ public final class MessagingProviders {
             final AuthenticationProvider<WebSocket> authenticationProvider,
             final ExecutorService callbackExecutor,
             final ScheduledExecutorService internalBusExecutor) {
+        if (configuration.getConnectionPoolConfiguration().isPresent()) {
+            return PooledMessagingProvider.newInstance(configuration, authenticationProvider, callbackExecutor,
+                    internalBusExecutor);
+        }
         return WebSocketMessagingProvider.newInstance(configuration, authenticationProvider, callbackExecutor,
                 internalBusExecutor);
     }
 
     /**
-     * Creates a new {@code WebSocketMessagingProvider} with default executors/thread pools.
+     * Creates a new {@code WebSocketMessagingProvider} with executors/thread pools created according to the
+     * {@link MessagingConfiguration#getExecutorConfiguration() executor configuration}.
      *
      * @param configuration configuration of websocket messaging.
      * @param authenticationProvider provides authentication.
@@ -82,8 +87,9 @@ public final class MessagingProviders {
      */
     public static MessagingProvider webSocket(final MessagingConfiguration configuration,
             final AuthenticationProvider<WebSocket> authenticationProvider) {
-        final ExecutorService defaultCallbackExecutor = createDefaultExecutorService("default-" +
-                authenticationProvider.getConfiguration().getSessionId());
+        final ExecutorService defaultCallbackExecutor = createExecutorService("default-" +
+                        authenticationProvider.getConfiguration().getSessionId(),
+                configuration.getExecutorConfiguration());
         return webSocket(configuration, authenticationProvider, defaultCallbackExecutor);
     }
 
@@ -107,13 +113,22 @@ public final class MessagingProviders {
      * @since 2.1.0
      */
     public static ExecutorService createExecutorService(final String name) {
-        final int maximumPoolSize = Runtime.getRuntime().availableProcessors() * 8; // limit by default to this max pool size
-        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
-                0, maximumPoolSize, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
-                new DefaultThreadFactory("ditto-client-" + name),
-                new ThreadPoolExecutor.CallerRunsPolicy());
-        executor.allowCoreThreadTimeOut(true);
-        return executor;
+        return createExecutorService(name, ExecutorConfiguration.defaultConfiguration());
+    }
+
+    /**
+     * Creates an {@code ExecutorService} according to the passed executor configuration: a pool of platform threads,
+     * a virtual thread per task or a pool of platform threads with a bounded queue blocking submitters when full.
+     *
+     * @param name the name to use in the created threads.
+     * @param executorConfiguration the executor configuration.
+     * @return the {@code ExecutorService}.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @since 2.2.0
+     */
+    public static ExecutorService createExecutorService(final String name,
+            final ExecutorConfiguration executorConfiguration) {
+        return ExecutorFactory.newExecutorService(name, executorConfiguration);
     }
 
     /**
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Thrown when a request is rejected by the {@link RequestLimiter} because the maximum number of requests is in flight
+ * and the queue of waiting requests is full.
+ *
+ * @since 2.2.0
+ */
+@Immutable
+public class RequestLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = -2291805339412637208L;
+
+    private final int limit;
+    private final int queueLength;
+
+    /**
+     * Constructs a new {@code RequestLimitExceededException} object.
+     *
+     * @param limit the limit of requests in flight when the request was rejected.
+     * @param queueLength the number of waiting requests when the request was rejected.
+     */
+    public RequestLimitExceededException(final int limit, final int queueLength) {
+        super(String.format("Request rejected: <%d> requests are in flight and <%d> are waiting.", limit,
+                queueLength));
+        this.limit = limit;
+        this.queueLength = queueLength;
+    }
+
+    /**
+     * @return the limit of requests in flight when the request was rejected.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the number of waiting requests when the request was rejected.
+     */
+    public int getQueueLength() {
+        return queueLength;
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of requests awaiting their response at the same time. Callers may use the current limit and
+ * queue length to apply backpressure before the limiter rejects requests.
+ *
+ * @since 2.2.0
+ */
+public interface RequestLimiter {
+
+    /**
+     * Start the request as soon as the number of requests in flight is below the limit.
+     *
+     * @param request starts the request and returns its future response.
+     * @param <T> the type of the response.
+     * @return the future response, or a future failed with a {@link RequestLimitExceededException} if the limit is
+     * reached and the queue is full.
+     */
+    <T> CompletionStage<T> submit(Supplier<? extends CompletionStage<T>> request);
+
+    /**
+     * @return the current number of requests allowed in flight at the same time.
+     */
+    int getLimit();
+
+    /**
+     * @return the current number of requests awaiting their response.
+     */
+    int getInFlight();
+
+    /**
+     * @return the current number of requests waiting for the limit.
+     */
+    int getQueueLength();
+
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.base.model.common.HttpStatus;
+import org.eclipse.ditto.base.model.exceptions.DittoRuntimeException;
+import org.eclipse.ditto.client.configuration.RequestLimiterConfiguration;
+import org.eclipse.ditto.client.messaging.RequestLimitExceededException;
+import org.eclipse.ditto.client.messaging.RequestLimiter;
+
+/**
+ * Request limiter with a fixed limit or a limit adapted by additive increase and multiplicative decrease (AIMD) to the
+ * round-trip times and overload signals of the responses. Requests beyond the limit are started in the order they were
+ * submitted; those not started within the timeout fail with a {@link TimeoutException}.
+ *
+ * @since 2.2.0
+ */
+@ThreadSafe
+final class AdaptiveRequestLimiter implements RequestLimiter {
+
+    /**
+     * Number of samples after which the minimum round-trip time is measured anew, so that the limit follows a back
+     * end whose latency rises permanently.
+     */
+    private static final int MIN_RTT_RESET_INTERVAL = 1000;
+
+    private final RequestLimiterConfiguration configuration;
+    private final boolean adaptive;
+    private final Executor executor;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final Duration timeout;
+    private final LongSupplier nanoClock;
+    private final Queue<QueuedRequest> queue;
+
+    private double limit;
+    private int inFlight;
+    private long minRttNanos;
+    private int samplesSinceMinRttReset;
+    private int responsesSinceBackoff;
+
+    AdaptiveRequestLimiter(final RequestLimiterConfiguration configuration, final Executor executor,
+            final ScheduledExecutorService scheduledExecutor, final Duration timeout, final LongSupplier nanoClock) {
+        this.configuration = configuration;
+        adaptive = configuration.getLimitAlgorithm() == RequestLimiterConfiguration.LimitAlgorithm.AIMD;
+        this.executor = executor;
+        this.scheduledExecutor = scheduledExecutor;
+        this.timeout = timeout;
+        this.nanoClock = nanoClock;
+        queue = new ArrayDeque<>();
+        limit = adaptive
+                ? clamp(configuration.getInitialLimit())
+                : configuration.getInitialLimit();
+        inFlight = 0;
+        minRttNanos = Long.MAX_VALUE;
+        samplesSinceMinRttReset = 0;
+        responsesSinceBackoff = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Create a request limiter.
+     *
+     * @param configuration the configuration of the limiter.
+     * @param executor the executor to start queued requests on.
+     * @param scheduledExecutor the executor to time out queued requests on.
+     * @param timeout how long a request may wait in the queue.
+     * @return the request limiter.
+     */
+    static AdaptiveRequestLimiter of(final RequestLimiterConfiguration configuration, final Executor executor,
+            final ScheduledExecutorService scheduledExecutor, final Duration timeout) {
+        return new AdaptiveRequestLimiter(configuration, executor, scheduledExecutor, timeout, System::nanoTime);
+    }
+
+    @Override
+    public <T> CompletionStage<T> submit(final Supplier<? extends CompletionStage<T>> request) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        synchronized (this) {
+            // requests must not overtake queued ones even if a permit is free for a moment
+            if (queue.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+            } else if (queue.size() < configuration.getMaxQueueSize()) {
+                enqueue(new QueuedRequest(() -> start(request, result), result));
+                return result;
+            } else {
+                result.completeExceptionally(new RequestLimitExceededException((int) limit, queue.size()));
+                return result;
+            }
+        }
+        start(request, result);
+        return result;
+    }
+
+    @Override
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    @Override
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    @Override
+    public synchronized int getQueueLength() {
+        return queue.size();
+    }
+
+    private <T> void start(final Supplier<? extends CompletionStage<T>> request, final CompletableFuture<T> result) {
+        final long startNanos = nanoClock.getAsLong();
+        CompletionStage<T> response;
+        try {
+            response = request.get();
+        } catch (final RuntimeException e) {
+            final CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            response = failed;
+        }
+        response.whenComplete((value, error) -> {
+            onResponse(nanoClock.getAsLong() - startNanos, error);
+            if (error != null) {
+                // keep the error as is, so that the result fails exactly like the unlimited request would have
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private void enqueue(final QueuedRequest queued) {
+        queue.add(queued);
+        try {
+            queued.timeout = scheduledExecutor.schedule(() -> expire(queued), timeout.toNanos(),
+                    TimeUnit.NANOSECONDS);
+        } catch (final RejectedExecutionException e) {
+            // the client is being destroyed; the request stays queued until a permit becomes free
+        }
+    }
+
+    private void expire(final QueuedRequest queued) {
+        final boolean removed;
+        synchronized (this) {
+            removed = queue.remove(queued);
+        }
+        if (removed) {
+            queued.result.completeExceptionally(
+                    new TimeoutException("Timed out after " + timeout + " waiting for the request limit"));
+        }
+    }
+
+    private void onResponse(final long rttNanos, @Nullable final Throwable error) {
+        final List<QueuedRequest> next = new ArrayList<>();
+        synchronized (this) {
+            if (adaptive) {
+                adaptLimit(rttNanos, isOverloadSignal(error));
+            }
+            inFlight--;
+            // a grown limit admits more than the one request taking over the permit of this one
+            while (inFlight < (int) limit && !queue.isEmpty()) {
+                inFlight++;
+                next.add(queue.poll());
+            }
+        }
+        for (final QueuedRequest queued : next) {
+            final ScheduledFuture<?> queuedTimeout = queued.timeout;
+            if (queuedTimeout != null) {
+                queuedTimeout.cancel(false);
+            }
+            try {
+                // not started on this thread to avoid deep recursion when requests fail synchronously
+                executor.execute(queued.start);
+            } catch (final RejectedExecutionException e) {
+                // the client is being destroyed; give the permit back, as the request will never complete
+                synchronized (this) {
+                    inFlight--;
+                }
+                queued.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void adaptLimit(final long rttNanos, final boolean overloaded) {
+        if (++samplesSinceMinRttReset >= MIN_RTT_RESET_INTERVAL) {
+            samplesSinceMinRttReset = 0;
+            minRttNanos = Long.MAX_VALUE;
+        }
+        if (!overloaded) {
+            minRttNanos = Math.min(minRttNanos, rttNanos);
+        }
+        if (responsesSinceBackoff < Integer.MAX_VALUE) {
+            responsesSinceBackoff++;
+        }
+        if (overloaded || rttNanos > minRttNanos * configuration.getLatencyTolerance()) {
+            // back off at most once per window of as many responses as the limit admits requests: the responses of
+            // the requests started before backing off are slow as well and must not back off again
+            if (responsesSinceBackoff >= (int) limit) {
+                limit = clamp(limit * configuration.getBackoffRatio());
+                responsesSinceBackoff = 0;
+            }
+        } else if (!queue.isEmpty() || 2 * inFlight >= (int) limit) {
+            // only grow a limit which is in use; requiring it to be used up would rarely grow it, because the
+            // responses of a saturated back end arrive while fewer requests are in flight
+            limit = clamp(limit + 1.0 / limit);
+        }
+    }
+
+    private double clamp(final double value) {
+        return Math.max(configuration.getMinLimit(), Math.min(configuration.getMaxLimit(), value));
+    }
+
+    private static boolean isOverloadSignal(@Nullable final Throwable error) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+        if (cause instanceof TimeoutException) {
+            return true;
+        } else if (cause instanceof DittoRuntimeException) {
+            final HttpStatus httpStatus = ((DittoRuntimeException) cause).getHttpStatus();
+            return HttpStatus.TOO_MANY_REQUESTS.equals(httpStatus) ||
+                    HttpStatus.SERVICE_UNAVAILABLE.equals(httpStatus);
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "configuration=" + configuration +
+                ", limit=" + getLimit() +
+                ", inFlight=" + getInFlight() +
+                ", queueLength=" + getQueueLength() +
+                "]";
+    }
+
+    private static final class QueuedRequest {
+
+        private final Runnable start;
+        private final CompletableFuture<?> result;
+        @Nullable private volatile ScheduledFuture<?> timeout;
+
+        private QueuedRequest(final Runnable start, final CompletableFuture<?> result) {
+            this.start = start;
+            this.result = result;
+            timeout = null;
+        }
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.eclipse.ditto.client.configuration.OutgoingBufferConfiguration;
+import org.eclipse.ditto.client.messaging.MessagingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * FIFO buffer of outgoing text frames bounded by number of messages and by UTF-8 encoded bytes.
+ * Callers are responsible for synchronization.
+ */
+@NotThreadSafe
+final class OutgoingMessageBuffer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutgoingMessageBuffer.class);
+
+    private final String sessionId;
+    private final int maxMessages;
+    private final long maxBytes;
+    private final OutgoingBufferConfiguration.OverflowStrategy overflowStrategy;
+    private final Deque<BufferedMessage> messages;
+    private long bytes;
+
+    OutgoingMessageBuffer(final String sessionId, final OutgoingBufferConfiguration configuration) {
+        this.sessionId = sessionId;
+        maxMessages = configuration.getMaxMessages();
+        maxBytes = configuration.getMaxBytes();
+        overflowStrategy = configuration.getOverflowStrategy();
+        messages = new ArrayDeque<>();
+        bytes = 0L;
+    }
+
+    /**
+     * Append a message to the buffer, applying the overflow strategy if it does not fit.
+     *
+     * @param message the message.
+     * @return whether the message was buffered.
+     * @throws MessagingException if the message does not fit and the overflow strategy is
+     * {@link OutgoingBufferConfiguration.OverflowStrategy#FAIL_FAST}.
+     */
+    boolean offer(final String message) {
+        final long messageBytes = utf8Length(message);
+        if (messageBytes > maxBytes) {
+            return reject(message);
+        }
+        if (!fits(messageBytes)) {
+            switch (overflowStrategy) {
+                case DROP_OLDEST:
+                    while (!fits(messageBytes)) {
+                        final BufferedMessage dropped = messages.removeFirst();
+                        bytes -= dropped.bytes;
+                        LOGGER.warn("Client <{}>: Outgoing buffer is full - discarding oldest message '{}'",
+                                sessionId, dropped.message);
+                    }
+                    break;
+                case DROP_NEWEST:
+                case FAIL_FAST:
+                default:
+                    return reject(message);
+            }
+        }
+        messages.addLast(new BufferedMessage(message, messageBytes));
+        bytes += messageBytes;
+        return true;
+    }
+
+    /**
+     * Remove all messages from the buffer, passing them to the given consumer in the order they were buffered.
+     *
+     * @param consumer receiver of the buffered messages.
+     * @return the number of drained messages.
+     */
+    int drainTo(final Consumer<String> consumer) {
+        int drained = 0;
+        BufferedMessage next;
+        while ((next = messages.pollFirst()) != null) {
+            bytes -= next.bytes;
+            consumer.accept(next.message);
+            drained++;
+        }
+        return drained;
+    }
+
+    boolean isEmpty() {
+        return messages.isEmpty();
+    }
+
+    int size() {
+        return messages.size();
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    private boolean fits(final long messageBytes) {
+        return messages.size() < maxMessages && bytes + messageBytes <= maxBytes;
+    }
+
+    private boolean reject(final String message) {
+        if (overflowStrategy == OutgoingBufferConfiguration.OverflowStrategy.FAIL_FAST) {
+            throw MessagingException.outgoingBufferFull(sessionId);
+        }
+        LOGGER.warn("Client <{}>: Outgoing buffer is full - discarding message '{}'", sessionId, message);
+        return false;
+    }
+
+    /**
+     * Compute the number of bytes of the UTF-8 encoding of a string without encoding it.
+     *
+     * @param string the string.
+     * @return the length of its UTF-8 encoding.
+     */
+    static long utf8Length(final CharSequence string) {
+        long length = 0L;
+        final int chars = string.length();
+        for (int i = 0; i < chars; i++) {
+            final char c = string.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < chars &&
+                    Character.isLowSurrogate(string.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static final class BufferedMessage {
+
+        private final String message;
+        private final long bytes;
+
+        private BufferedMessage(final String message, final long bytes) {
+            this.message = message;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,548 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.configuration.AuthenticationConfiguration;
+import org.eclipse.ditto.client.configuration.ConnectionPoolConfiguration;
+import org.eclipse.ditto.client.configuration.MessagingConfiguration;
+import org.eclipse.ditto.client.internal.BinaryMessageFrame;
+import org.eclipse.ditto.client.internal.bus.AdaptableBus;
+import org.eclipse.ditto.client.internal.bus.BusFactory;
+import org.eclipse.ditto.client.messaging.AuthenticationProvider;
+import org.eclipse.ditto.client.messaging.ConnectionListener;
+import org.eclipse.ditto.client.messaging.MessagingProvider;
+import org.eclipse.ditto.client.messaging.RequestLimiter;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.TopicPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.neovisionaries.ws.client.WebSocket;
+
+/**
+ * Messaging Provider opening a pool of WebSocket connections to the same Ditto endpoint, so that incoming messages
+ * are read and parsed by one thread per connection instead of a single one.
+ * <ul>
+ * <li>All connections publish to one {@link AdaptableBus}: a response is correlated with its request no matter on
+ * which connection it arrives.</li>
+ * <li>Outgoing messages are sharded by the ID of the entity they concern, so that messages concerning the same
+ * entity keep their order, or distributed round-robin, see {@link ConnectionPoolConfiguration.Sharding}. A message
+ * whose connection is disconnected is sent via another connection unless messages are buffered while
+ * disconnected.</li>
+ * <li>A subscription such as {@code START-SEND-EVENTS} filtered by several namespaces is split into subscriptions of
+ * disjoint sets of namespaces, one per connection. Its acknowledgement is published once all connections acknowledged
+ * their part. Connections no longer part of a renewed subscription are sent the matching {@code STOP-SEND-*}
+ * command.</li>
+ * <li>Other subscriptions are made on one connection per type of subscription, so that no message is received twice.
+ * Messages of a subscription without namespaces are therefore all read and parsed by a single connection; only
+ * subscriptions filtered by several namespaces spread the parsing of incoming messages.</li>
+ * <li>Each connection reconnects independently and renews its own subscriptions. The disconnected listener is
+ * notified per connection.</li>
+ * <li>All connections share the authentication provider of the pool. A provider refreshing a token, e.g. a JWT, is
+ * asked for it by each connection on its own, so it must tolerate concurrent requests; a refreshed token is sent
+ * on every connection.</li>
+ * </ul>
+ *
+ * @since 2.2.0
+ */
+@ThreadSafe
+public final class PooledMessagingProvider implements MessagingProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PooledMessagingProvider.class);
+
+    private static final String START_SEND_PREFIX = "START-SEND-";
+    private static final String STOP_SEND_PREFIX = "STOP-SEND-";
+    private static final String NAMESPACES_PARAMETER = "namespaces";
+    private static final String TOPIC_PREFIX = "{\"topic\":\"";
+    private static final String ACK_SUFFIX = ":ACK";
+
+    private final AdaptableBus adaptableBus;
+    private final MessagingConfiguration messagingConfiguration;
+    private final AuthenticationProvider<WebSocket> authenticationProvider;
+    private final ExecutorService callbackExecutor;
+    private final String sessionId;
+    private final ConnectionPoolConfiguration.Sharding sharding;
+    private final boolean bufferingWhileDisconnected;
+    private final List<WebSocketMessagingProvider> members;
+    private final AtomicInteger nextMember = new AtomicInteger();
+    private final AtomicInteger bufferingMembers = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    // members subscribed by the latest START-SEND-* protocol command per type of subscription
+    private final Map<String, List<Integer>> subscribedMembers = new ConcurrentHashMap<>();
+    // acknowledgements of split protocol commands by their text
+    private final Map<String, MemberAcks> memberAcks = new ConcurrentHashMap<>();
+    @Nullable private final RequestLimiter requestLimiter;
+
+    private PooledMessagingProvider(final AdaptableBus adaptableBus,
+            final MessagingConfiguration messagingConfiguration,
+            final ConnectionPoolConfiguration poolConfiguration,
+            final AuthenticationProvider<WebSocket> authenticationProvider,
+            final ExecutorService callbackExecutor) {
+        this.adaptableBus = adaptableBus;
+        this.messagingConfiguration = messagingConfiguration;
+        this.authenticationProvider = authenticationProvider;
+        this.callbackExecutor = callbackExecutor;
+        sessionId = authenticationProvider.getConfiguration().getSessionId();
+        sharding = poolConfiguration.getSharding();
+        bufferingWhileDisconnected = messagingConfiguration.getOutgoingBufferConfiguration().isPresent();
+        requestLimiter = messagingConfiguration.getRequestLimiterConfiguration()
+                .map(config -> AdaptiveRequestLimiter.of(config, callbackExecutor,
+                        adaptableBus.getScheduledExecutor(), messagingConfiguration.getTimeout()))
+                .orElse(null);
+        if (callbackExecutor instanceof ThreadPoolExecutor) {
+            final ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) callbackExecutor;
+            messagingConfiguration.getClientMetrics()
+                    .bindExecutorQueueLength("callback-" + sessionId, () -> threadPoolExecutor.getQueue().size());
+        }
+        final List<WebSocketMessagingProvider> memberList = new ArrayList<>(poolConfiguration.getSize());
+        for (int i = 0; i < poolConfiguration.getSize(); i++) {
+            memberList.add(WebSocketMessagingProvider.newPoolMember(this, i));
+        }
+        members = Collections.unmodifiableList(memberList);
+    }
+
+    /**
+     * Returns a new {@code PooledMessagingProvider}.
+     *
+     * @param messagingConfiguration configuration of messaging including the configuration of the pool.
+     * @param authenticationProvider provides authentication for all connections of the pool.
+     * @param defaultExecutor the executor for messages.
+     * @param scheduledExecutor the scheduled executor for scheduling tasks.
+     * @return the provider.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws IllegalArgumentException if {@code messagingConfiguration} has no connection pool configuration.
+     */
+    public static PooledMessagingProvider newInstance(final MessagingConfiguration messagingConfiguration,
+            final AuthenticationProvider<WebSocket> authenticationProvider,
+            final ExecutorService defaultExecutor,
+            final ScheduledExecutorService scheduledExecutor) {
+        checkNotNull(messagingConfiguration, "messagingConfiguration");
+        checkNotNull(authenticationProvider, "authenticationProvider");
+        checkNotNull(defaultExecutor, "defaultExecutor");
+        checkNotNull(scheduledExecutor, "scheduledExecutor");
+        final ConnectionPoolConfiguration poolConfiguration = messagingConfiguration.getConnectionPoolConfiguration()
+                .orElseThrow(() -> new IllegalArgumentException("The connection pool configuration is missing."));
+
+        final AdaptableBus adaptableBus =
+                BusFactory.createAdaptableBus(defaultExecutor, scheduledExecutor, messagingConfiguration);
+        return new PooledMessagingProvider(adaptableBus, messagingConfiguration, poolConfiguration,
+                authenticationProvider, defaultExecutor);
+    }
+
+    @Override
+    public CompletionStage<?> initializeAsync() {
+        final CompletableFuture<?>[] initializations = members.stream()
+                .map(member -> member.initializeAsync().toCompletableFuture())
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(initializations).thenApply(done -> this);
+    }
+
+    @Override
+    public AuthenticationConfiguration getAuthenticationConfiguration() {
+        return authenticationProvider.getConfiguration();
+    }
+
+    AuthenticationProvider<WebSocket> getAuthenticationProvider() {
+        return authenticationProvider;
+    }
+
+    @Override
+    public MessagingConfiguration getMessagingConfiguration() {
+        return messagingConfiguration;
+    }
+
+    @Override
+    public ExecutorService getExecutorService() {
+        return callbackExecutor;
+    }
+
+    @Override
+    public AdaptableBus getAdaptableBus() {
+        return adaptableBus;
+    }
+
+    @Override
+    public Optional<RequestLimiter> getRequestLimiter() {
+        return Optional.ofNullable(requestLimiter);
+    }
+
+    /**
+     * Adds the listener to every connection of the pool: it is called for each connection lost and restored on its
+     * own.
+     *
+     * @param listener the listener.
+     */
+    @Override
+    public void addConnectionListener(final ConnectionListener listener) {
+        members.forEach(member -> member.addConnectionListener(listener));
+    }
+
+    /**
+     * Returns the connections of this pool.
+     *
+     * @return the connections.
+     */
+    List<WebSocketMessagingProvider> getMembers() {
+        return members;
+    }
+
+    @Override
+    public MessagingProvider registerSubscriptionMessage(final Object key, final String message) {
+        final Map<Integer, String> distributed = distribute(message);
+        for (int i = 0; i < members.size(); i++) {
+            final String memberMessage = distributed.get(i);
+            if (memberMessage != null) {
+                members.get(i).registerSubscriptionMessage(key, memberMessage);
+            } else {
+                members.get(i).unregisterSubscriptionMessage(key);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public MessagingProvider unregisterSubscriptionMessage(final Object key) {
+        members.forEach(member -> member.unregisterSubscriptionMessage(key));
+        return this;
+    }
+
+    @Override
+    public void emit(final String message) {
+        if (message.startsWith("{")) {
+            selectMember(entityKeyOf(message)).emit(message);
+        } else {
+            emitProtocolCommand(message);
+        }
+    }
+
+    @Override
+    public void emitAdaptable(final Adaptable message) {
+        selectMember(entityKeyOf(message.getTopicPath())).emitAdaptable(message);
+    }
+
+    @Override
+    public boolean emitBinary(final byte[] frame) {
+        final String entityKey = BinaryMessageFrame.decode(frame)
+                .map(envelope -> entityKeyOf(envelope.getTopicPath()))
+                .orElse(null);
+        return selectMember(entityKey).emitBinary(frame);
+    }
+
+    @Override
+    public void close() {
+        if (closed.getAndSet(true)) {
+            LOGGER.debug("Client <{}>: Connection pool is already closing", sessionId);
+            return;
+        }
+        members.forEach(WebSocketMessagingProvider::close);
+        adaptableBus.failOneTimeSubscriptions(new IllegalStateException("The client was destroyed."));
+        authenticationProvider.destroy();
+        adaptableBus.shutdownExecutors();
+        LOGGER.info("Client <{}>: Connection pool of <{}> WebSockets destroyed.", sessionId, members.size());
+    }
+
+    @Override
+    public void registerChannelCloser(final Runnable channelCloser) {
+        members.forEach(member -> member.registerChannelCloser(channelCloser));
+    }
+
+    @Override
+    public void onDittoProtocolError(final Throwable throwable) {
+        // the connection the error was received on is not known
+        members.forEach(member -> member.onDittoProtocolError(throwable));
+    }
+
+    /**
+     * Called by a connection when it starts buffering outgoing messages; suspends the timeouts of requests until
+     * all connections are connected again, but at most for the timeout of the messaging configuration.
+     */
+    void onMemberBufferingStarted() {
+        if (bufferingMembers.getAndIncrement() == 0) {
+            adaptableBus.suspendOneTimeSubscriptionTimeouts(messagingConfiguration.getTimeout());
+        }
+    }
+
+    /**
+     * Called by a connection when it sent or discarded its buffered outgoing messages.
+     */
+    void onMemberBufferingStopped() {
+        if (bufferingMembers.decrementAndGet() == 0) {
+            adaptableBus.resumeOneTimeSubscriptionTimeouts();
+        }
+    }
+
+    /**
+     * Called by a connection with each received text message before it is published to the bus: acknowledgements of
+     * split protocol commands are held back until all connections sent theirs.
+     *
+     * @param message the received message.
+     * @return whether to publish the message.
+     */
+    boolean onMemberMessage(final String message) {
+        if (!message.endsWith(ACK_SUFFIX)) {
+            return true;
+        }
+        final AtomicBoolean publish = new AtomicBoolean(true);
+        memberAcks.computeIfPresent(message, (ack, acks) -> {
+            publish.set(acks.onAck());
+            return acks.isDone() ? null : acks;
+        });
+        return publish.get();
+    }
+
+    private void emitProtocolCommand(final String message) {
+        final String command = commandOf(message);
+        if (command.startsWith(START_SEND_PREFIX)) {
+            final String type = command.substring(START_SEND_PREFIX.length());
+            final Map<Integer, String> distributed = distribute(message);
+            final List<Integer> subscribed = new ArrayList<>(distributed.keySet());
+            final List<Integer> previouslySubscribed = subscribedMembers.put(type, subscribed);
+            if (previouslySubscribed != null) {
+                // members dropped from the distribution would otherwise keep sending messages
+                final String stopCommand = STOP_SEND_PREFIX + type;
+                previouslySubscribed.stream()
+                        .filter(index -> !subscribed.contains(index))
+                        .forEach(index -> {
+                            modifyMemberAcks(stopCommand + ACK_SUFFIX, MemberAcks::ignoreOne);
+                            members.get(index).emit(stopCommand);
+                        });
+            }
+            awaitMemberAcks(command, subscribed.size());
+            distributed.forEach((index, memberMessage) -> members.get(index).emit(memberMessage));
+        } else if (command.startsWith(STOP_SEND_PREFIX)) {
+            final String type = command.substring(STOP_SEND_PREFIX.length());
+            final List<Integer> subscribed = subscribedMembers.remove(type);
+            if (subscribed != null) {
+                awaitMemberAcks(command, subscribed.size());
+                subscribed.forEach(index -> members.get(index).emit(message));
+            } else {
+                members.get(homeMemberIndex(START_SEND_PREFIX + type)).emit(message);
+            }
+        } else {
+            // other protocol commands, e.g. JWT-TOKEN, concern the connection they are sent on
+            members.forEach(member -> member.emit(message));
+        }
+    }
+
+    private void awaitMemberAcks(final String command, final int memberCount) {
+        if (memberCount > 1) {
+            modifyMemberAcks(command + ACK_SUFFIX, acks -> acks.await(memberCount));
+        }
+    }
+
+    private void modifyMemberAcks(final String ack, final Consumer<MemberAcks> modification) {
+        memberAcks.compute(ack, (key, existing) -> {
+            final MemberAcks acks = existing != null ? existing : new MemberAcks();
+            modification.accept(acks);
+            return acks;
+        });
+    }
+
+    /**
+     * Distributes a subscription protocol command across the connections: a command filtered by several namespaces
+     * is split into commands of disjoint sets of namespaces, any other command is assigned to one connection
+     * determined by its type.
+     *
+     * @param message the protocol command.
+     * @return the commands to send by the index of the connection to send them on.
+     */
+    private Map<Integer, String> distribute(final String message) {
+        final String command = commandOf(message);
+        final int homeIndex = homeMemberIndex(command);
+        final Map<String, String> parameters = parametersOf(message);
+        final String namespacesValue = parameters.get(NAMESPACES_PARAMETER);
+        final List<String> namespaces = namespacesValue == null ? Collections.emptyList() :
+                splitNamespaces(namespacesValue);
+        if (namespaces.size() < 2 || members.size() < 2) {
+            return Collections.singletonMap(homeIndex, message);
+        }
+        final Map<Integer, List<String>> namespacesByMember = new LinkedHashMap<>();
+        for (int i = 0; i < namespaces.size(); i++) {
+            namespacesByMember.computeIfAbsent((homeIndex + i) % members.size(), index -> new ArrayList<>())
+                    .add(namespaces.get(i));
+        }
+        final Map<Integer, String> result = new LinkedHashMap<>();
+        namespacesByMember.forEach((index, memberNamespaces) -> {
+            final Map<String, String> memberParameters = new LinkedHashMap<>(parameters);
+            memberParameters.put(NAMESPACES_PARAMETER, String.join(",", memberNamespaces));
+            result.put(index, command + "?" + memberParameters.entrySet()
+                    .stream()
+                    .map(entry -> urlEncode(entry.getKey()) + "=" + urlEncode(entry.getValue()))
+                    .collect(Collectors.joining("&")));
+        });
+        return result;
+    }
+
+    private int homeMemberIndex(final String command) {
+        // spreads the types of subscriptions across the connections
+        return Math.floorMod(command.hashCode(), members.size());
+    }
+
+    private WebSocketMessagingProvider selectMember(@Nullable final String entityKey) {
+        final int index;
+        if (sharding == ConnectionPoolConfiguration.Sharding.ENTITY_ID && entityKey != null) {
+            index = Math.floorMod(entityKey.hashCode(), members.size());
+        } else {
+            index = Math.floorMod(nextMember.getAndIncrement(), members.size());
+        }
+        final WebSocketMessagingProvider member = members.get(index);
+        if (member.isConnected() || bufferingWhileDisconnected) {
+            // buffered messages are sent in order once the connection is back
+            return member;
+        }
+        for (int i = 1; i < members.size(); i++) {
+            final WebSocketMessagingProvider fallback = members.get((index + i) % members.size());
+            if (fallback.isConnected()) {
+                return fallback;
+            }
+        }
+        return member;
+    }
+
+    private static String entityKeyOf(final TopicPath topicPath) {
+        return topicPath.getNamespace() + "/" + topicPath.getEntityName();
+    }
+
+    /**
+     * Extracts the namespace and name of the entity from the topic of a Ditto Protocol message as serialized by the
+     * client, where the topic is the first field.
+     *
+     * @param message the message.
+     * @return the namespace and name or {@code null} if the message does not start with the topic.
+     */
+    @Nullable
+    static String entityKeyOf(final String message) {
+        if (!message.startsWith(TOPIC_PREFIX)) {
+            return null;
+        }
+        final int firstSlash = message.indexOf('/', TOPIC_PREFIX.length());
+        final int secondSlash = firstSlash < 0 ? -1 : message.indexOf('/', firstSlash + 1);
+        final int endOfTopic = message.indexOf('"', TOPIC_PREFIX.length());
+        if (secondSlash < 0 || endOfTopic < secondSlash) {
+            return null;
+        }
+        return message.substring(TOPIC_PREFIX.length(), secondSlash);
+    }
+
+    private static String commandOf(final String message) {
+        final int questionMark = message.indexOf('?');
+        return questionMark < 0 ? message : message.substring(0, questionMark);
+    }
+
+    private static Map<String, String> parametersOf(final String message) {
+        final int questionMark = message.indexOf('?');
+        final Map<String, String> parameters = new LinkedHashMap<>();
+        if (questionMark >= 0) {
+            for (final String parameter : message.substring(questionMark + 1).split("&")) {
+                final int equals = parameter.indexOf('=');
+                if (equals > 0) {
+                    parameters.put(urlDecode(parameter.substring(0, equals)),
+                            urlDecode(parameter.substring(equals + 1)));
+                } else if (!parameter.isEmpty()) {
+                    parameters.put(urlDecode(parameter), "");
+                }
+            }
+        }
+        return parameters;
+    }
+
+    private static List<String> splitNamespaces(final String namespaces) {
+        final List<String> result = new ArrayList<>();
+        for (final String namespace : namespaces.split(",")) {
+            final String trimmed = namespace.trim();
+            if (!trimmed.isEmpty() && !result.contains(trimmed)) {
+                result.add(trimmed);
+            }
+        }
+        return result;
+    }
+
+    private static String urlEncode(final String value) {
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException("Missing standard charset UTF 8 for encoding.", e);
+        }
+    }
+
+    private static String urlDecode(final String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException("Missing standard charset UTF 8 for decoding.", e);
+        }
+    }
+
+    /**
+     * Counts the acknowledgements of a split protocol command. Only accessed while computing its map entry.
+     */
+    private static final class MemberAcks {
+
+        // acknowledgements of commands sent to members dropped from a subscription, never published
+        private int ignored;
+        // acknowledgements still awaited before the acknowledgement of the split command is published
+        private int awaited;
+
+        private void ignoreOne() {
+            ignored++;
+        }
+
+        private void await(final int memberCount) {
+            awaited += memberCount;
+        }
+
+        private boolean onAck() {
+            if (ignored > 0) {
+                ignored--;
+                return false;
+            } else if (awaited > 1) {
+                awaited--;
+                return false;
+            } else {
+                awaited = 0;
+                return true;
+            }
+        }
+
+        private boolean isDone() {
+            return ignored == 0 && awaited == 0;
+        }
+    }
+
+}
@@ -16,7 +16,6 @@ import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
 
 import java.io.IOException;
 import java.net.UnknownHostException;
-import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
@@ -26,13 +25,16 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -45,17 +47,24 @@ import org.eclipse.ditto.base.model.common.HttpStatus;
 import org.eclipse.ditto.base.model.headers.DittoHeaderDefinition;
 import org.eclipse.ditto.client.configuration.AuthenticationConfiguration;
 import org.eclipse.ditto.client.configuration.DisconnectedContext;
+import org.eclipse.ditto.client.configuration.ExecutorConfiguration;
 import org.eclipse.ditto.client.configuration.MessagingConfiguration;
-import org.eclipse.ditto.client.internal.DefaultThreadFactory;
+import org.eclipse.ditto.client.configuration.WebSocketFrameConfiguration;
+import org.eclipse.ditto.client.internal.BinaryMessageFrame;
+import org.eclipse.ditto.client.internal.ExecutorFactory;
 import org.eclipse.ditto.client.internal.VersionReader;
 import org.eclipse.ditto.client.internal.bus.AdaptableBus;
 import org.eclipse.ditto.client.internal.bus.BusFactory;
 import org.eclipse.ditto.client.messaging.AuthenticationException;
 import org.eclipse.ditto.client.messaging.AuthenticationProvider;
+import org.eclipse.ditto.client.messaging.ConnectionListener;
 import org.eclipse.ditto.client.messaging.MessagingException;
 import org.eclipse.ditto.client.messaging.MessagingProvider;
+import org.eclipse.ditto.client.messaging.RequestLimiter;
+import org.eclipse.ditto.client.metrics.ClientMetrics;
 import org.eclipse.ditto.json.JsonCollectors;
 import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.protocol.Adaptable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -65,6 +74,7 @@ import com.neovisionaries.ws.client.WebSocket;
 import com.neovisionaries.ws.client.WebSocketAdapter;
 import com.neovisionaries.ws.client.WebSocketError;
 import com.neovisionaries.ws.client.WebSocketException;
+import com.neovisionaries.ws.client.WebSocketExtension;
 import com.neovisionaries.ws.client.WebSocketFactory;
 import com.neovisionaries.ws.client.WebSocketFrame;
 
@@ -85,6 +95,7 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
 
     private final AdaptableBus adaptableBus;
     private final MessagingConfiguration messagingConfiguration;
+    private final ClientMetrics clientMetrics;
     private final AuthenticationProvider<WebSocket> authenticationProvider;
     private final ExecutorService callbackExecutor;
     private final String sessionId;
@@ -93,9 +104,19 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
     private final AtomicBoolean reconnecting = new AtomicBoolean(false);
     private final AtomicBoolean initializing = new AtomicBoolean(false);
     private final AtomicBoolean explicitlyClosing = new AtomicBoolean(false);
+    private final AtomicBoolean connectionLost = new AtomicBoolean(false);
+    private final List<ConnectionListener> connectionListeners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connectAttempts = new AtomicInteger(0);
     private final CompletableFuture<WebSocket> initializationFuture = new CompletableFuture<>();
+    @Nullable private final PooledMessagingProvider pool;
 
     private final AtomicReference<WebSocket> webSocket;
+    @Nullable private final OutgoingMessageBuffer outgoingBuffer;
+    @Nullable private final RequestLimiter requestLimiter;
+    @Nullable private final ScheduledFuture<?> writeFlusher;
+    private volatile boolean buffering = false;
+    // whether the server of the current connection confirmed binary message frames in the opening handshake
+    private volatile boolean binaryFramesAccepted = false;
 
     private final DisconnectedContext.DisconnectionHandler disconnectionHandler;
 
@@ -113,20 +134,45 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
      * @param messagingConfiguration the specific configuration to apply.
      * @param authenticationProvider provider for the authentication method with which to open the websocket.
      * @param callbackExecutor the executor service to run callbacks with.
+     * @param sessionId the session ID to name threads and log messages with.
+     * @param pool the pool this provider is a connection of, which owns the bus, the authentication provider and the
+     * request limiter, or {@code null} if this provider owns them.
      */
     private WebSocketMessagingProvider(final AdaptableBus adaptableBus,
             final MessagingConfiguration messagingConfiguration,
             final AuthenticationProvider<WebSocket> authenticationProvider,
-            final ExecutorService callbackExecutor) {
+            final ExecutorService callbackExecutor,
+            final String sessionId,
+            @Nullable final PooledMessagingProvider pool) {
         this.adaptableBus = adaptableBus;
         this.messagingConfiguration = messagingConfiguration;
+        clientMetrics = messagingConfiguration.getClientMetrics();
         this.authenticationProvider = authenticationProvider;
         this.callbackExecutor = callbackExecutor;
+        this.sessionId = sessionId;
+        this.pool = pool;
 
-        sessionId = authenticationProvider.getConfiguration().getSessionId();
-        connectExecutor = createConnectExecutor(sessionId);
+        connectExecutor = createConnectExecutor(sessionId, messagingConfiguration.getExecutorConfiguration());
         subscriptionMessages = new ConcurrentHashMap<>();
         webSocket = new AtomicReference<>();
+        outgoingBuffer = messagingConfiguration.getOutgoingBufferConfiguration()
+                .map(config -> new OutgoingMessageBuffer(sessionId, config))
+                .orElse(null);
+        requestLimiter = pool != null ? null : messagingConfiguration.getRequestLimiterConfiguration()
+                .map(config -> AdaptiveRequestLimiter.of(config, callbackExecutor,
+                        adaptableBus.getScheduledExecutor(), messagingConfiguration.getTimeout()))
+                .orElse(null);
+        writeFlusher = messagingConfiguration.getWebSocketFrameConfiguration()
+                .getWriteCoalescingInterval()
+                .map(interval -> adaptableBus.getScheduledExecutor()
+                        .scheduleAtFixedRate(this::flushWrites, interval.toNanos(), interval.toNanos(),
+                                TimeUnit.NANOSECONDS))
+                .orElse(null);
+        if (pool == null && callbackExecutor instanceof ThreadPoolExecutor) {
+            final ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) callbackExecutor;
+            clientMetrics.bindExecutorQueueLength("callback-" + sessionId,
+                    () -> threadPoolExecutor.getQueue().size());
+        }
 
         channelCloser = () -> {};
         disconnectionHandler = new DisconnectedContext.DisconnectionHandler() {
@@ -152,9 +198,9 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         };
     }
 
-    private static ScheduledExecutorService createConnectExecutor(final String sessionId) {
-        return Executors.newScheduledThreadPool(0,
-                new DefaultThreadFactory("ditto-client-reconnect-" + sessionId));
+    private static ScheduledExecutorService createConnectExecutor(final String sessionId,
+            final ExecutorConfiguration executorConfiguration) {
+        return ExecutorFactory.newScheduledExecutorService("reconnect-" + sessionId, executorConfiguration);
     }
 
     /**
@@ -175,9 +221,25 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         checkNotNull(defaultExecutor, "defaultExecutor");
         checkNotNull(scheduledExecutor, "scheduledExecutor");
 
-        final AdaptableBus adaptableBus = BusFactory.createAdaptableBus(defaultExecutor, scheduledExecutor);
+        final AdaptableBus adaptableBus =
+                BusFactory.createAdaptableBus(defaultExecutor, scheduledExecutor, messagingConfiguration);
         return new WebSocketMessagingProvider(adaptableBus, messagingConfiguration, authenticationProvider,
-                defaultExecutor);
+                defaultExecutor, authenticationProvider.getConfiguration().getSessionId(), null);
+    }
+
+    /**
+     * Returns a new {@code WebSocketMessagingProvider} as connection of a pool sharing the bus, the authentication
+     * provider and the request limiter of the pool.
+     *
+     * @param pool the pool.
+     * @param memberIndex the index of the connection in the pool.
+     * @return the provider.
+     */
+    static WebSocketMessagingProvider newPoolMember(final PooledMessagingProvider pool, final int memberIndex) {
+        final AuthenticationProvider<WebSocket> authenticationProvider = pool.getAuthenticationProvider();
+        return new WebSocketMessagingProvider(pool.getAdaptableBus(), pool.getMessagingConfiguration(),
+                authenticationProvider, pool.getExecutorService(),
+                authenticationProvider.getConfiguration().getSessionId() + "-" + memberIndex, pool);
     }
 
     @Override
@@ -195,6 +257,11 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         return callbackExecutor;
     }
 
+    @Override
+    public Optional<RequestLimiter> getRequestLimiter() {
+        return Optional.ofNullable(requestLimiter);
+    }
+
     /**
      * Return the executor for reconnection.
      *
@@ -209,6 +276,21 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         return adaptableBus;
     }
 
+    /**
+     * Indicates whether messages are sent right away rather than buffered or discarded.
+     *
+     * @return whether the WebSocket is connected and no messages are buffered.
+     */
+    boolean isConnected() {
+        final WebSocket ws = webSocket.get();
+        return !buffering && ws != null && ws.isOpen();
+    }
+
+    @Override
+    public void addConnectionListener(final ConnectionListener listener) {
+        connectionListeners.add(checkNotNull(listener, "listener"));
+    }
+
     @Override
     public MessagingProvider registerSubscriptionMessage(final Object key, final String message) {
         subscriptionMessages.put(key, message);
@@ -250,6 +332,10 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
                     .toString();
             ws = webSocketFactory.createSocket(messagingConfiguration.getEndpointUri())
                     .addHeader(DittoHeaderDefinition.DECLARED_ACKS.getKey(), declaredAcksJsonArrayString);
+            if (messagingConfiguration.getWebSocketFrameConfiguration().isPerMessageDeflateEnabled()) {
+                // offered extensions are retained when the websocket is recreated
+                ws.addExtension(WebSocketExtension.PERMESSAGE_DEFLATE);
+            }
         } catch (final IOException e) {
             throw MessagingException.connectFailed(sessionId, e);
         }
@@ -268,11 +354,18 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
     private CompletionStage<WebSocket> initiateConnection(final WebSocket ws) {
         checkNotNull(ws, "ws");
 
+        final WebSocketFrameConfiguration frameConfiguration =
+                messagingConfiguration.getWebSocketFrameConfiguration();
         ws.addHeader("User-Agent", DITTO_CLIENT_USER_AGENT);
-        ws.setMaxPayloadSize(256 * 1024); // 256 KiB
+        if (messagingConfiguration.isBinaryMessagePayloadEnabled()) {
+            ws.addHeader(BinaryMessageFrame.CAPABILITY_HEADER, BinaryMessageFrame.CAPABILITY_VERSION);
+        }
+        ws.setMaxPayloadSize(frameConfiguration.getMaxPayloadSize());
         ws.setMissingCloseFrameAllowed(true);
-        ws.setFrameQueueSize(0);
-        ws.setPingInterval(CONNECTION_TIMEOUT_MS);
+        ws.setFrameQueueSize(frameConfiguration.getFrameQueueSize());
+        ws.setPingInterval(frameConfiguration.getPingInterval().toMillis());
+        // frames are flushed periodically by the writeFlusher if write coalescing is enabled
+        ws.setAutoFlush(writeFlusher == null);
         authenticationProvider.prepareAuthentication(ws);
         ws.addListener(this);
 
@@ -292,17 +385,116 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         sendToWebsocket(message);
     }
 
+    @Override
+    public boolean emitBinary(final byte[] frame) {
+        final WebSocket ws = webSocket.get();
+        if (binaryFramesAccepted && !buffering && ws != null && ws.isOpen()) {
+            LOGGER.debug("Client <{}>: Sending binary frame of <{}> bytes", sessionId, frame.length);
+            // sent frames are counted by onFrameSent, for text and binary frames alike
+            ws.sendBinary(frame);
+            return true;
+        }
+        // the outgoing buffer holds text messages only, and the server may not know binary message frames
+        return false;
+    }
+
     private void sendToWebsocket(final String stringMessage) {
         final WebSocket ws = webSocket.get();
-        if (ws != null && ws.isOpen()) {
+        if (!buffering && ws != null && ws.isOpen()) {
             LOGGER.debug("Client <{}>: Sending: {}", sessionId, stringMessage);
             ws.sendText(stringMessage);
+        } else if (outgoingBuffer != null && !explicitlyClosing.get()) {
+            sendOrBuffer(stringMessage);
         } else {
             LOGGER.error("Client <{}>: WebSocket is not connected - going to discard message '{}'",
                     sessionId, stringMessage);
         }
     }
 
+    private void sendOrBuffer(final String stringMessage) {
+        synchronized (outgoingBuffer) {
+            final WebSocket ws = webSocket.get();
+            if (!buffering && ws != null && ws.isOpen()) {
+                // the buffer was flushed in the meantime
+                LOGGER.debug("Client <{}>: Sending: {}", sessionId, stringMessage);
+                ws.sendText(stringMessage);
+            } else {
+                startBuffering();
+                if (outgoingBuffer.offer(stringMessage)) {
+                    LOGGER.debug("Client <{}>: WebSocket is not connected - buffering message '{}'", sessionId,
+                            stringMessage);
+                }
+            }
+        }
+    }
+
+    private void flushWrites() {
+        final WebSocket ws = webSocket.get();
+        if (ws != null && ws.isOpen()) {
+            ws.flush();
+        }
+    }
+
+    private void startBuffering() {
+        if (outgoingBuffer != null && !buffering) {
+            synchronized (outgoingBuffer) {
+                if (!buffering) {
+                    LOGGER.info("Client <{}>: Buffering outgoing messages until the WebSocket is connected again",
+                            sessionId);
+                    buffering = true;
+                    // requests held back by the buffer must not time out while the connection is interrupted, but
+                    // not wait for longer than the timeout once more either
+                    if (pool != null) {
+                        pool.onMemberBufferingStarted();
+                    } else {
+                        adaptableBus.suspendOneTimeSubscriptionTimeouts(messagingConfiguration.getTimeout());
+                    }
+                }
+            }
+        }
+    }
+
+    private void flushOutgoingBuffer(final WebSocket ws) {
+        if (outgoingBuffer != null && buffering) {
+            synchronized (outgoingBuffer) {
+                if (buffering && ws.isOpen()) {
+                    final int flushed = outgoingBuffer.drainTo(message -> {
+                        LOGGER.debug("Client <{}>: Sending buffered: {}", sessionId, message);
+                        ws.sendText(message);
+                    });
+                    LOGGER.info("Client <{}>: Sent <{}> messages buffered while the WebSocket was not connected",
+                            sessionId, flushed);
+                    buffering = false;
+                    if (pool != null) {
+                        pool.onMemberBufferingStopped();
+                    } else {
+                        adaptableBus.resumeOneTimeSubscriptionTimeouts();
+                    }
+                }
+            }
+        }
+    }
+
+    private void discardOutgoingBuffer() {
+        if (outgoingBuffer != null) {
+            synchronized (outgoingBuffer) {
+                final int discarded = outgoingBuffer.drainTo(message -> {});
+                if (discarded > 0) {
+                    LOGGER.info("Client <{}>: Discarded <{}> messages buffered while the WebSocket was not connected",
+                            sessionId, discarded);
+                }
+                if (buffering) {
+                    buffering = false;
+                    if (pool != null) {
+                        pool.onMemberBufferingStopped();
+                    } else {
+                        adaptableBus.resumeOneTimeSubscriptionTimeouts();
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public void close() {
         try {
@@ -316,8 +508,17 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
             // Scheduled tasks obtained from "shutdownNow" are useless because they overrides Runnable.run()
             // to NOT run when the parent executor was shut down.
             connectExecutor.shutdownNow();
-            authenticationProvider.destroy();
-            adaptableBus.shutdownExecutors();
+            if (writeFlusher != null) {
+                writeFlusher.cancel(false);
+            }
+            // buffered messages are never sent, e.g. if the connection was lost and reconnecting is not enabled
+            discardOutgoingBuffer();
+            if (pool == null) {
+                // the pool owns these resources of its connections
+                adaptableBus.failOneTimeSubscriptions(new IllegalStateException("The client was destroyed."));
+                authenticationProvider.destroy();
+                adaptableBus.shutdownExecutors();
+            }
             final WebSocket ws = webSocket.get();
             if (ws != null) {
                 ws.disconnect();
@@ -345,13 +546,28 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
 
     @Override
     public void onConnected(final WebSocket websocket, final Map<String, List<String>> headers) {
+        binaryFramesAccepted = messagingConfiguration.isBinaryMessagePayloadEnabled() &&
+                BinaryMessageFrame.isAcceptedBy(headers);
+        if (messagingConfiguration.isBinaryMessagePayloadEnabled() && !binaryFramesAccepted) {
+            LOGGER.info("Client <{}>: Server did not confirm binary message frames - sending messages as text",
+                    sessionId);
+        }
         callbackExecutor.execute(() -> {
             LOGGER.info("Client <{}>: WebSocket connection is established", sessionId);
 
             if (!subscriptionMessages.isEmpty()) {
                 LOGGER.info("Client <{}>: Subscribing again for messages from backend after reconnection",
                         sessionId);
-                subscriptionMessages.values().forEach(this::emit);
+                if (outgoingBuffer != null) {
+                    // send directly: the subscriptions must precede the buffered messages
+                    subscriptionMessages.values().forEach(websocket::sendText);
+                } else {
+                    subscriptionMessages.values().forEach(this::emit);
+                }
+            }
+            flushOutgoingBuffer(websocket);
+            if (connectionLost.getAndSet(false)) {
+                connectionListeners.forEach(ConnectionListener::onConnectionRestored);
             }
         });
     }
@@ -361,7 +577,13 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
             final WebSocketFrame clientCloseFrame,
             final boolean closedByServer) {
 
+        if (!explicitlyClosing.get()) {
+            startBuffering();
+        }
         callbackExecutor.execute(() -> {
+            if (!explicitlyClosing.get() && !connectionLost.getAndSet(true)) {
+                connectionListeners.forEach(ConnectionListener::onConnectionLost);
+            }
             if (closedByServer) {
                 LOGGER.info(
                         "Client <{}>: WebSocket connection to endpoint <{}> was closed by Server with code <{}> and " +
@@ -422,7 +644,13 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
             final Predicate<Throwable> isRecoverable =
                     retry ? WebSocketMessagingProvider::isRecoverable : exception -> false;
             return Retry.retryTo(actionName,
-                    () -> initiateConnection(webSocket.get()))
+                    () -> {
+                        // every attempt after the very first connection attempt of this provider is a reconnect
+                        if (connectAttempts.getAndIncrement() > 0) {
+                            clientMetrics.onReconnectAttempt();
+                        }
+                        return initiateConnection(webSocket.get());
+                    })
                     .inClientSession(sessionId)
                     .withExecutors(connectExecutor, callbackExecutor)
                     .notifyOnError(messagingConfiguration.getConnectionErrorHandler().orElse(null))
@@ -500,6 +728,8 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
                 LOGGER.error("Client <{}>: Error disconnecting a previous websocket", sessionId, exception);
             }
         }
+        // messages sent between onConnected and here were buffered because the old websocket was still set
+        flushOutgoingBuffer(webSocket);
     }
 
     private WebSocket recreateWebSocket() {
@@ -528,11 +758,37 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
         }
     }
 
+    @Override
+    public void onFrame(final WebSocket websocket, final WebSocketFrame frame) {
+        if (frame.isDataFrame()) {
+            clientMetrics.onFrameReceived(frame.getPayloadLength());
+        }
+    }
+
+    @Override
+    public void onFrameSent(final WebSocket websocket, final WebSocketFrame frame) {
+        if (frame.isDataFrame()) {
+            clientMetrics.onFrameSent(frame.getPayloadLength());
+        }
+    }
+
     @Override
     public void onBinaryMessage(final WebSocket websocket, final byte[] binary) {
-        final String stringMessage = new String(binary, StandardCharsets.UTF_8);
-        LOGGER.debug("Client <{}>: Received WebSocket byte array message <{}>, as string <{}> - don't know what to do" +
-                " with it!.", sessionId, binary, stringMessage);
+        final Optional<Adaptable> adaptable;
+        try {
+            adaptable = BinaryMessageFrame.decode(binary);
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Client <{}>: Received invalid WebSocket binary message frame: {}", sessionId, e.getMessage());
+            clientMetrics.onParseFailure();
+            return;
+        }
+        if (adaptable.isPresent()) {
+            LOGGER.debug("Client <{}>: Received WebSocket binary message frame <{}>", sessionId, adaptable.get());
+            adaptableBus.publishAdaptable(adaptable.get());
+        } else {
+            LOGGER.debug("Client <{}>: Received WebSocket byte array message of <{}> bytes - don't know what to do" +
+                    " with it!", sessionId, binary.length);
+        }
     }
 
     @Override
@@ -542,6 +798,10 @@ public final class WebSocketMessagingProvider extends WebSocketAdapter implement
     }
 
     private void handleIncomingMessage(final String message) {
+        if (pool != null && !pool.onMemberMessage(message)) {
+            LOGGER.debug("Client <{}>: Holding back acknowledgement <{}> of the pool", sessionId, message);
+            return;
+        }
         adaptableBus.publish(message);
     }
 
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.metrics;
+
+import java.util.Objects;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Snapshot of the statistics of a cache of the client.
+ *
+ * @since 2.2.0
+ */
+@Immutable
+public final class CacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long size;
+
+    private CacheStatistics(final long hitCount, final long missCount, final long evictionCount, final long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * Returns a new snapshot of cache statistics.
+     *
+     * @param hitCount the number of lookups which found a cached entry.
+     * @param missCount the number of lookups which did not find a cached entry.
+     * @param evictionCount the number of entries evicted because of the size bound or expiry.
+     * @param size the current number of entries.
+     * @return the statistics.
+     */
+    public static CacheStatistics of(final long hitCount, final long missCount, final long evictionCount,
+            final long size) {
+        return new CacheStatistics(hitCount, missCount, evictionCount, size);
+    }
+
+    /**
+     * @return the number of lookups which found a cached entry.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of lookups which did not find a cached entry.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the ratio of hits to all lookups or 1.0 if there were no lookups.
+     */
+    public double getHitRate() {
+        final long requestCount = hitCount + missCount;
+        return requestCount == 0L ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return the number of entries evicted because of the size bound or expiry.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the number of entries at the time of the snapshot.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CacheStatistics that = (CacheStatistics) o;
+        return hitCount == that.hitCount &&
+                missCount == that.missCount &&
+                evictionCount == that.evictionCount &&
+                size == that.size;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hitCount, missCount, evictionCount, size);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", size=" + size +
+                "]";
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.metrics;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Service provider interface to observe the messaging and bus layers of the client, e.g. to publish their metrics via
+ * a metrics library. The client invokes the callbacks on its hot paths, i.e. on the threads reading from and writing
+ * to the websocket; implementations must be thread-safe and must neither block nor throw.
+ * <p>
+ * All methods do nothing by default, so that implementations override only the callbacks they are interested in and
+ * new callbacks may be added without breaking them. {@link StripedClientMetrics} records all of them with striped
+ * counters.
+ * </p>
+ *
+ * @since 2.2.0
+ */
+public interface ClientMetrics {
+
+    /**
+     * Returns metrics which ignore all callbacks. This is the default if no metrics are configured.
+     *
+     * @return the no-op metrics.
+     */
+    static ClientMetrics noop() {
+        return NoopClientMetrics.INSTANCE;
+    }
+
+    /**
+     * Called for each data frame sent via the websocket.
+     *
+     * @param payloadBytes the length of the payload of the frame in bytes.
+     */
+    default void onFrameSent(final int payloadBytes) {
+        // no-op by default
+    }
+
+    /**
+     * Called for each data frame received via the websocket.
+     *
+     * @param payloadBytes the length of the payload of the frame in bytes.
+     */
+    default void onFrameReceived(final int payloadBytes) {
+        // no-op by default
+    }
+
+    /**
+     * Called for each received message which could not be parsed as Ditto protocol message.
+     */
+    default void onParseFailure() {
+        // no-op by default
+    }
+
+    /**
+     * Called for each one-time subscription for a message, e.g. for the response of a request, which timed out.
+     *
+     * @param classification the kind of message subscribed for, e.g. {@code CorrelationId} for responses.
+     */
+    default void onOneTimeSubscriptionTimeout(final String classification) {
+        // no-op by default
+    }
+
+    /**
+     * Called for each request which received its response.
+     *
+     * @param commandType the type of the command, e.g. {@code things.commands:modifyThing}.
+     * @param roundTripNanos the time from sending the command to receiving its response in nanoseconds.
+     */
+    default void onRoundTrip(final String commandType, final long roundTripNanos) {
+        // no-op by default
+    }
+
+    /**
+     * Called for each attempt to reconnect the websocket, including retries of a failed initial connection.
+     */
+    default void onReconnectAttempt() {
+        // no-op by default
+    }
+
+    /**
+     * Called once per kind of message as soon as the first subscriber for such messages subscribes.
+     *
+     * @param classification the kind of message subscribed for, e.g. {@code CorrelationId} for responses of
+     * requests in flight or {@code TWIN_EVENT} for twin events.
+     * @param subscriberCount supplies the current number of subscribers.
+     */
+    default void bindSubscriberCount(final String classification, final LongSupplier subscriberCount) {
+        // no-op by default
+    }
+
+    /**
+     * Called once per bus of the client as soon as it is created.
+     *
+     * @param inFlightRequestCount supplies the current number of requests awaiting their response.
+     */
+    default void bindInFlightRequestCount(final LongSupplier inFlightRequestCount) {
+        // no-op by default
+    }
+
+    /**
+     * Called once per executor of the client whose queue length can be observed.
+     *
+     * @param executorName the name of the executor.
+     * @param queueLength supplies the current number of tasks waiting for a thread.
+     */
+    default void bindExecutorQueueLength(final String executorName, final LongSupplier queueLength) {
+        // no-op by default
+    }
+
+    /**
+     * Called once per cache of the client, e.g. the cache of Thing and Feature handles.
+     *
+     * @param cacheName the name of the cache.
+     * @param statistics supplies a snapshot of the current statistics of the cache.
+     */
+    default void bindCacheStatistics(final String cacheName, final Supplier<CacheStatistics> statistics) {
+        // no-op by default
+    }
+
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.metrics;
+
+/**
+ * Metrics ignoring all callbacks.
+ *
+ * @since 2.2.0
+ */
+enum NoopClientMetrics implements ClientMetrics {
+
+    INSTANCE
+
+}
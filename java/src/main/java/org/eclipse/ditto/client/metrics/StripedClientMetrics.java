@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.metrics;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkArgument;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Records all callbacks of {@link ClientMetrics} in memory, e.g. to be read periodically by a metrics reporter.
+ * Counters are striped ({@link LongAdder}), so that recording does not contend even at full load; reading a counter
+ * sums its stripes.
+ *
+ * @since 2.2.0
+ */
+@ThreadSafe
+public final class StripedClientMetrics implements ClientMetrics {
+
+    private final LongAdder framesSent;
+    private final LongAdder bytesSent;
+    private final LongAdder framesReceived;
+    private final LongAdder bytesReceived;
+    private final LongAdder parseFailures;
+    private final LongAdder reconnectAttempts;
+    private final ConcurrentMap<String, LongAdder> oneTimeSubscriptionTimeouts;
+    private final ConcurrentMap<String, LatencyHistogram> roundTrips;
+    private final ConcurrentMap<String, LongSupplier> subscriberCounts;
+    private final ConcurrentMap<String, LongSupplier> executorQueueLengths;
+    private final List<LongSupplier> inFlightRequestCounts;
+    private final ConcurrentMap<String, Supplier<CacheStatistics>> cacheStatistics;
+
+    private StripedClientMetrics() {
+        framesSent = new LongAdder();
+        bytesSent = new LongAdder();
+        framesReceived = new LongAdder();
+        bytesReceived = new LongAdder();
+        parseFailures = new LongAdder();
+        reconnectAttempts = new LongAdder();
+        oneTimeSubscriptionTimeouts = new ConcurrentHashMap<>();
+        roundTrips = new ConcurrentHashMap<>();
+        subscriberCounts = new ConcurrentHashMap<>();
+        executorQueueLengths = new ConcurrentHashMap<>();
+        inFlightRequestCounts = new CopyOnWriteArrayList<>();
+        cacheStatistics = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns new metrics with all counters at zero.
+     *
+     * @return the metrics.
+     */
+    public static StripedClientMetrics newInstance() {
+        return new StripedClientMetrics();
+    }
+
+    @Override
+    public void onFrameSent(final int payloadBytes) {
+        framesSent.increment();
+        bytesSent.add(payloadBytes);
+    }
+
+    @Override
+    public void onFrameReceived(final int payloadBytes) {
+        framesReceived.increment();
+        bytesReceived.add(payloadBytes);
+    }
+
+    @Override
+    public void onParseFailure() {
+        parseFailures.increment();
+    }
+
+    @Override
+    public void onOneTimeSubscriptionTimeout(final String classification) {
+        oneTimeSubscriptionTimeouts.computeIfAbsent(classification, c -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void onRoundTrip(final String commandType, final long roundTripNanos) {
+        LatencyHistogram histogram = roundTrips.get(commandType);
+        if (histogram == null) {
+            histogram = roundTrips.computeIfAbsent(commandType, t -> new LatencyHistogram());
+        }
+        histogram.record(roundTripNanos);
+    }
+
+    @Override
+    public void onReconnectAttempt() {
+        reconnectAttempts.increment();
+    }
+
+    @Override
+    public void bindSubscriberCount(final String classification, final LongSupplier subscriberCount) {
+        subscriberCounts.put(classification, subscriberCount);
+    }
+
+    @Override
+    public void bindInFlightRequestCount(final LongSupplier inFlightRequestCount) {
+        inFlightRequestCounts.add(inFlightRequestCount);
+    }
+
+    @Override
+    public void bindExecutorQueueLength(final String executorName, final LongSupplier queueLength) {
+        executorQueueLengths.put(executorName, queueLength);
+    }
+
+    @Override
+    public void bindCacheStatistics(final String cacheName, final Supplier<CacheStatistics> statistics) {
+        cacheStatistics.put(cacheName, statistics);
+    }
+
+    /**
+     * @return the number of data frames sent.
+     */
+    public long getFramesSent() {
+        return framesSent.sum();
+    }
+
+    /**
+     * @return the number of payload bytes of the data frames sent.
+     */
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    /**
+     * @return the number of data frames received.
+     */
+    public long getFramesReceived() {
+        return framesReceived.sum();
+    }
+
+    /**
+     * @return the number of payload bytes of the data frames received.
+     */
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    /**
+     * @return the number of received messages which could not be parsed.
+     */
+    public long getParseFailures() {
+        return parseFailures.sum();
+    }
+
+    /**
+     * @return the number of attempts to reconnect the websocket.
+     */
+    public long getReconnectAttempts() {
+        return reconnectAttempts.sum();
+    }
+
+    /**
+     * @return the number of timed out one-time subscriptions by the kind of message subscribed for.
+     */
+    public Map<String, Long> getOneTimeSubscriptionTimeouts() {
+        final Map<String, Long> result = new LinkedHashMap<>();
+        oneTimeSubscriptionTimeouts.forEach((classification, count) -> result.put(classification, count.sum()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * @return the round-trip times of requests by command type.
+     */
+    public Map<String, LatencyHistogram> getRoundTrips() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(roundTrips));
+    }
+
+    /**
+     * @return the current number of subscribers by the kind of message subscribed for.
+     */
+    public Map<String, Long> getSubscriberCounts() {
+        return readGauges(subscriberCounts);
+    }
+
+    /**
+     * @return the current number of requests awaiting their response, summed over all buses bound.
+     */
+    public long getInFlightRequests() {
+        long inFlightRequests = 0L;
+        for (final LongSupplier inFlightRequestCount : inFlightRequestCounts) {
+            inFlightRequests += inFlightRequestCount.getAsLong();
+        }
+        return inFlightRequests;
+    }
+
+    /**
+     * @return the current number of tasks waiting for a thread by executor name.
+     */
+    public Map<String, Long> getExecutorQueueLengths() {
+        return readGauges(executorQueueLengths);
+    }
+
+    /**
+     * @return the current statistics by cache name.
+     */
+    public Map<String, CacheStatistics> getCacheStatistics() {
+        final Map<String, CacheStatistics> result = new LinkedHashMap<>();
+        cacheStatistics.forEach((name, statistics) -> result.put(name, statistics.get()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static Map<String, Long> readGauges(final Map<String, LongSupplier> gauges) {
+        final Map<String, Long> result = new LinkedHashMap<>();
+        gauges.forEach((name, gauge) -> result.put(name, gauge.getAsLong()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "framesSent=" + framesSent +
+                ", bytesSent=" + bytesSent +
+                ", framesReceived=" + framesReceived +
+                ", bytesReceived=" + bytesReceived +
+                ", parseFailures=" + parseFailures +
+                ", reconnectAttempts=" + reconnectAttempts +
+                ", oneTimeSubscriptionTimeouts=" + getOneTimeSubscriptionTimeouts() +
+                ", roundTrips=" + roundTrips +
+                ", subscriberCounts=" + getSubscriberCounts() +
+                ", inFlightRequests=" + getInFlightRequests() +
+                ", executorQueueLengths=" + getExecutorQueueLengths() +
+                ", cacheStatistics=" + getCacheStatistics() +
+                "]";
+    }
+
+    /**
+     * Histogram of latencies in buckets of powers of 2 nanoseconds, so that percentiles are exact up to a factor of 2.
+     */
+    @ThreadSafe
+    public static final class LatencyHistogram {
+
+        private static final int BUCKETS = Long.SIZE + 1;
+
+        private final LongAdder[] buckets;
+        private final LongAdder count;
+        private final LongAdder totalNanos;
+        private final LongAccumulator maxNanos;
+
+        private LatencyHistogram() {
+            buckets = new LongAdder[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+            count = new LongAdder();
+            totalNanos = new LongAdder();
+            maxNanos = new LongAccumulator(Math::max, 0L);
+        }
+
+        private void record(final long nanos) {
+            final long value = Math.max(0L, nanos);
+            // bucket i > 0 holds the values in [2^(i-1), 2^i)
+            buckets[Long.SIZE - Long.numberOfLeadingZeros(value)].increment();
+            count.increment();
+            totalNanos.add(value);
+            maxNanos.accumulate(value);
+        }
+
+        /**
+         * @return the number of recorded latencies.
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * @return the sum of the recorded latencies in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        /**
+         * @return the maximum recorded latency in nanoseconds.
+         */
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        /**
+         * Returns an upper bound of the latency below which the given fraction of the recorded latencies lies. The
+         * bound is at most twice the exact percentile.
+         *
+         * @param fraction the fraction between 0 and 1, e.g. 0.99 for the 99th percentile.
+         * @return the upper bound in nanoseconds or 0 if nothing was recorded.
+         * @throws IllegalArgumentException if {@code fraction} is not between 0 and 1.
+         */
+        public long getPercentileNanos(final double fraction) {
+            checkArgument(fraction, f -> f >= 0.0 && f <= 1.0, () -> "The fraction must be between 0 and 1.");
+            final long[] counts = new long[BUCKETS];
+            long total = 0L;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+            final long rank = (long) Math.ceil(fraction * total);
+            long seen = 0L;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank && seen > 0) {
+                    final long bucketUpperBound = i == 0 ? 0L : (i == Long.SIZE ? Long.MAX_VALUE : (1L << i) - 1);
+                    return Math.min(bucketUpperBound, getMaxNanos());
+                }
+            }
+            return 0L;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " [" +
+                    "count=" + count +
+                    ", totalNanos=" + totalNanos +
+                    ", maxNanos=" + maxNanos +
+                    "]";
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.metrics;
+
+import java.util.Objects;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Snapshot of the statistics of the local cache of Things kept up to date by twin events, including how often cached
+ * Things became stale.
+ *
+ * @since 2.2.0
+ */
+@Immutable
+public final class ThingCacheStatistics {
+
+    private final CacheStatistics cacheStatistics;
+    private final long weight;
+    private final long staleCount;
+    private final long invalidationCount;
+
+    private ThingCacheStatistics(final CacheStatistics cacheStatistics, final long weight, final long staleCount,
+            final long invalidationCount) {
+        this.cacheStatistics = cacheStatistics;
+        this.weight = weight;
+        this.staleCount = staleCount;
+        this.invalidationCount = invalidationCount;
+    }
+
+    /**
+     * Returns a new snapshot of Thing cache statistics.
+     *
+     * @param cacheStatistics the statistics common to all caches of the client.
+     * @param weight the current total weight of the entries.
+     * @param staleCount the number of entries dropped because an event revealed a gap in their revisions or could
+     * not be applied to them.
+     * @param invalidationCount the number of times all entries were dropped because events might have been missed.
+     * @return the statistics.
+     * @throws NullPointerException if {@code cacheStatistics} is {@code null}.
+     */
+    public static ThingCacheStatistics of(final CacheStatistics cacheStatistics, final long weight,
+            final long staleCount, final long invalidationCount) {
+        return new ThingCacheStatistics(Objects.requireNonNull(cacheStatistics, "cacheStatistics"), weight,
+                staleCount, invalidationCount);
+    }
+
+    /**
+     * @return the statistics common to all caches of the client.
+     */
+    public CacheStatistics getCacheStatistics() {
+        return cacheStatistics;
+    }
+
+    /**
+     * @return the ratio of retrieves answered from the cache to all retrieves or 1.0 if there were none.
+     */
+    public double getHitRate() {
+        return cacheStatistics.getHitRate();
+    }
+
+    /**
+     * @return the total length of the JSON string representations of the cached Things at the time of the snapshot.
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return the number of entries dropped because an event revealed a gap in their revisions or could not be
+     * applied to them.
+     */
+    public long getStaleCount() {
+        return staleCount;
+    }
+
+    /**
+     * @return the number of times all entries were dropped because the connection was lost or the consumption of
+     * twin events changed.
+     */
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ThingCacheStatistics that = (ThingCacheStatistics) o;
+        return weight == that.weight &&
+                staleCount == that.staleCount &&
+                invalidationCount == that.invalidationCount &&
+                cacheStatistics.equals(that.cacheStatistics);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cacheStatistics, weight, staleCount, invalidationCount);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" +
+                "cacheStatistics=" + cacheStatistics +
+                ", weight=" + weight +
+                ", staleCount=" + staleCount +
+                ", invalidationCount=" + invalidationCount +
+                "]";
+    }
+
+}
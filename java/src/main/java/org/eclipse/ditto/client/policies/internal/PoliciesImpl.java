@@ -19,9 +19,11 @@ import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.eclipse.ditto.client.internal.AbstractHandle;
 import org.eclipse.ditto.client.internal.OutgoingMessageFactory;
+import org.eclipse.ditto.client.internal.ResponseCache;
 import org.eclipse.ditto.client.internal.bus.PointerBus;
 import org.eclipse.ditto.client.messaging.MessagingProvider;
 import org.eclipse.ditto.client.options.Option;
@@ -52,6 +54,7 @@ public final class PoliciesImpl extends AbstractHandle implements Policies {
 
     private final OutgoingMessageFactory outgoingMessageFactory;
     private final PointerBus bus;
+    @Nullable private final ResponseCache responseCache;
 
     public PoliciesImpl(final MessagingProvider messagingProvider,
             final OutgoingMessageFactory outgoingMessageFactory,
@@ -59,6 +62,15 @@ public final class PoliciesImpl extends AbstractHandle implements Policies {
         super(messagingProvider, TopicPath.Channel.NONE);
         this.outgoingMessageFactory = outgoingMessageFactory;
         this.bus = bus;
+        responseCache = messagingProvider.getMessagingConfiguration()
+                .getResponseCacheConfiguration()
+                .map(config -> ResponseCache.of(config, outgoingMessageFactory))
+                .orElse(null);
+        if (responseCache != null) {
+            messagingProvider.getMessagingConfiguration()
+                    .getClientMetrics()
+                    .bindCacheStatistics("policies-responses", responseCache::getStatistics);
+        }
     }
 
     /**
@@ -143,7 +155,14 @@ public final class PoliciesImpl extends AbstractHandle implements Policies {
     @Override
     public CompletionStage<Policy> retrieve(PolicyId policyId) {
         final RetrievePolicy command = outgoingMessageFactory.retrievePolicy(policyId);
-        return askPolicyCommand(command, RetrievePolicyResponse.class, RetrievePolicyResponse::getPolicy);
+        if (responseCache == null) {
+            return askPolicyCommand(command, RetrievePolicyResponse.class, RetrievePolicyResponse::getPolicy);
+        }
+        // policy events are not consumed, so cached policies are only revalidated by their entity tag
+        return responseCache.retrieve(policyId, command, null, RetrievePolicyResponse.class,
+                RetrievePolicyResponse::getPolicy,
+                (commandToSend, onResponse) -> askPolicyCommand(commandToSend, RetrievePolicyResponse.class,
+                        onResponse));
     }
 
     private static void assertThatPolicyHasId(final Policy policy) {
@@ -13,11 +13,11 @@
 package org.eclipse.ditto.client.streaming;
 
 import java.time.Duration;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.eclipse.ditto.client.internal.SerialExecutor;
 import org.eclipse.ditto.client.internal.bus.AdaptableBus;
 import org.eclipse.ditto.client.internal.bus.Classification;
 import org.eclipse.ditto.client.messaging.MessagingProvider;
@@ -52,7 +52,7 @@ public final class ThingSearchSubscription implements Subscription {
     private final Subscriber<? super SubscriptionHasNextPage> subscriber;
     private final AtomicBoolean cancelled;
     private final AtomicReference<AdaptableBus.SubscriptionId> busSubscription;
-    private final ExecutorService singleThreadedExecutorService;
+    private final Executor serialExecutor;
 
     private ThingSearchSubscription(final String subscriptionId,
             final ProtocolAdapter protocolAdapter,
@@ -65,8 +65,8 @@ public final class ThingSearchSubscription implements Subscription {
         cancelled = new AtomicBoolean(false);
         busSubscription = new AtomicReference<>();
 
-        // not shutdown to handle queued messages; will be shutdown by garbage collector
-        singleThreadedExecutorService = Executors.newSingleThreadExecutor();
+        // runs on the executor of the messaging provider so that subscriptions do not need threads of their own
+        serialExecutor = new SerialExecutor(messagingProvider.getExecutorService());
     }
 
     /**
@@ -93,7 +93,7 @@ public final class ThingSearchSubscription implements Subscription {
     // called by subscriber
     @Override
     public void request(final long n) {
-        singleThreadedExecutorService.submit(() -> {
+        serialExecutor.execute(() -> {
             if (n <= 0) {
                 doCancel();
                 subscriber.onError(new IllegalArgumentException("Expect positive demand, got: " + n));
@@ -111,7 +111,7 @@ public final class ThingSearchSubscription implements Subscription {
     // called by subscriber
     @Override
     public void cancel() {
-        singleThreadedExecutorService.submit(this::doCancel);
+        serialExecutor.execute(this::doCancel);
     }
 
     private void doCancel() {
@@ -123,7 +123,7 @@ public final class ThingSearchSubscription implements Subscription {
 
     // called by bus
     private void onTimeout(final Throwable timeoutError) {
-        singleThreadedExecutorService.submit(() -> {
+        serialExecutor.execute(() -> {
             if (!cancelled.getAndSet(true)) {
                 // bus subscription already cancelled
                 // trust back-end to free resources on its own
@@ -134,7 +134,7 @@ public final class ThingSearchSubscription implements Subscription {
 
     // called by bus
     private void onNext(final Adaptable adaptable) {
-        singleThreadedExecutorService.submit(() -> {
+        serialExecutor.execute(() -> {
             LOGGER.trace("Received from bus: <{}>", adaptable);
             handleAdaptable(adaptable);
         });
@@ -13,6 +13,7 @@
 package org.eclipse.ditto.client.twin;
 
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
@@ -95,4 +96,41 @@ public interface SearchQueryBuilder {
      * @return this builder.
      */
     SearchQueryBuilder demand(int n);
+
+    /**
+     * Set the maximum number of pages to buffer at the client side per search subscription when consuming the
+     * results with {@link TwinSearchHandle#parallelStream(java.util.function.Consumer)}.
+     * The number of pages requested ahead starts at the initial demand, grows while the consumer waits for pages
+     * and shrinks while pages wait for the consumer.
+     * Must be at least the initial demand. Default is four times the initial demand.
+     *
+     * @param n the maximum number of pages to buffer at the client side.
+     * @return this builder.
+     * @since 2.2.0
+     */
+    SearchQueryBuilder maxPrefetch(int n);
+
+    /**
+     * Set the executor on which the items of the pages are converted when consuming the results with
+     * {@link TwinSearchHandle#parallelStream(java.util.function.Consumer)}.
+     * Default is the executor of the client for callbacks.
+     *
+     * @param executor the executor to convert the items of the pages on.
+     * @return this builder.
+     * @since 2.2.0
+     */
+    SearchQueryBuilder conversionExecutor(Executor executor);
+
+    /**
+     * Set the number of search subscriptions to run at the same time when consuming the results with
+     * {@link TwinSearchHandle#parallelStream(java.util.function.Consumer)}. Each subscription searches a disjoint
+     * subset of the namespaces restricting the search and pages through its results with its own cursor, so at most
+     * one subscription per namespace is created and a search without namespaces is never partitioned.
+     * Must be 1 or more. Default is 1.
+     *
+     * @param n the number of search subscriptions to run at the same time.
+     * @return this builder.
+     * @since 2.2.0
+     */
+    SearchQueryBuilder partitions(int n);
 }
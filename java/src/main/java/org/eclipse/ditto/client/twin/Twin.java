@@ -12,9 +12,11 @@
  */
 package org.eclipse.ditto.client.twin;
 
+import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 
 import org.eclipse.ditto.client.management.CommonManagement;
+import org.eclipse.ditto.client.metrics.ThingCacheStatistics;
 import org.eclipse.ditto.client.options.Option;
 
 /**
@@ -56,4 +58,13 @@ public interface Twin extends CommonManagement<TwinThingHandle, TwinFeatureHandl
      */
     TwinSearchHandle search();
 
+    /**
+     * Returns the statistics of the local cache of Things answering {@code forId(thingId).retrieve()}, which is
+     * enabled by a {@link org.eclipse.ditto.client.configuration.ThingCacheConfiguration}.
+     *
+     * @return the statistics or an empty optional if Things are not cached.
+     * @since 2.2.0
+     */
+    Optional<ThingCacheStatistics> getThingCacheStatistics();
+
 }
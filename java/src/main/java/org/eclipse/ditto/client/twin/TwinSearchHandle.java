@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+import org.eclipse.ditto.client.management.ThingDecoder;
 import org.eclipse.ditto.things.model.Thing;
 import org.reactivestreams.Publisher;
 
@@ -60,4 +61,63 @@ public interface TwinSearchHandle {
      * @return a stream over things matching the query.
      */
     Stream<Thing> stream(Consumer<SearchQueryBuilder> querySpecifier);
+
+    /**
+     * Search for things and iterate over results with a parallel stream.
+     * Other than {@link #stream(java.util.function.Consumer)}, pages are requested ahead according to how fast they
+     * are consumed, the items of each page are converted on an executor as soon as the page arrives, and each
+     * thread consuming the stream takes whole pages, so that consumers do not contend per item.
+     * Several search subscriptions covering disjoint sets of namespaces run at the same time if
+     * {@link SearchQueryBuilder#partitions(int)} is set.
+     * <p>
+     * The encounter order of the results is not defined.
+     * Error handling is the same as that of {@link #stream(java.util.function.Consumer)}.
+     * Closing the stream cancels the search.
+     *
+     * @param querySpecifier the consumer to specify the search query.
+     * @return a parallel stream over things matching the query.
+     * @since 2.2.0
+     */
+    Stream<Thing> parallelStream(Consumer<SearchQueryBuilder> querySpecifier);
+
+    /**
+     * Search for things and publish each page of search result decoded by the given decoder.
+     * Combined with {@link SearchQueryBuilder#fields(String)}, this avoids building a {@link Thing} for each result
+     * when only some fields are of interest.
+     *
+     * @param querySpecifier the consumer to specify the search query.
+     * @param decoder decodes each search result.
+     * @param <T> the type of the decoded search results.
+     * @return a publisher of the decoded search results.
+     * @see #publisher(java.util.function.Consumer)
+     * @since 2.2.0
+     */
+    <T> Publisher<List<T>> publisher(Consumer<SearchQueryBuilder> querySpecifier, ThingDecoder<T> decoder);
+
+    /**
+     * Search for things and iterate over the search results decoded by the given decoder.
+     * Combined with {@link SearchQueryBuilder#fields(String)}, this avoids building a {@link Thing} for each result
+     * when only some fields are of interest.
+     *
+     * @param querySpecifier the consumer to specify the search query.
+     * @param decoder decodes each search result.
+     * @param <T> the type of the decoded search results.
+     * @return a stream over the decoded search results.
+     * @see #stream(java.util.function.Consumer)
+     * @since 2.2.0
+     */
+    <T> Stream<T> stream(Consumer<SearchQueryBuilder> querySpecifier, ThingDecoder<T> decoder);
+
+    /**
+     * Search for things and iterate over the search results decoded by the given decoder with a parallel stream.
+     * The search results are decoded on the conversion executor.
+     *
+     * @param querySpecifier the consumer to specify the search query.
+     * @param decoder decodes each search result.
+     * @param <T> the type of the decoded search results.
+     * @return a parallel stream over the decoded search results.
+     * @see #parallelStream(java.util.function.Consumer)
+     * @since 2.2.0
+     */
+    <T> Stream<T> parallelStream(Consumer<SearchQueryBuilder> querySpecifier, ThingDecoder<T> decoder);
 }
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.twin.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.client.messaging.ConnectionListener;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.signals.events.ThingCreated;
+import org.eclipse.ditto.things.model.signals.events.ThingDeleted;
+import org.eclipse.ditto.things.model.signals.events.ThingEvent;
+
+/**
+ * Tracks the revision of the last consumed twin event of each Thing to find the Things whose events might have been
+ * missed, and coordinates their resynchronization.
+ * <ul>
+ * <li>A Thing becomes pending when the revision of a consumed event does not directly follow the tracked one, unless
+ * gap detection is disabled or the consumed events are restricted, and all tracked Things become pending when a lost
+ * connection is restored. The passed callback is run whenever Things became pending.</li>
+ * <li>At most one resynchronization is in progress at any time. It takes all pending Things; Things becoming pending in
+ * the meantime are resynchronized by the next one.</li>
+ * <li>A retrieved Thing is reported to the handlers only if no event of a later revision was consumed while it was
+ * retrieved; otherwise it becomes pending again, because the handlers already received a newer partial change.</li>
+ * </ul>
+ * Least recently changed Things are no longer tracked beyond the maximum number of tracked Things.
+ *
+ * @since 2.2.0
+ */
+@ThreadSafe
+final class RevisionTracker implements ConnectionListener {
+
+    private final int maximumTrackedThings;
+    private final boolean gapDetection;
+    private final Runnable onPending;
+    private final LinkedHashMap<ThingId, Long> revisions;
+    private final Set<ThingId> pending;
+    @Nullable private Map<ThingId, Long> resyncing;
+    private boolean consumingAllEvents;
+
+    private RevisionTracker(final int maximumTrackedThings, final boolean gapDetection, final Runnable onPending) {
+        this.maximumTrackedThings = maximumTrackedThings;
+        this.gapDetection = gapDetection;
+        this.onPending = onPending;
+        revisions = new LinkedHashMap<>();
+        pending = new LinkedHashSet<>();
+        resyncing = null;
+        consumingAllEvents = true;
+    }
+
+    /**
+     * Create a tracker.
+     *
+     * @param maximumTrackedThings the maximum number of tracked Things.
+     * @param gapDetection whether Things become pending on a gap in the revisions of their events.
+     * @param onPending what to do when Things became pending, usually starting a resynchronization.
+     * @return the tracker.
+     */
+    static RevisionTracker of(final int maximumTrackedThings, final boolean gapDetection,
+            final Runnable onPending) {
+        return new RevisionTracker(maximumTrackedThings, gapDetection, onPending);
+    }
+
+    /**
+     * Detects gaps only if all twin events are consumed after the consumption was started.
+     *
+     * @param restricted whether only twin events matching a filter or of certain namespaces are consumed, so that
+     * revisions are skipped by design.
+     */
+    synchronized void onConsumptionStarted(final boolean restricted) {
+        consumingAllEvents = !restricted;
+    }
+
+    /**
+     * Records the revision of a consumed event.
+     *
+     * @param event the event.
+     */
+    void observe(final ThingEvent<?> event) {
+        if (record(event)) {
+            onPending.run();
+        }
+    }
+
+    @Override
+    public void onConnectionLost() {
+        // a resynchronization in progress fails; all Things become pending once the connection is restored
+    }
+
+    @Override
+    public void onConnectionRestored() {
+        final boolean anyPending;
+        synchronized (this) {
+            pending.addAll(revisions.keySet());
+            anyPending = !pending.isEmpty();
+        }
+        if (anyPending) {
+            onPending.run();
+        }
+    }
+
+    /**
+     * Takes all pending Things unless a resynchronization is in progress.
+     *
+     * @return the Things to resynchronize or an empty optional if there are none or a resynchronization is in
+     * progress.
+     */
+    synchronized Optional<Collection<ThingId>> startResync() {
+        if (resyncing != null || pending.isEmpty()) {
+            return Optional.empty();
+        }
+        resyncing = new HashMap<>();
+        for (final ThingId thingId : pending) {
+            resyncing.put(thingId, revisions.get(thingId));
+        }
+        pending.clear();
+        return Optional.of(new ArrayList<>(resyncing.keySet()));
+    }
+
+    /**
+     * Records the revision of a retrieved Thing.
+     *
+     * @param thingId the ID of the Thing.
+     * @param revision the revision of the retrieved Thing or {@code null} if it is unknown.
+     * @return the revision to report the retrieved Thing with to the handlers, i.e. the tracked one if the retrieved
+     * one is unknown, or an empty optional if it is not to be reported.
+     */
+    synchronized OptionalLong completeResync(final ThingId thingId, @Nullable final Long revision) {
+        if (resyncing == null || !resyncing.containsKey(thingId)) {
+            return OptionalLong.empty();
+        }
+        final Long tracked = revisions.get(thingId);
+        if (revision == null) {
+            return tracked != null ? OptionalLong.of(tracked) : OptionalLong.empty();
+        } else if (tracked != null && tracked > revision) {
+            pending.add(thingId);
+            return OptionalLong.empty();
+        } else {
+            put(thingId, revision);
+            return OptionalLong.of(revision);
+        }
+    }
+
+    /**
+     * Stops tracking a Thing which could not be retrieved.
+     *
+     * @param thingId the ID of the Thing.
+     * @return the tracked revision of the Thing if it is to be reported as deleted to the handlers, or an empty
+     * optional if an event of it was consumed while it was retrieved.
+     */
+    synchronized Optional<Long> completeResyncOfMissing(final ThingId thingId) {
+        if (resyncing == null || !resyncing.containsKey(thingId)) {
+            return Optional.empty();
+        }
+        final Long tracked = revisions.get(thingId);
+        if (tracked == null || !Objects.equals(tracked, resyncing.get(thingId))) {
+            return Optional.empty();
+        }
+        revisions.remove(thingId);
+        return Optional.of(tracked);
+    }
+
+    /**
+     * Ends the resynchronization in progress.
+     *
+     * @param failed whether not all Things could be retrieved, so that all of them become pending again without
+     * starting another resynchronization right away.
+     * @return whether Things are pending and another resynchronization should be started.
+     */
+    synchronized boolean finishResync(final boolean failed) {
+        if (failed && resyncing != null) {
+            for (final ThingId thingId : resyncing.keySet()) {
+                if (revisions.containsKey(thingId)) {
+                    pending.add(thingId);
+                }
+            }
+        }
+        resyncing = null;
+        return !failed && !pending.isEmpty();
+    }
+
+    /**
+     * @return the number of tracked Things.
+     */
+    synchronized int size() {
+        return revisions.size();
+    }
+
+    private synchronized boolean record(final ThingEvent<?> event) {
+        final ThingId thingId = event.getEntityId();
+        final long revision = event.getRevision();
+        if (event instanceof ThingDeleted) {
+            revisions.remove(thingId);
+            pending.remove(thingId);
+            return false;
+        }
+        final Long tracked = revisions.get(thingId);
+        if (tracked == null || event instanceof ThingCreated) {
+            put(thingId, revision);
+            return false;
+        } else if (revision > tracked + 1 && gapDetection && consumingAllEvents) {
+            put(thingId, revision);
+            return pending.add(thingId);
+        } else {
+            put(thingId, Math.max(tracked, revision));
+            return false;
+        }
+    }
+
+    private void put(final ThingId thingId, final long revision) {
+        // re-insert to keep the Things in the order of their last change
+        revisions.remove(thingId);
+        revisions.put(thingId, revision);
+        final Iterator<ThingId> leastRecentlyChanged = revisions.keySet().iterator();
+        while (revisions.size() > maximumTrackedThings) {
+            pending.remove(leastRecentlyChanged.next());
+            leastRecentlyChanged.remove();
+        }
+    }
+
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.twin.internal;
+
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.thingsearch.model.signals.events.SubscriptionHasNextPage;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Prefetches the pages of one or more search subscriptions and offers their items as a parallel stream.
+ * <ul>
+ * <li>The number of pages requested ahead per subscription adapts to the throughput of the consumer: it doubles
+ * whenever the consumer has to wait for a page, up to a maximum, and shrinks by one page whenever more pages than
+ * requested ahead are waiting to be consumed, down to the initial demand.</li>
+ * <li>The items of each page are converted on an executor as soon as the page arrives, so that several pages are
+ * converted in parallel and not on the consuming thread.</li>
+ * <li>Each split of the stream takes whole pages and consumes their items from a buffer of its own, so that parallel
+ * consumers contend once per page and not once per item.</li>
+ * </ul>
+ *
+ * @param <T> the type of the items.
+ * @since 2.2.0
+ */
+@ThreadSafe
+final class SearchPagePrefetcher<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SearchPagePrefetcher.class);
+
+    private final Function<SubscriptionHasNextPage, List<T>> converter;
+    private final Executor conversionExecutor;
+    private final long timeoutMillis;
+    private final int minDemand;
+    private final int maxDemand;
+    private final int batchSize;
+    private final int maxSplits;
+    private final BlockingQueue<Page<T>> pages;
+    private final List<PartitionSubscriber> partitions;
+    private final AtomicInteger activePartitions;
+    private final AtomicInteger splits;
+    private final AtomicBoolean cancelled;
+
+    @GuardedBy("this") private int targetDemand;
+
+    private SearchPagePrefetcher(final Function<SubscriptionHasNextPage, List<T>> converter,
+            final Executor conversionExecutor,
+            final Duration timeout,
+            final int initialDemand,
+            final int maxDemand,
+            final int demand,
+            final int partitionCount) {
+        this.converter = converter;
+        this.conversionExecutor = conversionExecutor;
+        timeoutMillis = Math.max(1L, timeout.toMillis());
+        minDemand = initialDemand;
+        this.maxDemand = maxDemand;
+        batchSize = Math.min(demand, initialDemand);
+        // more consumers than pages buffered in total or than processors would merely wait for each other
+        maxSplits = Math.max(1, Math.min(maxDemand * partitionCount, Runtime.getRuntime().availableProcessors()));
+        pages = new LinkedBlockingQueue<>();
+        partitions = new CopyOnWriteArrayList<>();
+        activePartitions = new AtomicInteger(partitionCount);
+        splits = new AtomicInteger(1);
+        cancelled = new AtomicBoolean(false);
+        targetDemand = initialDemand;
+    }
+
+    /**
+     * Creates a prefetcher of the pages of the given number of search subscriptions.
+     *
+     * @param converter converts a page to its items.
+     * @param conversionExecutor the executor to convert pages on.
+     * @param timeout how long a consumer waits for the next page.
+     * @param initialDemand the number of pages to request ahead initially, also the minimum.
+     * @param maxDemand the maximum number of pages to request ahead.
+     * @param demand the minimum number of pages to request in one request message.
+     * @param partitionCount the number of search subscriptions which will subscribe via {@link #newPartition()}.
+     * @param <T> the type of the items.
+     * @return the prefetcher.
+     * @throws IllegalArgumentException if any number is not positive or {@code maxDemand < initialDemand}.
+     */
+    static <T> SearchPagePrefetcher<T> of(final Function<SubscriptionHasNextPage, List<T>> converter,
+            final Executor conversionExecutor,
+            final Duration timeout,
+            final int initialDemand,
+            final int maxDemand,
+            final int demand,
+            final int partitionCount) {
+        checkNotNull(converter, "converter");
+        checkNotNull(conversionExecutor, "conversionExecutor");
+        checkNotNull(timeout, "timeout");
+        if (initialDemand <= 0 || demand <= 0 || partitionCount <= 0) {
+            throw new IllegalArgumentException("Expect positive initialDemand, demand and partitionCount, got: " +
+                    initialDemand + ", " + demand + ", " + partitionCount);
+        }
+        if (maxDemand < initialDemand) {
+            throw new IllegalArgumentException("Expect maxDemand to be at least initialDemand=" + initialDemand +
+                    ", got: " + maxDemand);
+        }
+        return new SearchPagePrefetcher<>(converter, conversionExecutor, timeout, initialDemand, maxDemand, demand,
+                partitionCount);
+    }
+
+    /**
+     * Creates the subscriber of the pages of one search subscription.
+     *
+     * @return the subscriber.
+     */
+    Subscriber<SubscriptionHasNextPage> newPartition() {
+        final PartitionSubscriber partition = new PartitionSubscriber();
+        partitions.add(partition);
+        return partition;
+    }
+
+    /**
+     * Represents the items of all partitions as a parallel stream. Closing the stream cancels all search
+     * subscriptions.
+     *
+     * @return the stream.
+     */
+    Stream<T> asStream() {
+        return StreamSupport.stream(new PageSpliterator(), true).onClose(this::cancel);
+    }
+
+    /**
+     * Cancels all search subscriptions; consumers see the end of the stream after the pages received so far.
+     */
+    void cancel() {
+        if (!cancelled.getAndSet(true)) {
+            LOGGER.debug("Cancelling <{}> search subscriptions", partitions.size());
+            partitions.forEach(PartitionSubscriber::cancel);
+            pages.add(new Page<>(null, null, null));
+        }
+    }
+
+    private Page<T> takePage() {
+        Page<T> page = pages.poll();
+        final boolean waited = page == null;
+        if (waited) {
+            try {
+                page = pages.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            if (page == null) {
+                throw new IllegalStateException("timed out after " + timeoutMillis + " ms");
+            }
+        }
+        if (page.isTerminal()) {
+            // put the marker back for the other consumers
+            pages.add(page);
+        } else {
+            page.partition.consumed();
+        }
+        adaptDemand(waited);
+        return page;
+    }
+
+    private void adaptDemand(final boolean consumerWaited) {
+        final int target;
+        synchronized (this) {
+            if (consumerWaited) {
+                targetDemand = Math.min(maxDemand, targetDemand * 2);
+            } else if (pages.size() > targetDemand) {
+                targetDemand = Math.max(minDemand, targetDemand - 1);
+            }
+            target = targetDemand;
+        }
+        partitions.forEach(partition -> partition.topUp(target));
+    }
+
+    private void fail(final Throwable error) {
+        if (!cancelled.getAndSet(true)) {
+            partitions.forEach(PartitionSubscriber::cancel);
+        }
+        pages.add(new Page<>(null, null, error));
+    }
+
+    private final class PartitionSubscriber implements Subscriber<SubscriptionHasNextPage> {
+
+        @Nullable private volatile Subscription subscription;
+        @GuardedBy("this") private int pending;
+
+        @Override
+        public void onSubscribe(final Subscription s) {
+            checkNotNull(s, "subscription");
+            if (subscription != null) {
+                LOGGER.warn("onSubscribe() called a second time; cancelling subscription <{}>.", s);
+                s.cancel();
+                return;
+            }
+            subscription = s;
+            if (cancelled.get()) {
+                s.cancel();
+            } else {
+                synchronized (this) {
+                    pending = minDemand;
+                }
+                s.request(minDemand);
+            }
+        }
+
+        @Override
+        public void onNext(final SubscriptionHasNextPage page) {
+            final CompletableFuture<List<T>> items =
+                    CompletableFuture.supplyAsync(() -> converter.apply(page), conversionExecutor);
+            pages.add(new Page<>(this, items, null));
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            fail(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (activePartitions.decrementAndGet() == 0) {
+                pages.add(new Page<>(null, null, null));
+            }
+        }
+
+        private synchronized void consumed() {
+            pending--;
+        }
+
+        private void topUp(final int target) {
+            final Subscription s = subscription;
+            if (s == null || cancelled.get()) {
+                return;
+            }
+            final int request;
+            synchronized (this) {
+                request = target - pending;
+                if (request < batchSize) {
+                    return;
+                }
+                pending += request;
+            }
+            LOGGER.trace("Request <{}>", request);
+            s.request(request);
+        }
+
+        private void cancel() {
+            final Subscription s = subscription;
+            if (s != null) {
+                s.cancel();
+            }
+        }
+    }
+
+    private final class PageSpliterator implements Spliterator<T> {
+
+        private Iterator<T> buffer = Collections.emptyIterator();
+        private boolean exhausted;
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            while (!buffer.hasNext()) {
+                if (exhausted || !fillBuffer()) {
+                    exhausted = true;
+                    return false;
+                }
+            }
+            final T item = buffer.next();
+            try {
+                action.accept(item);
+            } catch (final RuntimeException e) {
+                // the user code catching the error is outside the element handling and considers the stream used up
+                cancel();
+                throw e;
+            }
+            return true;
+        }
+
+        private boolean fillBuffer() {
+            final Page<T> page = takePage();
+            if (page.error != null) {
+                throw wrapAsRuntimeException(page.error);
+            } else if (page.items == null) {
+                return false;
+            }
+            try {
+                buffer = page.items.join().iterator();
+                return true;
+            } catch (final CompletionException e) {
+                fail(e.getCause());
+                throw wrapAsRuntimeException(e.getCause());
+            }
+        }
+
+        @Override
+        @Nullable
+        public Spliterator<T> trySplit() {
+            if (exhausted || splits.getAndUpdate(n -> n < maxSplits ? n + 1 : n) >= maxSplits) {
+                return null;
+            }
+            return new PageSpliterator();
+        }
+
+        @Override
+        public long estimateSize() {
+            return exhausted ? 0L : Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL | IMMUTABLE | CONCURRENT;
+        }
+    }
+
+    private static RuntimeException wrapAsRuntimeException(final Throwable error) {
+        if (error instanceof RuntimeException) {
+            return (RuntimeException) error;
+        } else {
+            return new CompletionException("Search stream encountered " + error.getClass() +
+                    " while reading from its publisher", error);
+        }
+    }
+
+    /**
+     * A page of items being converted, the end of all pages if it has no items, or a failure.
+     */
+    private static final class Page<T> {
+
+        @Nullable private final SearchPagePrefetcher<T>.PartitionSubscriber partition;
+        @Nullable private final CompletableFuture<List<T>> items;
+        @Nullable private final Throwable error;
+
+        private Page(@Nullable final SearchPagePrefetcher<T>.PartitionSubscriber partition,
+                @Nullable final CompletableFuture<List<T>> items,
+                @Nullable final Throwable error) {
+            this.partition = partition;
+            this.items = items;
+            this.error = error;
+        }
+
+        private boolean isTerminal() {
+            return items == null;
+        }
+    }
+}
@@ -12,8 +12,14 @@
  */
 package org.eclipse.ditto.client.twin.internal;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
@@ -33,6 +39,9 @@ final class SearchQueryBuilderImpl implements SearchQueryBuilder {
     private final Set<String> namespaces = new HashSet<>();
     private int initialDemand = 2;
     private int demand = 1;
+    private int maxPrefetch = 0;
+    @Nullable private Executor conversionExecutor;
+    private int partitions = 1;
 
     SearchQueryBuilderImpl() {}
 
@@ -89,9 +98,57 @@ final class SearchQueryBuilderImpl implements SearchQueryBuilder {
         return this;
     }
 
+    @Override
+    public SearchQueryBuilder maxPrefetch(final int n) {
+        maxPrefetch = n;
+        return this;
+    }
+
+    @Override
+    public SearchQueryBuilder conversionExecutor(final Executor executor) {
+        conversionExecutor = executor;
+        return this;
+    }
+
+    @Override
+    public SearchQueryBuilder partitions(final int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Expect positive number of partitions, got: " + n);
+        }
+        partitions = n;
+        return this;
+    }
+
     CreateSubscription createSubscription() {
-        final JsonFieldSelector fieldSelector = JsonFactory.parseJsonFieldSelector(fields);
         final Set<String> namespacesSet = this.namespaces.isEmpty() ? null : this.namespaces;
+        return createSubscription(namespacesSet);
+    }
+
+    /**
+     * Creates one subscription per partition, distributing the namespaces across the partitions.
+     *
+     * @return the subscriptions searching disjoint sets of namespaces.
+     */
+    List<CreateSubscription> createPartitionedSubscriptions() {
+        final int partitionCount = Math.min(partitions, namespaces.size());
+        if (partitionCount <= 1) {
+            return Collections.singletonList(createSubscription());
+        }
+        final List<Set<String>> namespacesByPartition = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            namespacesByPartition.add(new HashSet<>());
+        }
+        int i = 0;
+        for (final String namespace : new TreeSet<>(namespaces)) {
+            namespacesByPartition.get(i++ % partitionCount).add(namespace);
+        }
+        final List<CreateSubscription> result = new ArrayList<>(partitionCount);
+        namespacesByPartition.forEach(partitionNamespaces -> result.add(createSubscription(partitionNamespaces)));
+        return result;
+    }
+
+    private CreateSubscription createSubscription(@Nullable final Set<String> namespacesSet) {
+        final JsonFieldSelector fieldSelector = JsonFactory.parseJsonFieldSelector(fields);
         return CreateSubscription.of(filter, options, fieldSelector, namespacesSet, DittoHeaders.empty());
     }
 
@@ -102,4 +159,12 @@ final class SearchQueryBuilderImpl implements SearchQueryBuilder {
     int getDemand() {
         return demand;
     }
+
+    int getMaxPrefetch() {
+        return maxPrefetch > 0 ? maxPrefetch : initialDemand * 4;
+    }
+
+    Optional<Executor> getConversionExecutor() {
+        return Optional.ofNullable(conversionExecutor);
+    }
 }
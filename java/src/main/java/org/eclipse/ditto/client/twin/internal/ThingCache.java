@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.twin.internal;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaderDefinition;
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.client.configuration.ThingCacheConfiguration;
+import org.eclipse.ditto.client.messaging.ConnectionListener;
+import org.eclipse.ditto.client.metrics.CacheStatistics;
+import org.eclipse.ditto.client.metrics.ThingCacheStatistics;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.things.model.Thing;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.ThingRevision;
+import org.eclipse.ditto.things.model.ThingsModelFactory;
+import org.eclipse.ditto.things.model.signals.events.ThingCreated;
+import org.eclipse.ditto.things.model.signals.events.ThingDeleted;
+import org.eclipse.ditto.things.model.signals.events.ThingEvent;
+import org.eclipse.ditto.things.model.signals.events.ThingMerged;
+import org.eclipse.ditto.things.model.signals.events.ThingModified;
+
+/**
+ * Weight- and size-bounded cache of Things in least-recently-used order, populated by the responses to retrieve
+ * commands and kept up to date by twin events.
+ * <ul>
+ * <li>Cached Things are served only while twin events of all their changes are received: while the consumption of
+ * twin events without a filter is active for their namespace and no connection is lost. Whenever events might have
+ * been missed, all entries are dropped.</li>
+ * <li>An event is applied to a cached Thing only if its revision directly follows the cached one; an event revealing a
+ * gap or which cannot be applied drops the entry, which is loaded again by the next retrieve. Events never insert
+ * entries since they do not carry the whole Thing.</li>
+ * <li>A retrieve response is cached only if no event of a later revision was received and the entry was not
+ * invalidated while the retrieve was in flight.</li>
+ * </ul>
+ * Events are applied far less often than the JSON of the affected Thing is serialized, so all operations are
+ * serialized by the monitor of the cache.
+ *
+ * @since 2.2.0
+ */
+@ThreadSafe
+final class ThingCache implements ConnectionListener {
+
+    private static final Pattern REVISION_ENTITY_TAG = Pattern.compile("rev:(\\d+)");
+
+    private final int maximumSize;
+    private final long maximumWeight;
+    private final LinkedHashMap<ThingId, Entry> entries;
+    private final Map<ThingId, PendingLoad> pendingLoads;
+
+    private long generation;
+    private boolean consuming;
+    private Set<String> namespaces;
+    private int lostConnections;
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long staleCount;
+    private long invalidationCount;
+
+    private ThingCache(final ThingCacheConfiguration configuration) {
+        maximumSize = configuration.getMaximumSize();
+        maximumWeight = configuration.getMaximumWeight();
+        entries = new LinkedHashMap<>(16, 0.75f, true);
+        pendingLoads = new HashMap<>();
+        namespaces = Collections.emptySet();
+    }
+
+    /**
+     * Create a cache evicting according to the given configuration.
+     *
+     * @param configuration the maximum size and weight.
+     * @return the cache.
+     */
+    static ThingCache of(final ThingCacheConfiguration configuration) {
+        return new ThingCache(configuration);
+    }
+
+    /**
+     * Returns the cached Thing if it can be served.
+     *
+     * @param thingId the ID of the Thing.
+     * @return the Thing or an empty optional if it has to be retrieved.
+     */
+    synchronized Optional<Thing> get(final ThingId thingId) {
+        final Entry entry = isServing(thingId) ? entries.get(thingId) : null;
+        if (entry != null) {
+            hitCount++;
+            return Optional.of(entry.thing);
+        } else {
+            missCount++;
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Records that a retrieve of the Thing is sent, so that events received before its response are accounted for.
+     *
+     * @param thingId the ID of the Thing.
+     * @return the token to pass to {@link #completeLoad} or {@link #abandonLoad}, or {@code null} if the response is
+     * not going to be cached.
+     */
+    @Nullable
+    synchronized Long startLoad(final ThingId thingId) {
+        if (!isServing(thingId)) {
+            return null;
+        }
+        pendingLoads.computeIfAbsent(thingId, id -> new PendingLoad()).count++;
+        return generation;
+    }
+
+    /**
+     * Caches the retrieved Thing unless it might already be outdated.
+     *
+     * @param thingId the ID of the Thing.
+     * @param token the token returned by {@link #startLoad}.
+     * @param thing the retrieved Thing.
+     * @param headers the headers of the response, whose entity tag carries the revision of the Thing.
+     */
+    synchronized void completeLoad(final ThingId thingId, final long token, final Thing thing,
+            final DittoHeaders headers) {
+        final PendingLoad pendingLoad = endLoad(thingId);
+        final long revision = getRevision(thing, headers);
+        if (token != generation || !isServing(thingId) || revision < 0L ||
+                pendingLoad != null && revision < pendingLoad.minimumRevision) {
+            return;
+        }
+        final Entry cached = entries.get(thingId);
+        if (cached == null || cached.revision < revision) {
+            put(thingId, thing, revision);
+        }
+    }
+
+    /**
+     * Records that a retrieve started by {@link #startLoad} failed.
+     *
+     * @param thingId the ID of the Thing.
+     */
+    synchronized void abandonLoad(final ThingId thingId) {
+        endLoad(thingId);
+    }
+
+    /**
+     * Applies a twin event to the cached Thing it belongs to.
+     *
+     * @param event the event.
+     */
+    synchronized void apply(final ThingEvent<?> event) {
+        final ThingId thingId = event.getEntityId();
+        final long revision = event.getRevision();
+        final PendingLoad pendingLoad = pendingLoads.get(thingId);
+        if (pendingLoad != null) {
+            pendingLoad.minimumRevision = Math.max(pendingLoad.minimumRevision, revision);
+        }
+        final Entry entry = entries.get(thingId);
+        if (entry == null || revision <= entry.revision) {
+            return;
+        }
+        if (event instanceof ThingDeleted) {
+            remove(thingId);
+            return;
+        }
+        final Thing changed = revision == entry.revision + 1 ? applyToThing(event, entry.thing) : null;
+        if (changed != null) {
+            put(thingId, changed, revision);
+        } else {
+            remove(thingId);
+            staleCount++;
+        }
+    }
+
+    /**
+     * Drops the cached Thing because it is being modified by this client; the next retrieve has to read the
+     * modification.
+     *
+     * @param thingId the ID of the Thing.
+     */
+    synchronized void invalidate(final ThingId thingId) {
+        remove(thingId);
+        final PendingLoad pendingLoad = pendingLoads.get(thingId);
+        if (pendingLoad != null) {
+            pendingLoad.minimumRevision = Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Sends a command modifying the Thing, dropping the cached Thing before and after the command so that retrieves
+     * completing after its response read the modification.
+     *
+     * @param thingId the ID of the Thing.
+     * @param modification sends the command and returns the future result.
+     * @param <R> the type of the result.
+     * @return the future result.
+     */
+    <R> CompletionStage<R> invalidateAround(final ThingId thingId,
+            final Supplier<? extends CompletionStage<R>> modification) {
+        invalidate(thingId);
+        return modification.get().whenComplete((result, error) -> invalidate(thingId));
+    }
+
+    /**
+     * Starts serving cached Things of the given namespaces after the consumption of twin events was started.
+     *
+     * @param namespaces the namespaces twin events are consumed for; empty for all namespaces.
+     * @param filtered whether only twin events matching a filter are consumed, so that events of changes might be
+     * missing.
+     */
+    synchronized void onConsumptionStarted(final Collection<String> namespaces, final boolean filtered) {
+        clear();
+        consuming = !filtered;
+        this.namespaces = Collections.unmodifiableSet(new HashSet<>(namespaces));
+    }
+
+    /**
+     * Stops serving cached Things after the consumption of twin events was suspended.
+     */
+    synchronized void onConsumptionSuspended() {
+        clear();
+        consuming = false;
+    }
+
+    @Override
+    public synchronized void onConnectionLost() {
+        clear();
+        lostConnections++;
+    }
+
+    @Override
+    public synchronized void onConnectionRestored() {
+        clear();
+        lostConnections = Math.max(0, lostConnections - 1);
+    }
+
+    /**
+     * @return a snapshot of the statistics of this cache.
+     */
+    synchronized ThingCacheStatistics getStatistics() {
+        return ThingCacheStatistics.of(getCacheStatistics(), weight, staleCount, invalidationCount);
+    }
+
+    /**
+     * @return a snapshot of the statistics of this cache common to all caches of the client.
+     */
+    synchronized CacheStatistics getCacheStatistics() {
+        return CacheStatistics.of(hitCount, missCount, evictionCount, entries.size());
+    }
+
+    private boolean isServing(final ThingId thingId) {
+        return consuming && lostConnections == 0 &&
+                (namespaces.isEmpty() || namespaces.contains(thingId.getNamespace()));
+    }
+
+    @Nullable
+    private PendingLoad endLoad(final ThingId thingId) {
+        final PendingLoad pendingLoad = pendingLoads.get(thingId);
+        if (pendingLoad != null && --pendingLoad.count == 0) {
+            pendingLoads.remove(thingId);
+        }
+        return pendingLoad;
+    }
+
+    private void put(final ThingId thingId, final Thing thing, final long revision) {
+        remove(thingId);
+        final long thingWeight = thing.toJsonString().length();
+        if (thingWeight > maximumWeight) {
+            return;
+        }
+        entries.put(thingId, new Entry(thing, revision, thingWeight));
+        weight += thingWeight;
+        final Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+        while (entries.size() > maximumSize || weight > maximumWeight) {
+            weight -= leastRecentlyUsed.next().weight;
+            leastRecentlyUsed.remove();
+            evictionCount++;
+        }
+    }
+
+    private void remove(final ThingId thingId) {
+        final Entry removed = entries.remove(thingId);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    private void clear() {
+        if (!entries.isEmpty()) {
+            invalidationCount++;
+        }
+        entries.clear();
+        weight = 0L;
+        // responses to retrieves in flight may predate events which are missed or were missed
+        generation++;
+    }
+
+    @Nullable
+    private static Thing applyToThing(final ThingEvent<?> event, final Thing thing) {
+        if (event instanceof ThingCreated) {
+            return ((ThingCreated) event).getThing();
+        } else if (event instanceof ThingModified) {
+            return ((ThingModified) event).getThing();
+        } else if (event instanceof ThingMerged) {
+            // merge patches are not applied locally; the Thing is retrieved again instead
+            return null;
+        }
+        final JsonPointer path = event.getResourcePath();
+        if (path.isEmpty()) {
+            return null;
+        }
+        final JsonObject thingJson = thing.toJson();
+        final Optional<JsonValue> entity = event.getEntity(event.getImplementedSchemaVersion());
+        try {
+            return ThingsModelFactory.newThing(entity.isPresent()
+                    ? thingJson.setValue(path, entity.get())
+                    : thingJson.remove(path));
+        } catch (final RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static long getRevision(final Thing thing, final DittoHeaders headers) {
+        final String entityTag = headers.get(DittoHeaderDefinition.ETAG.getKey());
+        if (entityTag != null) {
+            final Matcher matcher = REVISION_ENTITY_TAG.matcher(entityTag);
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(1));
+            }
+        }
+        return thing.getRevision().map(ThingRevision::toLong).orElse(-1L);
+    }
+
+    private static final class Entry {
+
+        private final Thing thing;
+        private final long revision;
+        private final long weight;
+
+        private Entry(final Thing thing, final long revision, final long weight) {
+            this.thing = thing;
+            this.revision = revision;
+            this.weight = weight;
+        }
+    }
+
+    private static final class PendingLoad {
+
+        private int count;
+        private long minimumRevision;
+    }
+}
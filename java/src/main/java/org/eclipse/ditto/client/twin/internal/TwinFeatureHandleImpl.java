@@ -12,17 +12,27 @@
  */
 package org.eclipse.ditto.client.twin.internal;
 
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import org.eclipse.ditto.client.internal.HandlerRegistry;
 import org.eclipse.ditto.client.internal.OutgoingMessageFactory;
+import org.eclipse.ditto.client.internal.ResponseCache;
 import org.eclipse.ditto.client.management.internal.FeatureHandleImpl;
+import org.eclipse.ditto.client.management.internal.WriteBehindBuffer;
 import org.eclipse.ditto.client.messaging.MessagingProvider;
 import org.eclipse.ditto.client.twin.TwinFeatureHandle;
 import org.eclipse.ditto.client.twin.TwinThingHandle;
+import org.eclipse.ditto.json.JsonFieldSelector;
 import org.eclipse.ditto.base.model.acks.AcknowledgementLabel;
 import org.eclipse.ditto.base.model.acks.DittoAcknowledgementLabel;
+import org.eclipse.ditto.base.model.signals.commands.CommandResponse;
 import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.signals.commands.ThingCommand;
+import org.eclipse.ditto.things.model.signals.commands.query.ThingQueryCommand;
 import org.eclipse.ditto.protocol.TopicPath;
 
 /**
@@ -34,6 +44,9 @@ import org.eclipse.ditto.protocol.TopicPath;
 final class TwinFeatureHandleImpl extends FeatureHandleImpl<TwinThingHandle, TwinFeatureHandle>
         implements TwinFeatureHandle {
 
+    @Nullable private final ThingCache thingCache;
+    @Nullable private final ResponseCache responseCache;
+
     /**
      * Creates a new {@link TwinFeatureHandleImpl} instance.
      *
@@ -42,19 +55,53 @@ final class TwinFeatureHandleImpl extends FeatureHandleImpl<TwinThingHandle, Twi
      * @param twinMessagingProvider twin messaging provider
      * @param outgoingMessageFactory outgoing message factory
      * @param handlerRegistry handler registry
+     * @param writeBehindBuffer write-behind buffer or {@code null}
+     * @param thingCache cache of Things or {@code null}
+     * @param responseCache cache of retrieve responses or {@code null}
      */
     TwinFeatureHandleImpl(
             final ThingId thingId,
             final String featureId,
             final MessagingProvider twinMessagingProvider,
             final OutgoingMessageFactory outgoingMessageFactory,
-            final HandlerRegistry<TwinThingHandle, TwinFeatureHandle> handlerRegistry) {
+            final HandlerRegistry<TwinThingHandle, TwinFeatureHandle> handlerRegistry,
+            @Nullable final WriteBehindBuffer writeBehindBuffer,
+            @Nullable final ThingCache thingCache,
+            @Nullable final ResponseCache responseCache) {
         super(TopicPath.Channel.TWIN,
                 thingId,
                 featureId,
                 twinMessagingProvider,
                 outgoingMessageFactory,
-                handlerRegistry);
+                handlerRegistry,
+                writeBehindBuffer);
+        this.thingCache = thingCache;
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    protected <C extends ThingCommand<C>, S extends CommandResponse<?>, R> CompletionStage<R> askThingQueryCommand(
+            final C command,
+            @Nullable final JsonFieldSelector fieldSelector,
+            final Class<S> expectedResponse,
+            final Function<S, R> onSuccess) {
+        if (responseCache == null) {
+            return super.askThingQueryCommand(command, fieldSelector, expectedResponse, onSuccess);
+        }
+        return responseCache.retrieve(getEntityId(), command, fieldSelector, expectedResponse, onSuccess,
+                (commandToSend, onResponse) -> askThingCommand(commandToSend, expectedResponse, onResponse));
+    }
+
+    @Override
+    protected <C extends ThingCommand<C>, S extends CommandResponse<?>, R> CompletionStage<R> askThingCommand(
+            final C command,
+            final Class<S> expectedResponse,
+            final Function<S, R> onSuccess) {
+        if (thingCache == null || command instanceof ThingQueryCommand) {
+            return super.askThingCommand(command, expectedResponse, onSuccess);
+        }
+        return thingCache.invalidateAround(command.getEntityId(),
+                () -> super.askThingCommand(command, expectedResponse, onSuccess));
     }
 
     @Override
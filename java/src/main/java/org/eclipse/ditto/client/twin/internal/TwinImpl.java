@@ -12,28 +12,61 @@
  */
 package org.eclipse.ditto.client.twin.internal;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import org.eclipse.ditto.client.changes.ChangeAction;
+import org.eclipse.ditto.client.changes.internal.ImmutableThingChange;
+import org.eclipse.ditto.client.configuration.BatchRetrieveConfiguration;
+import org.eclipse.ditto.client.configuration.ResyncConfiguration;
 import org.eclipse.ditto.client.internal.CommonManagementImpl;
 import org.eclipse.ditto.client.internal.HandlerRegistry;
 import org.eclipse.ditto.client.internal.OutgoingMessageFactory;
+import org.eclipse.ditto.client.internal.ResponseCache;
 import org.eclipse.ditto.client.internal.bus.AdaptableBus;
 import org.eclipse.ditto.client.internal.bus.Classification;
 import org.eclipse.ditto.client.internal.bus.PointerBus;
+import org.eclipse.ditto.client.management.internal.WriteBehindBuffer;
 import org.eclipse.ditto.client.messaging.MessagingProvider;
+import org.eclipse.ditto.client.metrics.ThingCacheStatistics;
 import org.eclipse.ditto.client.twin.Twin;
 import org.eclipse.ditto.client.twin.TwinFeatureHandle;
 import org.eclipse.ditto.client.twin.TwinSearchHandle;
 import org.eclipse.ditto.client.twin.TwinThingHandle;
+import org.eclipse.ditto.json.JsonFieldSelector;
 import org.eclipse.ditto.base.model.acks.AcknowledgementLabel;
 import org.eclipse.ditto.base.model.acks.DittoAcknowledgementLabel;
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.base.model.signals.Signal;
+import org.eclipse.ditto.base.model.signals.commands.CommandResponse;
+import org.eclipse.ditto.things.model.Thing;
 import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.ThingRevision;
+import org.eclipse.ditto.things.model.signals.commands.ThingCommand;
+import org.eclipse.ditto.things.model.signals.commands.query.ThingQueryCommand;
+import org.eclipse.ditto.things.model.signals.events.ThingEvent;
 import org.eclipse.ditto.protocol.TopicPath;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Default implementation for {@link Twin}.
@@ -43,8 +76,30 @@ import org.eclipse.ditto.protocol.TopicPath;
 @ParametersAreNonnullByDefault
 public final class TwinImpl extends CommonManagementImpl<TwinThingHandle, TwinFeatureHandle> implements Twin {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(TwinImpl.class);
+
+    /**
+     * Selects the regular fields of a Thing and its revision, which is not part of the default fields.
+     */
+    private static final JsonFieldSelector RESYNC_FIELD_SELECTOR =
+            JsonFieldSelector.newInstance("thingId", "policyId", "definition", "attributes", "features", "_revision",
+                    "_modified");
+
+    /**
+     * How often a failed resynchronization is retried and the delay before the first retry, doubled for each further
+     * one. The Things stay pending after the last retry failed and are resynchronized on the next gap or reconnect.
+     */
+    private static final int MAXIMUM_RESYNC_RETRIES = 3;
+    private static final Duration FIRST_RESYNC_RETRY_DELAY = Duration.ofSeconds(1L);
+
     private final AtomicReference<AdaptableBus.SubscriptionId> twinEventSubscription = new AtomicReference<>();
     private final TwinSearchHandle search;
+    @Nullable private final WriteBehindBuffer writeBehindBuffer;
+    @Nullable private final ThingCache thingCache;
+    @Nullable private final ResponseCache responseCache;
+    @Nullable private final RevisionTracker revisionTracker;
+    private final BatchRetrieveConfiguration resyncBatchRetrieveConfiguration;
+    private final AtomicInteger failedResyncs = new AtomicInteger();
 
     private TwinImpl(final MessagingProvider messagingProvider,
             final OutgoingMessageFactory outgoingMessageFactory,
@@ -52,9 +107,53 @@ public final class TwinImpl extends CommonManagementImpl<TwinThingHandle, TwinFe
         super(TopicPath.Channel.TWIN,
                 messagingProvider,
                 outgoingMessageFactory,
-                new HandlerRegistry<>(bus),
+                new HandlerRegistry<>(bus,
+                        messagingProvider.getMessagingConfiguration().getHandleCacheConfiguration(),
+                        handle -> false),
                 bus);
         search = new TwinSearchHandleImpl(messagingProvider);
+        writeBehindBuffer = messagingProvider.getMessagingConfiguration()
+                .getWriteBehindConfiguration()
+                .map(config -> WriteBehindBuffer.newInstance(config,
+                        messagingProvider.getAdaptableBus().getScheduledExecutor(),
+                        outgoingMessageFactory,
+                        command -> sendThingCommand(command, CommandResponse.class, this::toVoid)))
+                .orElse(null);
+        thingCache = messagingProvider.getMessagingConfiguration()
+                .getThingCacheConfiguration()
+                .map(ThingCache::of)
+                .orElse(null);
+        if (thingCache != null) {
+            // events published while a connection is down are missed
+            messagingProvider.addConnectionListener(thingCache);
+            messagingProvider.getMessagingConfiguration()
+                    .getClientMetrics()
+                    .bindCacheStatistics(TopicPath.Channel.TWIN.getName() + "-things",
+                            thingCache::getCacheStatistics);
+        }
+        responseCache = messagingProvider.getMessagingConfiguration()
+                .getResponseCacheConfiguration()
+                .map(config -> ResponseCache.of(config, outgoingMessageFactory))
+                .orElse(null);
+        if (responseCache != null) {
+            messagingProvider.getMessagingConfiguration()
+                    .getClientMetrics()
+                    .bindCacheStatistics(TopicPath.Channel.TWIN.getName() + "-responses",
+                            responseCache::getStatistics);
+        }
+        revisionTracker = messagingProvider.getMessagingConfiguration()
+                .getResyncConfiguration()
+                .map(config -> RevisionTracker.of(config.getMaximumTrackedThings(), config.isGapDetection(),
+                        this::resync))
+                .orElse(null);
+        resyncBatchRetrieveConfiguration = messagingProvider.getMessagingConfiguration()
+                .getResyncConfiguration()
+                .map(ResyncConfiguration::getBatchRetrieveConfiguration)
+                .orElse(BatchRetrieveConfiguration.defaultConfiguration());
+        if (revisionTracker != null) {
+            // events published while a connection is down are missed
+            messagingProvider.addConnectionListener(revisionTracker);
+        }
     }
 
     /**
@@ -78,7 +177,10 @@ public final class TwinImpl extends CommonManagementImpl<TwinThingHandle, TwinFe
                 thingId,
                 getMessagingProvider(),
                 getOutgoingMessageFactory(),
-                getHandlerRegistry());
+                getHandlerRegistry(),
+                writeBehindBuffer,
+                thingCache,
+                responseCache);
     }
 
     @Override
@@ -89,7 +191,10 @@ public final class TwinImpl extends CommonManagementImpl<TwinThingHandle, TwinFe
                 featureId,
                 getMessagingProvider(),
                 getOutgoingMessageFactory(),
-                getHandlerRegistry());
+                getHandlerRegistry(),
+                writeBehindBuffer,
+                thingCache,
+                responseCache);
     }
 
     @Override
@@ -108,13 +213,26 @@ public final class TwinImpl extends CommonManagementImpl<TwinThingHandle, TwinFe
                     ackFuture
             ));
         }
-        return ackFuture;
+        final String namespaces = consumptionConfig.get(CONSUMPTION_PARAM_NAMESPACES);
+        final List<String> namespaceList =
+                namespaces != null ? Arrays.asList(namespaces.split(",")) : Collections.emptyList();
+        final boolean filtered = consumptionConfig.containsKey(CONSUMPTION_PARAM_FILTER);
+        if (revisionTracker != null) {
+            revisionTracker.onConsumptionStarted(filtered || !namespaceList.isEmpty());
+        }
+        if (thingCache == null) {
+            return ackFuture;
+        }
+        return ackFuture.thenRun(() -> thingCache.onConsumptionStarted(namespaceList, filtered));
     }
 
     @Override
     public CompletionStage<Void> suspendConsumption() {
         final Classification.StreamingType streamingType = Classification.StreamingType.TWIN_EVENT;
         messagingProvider.unregisterSubscriptionMessage(streamingType);
+        if (thingCache != null) {
+            thingCache.onConsumptionSuspended();
+        }
         final CompletableFuture<Void> ackFuture = new CompletableFuture<>();
         synchronized (twinEventSubscription) {
             unsubscribe(twinEventSubscription.get(), streamingType.stop(), streamingType.stopAck(), ackFuture);
@@ -128,8 +246,159 @@ public final class TwinImpl extends CommonManagementImpl<TwinThingHandle, TwinFe
         return search;
     }
 
+    @Override
+    public Optional<ThingCacheStatistics> getThingCacheStatistics() {
+        return Optional.ofNullable(thingCache).map(ThingCache::getStatistics);
+    }
+
+    @Override
+    protected void onSubscribedSignal(final Signal<?> signal) {
+        if (signal instanceof ThingEvent) {
+            final ThingEvent<?> thingEvent = (ThingEvent<?>) signal;
+            // the caches are up to date before the handlers of the event are called
+            if (thingCache != null) {
+                thingCache.apply(thingEvent);
+            }
+            if (responseCache != null) {
+                responseCache.invalidate(thingEvent.getEntityId());
+            }
+            // revisions are tracked for the registered change handlers only
+            if (revisionTracker != null && getHandlerRegistry().hasRegistrations()) {
+                revisionTracker.observe(thingEvent);
+            }
+        }
+    }
+
+    private void resync() {
+        if (revisionTracker == null) {
+            return;
+        }
+        revisionTracker.startResync().ifPresent(thingIds -> {
+            LOGGER.debug("Resynchronizing <{}> Things whose twin events might have been missed.", thingIds.size());
+            streamInBatches(RESYNC_FIELD_SELECTOR, thingIds, resyncBatchRetrieveConfiguration)
+                    .subscribe(new ResyncSubscriber(revisionTracker, thingIds));
+        });
+    }
+
+    private void retryResync(final int failedResyncs) {
+        final long delayMillis = FIRST_RESYNC_RETRY_DELAY.toMillis() << (failedResyncs - 1);
+        try {
+            messagingProvider.getAdaptableBus()
+                    .getScheduledExecutor()
+                    .schedule(this::resync, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (final RejectedExecutionException e) {
+            LOGGER.debug("Not retrying to resynchronize Things as the client is destroyed.");
+        }
+    }
+
+    private void notifyCatchUpChange(final Thing thing, final ThingId thingId, final long revision) {
+        notifyThingChange(thingId, new ImmutableThingChange(thingId, ChangeAction.UPDATED, thing, revision,
+                thing.getModified().orElse(null), null, DittoHeaders.empty(), acknowledgement -> {}));
+    }
+
+    private void notifyCatchUpDeletion(final ThingId thingId, final long revision) {
+        notifyThingChange(thingId, new ImmutableThingChange(thingId, ChangeAction.DELETED, null, revision, null,
+                null, DittoHeaders.empty(), acknowledgement -> {}));
+    }
+
+    /**
+     * Sends the updates waiting in the write-behind buffer before the client is destroyed, so that they are not
+     * discarded silently.
+     *
+     * @since 2.2.0
+     */
+    public void flushWriteBehindBuffer() {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.flushAll();
+        }
+    }
+
+    @Override
+    protected <C extends ThingCommand<C>, S extends CommandResponse<?>, R> CompletionStage<R> askThingCommand(
+            final C command,
+            final Class<S> expectedResponse,
+            final Function<S, R> onSuccess) {
+        if (writeBehindBuffer != null) {
+            // updates issued earlier through the handles of the Thing must not be overtaken
+            writeBehindBuffer.flush(command.getEntityId());
+        }
+        return sendThingCommand(command, expectedResponse, onSuccess);
+    }
+
+    private <C extends ThingCommand<C>, S extends CommandResponse<?>, R> CompletionStage<R> sendThingCommand(
+            final C command,
+            final Class<S> expectedResponse,
+            final Function<S, R> onSuccess) {
+        if (thingCache == null || command instanceof ThingQueryCommand) {
+            return super.askThingCommand(command, expectedResponse, onSuccess);
+        }
+        return thingCache.invalidateAround(command.getEntityId(),
+                () -> super.askThingCommand(command, expectedResponse, onSuccess));
+    }
+
     @Override
     protected AcknowledgementLabel getThingResponseAcknowledgementLabel() {
         return DittoAcknowledgementLabel.TWIN_PERSISTED;
     }
+
+    /**
+     * Notifies the handlers of each retrieved Thing and of each Thing no longer retrievable, then starts the next
+     * resynchronization if further Things became pending.
+     */
+    private final class ResyncSubscriber implements Subscriber<Thing> {
+
+        private final RevisionTracker tracker;
+        private final Collection<ThingId> thingIds;
+        private final Set<ThingId> retrieved;
+
+        private ResyncSubscriber(final RevisionTracker tracker, final Collection<ThingId> thingIds) {
+            this.tracker = tracker;
+            this.thingIds = thingIds;
+            retrieved = new HashSet<>();
+        }
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(final Thing thing) {
+            thing.getEntityId().ifPresent(thingId -> {
+                retrieved.add(thingId);
+                final Long revision = thing.getRevision().map(ThingRevision::toLong).orElse(null);
+                tracker.completeResync(thingId, revision)
+                        .ifPresent(reportedRevision -> notifyCatchUpChange(thing, thingId, reportedRevision));
+            });
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            tracker.finishResync(true);
+            final int failed = failedResyncs.incrementAndGet();
+            if (failed <= MAXIMUM_RESYNC_RETRIES) {
+                LOGGER.warn("Resynchronizing <{}> Things failed, retry <{}> of <{}>: {}", thingIds.size(), failed,
+                        MAXIMUM_RESYNC_RETRIES, throwable.toString());
+                retryResync(failed);
+            } else {
+                LOGGER.warn("Resynchronizing <{}> Things failed, retrying on the next gap or reconnect: {}",
+                        thingIds.size(), throwable.toString());
+                failedResyncs.set(0);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            failedResyncs.set(0);
+            for (final ThingId thingId : thingIds) {
+                if (!retrieved.contains(thingId)) {
+                    tracker.completeResyncOfMissing(thingId)
+                            .ifPresent(revision -> notifyCatchUpDeletion(thingId, revision));
+                }
+            }
+            if (tracker.finishResync(false)) {
+                resync();
+            }
+        }
+    }
 }
@@ -12,24 +12,28 @@
  */
 package org.eclipse.ditto.client.twin.internal;
 
+import static org.eclipse.ditto.base.model.common.ConditionChecker.checkNotNull;
+
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.ditto.client.internal.AbstractHandle;
+import org.eclipse.ditto.client.management.ThingDecoder;
 import org.eclipse.ditto.client.messaging.MessagingProvider;
 import org.eclipse.ditto.client.streaming.MapPublisher;
 import org.eclipse.ditto.client.streaming.SpliteratorSubscriber;
 import org.eclipse.ditto.client.streaming.ThingSearchPublisher;
 import org.eclipse.ditto.client.twin.SearchQueryBuilder;
 import org.eclipse.ditto.client.twin.TwinSearchHandle;
+import org.eclipse.ditto.json.JsonArray;
 import org.eclipse.ditto.json.JsonValue;
 import org.eclipse.ditto.base.model.acks.AcknowledgementLabel;
 import org.eclipse.ditto.base.model.acks.DittoAcknowledgementLabel;
 import org.eclipse.ditto.things.model.Thing;
-import org.eclipse.ditto.things.model.ThingsModelFactory;
 import org.eclipse.ditto.protocol.TopicPath;
 import org.eclipse.ditto.thingsearch.model.signals.commands.subscription.CreateSubscription;
 import org.eclipse.ditto.thingsearch.model.signals.events.SubscriptionHasNextPage;
@@ -46,17 +50,54 @@ final class TwinSearchHandleImpl extends AbstractHandle implements TwinSearchHan
 
     @Override
     public Publisher<List<Thing>> publisher(final Consumer<SearchQueryBuilder> querySpecifier) {
+        return publisher(querySpecifier, ThingDecoder.thing());
+    }
+
+    @Override
+    public <T> Publisher<List<T>> publisher(final Consumer<SearchQueryBuilder> querySpecifier,
+            final ThingDecoder<T> decoder) {
+        checkNotNull(decoder, "decoder");
         final SearchQueryBuilderImpl builder = new SearchQueryBuilderImpl();
         querySpecifier.accept(builder);
         final Publisher<SubscriptionHasNextPage> thingSearchPublisher =
                 ThingSearchPublisher.of(builder.createSubscription(), PROTOCOL_ADAPTER, messagingProvider);
-        return MapPublisher.of(thingSearchPublisher, TwinSearchHandleImpl::pageToThingList);
+        return MapPublisher.of(thingSearchPublisher, page -> decodePage(page, decoder));
     }
 
     @Override
     public Stream<Thing> stream(final Consumer<SearchQueryBuilder> querySpecifier) {
+        return stream(querySpecifier, ThingDecoder.thing());
+    }
+
+    @Override
+    public <T> Stream<T> stream(final Consumer<SearchQueryBuilder> querySpecifier, final ThingDecoder<T> decoder) {
+        checkNotNull(decoder, "decoder");
         return internalSpliterator(querySpecifier).asStream()
-                .flatMap(TwinSearchHandleImpl::streamAsThings);
+                .flatMap(page -> page.getItems().stream().map(item -> decoder.decode(item.asObject())));
+    }
+
+    @Override
+    public Stream<Thing> parallelStream(final Consumer<SearchQueryBuilder> querySpecifier) {
+        return parallelStream(querySpecifier, ThingDecoder.thing());
+    }
+
+    @Override
+    public <T> Stream<T> parallelStream(final Consumer<SearchQueryBuilder> querySpecifier,
+            final ThingDecoder<T> decoder) {
+        checkNotNull(decoder, "decoder");
+        final SearchQueryBuilderImpl builder = new SearchQueryBuilderImpl();
+        querySpecifier.accept(builder);
+        final List<CreateSubscription> createSubscriptions = builder.createPartitionedSubscriptions();
+        final Executor conversionExecutor =
+                builder.getConversionExecutor().orElseGet(messagingProvider::getExecutorService);
+        final SearchPagePrefetcher<T> prefetcher = SearchPagePrefetcher.of(page -> decodePage(page, decoder),
+                conversionExecutor, messagingProvider.getMessagingConfiguration().getTimeout(),
+                builder.getInitialDemand(), builder.getMaxPrefetch(), builder.getDemand(),
+                createSubscriptions.size());
+        createSubscriptions.forEach(createSubscription ->
+                ThingSearchPublisher.of(createSubscription, PROTOCOL_ADAPTER, messagingProvider)
+                        .subscribe(prefetcher.newPartition()));
+        return prefetcher.asStream();
     }
 
     private SpliteratorSubscriber<SubscriptionHasNextPage> internalSpliterator(
@@ -76,19 +117,13 @@ final class TwinSearchHandleImpl extends AbstractHandle implements TwinSearchHan
         return subscriber;
     }
 
-    private static Stream<Thing> streamAsThings(final SubscriptionHasNextPage page) {
-        return page.getItems()
-                .stream()
-                .map(JsonValue::asObject)
-                .map(ThingsModelFactory::newThing);
-    }
-
-    private static List<Thing> pageToThingList(final SubscriptionHasNextPage page) {
-        return page.getItems()
-                .stream()
-                .map(JsonValue::asObject)
-                .map(ThingsModelFactory::newThing)
-                .collect(Collectors.toList());
+    private static <T> List<T> decodePage(final SubscriptionHasNextPage page, final ThingDecoder<T> decoder) {
+        final JsonArray items = page.getItems();
+        final List<T> result = new ArrayList<>(items.getSize());
+        for (final JsonValue item : items) {
+            result.add(decoder.decode(item.asObject()));
+        }
+        return result;
     }
 
     @Override
@@ -21,21 +21,38 @@ import static org.eclipse.ditto.client.TestConstants.Thing.THING_ID_COPY_POLICY;
 import static org.eclipse.ditto.client.TestConstants.Thing.THING_WITH_INLINE_POLICY;
 import static org.eclipse.ditto.client.assertions.ClientAssertions.assertThat;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.assertj.core.api.Assertions;
+import org.eclipse.ditto.client.configuration.BatchRetrieveConfiguration;
 import org.eclipse.ditto.client.internal.AbstractDittoClientThingsTest;
 import org.eclipse.ditto.client.management.AcknowledgementsFailedException;
+import org.eclipse.ditto.client.management.ThingDecoder;
+import org.eclipse.ditto.client.management.ThingHandle;
 import org.eclipse.ditto.client.options.Option;
 import org.eclipse.ditto.client.options.Options;
 import org.eclipse.ditto.client.registration.DuplicateRegistrationIdException;
+import org.eclipse.ditto.json.JsonArray;
 import org.eclipse.ditto.json.JsonFactory;
+import org.eclipse.ditto.json.JsonFieldSelector;
 import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
 import org.eclipse.ditto.base.model.acks.AcknowledgementLabel;
 import org.eclipse.ditto.base.model.acks.AcknowledgementRequest;
 import org.eclipse.ditto.base.model.common.HttpStatus;
@@ -65,10 +82,17 @@ import org.eclipse.ditto.things.model.signals.commands.modify.ModifyPolicyId;
 import org.eclipse.ditto.things.model.signals.commands.modify.ModifyPolicyIdResponse;
 import org.eclipse.ditto.things.model.signals.commands.modify.ModifyThing;
 import org.eclipse.ditto.things.model.signals.commands.modify.ModifyThingResponse;
+import org.eclipse.ditto.things.model.signals.commands.exceptions.ThingNotAccessibleException;
+import org.eclipse.ditto.things.model.signals.commands.query.RetrieveThing;
+import org.eclipse.ditto.things.model.signals.commands.query.RetrieveThingResponse;
+import org.eclipse.ditto.things.model.signals.commands.query.RetrieveThings;
+import org.eclipse.ditto.things.model.signals.commands.query.RetrieveThingsResponse;
 import org.eclipse.ditto.things.model.signals.events.ThingCreated;
 import org.eclipse.ditto.things.model.signals.events.ThingDeleted;
 import org.eclipse.ditto.things.model.signals.events.ThingEvent;
 import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 /**
  * Test top-level (i.e. Thing) operations of the {@link DittoClient}.
@@ -529,4 +553,123 @@ public final class DittoClientThingTest extends AbstractDittoClientThingsTest {
 
         reply(ModifyThingResponse.modified(THING_ID, expectMsgClass(ModifyThing.class).getDittoHeaders()));
     }
+
+    @Test
+    public void testRetrieveInBatchesMergesBatchesInRequestOrder() throws Exception {
+        final List<ThingId> thingIds = Arrays.asList(newThingId("a"), newThingId("b"), newThingId("c"),
+                newThingId("d"), newThingId("e"));
+        final CompletableFuture<List<Thing>> things = getManagement().retrieveInBatches(thingIds,
+                BatchRetrieveConfiguration.newBuilder().batchSize(2).maxInFlight(2).build())
+                .toCompletableFuture();
+
+        final RetrieveThings first = expectMsgClass(RetrieveThings.class);
+        final RetrieveThings second = expectMsgClass(RetrieveThings.class);
+        assertThat(first.getEntityIds()).containsExactly(thingIds.get(0), thingIds.get(1));
+        assertThat(second.getEntityIds()).containsExactly(thingIds.get(2), thingIds.get(3));
+
+        // responses arriving out of order are merged in the order of the requested IDs
+        reply(retrieveThingsResponse(second));
+        reply(retrieveThingsResponse(first));
+        final RetrieveThings third = expectMsgClass(RetrieveThings.class);
+        assertThat(third.getEntityIds()).containsExactly(thingIds.get(4));
+        reply(retrieveThingsResponse(third));
+
+        Assertions.assertThat(things.get(1L, TimeUnit.SECONDS))
+                .extracting(thing -> thing.getEntityId().orElseThrow(IllegalStateException::new))
+                .containsExactlyElementsOf(thingIds);
+    }
+
+    @Test
+    public void testStreamInBatchesPublishesFirstBatchBeforeLastArrives() throws Exception {
+        final List<ThingId> thingIds = Arrays.asList(newThingId("a"), newThingId("b"), newThingId("c"));
+        final BlockingQueue<Thing> received = new LinkedBlockingQueue<>();
+        final CompletableFuture<Void> completed = new CompletableFuture<>();
+        getManagement().streamInBatches(thingIds, BatchRetrieveConfiguration.newBuilder().batchSize(2).build())
+                .subscribe(new Subscriber<Thing>() {
+                    @Override
+                    public void onSubscribe(final Subscription s) {
+                        s.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(final Thing thing) {
+                        received.add(thing);
+                    }
+
+                    @Override
+                    public void onError(final Throwable t) {
+                        completed.completeExceptionally(t);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed.complete(null);
+                    }
+                });
+
+        final RetrieveThings first = expectMsgClass(RetrieveThings.class);
+        final RetrieveThings second = expectMsgClass(RetrieveThings.class);
+        reply(retrieveThingsResponse(first));
+        assertThat(received.poll(1L, TimeUnit.SECONDS).getEntityId()).contains(thingIds.get(0));
+        assertThat(received.poll(1L, TimeUnit.SECONDS).getEntityId()).contains(thingIds.get(1));
+        assertThat(completed).isNotDone();
+
+        reply(ThingErrorResponse.of(ThingNotAccessibleException.newBuilder(thingIds.get(2))
+                .dittoHeaders(second.getDittoHeaders())
+                .build()));
+        Assertions.assertThat(completed).failsWithin(Duration.ofSeconds(1L))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(ThingNotAccessibleException.class);
+    }
+
+    @Test
+    public void testRetrieveWithDecoderDecodesSelectedFields() throws Exception {
+        final JsonFieldSelector fieldSelector = JsonFieldSelector.newInstance("thingId", "attributes/manufacturer");
+        final CompletableFuture<List<Map<JsonPointer, JsonValue>>> decoded = getManagement()
+                .retrieve(fieldSelector, Collections.singletonList(THING_ID), ThingDecoder.flatFields())
+                .toCompletableFuture();
+
+        final RetrieveThings command = expectMsgClass(RetrieveThings.class);
+        Assertions.assertThat(command.getSelectedFields().map(JsonFieldSelector::getPointers).orElse(null))
+                .containsExactlyInAnyOrderElementsOf(fieldSelector.getPointers());
+        final JsonObject thingJson = JsonObject.newBuilder()
+                .set("thingId", THING_ID.toString())
+                .set("attributes", JsonObject.newBuilder().set("manufacturer", "ACME").build())
+                .build();
+        reply(RetrieveThingsResponse.of(JsonArray.of(thingJson), null, command.getDittoHeaders()));
+
+        final Map<JsonPointer, JsonValue> expected = new LinkedHashMap<>();
+        expected.put(JsonPointer.of("thingId"), JsonValue.of(THING_ID.toString()));
+        expected.put(JsonPointer.of("attributes/manufacturer"), JsonValue.of("ACME"));
+        Assertions.assertThat(decoded.get(1L, TimeUnit.SECONDS)).containsExactly(expected);
+    }
+
+    @Test
+    public void testRetrieveThingWithDecoderDecodesSelectedFields() throws Exception {
+        final JsonFieldSelector fieldSelector = JsonFieldSelector.newInstance("thingId", "attributes/manufacturer");
+        final ThingHandle<?> thingHandle = getManagement().forId(THING_ID);
+        final CompletableFuture<Map<JsonPointer, JsonValue>> decoded =
+                thingHandle.retrieve(fieldSelector, ThingDecoder.flatFields()).toCompletableFuture();
+
+        final RetrieveThing command = expectMsgClass(RetrieveThing.class);
+        Assertions.assertThat(command.getSelectedFields().map(JsonFieldSelector::getPointers).orElse(null))
+                .containsExactlyInAnyOrderElementsOf(fieldSelector.getPointers());
+        final JsonObject thingJson = JsonObject.newBuilder()
+                .set("thingId", THING_ID.toString())
+                .set("attributes", JsonObject.newBuilder().set("manufacturer", "ACME").build())
+                .build();
+        reply(RetrieveThingResponse.of(THING_ID, thingJson, command.getDittoHeaders()));
+
+        final Map<JsonPointer, JsonValue> expected = new LinkedHashMap<>();
+        expected.put(JsonPointer.of("thingId"), JsonValue.of(THING_ID.toString()));
+        expected.put(JsonPointer.of("attributes/manufacturer"), JsonValue.of("ACME"));
+        Assertions.assertThat(decoded.get(1L, TimeUnit.SECONDS)).isEqualTo(expected);
+    }
+
+    private static RetrieveThingsResponse retrieveThingsResponse(final RetrieveThings command) {
+        final List<Thing> things = command.getEntityIds().stream()
+                .map(thingId -> Thing.newBuilder().setId(thingId).build())
+                .collect(Collectors.toList());
+        return RetrieveThingsResponse.of(things, field -> true, null, command.getDittoHeaders());
+    }
 }
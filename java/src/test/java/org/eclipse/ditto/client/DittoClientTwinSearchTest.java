@@ -15,11 +15,14 @@ package org.eclipse.ditto.client;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -134,6 +137,34 @@ public final class DittoClientTwinSearchTest extends AbstractDittoClientTest {
                 .isThrownBy(() -> searchResultSpliterator.forEachRemaining(thing -> {}));
     }
 
+    @Test
+    public void partitionsByNamespacesInParallelStreams() {
+        final Set<String> namespaces = new HashSet<>();
+        namespaces.add("x");
+        namespaces.add("y");
+        namespaces.add("z");
+        final Stream<Thing> searchResults = createStreamUnderTest(q -> q.namespaces(namespaces).partitions(2));
+        final int expectedPartitions = method == Method.PARALLEL_STREAM ? 2 : 1;
+        final Set<String> searchedNamespaces = new HashSet<>();
+        for (int i = 0; i < expectedPartitions; i++) {
+            final CreateSubscription createSubscription = expectMsgClass(CreateSubscription.class);
+            final Set<String> partitionNamespaces = createSubscription.getNamespaces().orElseThrow(AssertionError::new);
+            assertThat(partitionNamespaces).doesNotContainAnyElementsOf(searchedNamespaces);
+            searchedNamespaces.addAll(partitionNamespaces);
+            final String subscriptionId = disambiguate("my-partitioned-subscription");
+            reply(SubscriptionCreated.of(subscriptionId, createSubscription.getDittoHeaders()));
+            expectMsgClass(RequestFromSubscription.class);
+            reply(hasNext(subscriptionId, i * 5, i * 5 + 5));
+            reply(SubscriptionComplete.of(subscriptionId, DittoHeaders.empty()));
+        }
+        assertThat(searchedNamespaces).isEqualTo(namespaces);
+        assertThat(searchResults.map(thing -> thing.getEntityId().orElseThrow(AssertionError::new))
+                .collect(Collectors.toSet()))
+                .containsExactlyInAnyOrder(IntStream.range(0, expectedPartitions * 5)
+                        .mapToObj(i -> ThingId.of("x:" + i))
+                        .toArray(ThingId[]::new));
+    }
+
     private SubscriptionHasNextPage hasNext(final String subscriptionId, final int start, final int end) {
         final JsonArray things = IntStream.range(start, end)
                 .mapToObj(i -> JsonObject.newBuilder().set("thingId", "x:" + i).build())
@@ -155,6 +186,8 @@ public final class DittoClientTwinSearchTest extends AbstractDittoClientTest {
                 return StreamSupport.stream(subscriber, false).flatMap(List::stream);
             case STREAM:
                 return client.twin().search().stream(querySpecifier);
+            case PARALLEL_STREAM:
+                return client.twin().search().parallelStream(querySpecifier);
             default:
                 throw new IllegalArgumentException("Unknown method: " + method);
         }
@@ -162,6 +195,7 @@ public final class DittoClientTwinSearchTest extends AbstractDittoClientTest {
 
     enum Method {
         PUBLISHER,
-        STREAM
+        STREAM,
+        PARALLEL_STREAM
     }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.messages.model.Message;
+import org.eclipse.ditto.messages.model.MessageDirection;
+import org.eclipse.ditto.messages.model.MessageHeaders;
+import org.eclipse.ditto.messages.model.MessagesModelFactory;
+import org.eclipse.ditto.messages.model.signals.commands.SendThingMessage;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.eclipse.ditto.protocol.adapter.DittoProtocolAdapter;
+import org.eclipse.ditto.things.model.ThingId;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link BinaryMessageFrame}.
+ */
+public final class BinaryMessageFrameTest {
+
+    private static final ThingId THING_ID = ThingId.of("org.eclipse.ditto.test:thing");
+
+    @Test
+    public void decodesEncodedFrame() {
+        final Adaptable envelope = newEnvelope();
+        final byte[] payloadBytes = {0, 1, 2, (byte) 0xFF};
+        final ByteBuffer payload = ByteBuffer.wrap(payloadBytes);
+
+        final byte[] frame = BinaryMessageFrame.encode(envelope, payload);
+        final Optional<Adaptable> decoded = BinaryMessageFrame.decode(frame);
+
+        assertThat(payload.remaining()).isEqualTo(payloadBytes.length);
+        assertThat(decoded).isPresent();
+        assertThat(decoded.get().getTopicPath()).isEqualTo(envelope.getTopicPath());
+        assertThat(decoded.get().getDittoHeaders()).isEqualTo(envelope.getDittoHeaders());
+        final ByteBuffer decodedPayload = BinaryMessageFrame.getBinaryPayload(decoded.get()).orElseThrow(
+                AssertionError::new);
+        assertThat(decodedPayload.isReadOnly()).isTrue();
+        assertThat(decodedPayload).isEqualTo(ByteBuffer.wrap(payloadBytes));
+    }
+
+    @Test
+    public void doesNotDecodeTextMessages() {
+        final byte[] text = ProtocolFactory.wrapAsJsonifiableAdaptable(newEnvelope())
+                .toJsonString()
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertThat(BinaryMessageFrame.decode(text)).isEmpty();
+        assertThat(BinaryMessageFrame.getBinaryPayload(newEnvelope())).isEmpty();
+    }
+
+    @Test
+    public void isAcceptedOnlyIfServerConfirmsCapabilityHeader() {
+        assertThat(BinaryMessageFrame.isAcceptedBy(Collections.emptyMap())).isFalse();
+        assertThat(BinaryMessageFrame.isAcceptedBy(
+                Collections.singletonMap("Ditto-Binary-Message-Frame", Collections.singletonList("1")))).isTrue();
+        assertThat(BinaryMessageFrame.isAcceptedBy(
+                Collections.singletonMap(BinaryMessageFrame.CAPABILITY_HEADER, Arrays.asList("0", "2")))).isFalse();
+    }
+
+    private static Adaptable newEnvelope() {
+        final MessageHeaders messageHeaders = MessageHeaders.newBuilder(MessageDirection.TO, THING_ID, "upload")
+                .contentType("application/octet-stream")
+                .correlationId("binary-message")
+                .build();
+        final Message<Object> message = MessagesModelFactory.newMessageBuilder(messageHeaders).build();
+        return DittoProtocolAdapter.newInstance()
+                .toAdaptable(SendThingMessage.of(THING_ID, message, DittoHeaders.of(messageHeaders)));
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.client.changes.Change;
+import org.eclipse.ditto.client.changes.ChangeAction;
+import org.eclipse.ditto.client.changes.internal.ImmutableChange;
+import org.eclipse.ditto.client.configuration.ChangeStreamConfiguration;
+import org.eclipse.ditto.client.configuration.ChangeStreamConfiguration.OverflowStrategy;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.things.model.ThingId;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Unit test for {@link ChangePublisher}.
+ */
+public final class ChangePublisherTest {
+
+    private static final ThingId THING_ID = ThingId.of("org.eclipse.ditto:thing-1");
+    private static final ThingId OTHER_THING_ID = ThingId.of("org.eclipse.ditto:thing-2");
+
+    private final Map<String, Consumer<Change>> registrations = new ConcurrentHashMap<>();
+
+    @Test
+    public void deliversChangesAccordingToDemand() {
+        final RecordingSubscriber subscriber = subscribe(OverflowStrategy.DROP_OLDEST, 10);
+
+        publish(change(THING_ID, "a", 1L));
+        publish(change(THING_ID, "a", 2L));
+        assertThat(subscriber.received).isEmpty();
+
+        subscriber.subscription.request(1L);
+        assertThat(subscriber.revisions()).containsExactly(1L);
+
+        subscriber.subscription.request(5L);
+        publish(change(THING_ID, "a", 3L));
+        assertThat(subscriber.revisions()).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    public void dropsOldestChangeOnOverflow() {
+        final RecordingSubscriber subscriber = subscribe(OverflowStrategy.DROP_OLDEST, 2);
+        publish(change(THING_ID, "a", 1L));
+        publish(change(THING_ID, "a", 2L));
+        publish(change(THING_ID, "a", 3L));
+
+        subscriber.subscription.request(10L);
+
+        assertThat(subscriber.revisions()).containsExactly(2L, 3L);
+    }
+
+    @Test
+    public void dropsNewestChangeOnOverflow() {
+        final RecordingSubscriber subscriber = subscribe(OverflowStrategy.DROP_NEWEST, 2);
+        publish(change(THING_ID, "a", 1L));
+        publish(change(THING_ID, "a", 2L));
+        publish(change(THING_ID, "a", 3L));
+
+        subscriber.subscription.request(10L);
+
+        assertThat(subscriber.revisions()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    public void keepsLatestChangeOfEachThingAndPathOnOverflow() {
+        final RecordingSubscriber subscriber = subscribe(OverflowStrategy.LATEST_PER_THING, 2);
+        publish(change(THING_ID, "a", 1L));
+        publish(change(OTHER_THING_ID, "a", 1L));
+        publish(change(THING_ID, "a", 2L));
+
+        subscriber.subscription.request(10L);
+
+        assertThat(subscriber.received)
+                .extracting(Change::getEntityId)
+                .containsExactly(OTHER_THING_ID, THING_ID);
+        assertThat(subscriber.revisions()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    public void failsAndDeregistersOnOverflow() {
+        final RecordingSubscriber subscriber = subscribe(OverflowStrategy.ERROR, 1);
+        publish(change(THING_ID, "a", 1L));
+        publish(change(THING_ID, "a", 2L));
+
+        assertThat(subscriber.error).isInstanceOf(IllegalStateException.class);
+        assertThat(registrations).isEmpty();
+    }
+
+    @Test
+    public void blocksDispatchingThreadUntilDemand() throws Exception {
+        final RecordingSubscriber subscriber = subscribe(OverflowStrategy.BLOCK, 1, Duration.ofSeconds(10L));
+        publish(change(THING_ID, "a", 1L));
+
+        final CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> publish(change(THING_ID, "a", 2L)));
+        assertThat(blocked).isNotDone();
+
+        subscriber.subscription.request(2L);
+
+        blocked.get(1L, TimeUnit.SECONDS);
+        assertThat(subscriber.revisions()).containsExactly(1L, 2L);
+        assertThat(subscriber.error).isNull();
+    }
+
+    @Test
+    public void failsAndDeregistersIfBlockedLongerThanTimeout() {
+        final RecordingSubscriber subscriber = subscribe(OverflowStrategy.BLOCK, 1, Duration.ofMillis(10L));
+        publish(change(THING_ID, "a", 1L));
+
+        publish(change(THING_ID, "a", 2L));
+
+        assertThat(subscriber.error).isInstanceOf(IllegalStateException.class);
+        assertThat(registrations).isEmpty();
+    }
+
+    @Test
+    public void deregistersOnCancel() {
+        final RecordingSubscriber subscriber = subscribe(OverflowStrategy.BLOCK, 1);
+        assertThat(registrations).hasSize(1);
+
+        subscriber.subscription.cancel();
+
+        assertThat(registrations).isEmpty();
+    }
+
+    private RecordingSubscriber subscribe(final OverflowStrategy overflowStrategy, final int bufferSize) {
+        return subscribe(overflowStrategy, bufferSize, ChangeStreamConfiguration.DEFAULT_BLOCK_TIMEOUT);
+    }
+
+    private RecordingSubscriber subscribe(final OverflowStrategy overflowStrategy, final int bufferSize,
+            final Duration blockTimeout) {
+        final ChangeStreamConfiguration configuration = ChangeStreamConfiguration.newBuilder()
+                .bufferSize(bufferSize)
+                .overflowStrategy(overflowStrategy)
+                .blockTimeout(blockTimeout)
+                .build();
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        ChangePublisher.<Change>of(configuration, registrations::put, registrations::remove).subscribe(subscriber);
+        return subscriber;
+    }
+
+    private void publish(final Change change) {
+        new ArrayList<>(registrations.values()).forEach(handler -> handler.accept(change));
+    }
+
+    private static Change change(final ThingId thingId, final String attribute, final long revision) {
+        return new ImmutableChange(thingId, ChangeAction.UPDATED, JsonPointer.of("attributes/" + attribute),
+                JsonValue.of(revision), revision, null, null, DittoHeaders.empty(), acknowledgement -> {});
+    }
+
+    private static final class RecordingSubscriber implements Subscriber<Change> {
+
+        private final List<Change> received = new CopyOnWriteArrayList<>();
+        private volatile Subscription subscription;
+        private volatile Throwable error;
+
+        @Override
+        public void onSubscribe(final Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(final Change change) {
+            received.add(change);
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onComplete() {
+            throw new AssertionError("Change streams never complete");
+        }
+
+        private List<Long> revisions() {
+            final List<Long> revisions = new ArrayList<>();
+            received.forEach(change -> revisions.add(change.getRevision()));
+            return revisions;
+        }
+    }
+
+}
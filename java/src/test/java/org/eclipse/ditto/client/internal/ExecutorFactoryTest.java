@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.client.configuration.ExecutorConfiguration;
+import org.eclipse.ditto.client.configuration.ExecutorConfiguration.ExecutorStrategy;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ExecutorFactory} and {@link SerialExecutor}.
+ */
+public final class ExecutorFactoryTest {
+
+    private final List<ExecutorService> executors = new ArrayList<>();
+
+    @After
+    public void shutdownExecutors() {
+        executors.forEach(ExecutorService::shutdownNow);
+    }
+
+    @Test
+    public void platformPoolRunsTasksOnCallerWhenSaturated() throws Exception {
+        final ExecutorService underTest = create(ExecutorConfiguration.newBuilder()
+                .strategy(ExecutorStrategy.PLATFORM_POOL)
+                .maxPoolSize(1)
+                .build());
+        final CountDownLatch blocker = new CountDownLatch(1);
+        underTest.execute(() -> awaitQuietly(blocker));
+
+        final CompletableFuture<Thread> runner = new CompletableFuture<>();
+        underTest.execute(() -> runner.complete(Thread.currentThread()));
+        blocker.countDown();
+
+        assertThat(runner.get(10, TimeUnit.SECONDS)).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    public void boundedQueueBlocksSubmitterWhenFull() throws Exception {
+        final ExecutorService underTest = create(ExecutorConfiguration.newBuilder()
+                .strategy(ExecutorStrategy.BOUNDED_QUEUE)
+                .maxPoolSize(1)
+                .queueCapacity(1)
+                .build());
+        final CountDownLatch blocker = new CountDownLatch(1);
+        underTest.execute(() -> awaitQuietly(blocker));
+        underTest.execute(() -> {});
+
+        final CompletableFuture<Thread> runner = new CompletableFuture<>();
+        final CompletableFuture<Void> submission = CompletableFuture.runAsync(() ->
+                underTest.execute(() -> runner.complete(Thread.currentThread())));
+
+        TimeUnit.MILLISECONDS.sleep(300L);
+        assertThat(submission).isNotDone();
+
+        blocker.countDown();
+        submission.get(10, TimeUnit.SECONDS);
+        assertThat(runner.get(10, TimeUnit.SECONDS).getName()).startsWith("ditto-client-test-");
+    }
+
+    @Test
+    public void boundedQueueRunsTasksSubmittedByPoolThreadsOnCallerWhenFull() throws Exception {
+        final ExecutorService underTest = create(ExecutorConfiguration.newBuilder()
+                .strategy(ExecutorStrategy.BOUNDED_QUEUE)
+                .maxPoolSize(1)
+                .queueCapacity(1)
+                .build());
+
+        final CompletableFuture<Thread> submitter = new CompletableFuture<>();
+        final List<Thread> callerRunners = new ArrayList<>();
+        final CountDownLatch queuedTaskRan = new CountDownLatch(1);
+        underTest.execute(() -> {
+            // the only pool thread is busy: the first nested task fills the queue, the others would block forever
+            underTest.execute(queuedTaskRan::countDown);
+            underTest.execute(() -> callerRunners.add(Thread.currentThread()));
+            underTest.execute(() -> callerRunners.add(Thread.currentThread()));
+            submitter.complete(Thread.currentThread());
+        });
+
+        final Thread poolThread = submitter.get(10, TimeUnit.SECONDS);
+        assertThat(queuedTaskRan.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(callerRunners).containsExactly(poolThread, poolThread);
+    }
+
+    @Test
+    public void virtualThreadPerTaskRunsTasksOnAnyRuntime() throws Exception {
+        final ExecutorService underTest = create(ExecutorConfiguration.newBuilder()
+                .strategy(ExecutorStrategy.VIRTUAL_THREAD_PER_TASK)
+                .build());
+
+        final CompletableFuture<Thread> runner = new CompletableFuture<>();
+        underTest.execute(() -> runner.complete(Thread.currentThread()));
+
+        // falls back to platform threads on runtimes without virtual threads
+        assertThat(runner.get(10, TimeUnit.SECONDS).getName()).startsWith("ditto-client-test-");
+    }
+
+    @Test
+    public void serialExecutorPreservesOrderOnConcurrentDelegate() throws Exception {
+        final ExecutorService delegate = create(ExecutorConfiguration.newBuilder().maxPoolSize(4).build());
+        final SerialExecutor underTest = new SerialExecutor(delegate);
+        final List<Integer> executed = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        for (int i = 0; i < 1000; i++) {
+            final int n = i;
+            underTest.execute(() -> executed.add(n));
+        }
+        underTest.execute(done::countDown);
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).hasSize(1000).isSorted();
+    }
+
+    private ExecutorService create(final ExecutorConfiguration configuration) {
+        final ExecutorService executor = ExecutorFactory.newExecutorService("test", configuration);
+        executors.add(executor);
+        return executor;
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
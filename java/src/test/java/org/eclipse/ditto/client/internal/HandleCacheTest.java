@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.eclipse.ditto.client.configuration.HandleCacheConfiguration;
+import org.eclipse.ditto.client.metrics.CacheStatistics;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link HandleCache}.
+ */
+public final class HandleCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void evictsLeastRecentlyUsedHandleBeyondMaximumSize() {
+        final HandleCache<String, Object> underTest = newCache(2, Duration.ofHours(1L), handle -> false);
+        underTest.computeIfAbsent("a", Object::new);
+        underTest.computeIfAbsent("b", Object::new);
+        underTest.computeIfAbsent("a", Object::new);
+        underTest.computeIfAbsent("c", Object::new);
+
+        final CacheStatistics statistics = underTest.getStatistics();
+        assertThat(statistics.getSize()).isEqualTo(2L);
+        assertThat(statistics.getHitCount()).isEqualTo(1L);
+        assertThat(statistics.getMissCount()).isEqualTo(3L);
+        assertThat(statistics.getEvictionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void evictsIdleHandles() {
+        final HandleCache<String, Object> underTest = newCache(10, Duration.ofSeconds(1L), handle -> false);
+        underTest.computeIfAbsent("a", Object::new);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2L));
+        underTest.computeIfAbsent("b", Object::new);
+
+        assertThat(underTest.getStatistics().getSize()).isEqualTo(1L);
+        assertThat(underTest.getStatistics().getEvictionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void doesNotEvictPinnedHandles() {
+        final Set<Object> pinned = ConcurrentHashMap.newKeySet();
+        final HandleCache<String, Object> underTest = newCache(1, Duration.ofSeconds(1L), pinned::contains);
+        final Object a = underTest.computeIfAbsent("a", Object::new);
+        pinned.add(a);
+        underTest.computeIfAbsent("b", Object::new);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2L));
+        underTest.computeIfAbsent("c", Object::new);
+
+        assertThat(underTest.getIfPresent("a")).containsSame(a);
+        assertThat(underTest.getStatistics().getEvictionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void returnsEvictedHandleWhichIsStillReferenced() {
+        final HandleCache<String, Object> underTest = newCache(1, Duration.ofHours(1L), handle -> false);
+        final Object a = underTest.computeIfAbsent("a", Object::new);
+        underTest.computeIfAbsent("b", Object::new);
+
+        assertThat(underTest.getStatistics().getEvictionCount()).isEqualTo(1L);
+        assertThat(underTest.computeIfAbsent("a", Object::new)).isSameAs(a);
+    }
+
+    @Test
+    public void createsAbsentHandleOnlyOnceWhenLookedUpConcurrently() throws Exception {
+        final HandleCache<String, Object> underTest = HandleCache.of(HandleCacheConfiguration.defaultConfiguration(),
+                handle -> false);
+        final AtomicInteger created = new AtomicInteger();
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<CompletableFuture<Object>> handles = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                handles.add(CompletableFuture.supplyAsync(() -> {
+                    awaitQuietly(start);
+                    return underTest.computeIfAbsent("a", () -> {
+                        created.incrementAndGet();
+                        return new Object();
+                    });
+                }, executor));
+            }
+            start.countDown();
+
+            final Object first = handles.get(0).get(10, TimeUnit.SECONDS);
+            for (final CompletableFuture<Object> handle : handles) {
+                assertThat(handle.get(10, TimeUnit.SECONDS)).isSameAs(first);
+            }
+            assertThat(created).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private HandleCache<String, Object> newCache(final int maximumSize, final Duration expireAfterAccess,
+            final Predicate<Object> isPinned) {
+        final HandleCacheConfiguration configuration = HandleCacheConfiguration.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+        return new HandleCache<>(configuration, isPinned, clock::get);
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaderDefinition;
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
+import org.eclipse.ditto.client.configuration.ResponseCacheConfiguration;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.things.model.Thing;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.signals.commands.exceptions.ThingPreconditionNotModifiedException;
+import org.eclipse.ditto.things.model.signals.commands.query.RetrieveThing;
+import org.eclipse.ditto.things.model.signals.commands.query.RetrieveThingResponse;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ResponseCache}.
+ */
+public final class ResponseCacheTest {
+
+    private static final ThingId THING_ID = ThingId.of("org.eclipse.ditto:thing-1");
+    private static final String ETAG = "\"rev:5\"";
+
+    private final List<RetrieveThing> sentCommands = new ArrayList<>();
+
+    @Test
+    public void answersNotModifiedWithCachedResponse() {
+        final ResponseCache underTest = newCache();
+        final Thing thing = Thing.newBuilder().setId(THING_ID).setAttribute("counter", 5).build();
+
+        retrieve(underTest, respondWith(thing));
+        final Thing result = retrieve(underTest, respondNotModified());
+
+        assertThat(result).isEqualTo(thing);
+        assertThat(sentCommands.get(0).getDittoHeaders())
+                .doesNotContainKey(DittoHeaderDefinition.IF_NONE_MATCH.getKey());
+        assertThat(sentCommands.get(1).getDittoHeaders())
+                .containsEntry(DittoHeaderDefinition.IF_NONE_MATCH.getKey(), ETAG);
+        assertThat(underTest.getStatistics().getHitCount()).isEqualTo(1L);
+        assertThat(underTest.getStatistics().getMissCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void sendsUnconditionalRetrieveAfterInvalidation() {
+        final ResponseCache underTest = newCache();
+        final Thing thing = Thing.newBuilder().setId(THING_ID).build();
+
+        retrieve(underTest, respondWith(thing));
+        underTest.invalidate(THING_ID);
+        retrieve(underTest, respondWith(thing));
+
+        assertThat(sentCommands.get(1).getDittoHeaders())
+                .doesNotContainKey(DittoHeaderDefinition.IF_NONE_MATCH.getKey());
+        assertThat(underTest.getStatistics().getSize()).isEqualTo(1L);
+    }
+
+    private Thing retrieve(final ResponseCache cache,
+            final Function<Function<RetrieveThingResponse, Thing>, CompletionStage<Thing>> backend) {
+
+        return cache.retrieve(THING_ID, RetrieveThing.of(THING_ID, DittoHeaders.empty()), null,
+                RetrieveThingResponse.class, RetrieveThingResponse::getThing,
+                (command, onSuccess) -> {
+                    sentCommands.add(command);
+                    return backend.apply(onSuccess);
+                })
+                .toCompletableFuture()
+                .join();
+    }
+
+    private static Function<Function<RetrieveThingResponse, Thing>, CompletionStage<Thing>> respondWith(
+            final Thing thing) {
+
+        final DittoHeaders headers = DittoHeaders.newBuilder()
+                .putHeader(DittoHeaderDefinition.ETAG.getKey(), ETAG)
+                .build();
+        final JsonObject thingJson = thing.toJson();
+        return onSuccess -> CompletableFuture.completedFuture(
+                onSuccess.apply(RetrieveThingResponse.of(THING_ID, thingJson, headers)));
+    }
+
+    private static Function<Function<RetrieveThingResponse, Thing>, CompletionStage<Thing>> respondNotModified() {
+        final CompletableFuture<Thing> notModified = new CompletableFuture<>();
+        notModified.completeExceptionally(new CompletionException(
+                ThingPreconditionNotModifiedException.newBuilder(ETAG, ETAG).build()));
+        return onSuccess -> notModified;
+    }
+
+    private static ResponseCache newCache() {
+        return ResponseCache.of(ResponseCacheConfiguration.newBuilder().build(),
+                OutgoingMessageFactory.newInstance(JsonSchemaVersion.V_2));
+    }
+
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.ditto.client.configuration.ExecutorConfiguration;
+import org.eclipse.ditto.client.metrics.StripedClientMetrics;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonRuntimeException;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.eclipse.ditto.protocol.ProtocolFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link DefaultAdaptableBus}.
+ */
+public final class DefaultAdaptableBusTest {
+
+    private static final String TWIN_EVENT = "{\"topic\":\"org.eclipse.ditto/thing/things/twin/events/modified\"," +
+            "\"headers\":{\"correlation-id\":\"%s\"},\"path\":\"/attributes/foo\",\"value\":1,\"revision\":1}";
+
+    private static final String THING_EVENT = "{\"topic\":\"org.eclipse.ditto/%s/things/twin/events/modified\"," +
+            "\"headers\":{},\"path\":\"/attributes/foo\",\"value\":1,\"revision\":%d}";
+
+    private static final String INVALID_TWIN_EVENT =
+            "{\"topic\":\"org.eclipse.ditto/thing/things/twin/events/modified\"," +
+            "\"headers\":{\"correlation-id\":\"%s\"},\"path\":42}";
+
+    private static final String ERROR = "{\"topic\":\"org.eclipse.ditto/thing/things/twin/errors\"," +
+            "\"headers\":{\"correlation-id\":\"error-1\"},\"path\":\"/\",\"value\":{\"status\":404," +
+            "\"error\":\"things:thing.notfound\",\"message\":\"not found\"},\"status\":404}";
+
+    private static final String SEARCH_NEXT = "{\"topic\":\"_/_/things/twin/search/next\"," +
+            "\"headers\":{\"correlation-id\":\"outer\"},\"path\":\"/\"," +
+            "\"value\":{\"subscriptionId\":\"sub-1\",\"items\":[]}}";
+
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduledExecutor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Test
+    public void oneTimeSubscriberTakesPrecedenceOverPersistentSubscribers() throws Exception {
+        final AdaptableBus underTest = BusFactory.createAdaptableBus(executor, scheduledExecutor);
+        final CompletableFuture<Adaptable> persistent = new CompletableFuture<>();
+        underTest.subscribeForAdaptable(Classification.StreamingType.TWIN_EVENT, persistent::complete);
+        final CompletableFuture<Adaptable> oneTime = underTest.subscribeOnceForAdaptable(
+                Classification.forCorrelationId("cid-1"), Duration.ofSeconds(10)).toCompletableFuture();
+
+        underTest.publish(String.format(TWIN_EVENT, "cid-1"));
+        underTest.publish(String.format(TWIN_EVENT, "cid-2"));
+
+        assertThat(oneTime.get(10, TimeUnit.SECONDS).getDittoHeaders().getCorrelationId()).contains("cid-1");
+        assertThat(persistent.get(10, TimeUnit.SECONDS).getDittoHeaders().getCorrelationId()).contains("cid-2");
+    }
+
+    @Test
+    public void errorsAreClassifiedByErrorCodeAndAsErrors() throws Exception {
+        final AdaptableBus underTest = BusFactory.createAdaptableBus(executor, scheduledExecutor);
+        final CompletableFuture<Adaptable> byErrors = new CompletableFuture<>();
+        final CompletableFuture<Adaptable> byErrorCode = new CompletableFuture<>();
+        underTest.subscribeForAdaptable(Classification.forErrors(), byErrors::complete);
+        underTest.subscribeForAdaptable(Classification.forErrorCode("things:thing.notfound"), byErrorCode::complete);
+
+        underTest.publish(ERROR);
+
+        assertThat(byErrors.get(10, TimeUnit.SECONDS)).isNotNull();
+        assertThat(byErrorCode.get(10, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    public void nestedPublicationFromSequentialSubscriberDoesNotAffectOuterDispatch() throws Exception {
+        // classify search events first so that the sequential search subscriber runs before the outer message
+        // is dispatched by its correlation ID
+        final AdaptableBus underTest = new DefaultAdaptableBus(executor, scheduledExecutor)
+                .addAdaptableClassifier(Classifiers.thingsSearch())
+                .addAdaptableClassifier(Classifiers.correlationId());
+        final CompletableFuture<Adaptable> outer = new CompletableFuture<>();
+        final CompletableFuture<Adaptable> inner = new CompletableFuture<>();
+        underTest.subscribeForAdaptable(Classification.forThingsSearch("sub-1"),
+                adaptable -> underTest.publish(String.format(TWIN_EVENT, "inner")));
+        underTest.subscribeForAdaptable(Classification.forCorrelationId("inner"), inner::complete);
+        underTest.subscribeForAdaptable(Classification.forCorrelationId("outer"), outer::complete);
+
+        underTest.publish(SEARCH_NEXT);
+
+        assertThat(inner.get(10, TimeUnit.SECONDS).getDittoHeaders().getCorrelationId()).contains("inner");
+        assertThat(outer.get(10, TimeUnit.SECONDS).getDittoHeaders().getCorrelationId()).contains("outer");
+    }
+
+    @Test
+    public void suspendedOneTimeSubscriptionsDoNotTimeOut() throws Exception {
+        final AdaptableBus underTest = BusFactory.createAdaptableBus(executor, scheduledExecutor);
+        final CompletableFuture<Adaptable> beforeSuspension = underTest.subscribeOnceForAdaptable(
+                Classification.forCorrelationId("cid-1"), Duration.ofMillis(200L)).toCompletableFuture();
+        underTest.suspendOneTimeSubscriptionTimeouts(Duration.ofSeconds(10L));
+        final CompletableFuture<Adaptable> duringSuspension = underTest.subscribeOnceForAdaptable(
+                Classification.forCorrelationId("cid-2"), Duration.ofMillis(200L)).toCompletableFuture();
+
+        TimeUnit.MILLISECONDS.sleep(500L);
+        assertThat(beforeSuspension).isNotDone();
+        assertThat(duringSuspension).isNotDone();
+
+        underTest.publish(String.format(TWIN_EVENT, "cid-1"));
+        underTest.resumeOneTimeSubscriptionTimeouts();
+
+        assertThat(beforeSuspension.get(10, TimeUnit.SECONDS)).isNotNull();
+        assertThat(duringSuspension).failsWithin(Duration.ofSeconds(10L))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    public void suspendedOneTimeSubscriptionsTimeOutAfterMaximumSuspension() {
+        final AdaptableBus underTest = BusFactory.createAdaptableBus(executor, scheduledExecutor);
+        underTest.suspendOneTimeSubscriptionTimeouts(Duration.ofMillis(300L));
+        final CompletableFuture<Adaptable> response = underTest.subscribeOnceForAdaptable(
+                Classification.forCorrelationId("cid-1"), Duration.ofMillis(200L)).toCompletableFuture();
+        final CompletableFuture<String> ack = underTest.subscribeOnceForString(
+                Classification.forString("START-SEND-EVENTS:ACK"), Duration.ofMillis(200L)).toCompletableFuture();
+
+        assertThat(response).failsWithin(Duration.ofSeconds(10L))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(TimeoutException.class);
+        assertThat(ack).failsWithin(Duration.ofSeconds(10L))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    public void failsAllOneTimeSubscriptions() {
+        final AdaptableBus underTest = BusFactory.createAdaptableBus(executor, scheduledExecutor);
+        underTest.suspendOneTimeSubscriptionTimeouts(Duration.ofSeconds(10L));
+        final CompletableFuture<Adaptable> response = underTest.subscribeOnceForAdaptable(
+                Classification.forCorrelationId("cid-1"), Duration.ofSeconds(10L)).toCompletableFuture();
+        final CompletableFuture<String> ack = underTest.subscribeOnceForString(
+                Classification.forString("START-SEND-EVENTS:ACK"), Duration.ofSeconds(10L)).toCompletableFuture();
+
+        underTest.failOneTimeSubscriptions(new IllegalStateException("closed"));
+
+        assertThat(response).isCompletedExceptionally();
+        assertThat(ack).isCompletedExceptionally();
+    }
+
+    @Test
+    public void exclusiveOneTimeStringSubscriptionReplacesEarlierOnes() throws Exception {
+        final AdaptableBus underTest = BusFactory.createAdaptableBus(executor, scheduledExecutor);
+        final Classification ack = Classification.forString("START-SEND-EVENTS:ACK");
+        final CompletableFuture<String> replaced =
+                underTest.subscribeOnceForString(ack, Duration.ofMillis(200L)).toCompletableFuture();
+        final CompletableFuture<String> exclusive =
+                underTest.subscribeOnceForStringExclusively(ack, Duration.ofSeconds(10L)).toCompletableFuture();
+
+        underTest.publish("START-SEND-EVENTS:ACK");
+
+        assertThat(exclusive.get(10, TimeUnit.SECONDS)).isEqualTo("START-SEND-EVENTS:ACK");
+        TimeUnit.MILLISECONDS.sleep(400L);
+        assertThat(replaced).isNotDone();
+    }
+
+    @Test
+    public void persistentSubscriptionWithTimeoutIsRemovedOnceIdle() throws Exception {
+        final AdaptableBus underTest = BusFactory.createAdaptableBus(executor, scheduledExecutor);
+        final List<Adaptable> received = Collections.synchronizedList(new ArrayList<>());
+        final CompletableFuture<Throwable> idleTimeout = new CompletableFuture<>();
+        underTest.subscribeForAdaptableWithTimeout(Classification.forCorrelationId("cid-1"), Duration.ofMillis(300L),
+                received::add, adaptable -> false, idleTimeout::complete);
+
+        for (int i = 0; i < 3; i++) {
+            TimeUnit.MILLISECONDS.sleep(150L);
+            underTest.publish(String.format(TWIN_EVENT, "cid-1"));
+        }
+        assertThat(idleTimeout).isNotDone();
+
+        assertThat(idleTimeout.get(10, TimeUnit.SECONDS)).isInstanceOf(TimeoutException.class);
+        underTest.publish(String.format(TWIN_EVENT, "cid-1"));
+        TimeUnit.MILLISECONDS.sleep(100L);
+        assertThat(received).hasSize(3);
+    }
+
+    @Test
+    public void parsedAdaptableIsDispatchedLikeItsStringForm() throws Exception {
+        final AdaptableBus underTest = BusFactory.createAdaptableBus(executor, scheduledExecutor);
+        final Adaptable adaptable = ProtocolFactory.jsonifiableAdaptableFromJson(
+                JsonObject.of(String.format(TWIN_EVENT, "cid-1")));
+        final CompletableFuture<Adaptable> persistent = new CompletableFuture<>();
+        underTest.subscribeForAdaptable(Classification.StreamingType.TWIN_EVENT, persistent::complete);
+        final CompletableFuture<Adaptable> oneTime = underTest.subscribeOnceForAdaptable(
+                Classification.forCorrelationId("cid-1"), Duration.ofSeconds(10)).toCompletableFuture();
+
+        underTest.publishAdaptable(adaptable);
+        assertThat(oneTime.get(10, TimeUnit.SECONDS)).isSameAs(adaptable);
+        assertThat(persistent).isNotDone();
+
+        underTest.publishAdaptable(adaptable);
+        assertThat(persistent.get(10, TimeUnit.SECONDS)).isSameAs(adaptable);
+    }
+
+    @Test
+    public void eventsOfOneThingAreDeliveredInOrderWithPerEntityOrdering() throws Exception {
+        final ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            final AdaptableBus underTest = BusFactory.createAdaptableBus(pool, scheduledExecutor,
+                    ExecutorConfiguration.newBuilder()
+                            .dispatchOrdering(ExecutorConfiguration.DispatchOrdering.PER_ENTITY)
+                            .dispatchLanes(4)
+                            .build());
+            final int eventsPerThing = 200;
+            final Map<String, List<Long>> revisionsByThing = new ConcurrentHashMap<>();
+            final CountDownLatch received = new CountDownLatch(3 * eventsPerThing);
+            underTest.subscribeForAdaptable(Classification.StreamingType.TWIN_EVENT, adaptable -> {
+                final long revision = adaptable.getPayload().getRevision().orElseThrow(IllegalStateException::new);
+                if (revision % 10 == 0) {
+                    // give later events the chance to overtake this one
+                    sleepQuietly(5L);
+                }
+                revisionsByThing.computeIfAbsent(adaptable.getTopicPath().getEntityName(),
+                        thing -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(revision);
+                received.countDown();
+            });
+
+            for (long revision = 1; revision <= eventsPerThing; revision++) {
+                for (final String thing : Arrays.asList("a", "b", "c")) {
+                    underTest.publish(String.format(THING_EVENT, thing, revision));
+                }
+            }
+
+            assertThat(received.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(revisionsByThing).hasSize(3);
+            revisionsByThing.values().forEach(revisions -> assertThat(revisions).hasSize(eventsPerThing).isSorted());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void unparseableMessageIsIgnored() {
+        final AdaptableBus underTest = BusFactory.createAdaptableBus(executor, scheduledExecutor);
+        final CompletableFuture<Adaptable> persistent = new CompletableFuture<>();
+        underTest.subscribeForAdaptable(Classification.StreamingType.TWIN_EVENT, persistent::complete);
+
+        underTest.publish("{not json");
+
+        assertThat(persistent).isNotDone();
+    }
+
+    @Test
+    public void reportsParseFailuresTimeoutsAndSubscribersToClientMetrics() throws Exception {
+        final StripedClientMetrics metrics = StripedClientMetrics.newInstance();
+        final AdaptableBus underTest = BusFactory.createAdaptableBus(executor, scheduledExecutor,
+                ExecutorConfiguration.defaultConfiguration(), metrics);
+        underTest.subscribeForAdaptable(Classification.StreamingType.TWIN_EVENT, adaptable -> {});
+        underTest.subscribeForAdaptable(Classification.StreamingType.TWIN_EVENT, adaptable -> {});
+        final CompletableFuture<Adaptable> oneTime = underTest.subscribeOnceForAdaptable(
+                Classification.forCorrelationId("cid-1"), Duration.ofMillis(100L)).toCompletableFuture();
+
+        assertThat(metrics.getSubscriberCounts())
+                .containsEntry("TWIN_EVENT", 2L)
+                .containsEntry("CorrelationId", 1L);
+
+        underTest.publish("{not json");
+        final Throwable timeout = oneTime.handle((result, error) -> error).get(10, TimeUnit.SECONDS);
+
+        assertThat(timeout).isInstanceOf(TimeoutException.class);
+        assertThat(metrics.getParseFailures()).isEqualTo(1L);
+        assertThat(metrics.getOneTimeSubscriptionTimeouts()).containsEntry("CorrelationId", 1L);
+        assertThat(metrics.getSubscriberCounts()).containsEntry("CorrelationId", 0L);
+    }
+
+    @Test
+    public void requestsSharingACorrelationIdReceiveOneResponseEach() throws Exception {
+        final StripedClientMetrics metrics = StripedClientMetrics.newInstance();
+        final AdaptableBus underTest = BusFactory.createAdaptableBus(executor, scheduledExecutor,
+                ExecutorConfiguration.defaultConfiguration(), metrics);
+        final CompletableFuture<Adaptable> first = underTest.subscribeOnceForAdaptable(
+                Classification.forCorrelationId("cid-1"), Duration.ofSeconds(10L)).toCompletableFuture();
+        final CompletableFuture<Adaptable> second = underTest.subscribeOnceForAdaptable(
+                Classification.forCorrelationId("cid-1"), Duration.ofSeconds(10L)).toCompletableFuture();
+
+        assertThat(metrics.getInFlightRequests()).isEqualTo(2L);
+
+        underTest.publish(String.format(TWIN_EVENT, "cid-1"));
+        assertThat(first.get(10, TimeUnit.SECONDS)).isNotNull();
+        assertThat(second).isNotDone();
+        assertThat(metrics.getInFlightRequests()).isEqualTo(1L);
+
+        underTest.publish(String.format(TWIN_EVENT, "cid-1"));
+        assertThat(second.get(10, TimeUnit.SECONDS)).isNotNull();
+        assertThat(metrics.getInFlightRequests()).isZero();
+    }
+
+    @Test
+    public void messagesWithoutSubscribersAreDroppedWithoutBeingParsed() throws Exception {
+        final StripedClientMetrics metrics = StripedClientMetrics.newInstance();
+        final AdaptableBus underTest = BusFactory.createAdaptableBus(executor, scheduledExecutor,
+                ExecutorConfiguration.defaultConfiguration(), metrics);
+        underTest.subscribeForAdaptable(Classification.forCorrelationId("other"), adaptable -> {});
+
+        underTest.publish(String.format(INVALID_TWIN_EVENT, "cid-1"));
+        assertThat(metrics.getParseFailures()).isZero();
+
+        final CompletableFuture<Adaptable> response = underTest.subscribeOnceForAdaptable(
+                Classification.forCorrelationId("cid-1"), Duration.ofSeconds(10L)).toCompletableFuture();
+        underTest.publish(String.format(INVALID_TWIN_EVENT, "cid-1"));
+
+        assertThat(response).failsWithin(Duration.ofSeconds(10L))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(JsonRuntimeException.class);
+        assertThat(metrics.getParseFailures()).isEqualTo(1L);
+    }
+
+    @Test
+    public void messagesAreParsedOnceOnTheExecutorOfTheirSubscribers() throws Exception {
+        final AdaptableBus underTest = BusFactory.createAdaptableBus(executor, scheduledExecutor);
+        final CompletableFuture<Adaptable> first = new CompletableFuture<>();
+        final CompletableFuture<Adaptable> second = new CompletableFuture<>();
+        final CompletableFuture<Thread> consumingThread = new CompletableFuture<>();
+        underTest.subscribeForAdaptable(Classification.StreamingType.TWIN_EVENT, adaptable -> {
+            consumingThread.complete(Thread.currentThread());
+            first.complete(adaptable);
+        });
+        underTest.subscribeForAdaptable(Classification.forCorrelationId("cid-1"), second::complete);
+
+        underTest.publish(String.format(TWIN_EVENT, "cid-1"));
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).isSameAs(second.get(10, TimeUnit.SECONDS));
+        assertThat(consumingThread.get(10, TimeUnit.SECONDS)).isNotSameAs(Thread.currentThread());
+    }
+
+    @Test
+    public void classifierAddedAfterRawFrameClassifiersClassifiesParsedMessages() throws Exception {
+        final AdaptableBus underTest = new DefaultAdaptableBus(executor, scheduledExecutor)
+                .addAdaptableClassifier(Classifiers.correlationId());
+        final CompletableFuture<Adaptable> byCorrelationId = new CompletableFuture<>();
+        final CompletableFuture<Adaptable> byPath = new CompletableFuture<>();
+        underTest.subscribeForAdaptable(Classification.forCorrelationId("cid-1"), byCorrelationId::complete);
+        underTest.subscribeForAdaptable(Classification.forString("/attributes/foo"), byPath::complete);
+        underTest.publish(String.format(TWIN_EVENT, "cid-1"));
+        assertThat(byCorrelationId.get(10, TimeUnit.SECONDS)).isNotNull();
+
+        underTest.addAdaptableClassifier(
+                adaptable -> Optional.of(Classification.forString(adaptable.getPayload().getPath().toString())));
+        underTest.publish(String.format(TWIN_EVENT, "cid-2"));
+
+        assertThat(byPath.get(10, TimeUnit.SECONDS).getDittoHeaders().getCorrelationId()).contains("cid-2");
+    }
+
+    private static void sleepQuietly(final long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
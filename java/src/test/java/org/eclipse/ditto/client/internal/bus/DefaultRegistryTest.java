@@ -14,9 +14,14 @@ package org.eclipse.ditto.client.internal.bus;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+import org.eclipse.ditto.json.JsonObject;
 import org.eclipse.ditto.json.JsonPointer;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -49,11 +54,131 @@ public final class DefaultRegistryTest {
         selectionShouldContain(registry.select(pointer), consumerB);
     }
 
+    @Test
+    public void selectsTemplatesWhichArePrefixesOfThePointer() {
+        final Consumer thing = register("/things/{thingId}");
+        final Consumer attributes = register("/things/{thingId}/attributes");
+        final Consumer attribute = register("/things/{thingId}/attributes/{attributeKey}");
+        final Consumer specificAttribute = register("/things/org.eclipse.ditto:thing/attributes/foo");
+        final Consumer features = register("/things/{thingId}/features");
+
+        selectionShouldContain(registry.select(JsonPointer.of("/things/org.eclipse.ditto:thing/attributes/foo")),
+                thing, attributes, attribute, specificAttribute);
+        selectionShouldContain(registry.select(JsonPointer.of("/things/org.eclipse.ditto:other/attributes/foo")),
+                thing, attributes, attribute);
+        selectionShouldContain(registry.select(JsonPointer.of("/things/org.eclipse.ditto:thing/attributes")),
+                thing, attributes);
+        selectionShouldContain(registry.select(JsonPointer.of("/things")));
+        selectionShouldContain(registry.select(JsonPointer.empty()),
+                thing, attributes, attribute, specificAttribute, features);
+    }
+
+    @Test
+    public void selectsTemplatesMatchingAnyChangePath() {
+        final Consumer thing = register("/things/{thingId}");
+        final Consumer attribute = register("/things/{thingId}/attributes/{attributeKey}");
+        final Consumer foo = register("/things/{thingId}/attributes/foo");
+        final Consumer bar = register("/things/{thingId}/attributes/bar");
+        final Consumer features = register("/things/{thingId}/features");
+
+        final JsonPointer pointer = new JsonPointerWithChangePaths(JsonPointer.of("/things/x:y/attributes"),
+                Arrays.asList(JsonPointer.of("/foo"), JsonPointer.of("/foo/baz")));
+
+        selectionShouldContain(registry.select(pointer), thing, attribute, foo);
+    }
+
+    @Test
+    public void selectsTemplatesMatchingPathsOfTheChangedValue() {
+        final Consumer thing = register("/things/{thingId}");
+        final Consumer attribute = register("/things/{thingId}/attributes/{attributeKey}");
+        final Consumer baz = register("/things/{thingId}/attributes/foo/baz");
+        final Consumer bar = register("/things/{thingId}/attributes/bar");
+
+        final JsonPointer pointer = JsonPointerWithChangePaths.of(JsonPointer.of("/things/x:y/attributes"),
+                JsonObject.newBuilder().set(JsonPointer.of("/foo/baz/deep/deeper"), 1).build());
+
+        selectionShouldContain(registry.select(pointer), thing, attribute, baz);
+    }
+
+    @Test
+    public void cancelledRegistrationIsNotSelectedAnymore() {
+        final JsonPointer pointer = JsonPointer.of("/things/x:y/attributes/foo");
+        final Consumer consumer = Mockito.mock(Consumer.class);
+        final Registration<Consumer> registration =
+                registry.register(JsonPointerSelectors.jsonPointer("/things/{thingId}/attributes"), consumer);
+        selectionShouldContain(registry.select(pointer), consumer);
+
+        registration.cancel();
+
+        selectionShouldContain(registry.select(pointer));
+        assertThat(registry.iterator()).isExhausted();
+    }
+
+    @Test
+    public void registrationEvictsCachedSelection() {
+        final JsonPointer pointer = JsonPointer.of("/things/x:y/attributes/foo");
+        final Consumer thing = register("/things/{thingId}");
+        selectionShouldContain(registry.select(pointer), thing);
+
+        final Consumer attributes = register("/things/x:y/attributes");
+
+        selectionShouldContain(registry.select(pointer), thing, attributes);
+    }
+
+    @Test
+    public void predicateSelectorsAreMatched() {
+        final Consumer consumer = Mockito.mock(Consumer.class);
+        registry.register(JsonPointerSelectors.predicate(pointer -> pointer.getLevelCount() == 2), consumer);
+
+        selectionShouldContain(registry.select(JsonPointer.of("/a/b")), consumer);
+        selectionShouldContain(registry.select(JsonPointer.of("/a/b/c")));
+    }
+
+    @Test
+    public void selectionIsEquivalentToMatchingEachSelector() {
+        final Random random = new Random(42L);
+        final List<String> keys = Arrays.asList("a", "b", "c", "{x}", "{y}");
+        final List<JsonPointerSelector> selectors = random.ints(200, 0, 4)
+                .mapToObj(depth -> randomPointer(random, keys, depth))
+                .map(JsonPointerSelectors::jsonPointer)
+                .collect(Collectors.toList());
+        selectors.forEach(selector -> registry.register(selector, Mockito.mock(Consumer.class)));
+
+        for (int i = 0; i < 200; i++) {
+            final JsonPointer target = JsonPointer.of(randomPointer(random, Arrays.asList("a", "b", "c", "d"),
+                    random.nextInt(5)));
+            final JsonPointer pointer = random.nextBoolean() ? target :
+                    new JsonPointerWithChangePaths(target, Collections.singletonList(
+                            JsonPointer.of(randomPointer(random, Arrays.asList("a", "b"), random.nextInt(3)))));
+            final List<JsonPointerSelector> expected = selectors.stream()
+                    .filter(selector -> selector.matches(pointer))
+                    .collect(Collectors.toList());
+
+            assertThat(registry.select(pointer).stream().map(Registration::getSelector))
+                    .describedAs("selection of <%s>", pointer)
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private Consumer register(final String template) {
+        final Consumer consumer = Mockito.mock(Consumer.class);
+        registry.register(JsonPointerSelectors.jsonPointer(template), consumer);
+        return consumer;
+    }
+
+    private static String randomPointer(final Random random, final List<String> keys, final int depth) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            sb.append('/').append(keys.get(random.nextInt(keys.size())));
+        }
+        return sb.toString();
+    }
+
     @SafeVarargs
     private final <T> void selectionShouldContain(final List<Registration<T>> selection,
             final T... objects) {
         assertThat(selection).hasSize(objects.length);
-        assertThat(selection.stream().map(Registration::getRegisteredObject)).contains(objects);
+        assertThat(selection.stream().map(Registration::getRegisteredObject)).containsExactlyInAnyOrder(objects);
     }
 
 }
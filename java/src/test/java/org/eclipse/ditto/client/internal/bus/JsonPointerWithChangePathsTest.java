@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JsonPointerWithChangePaths}.
+ */
+public final class JsonPointerWithChangePathsTest {
+
+    private static final JsonPointer TARGET = JsonPointer.of("/things/x:y/attributes");
+
+    private static final JsonObject CHANGED_VALUE = JsonObject.of("{\"foo\":{\"sub\":1,\"misc\":{\"deep\":true}}," +
+            "\"bar\":false,\"empty\":{}}");
+
+    @Test
+    public void changePathsOfObjectArePathsOfAllNestedFieldsInPreOrder() {
+        final JsonPointerWithChangePaths underTest = JsonPointerWithChangePaths.of(TARGET, CHANGED_VALUE);
+
+        assertThat(underTest.getChangePaths()).containsExactly(
+                JsonPointer.of("/foo"),
+                JsonPointer.of("/foo/sub"),
+                JsonPointer.of("/foo/misc"),
+                JsonPointer.of("/foo/misc/deep"),
+                JsonPointer.of("/bar"),
+                JsonPointer.of("/empty"));
+    }
+
+    @Test
+    public void changePathsOfObjectAreNotDescendedDeeperThanMaxLevels() {
+        final JsonPointerWithChangePaths underTest = JsonPointerWithChangePaths.of(TARGET, CHANGED_VALUE);
+
+        assertThat(underTest.getChangePaths(0)).isEmpty();
+        assertThat(underTest.getChangePaths(1)).containsExactly(
+                JsonPointer.of("/foo"),
+                JsonPointer.of("/bar"),
+                JsonPointer.of("/empty"));
+        assertThat(underTest.getChangePaths(2)).containsExactly(
+                JsonPointer.of("/foo"),
+                JsonPointer.of("/foo/sub"),
+                JsonPointer.of("/foo/misc"),
+                JsonPointer.of("/bar"),
+                JsonPointer.of("/empty"));
+    }
+
+    @Test
+    public void changePathOfNonObjectIsTheEmptyPath() {
+        final JsonPointerWithChangePaths underTest = JsonPointerWithChangePaths.of(TARGET, JsonValue.of(42));
+
+        assertThat(underTest.getChangePaths()).containsExactly(JsonPointer.empty());
+        assertThat(underTest.getChangePaths(3)).containsExactly(JsonPointer.empty());
+    }
+
+    @Test
+    public void explicitChangePathsAreCutToMaxLevels() {
+        final JsonPointerWithChangePaths underTest = new JsonPointerWithChangePaths(TARGET,
+                Arrays.asList(JsonPointer.of("/a/b/c"), JsonPointer.of("/a/b/d"), JsonPointer.of("/e")));
+
+        assertThat(underTest.getChangePaths(2)).containsExactly(JsonPointer.of("/a/b"), JsonPointer.of("/e"));
+        assertThat(underTest.getChangePaths(3)).containsExactlyElementsOf(underTest.getChangePaths());
+    }
+
+    @Test
+    public void lazyAndExplicitChangePathsAreEqual() {
+        final JsonPointerWithChangePaths lazy = JsonPointerWithChangePaths.of(TARGET, CHANGED_VALUE);
+        final JsonPointerWithChangePaths explicit =
+                new JsonPointerWithChangePaths(TARGET, JsonPointerWithChangePaths.of(TARGET, CHANGED_VALUE)
+                        .getChangePaths());
+
+        assertThat((Object) lazy).isEqualTo(explicit);
+        assertThat(lazy.hashCode()).isEqualTo(explicit.hashCode());
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.ditto.protocol.TopicPath;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RawFrame}.
+ */
+public final class RawFrameTest {
+
+    @Test
+    public void extractsClassifyingFieldsAndSkipsEverythingElse() {
+        final String message = "{ \"path\": \"/\", \"value\": {\"items\": [{\"thingId\": \"x:y\", \"a\": [1, {}]}], " +
+                "\"subscriptionId\": \"sub-\\\"1\\\"\", \"error\": {\"nested\": true}},\n" +
+                "\"headers\": {\"Correlation-Id\": \"cid-\\u0031\", \"other\": null}, " +
+                "\"topic\": \"_/_/things/twin/search/next\", \"revision\": 42 }";
+
+        final RawFrame underTest = RawFrame.scan(message);
+
+        assertThat(underTest).isNotNull();
+        assertThat(underTest.getMessage()).isSameAs(message);
+        assertThat(underTest.getTopicPath().getCriterion()).isEqualTo(TopicPath.Criterion.SEARCH);
+        assertThat(underTest.getCorrelationId()).isEqualTo("cid-1");
+        assertThat(underTest.getSubscriptionId()).isEqualTo("sub-\"1\"");
+        assertThat(underTest.getErrorCode()).isNull();
+    }
+
+    @Test
+    public void extractsErrorCode() {
+        final RawFrame underTest = RawFrame.scan("{\"topic\":\"org.eclipse.ditto/thing/things/twin/errors\"," +
+                "\"headers\":{},\"path\":\"/\",\"value\":{\"status\":404,\"error\":\"things:thing.notfound\"}}");
+
+        assertThat(underTest).isNotNull();
+        assertThat(underTest.getErrorCode()).isEqualTo("things:thing.notfound");
+        assertThat(underTest.getCorrelationId()).isNull();
+    }
+
+    @Test
+    public void doesNotScanMessagesWhichHaveToBeParsedInFull() {
+        assertThat(RawFrame.scan("{not json")).isNull();
+        assertThat(RawFrame.scan("[]")).isNull();
+        assertThat(RawFrame.scan("{\"headers\":{}}")).isNull();
+        assertThat(RawFrame.scan("{\"topic\":42}")).isNull();
+        assertThat(RawFrame.scan("{\"topic\":\"not/a/topic\"}")).isNull();
+        assertThat(RawFrame.scan("{\"topic\":\"_/_/things/twin/search/next\"} trailing")).isNull();
+        assertThat(RawFrame.scan("{\"topic\":\"_/_/things/twin/search/next\",\"headers\":{\"correlation-id\":1}}"))
+                .isNull();
+    }
+
+}
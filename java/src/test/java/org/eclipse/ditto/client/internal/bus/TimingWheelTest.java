@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.internal.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimingWheel}.
+ */
+public final class TimingWheelTest {
+
+    private ScheduledExecutorService scheduledExecutor;
+
+    @Before
+    public void setUp() {
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Test
+    public void expiresTimeoutsAfterTheirDelayInOrder() throws Exception {
+        // few buckets so that the timeouts take several rotations
+        final TimingWheel underTest = TimingWheel.of(scheduledExecutor, Duration.ofMillis(5L), 4);
+        final CompletableFuture<Long> late = new CompletableFuture<>();
+        final CompletableFuture<Long> early = new CompletableFuture<>();
+        final long start = System.nanoTime();
+        underTest.schedule(new CompletingTimeout(late), TimeUnit.MILLISECONDS.toNanos(200L));
+        underTest.schedule(new CompletingTimeout(early), TimeUnit.MILLISECONDS.toNanos(100L));
+
+        final long earlyExpiry = early.get(10, TimeUnit.SECONDS);
+        final long lateExpiry = late.get(10, TimeUnit.SECONDS);
+
+        assertThat(earlyExpiry - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100L));
+        assertThat(lateExpiry - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200L));
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    public void cancelledTimeoutDoesNotExpire() throws Exception {
+        final TimingWheel underTest = TimingWheel.of(scheduledExecutor, Duration.ofMillis(5L), 64);
+        final CompletableFuture<Long> cancelled = new CompletableFuture<>();
+        final CompletableFuture<Long> other = new CompletableFuture<>();
+        final CompletingTimeout cancelledTimeout = new CompletingTimeout(cancelled);
+        underTest.schedule(cancelledTimeout, TimeUnit.MILLISECONDS.toNanos(50L));
+        underTest.schedule(new CompletingTimeout(other), TimeUnit.MILLISECONDS.toNanos(100L));
+
+        assertThat(underTest.cancel(cancelledTimeout)).isTrue();
+        assertThat(underTest.cancel(cancelledTimeout)).isFalse();
+
+        other.get(10, TimeUnit.SECONDS);
+        assertThat(cancelled).isNotDone();
+    }
+
+    @Test
+    public void expiresTimeoutsScheduledAfterTheWheelWasIdle() throws Exception {
+        final TimingWheel underTest = TimingWheel.of(scheduledExecutor, Duration.ofMillis(5L), 4);
+        final CompletableFuture<Long> first = new CompletableFuture<>();
+        underTest.schedule(new CompletingTimeout(first), 0L);
+        first.get(10, TimeUnit.SECONDS);
+        TimeUnit.MILLISECONDS.sleep(100L);
+
+        final CompletableFuture<Long> second = new CompletableFuture<>();
+        final long start = System.nanoTime();
+        underTest.schedule(new CompletingTimeout(second), TimeUnit.MILLISECONDS.toNanos(50L));
+
+        assertThat(second.get(10, TimeUnit.SECONDS) - start)
+                .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50L));
+    }
+
+    private static final class CompletingTimeout extends TimingWheel.Timeout {
+
+        private final CompletableFuture<Long> expiredAt;
+
+        private CompletingTimeout(final CompletableFuture<Long> expiredAt) {
+            this.expiredAt = expiredAt;
+        }
+
+        @Override
+        protected void expire() {
+            expiredAt.complete(System.nanoTime());
+        }
+    }
+
+}
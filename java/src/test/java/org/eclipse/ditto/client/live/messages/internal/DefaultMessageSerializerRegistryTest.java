@@ -223,6 +223,24 @@ public final class DefaultMessageSerializerRegistryTest {
                 sut.findKeyFor(JsonValue.class).isPresent());
     }
 
+    @Test
+    public void findsSerializerOfMessagesWithManyDistinctSubjects() {
+        sut.registerMessageSerializer(MessageSerializers.textPlainAsString());
+
+        for (int i = 0; i < 5000; i++) {
+            Assert.assertTrue("Serializer for subject " + i + " could not be found",
+                    sut.findSerializerFor(TEXT_PLAIN, String.class, "subject-" + i).isPresent());
+            Assert.assertFalse("Serializer for unknown java-type could be found but shouldn't",
+                    sut.findSerializerFor(TEXT_PLAIN, Date.class, "subject-" + i).isPresent());
+        }
+
+        Assert.assertFalse("Serializer for unregistered java-type could be found but shouldn't",
+                sut.findSerializerFor(JsonValue.class, "subject-1").isPresent());
+        sut.registerMessageSerializer(MessageSerializers.applicationJsonAsJsonValue());
+        Assert.assertTrue("Serializer registered after a miss could not be found",
+                sut.findSerializerFor(JsonValue.class, "subject-1").isPresent());
+    }
+
     @Test
     public void registerMultipleSerialzersForSameContentType() {
         final MessageSerializerKey<JsonValue> key0 =
@@ -280,4 +298,25 @@ public final class DefaultMessageSerializerRegistryTest {
         Assert.assertFalse("Key for java-type 'String' could be determined but shouldn't as multiple Serializers are "
                 + "registered for it.", sut.findKeyFor(String.class).isPresent());
     }
+
+    @Test
+    public void registeringAndUnregisteringInvalidatesFoundSerializers() {
+        final MessageSerializerKey<String> key =
+                ImmutableMessageSerializerKey.of(TEXT_PLAIN, String.class, "my.subject");
+        Assert.assertFalse("Serializer for unregistered key could be found but shouldn't",
+                sut.findSerializerFor(key).isPresent());
+
+        final MessageSerializer<String> messageSerializer = MessageSerializers.textPlainAsString();
+        sut.registerMessageSerializer(messageSerializer);
+        Assert.assertEquals("Serializer was not the expected one", messageSerializer,
+                sut.findSerializerFor(key).get());
+        Assert.assertEquals("Serializer was not the expected one", messageSerializer,
+                sut.findSerializerFor(key).get());
+
+        sut.unregisterMessageSerializer(messageSerializer);
+        Assert.assertFalse("Serializer for unregistered key could be found but shouldn't",
+                sut.findSerializerFor(key).isPresent());
+        Assert.assertFalse("Key for unregistered java-type could be determined but shouldn't",
+                sut.findKeyFor(String.class).isPresent());
+    }
 }
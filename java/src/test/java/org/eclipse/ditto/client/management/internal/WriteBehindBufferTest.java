@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.management.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
+import org.eclipse.ditto.client.configuration.WriteBehindConfiguration;
+import org.eclipse.ditto.client.internal.OutgoingMessageFactory;
+import org.eclipse.ditto.client.options.Option;
+import org.eclipse.ditto.client.options.Options;
+import org.eclipse.ditto.json.JsonObject;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.signals.commands.modify.MergeThing;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link WriteBehindBuffer}.
+ */
+public final class WriteBehindBufferTest {
+
+    private static final ThingId THING_ID = ThingId.of("org.eclipse.ditto.test:thing");
+
+    private final ScheduledExecutorService scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final List<MergeThing> sent = new CopyOnWriteArrayList<>();
+    private final CompletableFuture<Void> outcome = new CompletableFuture<>();
+
+    @After
+    public void shutDown() {
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Test
+    public void coalescesUpdatesOfAThingIntoOneMergeCommand() throws Exception {
+        final WriteBehindBuffer underTest = newBuffer(Duration.ofHours(1L), 100);
+
+        final CompletionStage<Void> first = underTest.putAttribute(THING_ID, JsonPointer.of("a/b"), JsonValue.of(1));
+        final CompletionStage<Void> second = underTest.putAttribute(THING_ID, JsonPointer.of("a/b"), JsonValue.of(2));
+        final CompletionStage<Void> third =
+                underTest.putProperty(THING_ID, "lamp", JsonPointer.of("on"), JsonValue.of(true));
+        assertThat(sent).isEmpty();
+
+        underTest.flush(THING_ID);
+
+        assertThat(sent).hasSize(1);
+        final MergeThing command = sent.get(0);
+        assertThat((Object) command.getPath()).isEqualTo(JsonPointer.empty());
+        assertThat(command.getValue()).isEqualTo(JsonObject.newBuilder()
+                .set(JsonPointer.of("attributes/a/b"), 2)
+                .set(JsonPointer.of("features/lamp/properties/on"), true)
+                .build());
+        assertThat(first.toCompletableFuture()).isNotDone();
+
+        outcome.complete(null);
+        assertThat(first.toCompletableFuture().get(1L, TimeUnit.SECONDS)).isNull();
+        assertThat(second.toCompletableFuture()).isCompletedWithValue(null);
+        assertThat(third.toCompletableFuture()).isCompletedWithValue(null);
+    }
+
+    @Test
+    public void sendsAttributeUpdatesAsMergeOfAttributes() {
+        final WriteBehindBuffer underTest = newBuffer(Duration.ofHours(1L), 2);
+
+        underTest.putAttribute(THING_ID, JsonPointer.of("a"), JsonValue.of(1));
+        underTest.putAttribute(THING_ID, JsonPointer.of("b"), JsonValue.of(2));
+
+        assertThat(sent).hasSize(1);
+        assertThat((Object) sent.get(0).getPath()).isEqualTo(JsonPointer.of("attributes"));
+        assertThat(sent.get(0).getValue().asObject().toString())
+                .isEqualTo(JsonObject.newBuilder().set("a", 1).set("b", 2).build().toString());
+    }
+
+    @Test
+    public void sendsUpdatesAtEndOfWindow() throws Exception {
+        final WriteBehindBuffer underTest = newBuffer(Duration.ofMillis(10L), 100);
+
+        final CompletionStage<Void> update =
+                underTest.putProperty(THING_ID, "lamp", JsonPointer.of("on"), JsonValue.of(true));
+        outcome.completeExceptionally(new IllegalStateException("merge failed"));
+
+        assertThat(update.toCompletableFuture())
+                .failsWithin(1L, TimeUnit.SECONDS)
+                .withThrowableOfType(Exception.class)
+                .withRootCauseInstanceOf(IllegalStateException.class);
+        assertThat(sent).hasSize(1);
+        assertThat((Object) sent.get(0).getPath()).isEqualTo(JsonPointer.of("features/lamp/properties"));
+    }
+
+    @Test
+    public void coalescesOnlyValuesWithoutOptionsWhichAreNeitherObjectsNorNull() {
+        final Option<?>[] noOptions = new Option<?>[0];
+        assertThat(WriteBehindBuffer.canCoalesce(JsonValue.of(1), noOptions)).isTrue();
+        assertThat(WriteBehindBuffer.canCoalesce(JsonValue.nullLiteral(), noOptions)).isFalse();
+        assertThat(WriteBehindBuffer.canCoalesce(JsonObject.empty(), noOptions)).isFalse();
+        assertThat(WriteBehindBuffer.canCoalesce(JsonValue.of(1), new Option<?>[]{Options.Modify.exists(true)}))
+                .isFalse();
+    }
+
+    private WriteBehindBuffer newBuffer(final Duration window, final int maxUpdates) {
+        final WriteBehindConfiguration configuration = WriteBehindConfiguration.newBuilder()
+                .window(window)
+                .maxUpdates(maxUpdates)
+                .build();
+        return WriteBehindBuffer.newInstance(configuration, scheduledExecutor,
+                OutgoingMessageFactory.newInstance(JsonSchemaVersion.V_2), command -> {
+                    sent.add(command);
+                    return outcome;
+                });
+    }
+
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.ditto.client.configuration.RequestLimiterConfiguration;
+import org.eclipse.ditto.client.messaging.RequestLimitExceededException;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link AdaptiveRequestLimiter}.
+ */
+public final class AdaptiveRequestLimiterTest {
+
+    private final ScheduledExecutorService scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final List<CompletableFuture<String>> requests = new ArrayList<>();
+
+    @After
+    public void shutDown() {
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Test
+    public void queuesRequestsBeyondLimitAndRejectsThemBeyondQueueSize() {
+        final AdaptiveRequestLimiter underTest = newLimiter(RequestLimiterConfiguration.newBuilder()
+                .limitAlgorithm(RequestLimiterConfiguration.LimitAlgorithm.FIXED)
+                .initialLimit(2)
+                .maxQueueSize(1)
+                .build());
+
+        underTest.submit(this::newRequest);
+        underTest.submit(this::newRequest);
+        final CompletionStage<String> queued = underTest.submit(this::newRequest);
+        final CompletionStage<String> rejected = underTest.submit(this::newRequest);
+
+        assertThat(requests).hasSize(2);
+        assertThat(underTest.getInFlight()).isEqualTo(2);
+        assertThat(underTest.getQueueLength()).isEqualTo(1);
+        assertThat(queued.toCompletableFuture()).isNotDone();
+        assertThat(rejected.toCompletableFuture())
+                .hasFailedWithThrowableThat()
+                .isInstanceOf(RequestLimitExceededException.class);
+    }
+
+    @Test
+    public void startsQueuedRequestWhenRequestInFlightCompletes() {
+        final AdaptiveRequestLimiter underTest = newLimiter(RequestLimiterConfiguration.newBuilder()
+                .limitAlgorithm(RequestLimiterConfiguration.LimitAlgorithm.FIXED)
+                .initialLimit(1)
+                .build());
+
+        final CompletionStage<String> first = underTest.submit(this::newRequest);
+        final CompletionStage<String> second = underTest.submit(this::newRequest);
+        assertThat(requests).hasSize(1);
+
+        requests.get(0).complete("first");
+        assertThat(first.toCompletableFuture()).isCompletedWithValue("first");
+        assertThat(requests).hasSize(2);
+        assertThat(underTest.getInFlight()).isEqualTo(1);
+        assertThat(underTest.getQueueLength()).isZero();
+
+        requests.get(1).complete("second");
+        assertThat(second.toCompletableFuture()).isCompletedWithValue("second");
+        assertThat(underTest.getInFlight()).isZero();
+    }
+
+    @Test
+    public void decreasesLimitOnTimeoutsAndIncreasesItWhenUsedUp() {
+        final AdaptiveRequestLimiter underTest = newLimiter(RequestLimiterConfiguration.newBuilder()
+                .limitAlgorithm(RequestLimiterConfiguration.LimitAlgorithm.AIMD)
+                .initialLimit(10)
+                .limitBounds(2, 20)
+                .backoffRatio(0.5)
+                .build());
+
+        underTest.submit(this::newRequest);
+        requests.get(0).completeExceptionally(new TimeoutException());
+        assertThat(underTest.getLimit()).isEqualTo(5);
+
+        for (int i = 0; i < 5; i++) {
+            underTest.submit(this::newRequest);
+        }
+        // keep the limit used up while completing requests, so that it grows by about one per 5 responses
+        for (int i = 1; i <= 6; i++) {
+            requests.get(i).complete("ok");
+            underTest.submit(this::newRequest);
+        }
+        assertThat(underTest.getLimit()).isEqualTo(6);
+
+        // backs off once per window of as many responses as the limit: from 6 to 3 and then from 3 to 2
+        for (int i = 0; i < requests.size(); i++) {
+            requests.get(i).completeExceptionally(new TimeoutException());
+        }
+        assertThat(underTest.getLimit()).isEqualTo(2);
+        assertThat(underTest.getInFlight()).isZero();
+    }
+
+    @Test
+    public void decreasesLimitAtMostOncePerWindowOfResponses() {
+        final AdaptiveRequestLimiter underTest = newLimiter(RequestLimiterConfiguration.newBuilder()
+                .limitAlgorithm(RequestLimiterConfiguration.LimitAlgorithm.AIMD)
+                .initialLimit(10)
+                .limitBounds(1, 20)
+                .backoffRatio(0.5)
+                .build());
+        for (int i = 0; i < 10; i++) {
+            underTest.submit(this::newRequest);
+        }
+
+        // the requests were in flight together, so that their timeouts signal the same overload
+        for (int i = 0; i < 5; i++) {
+            requests.get(i).completeExceptionally(new TimeoutException());
+        }
+        assertThat(underTest.getLimit()).isEqualTo(5);
+
+        requests.get(5).completeExceptionally(new TimeoutException());
+        assertThat(underTest.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    public void failsQueuedRequestAndReleasesItsPermitIfItCannotBeStarted() {
+        final AdaptiveRequestLimiter underTest = new AdaptiveRequestLimiter(RequestLimiterConfiguration.newBuilder()
+                .limitAlgorithm(RequestLimiterConfiguration.LimitAlgorithm.FIXED)
+                .initialLimit(1)
+                .build(), command -> {
+            throw new RejectedExecutionException("shut down");
+        }, scheduledExecutor, Duration.ofHours(1L), () -> 0L);
+
+        underTest.submit(this::newRequest);
+        final CompletionStage<String> queued = underTest.submit(this::newRequest);
+        requests.get(0).complete("first");
+
+        assertThat(queued.toCompletableFuture())
+                .hasFailedWithThrowableThat()
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(requests).hasSize(1);
+        assertThat(underTest.getInFlight()).isZero();
+        assertThat(underTest.getQueueLength()).isZero();
+    }
+
+    @Test
+    public void startsAsManyQueuedRequestsAsGrownLimitAdmits() {
+        final AdaptiveRequestLimiter underTest = newLimiter(RequestLimiterConfiguration.newBuilder()
+                .limitAlgorithm(RequestLimiterConfiguration.LimitAlgorithm.AIMD)
+                .initialLimit(1)
+                .limitBounds(1, 10)
+                .build());
+
+        underTest.submit(this::newRequest);
+        final CompletionStage<String> second = underTest.submit(this::newRequest);
+        final CompletionStage<String> third = underTest.submit(this::newRequest);
+        final CompletionStage<String> fourth = underTest.submit(this::newRequest);
+        assertThat(requests).hasSize(1);
+
+        requests.get(0).complete("first");
+
+        assertThat(underTest.getLimit()).isEqualTo(2);
+        assertThat(requests).hasSize(3);
+        assertThat(underTest.getInFlight()).isEqualTo(2);
+        assertThat(underTest.getQueueLength()).isEqualTo(1);
+
+        requests.get(1).complete("second");
+        requests.get(2).complete("third");
+        assertThat(second.toCompletableFuture()).isCompletedWithValue("second");
+        assertThat(third.toCompletableFuture()).isCompletedWithValue("third");
+        assertThat(fourth.toCompletableFuture()).isNotDone();
+        assertThat(requests).hasSize(4);
+    }
+
+    @Test
+    public void failsRequestsQueuedLongerThanTimeout() {
+        final AdaptiveRequestLimiter underTest = newLimiter(RequestLimiterConfiguration.newBuilder()
+                .limitAlgorithm(RequestLimiterConfiguration.LimitAlgorithm.FIXED)
+                .initialLimit(1)
+                .build(), Duration.ofMillis(10L));
+
+        underTest.submit(this::newRequest);
+        final CompletionStage<String> queued = underTest.submit(this::newRequest);
+
+        assertThat(queued.toCompletableFuture())
+                .failsWithin(1L, TimeUnit.SECONDS)
+                .withThrowableOfType(Exception.class)
+                .withCauseInstanceOf(TimeoutException.class);
+        assertThat(underTest.getQueueLength()).isZero();
+
+        requests.get(0).complete("first");
+        assertThat(requests).hasSize(1);
+        assertThat(underTest.getInFlight()).isZero();
+    }
+
+    private CompletionStage<String> newRequest() {
+        final CompletableFuture<String> request = new CompletableFuture<>();
+        requests.add(request);
+        return request;
+    }
+
+    private AdaptiveRequestLimiter newLimiter(final RequestLimiterConfiguration configuration) {
+        return newLimiter(configuration, Duration.ofHours(1L));
+    }
+
+    private AdaptiveRequestLimiter newLimiter(final RequestLimiterConfiguration configuration,
+            final Duration timeout) {
+        return new AdaptiveRequestLimiter(configuration, Runnable::run, scheduledExecutor, timeout, () -> 0L);
+    }
+
+}
@@ -64,10 +64,10 @@ public class MockMessagingProvider implements MessagingProvider {
                     .password("dampf")
                     .build();
 
-    private final ExecutorService executor = Executors.newFixedThreadPool(2, new MockThreadFactory());
+    private final ExecutorService executor;
     private final ScheduledExecutorService scheduledExecutor = Executors.newScheduledThreadPool(2, new MockThreadFactory());
     private final MessagingConfiguration messagingConfiguration;
-    private final AdaptableBus adaptableBus = BusFactory.createAdaptableBus(executor, scheduledExecutor);
+    private final AdaptableBus adaptableBus;
     private final BlockingQueue<String> emittedMessages = new LinkedBlockingQueue<>();
     private final AtomicReference<Consumer<Object>> onSendConsumer = new AtomicReference<>(m -> {});
 
@@ -76,7 +76,17 @@ public class MockMessagingProvider implements MessagingProvider {
     }
 
     public MockMessagingProvider(final JsonSchemaVersion schemaVersion) {
-        this.messagingConfiguration = getDefaultMessagingConfiguration(schemaVersion);
+        this(getDefaultMessagingConfiguration(schemaVersion));
+    }
+
+    public MockMessagingProvider(final MessagingConfiguration messagingConfiguration) {
+        this(messagingConfiguration, Executors.newFixedThreadPool(2, new MockThreadFactory()));
+    }
+
+    public MockMessagingProvider(final MessagingConfiguration messagingConfiguration, final ExecutorService executor) {
+        this.messagingConfiguration = messagingConfiguration;
+        this.executor = executor;
+        adaptableBus = BusFactory.createAdaptableBus(executor, scheduledExecutor, messagingConfiguration);
     }
 
     @Override
@@ -135,6 +145,18 @@ public class MockMessagingProvider implements MessagingProvider {
         }
     }
 
+    public void expectNoEmitted() {
+        try {
+            final String result = emittedMessages.poll(1L, TimeUnit.SECONDS);
+            if (result != null) {
+                throw new AssertionError("Expected no message to be emitted, got: " + result);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+
     public void clearEmitted() {
         emittedMessages.clear();
     }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ditto.client.configuration.OutgoingBufferConfiguration;
+import org.eclipse.ditto.client.configuration.OutgoingBufferConfiguration.OverflowStrategy;
+import org.eclipse.ditto.client.messaging.MessagingException;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link OutgoingMessageBuffer}.
+ */
+public final class OutgoingMessageBufferTest {
+
+    @Test
+    public void drainsInOrder() {
+        final OutgoingMessageBuffer underTest = bufferOf(10, 1000L, OverflowStrategy.FAIL_FAST);
+        underTest.offer("1");
+        underTest.offer("2");
+        underTest.offer("3");
+
+        assertThat(drain(underTest)).containsExactly("1", "2", "3");
+        assertThat(underTest.isEmpty()).isTrue();
+        assertThat(underTest.getBytes()).isZero();
+    }
+
+    @Test
+    public void dropOldestByCount() {
+        final OutgoingMessageBuffer underTest = bufferOf(2, 1000L, OverflowStrategy.DROP_OLDEST);
+
+        assertThat(underTest.offer("1")).isTrue();
+        assertThat(underTest.offer("2")).isTrue();
+        assertThat(underTest.offer("3")).isTrue();
+
+        assertThat(drain(underTest)).containsExactly("2", "3");
+    }
+
+    @Test
+    public void dropOldestByBytes() {
+        final OutgoingMessageBuffer underTest = bufferOf(10, 6L, OverflowStrategy.DROP_OLDEST);
+        underTest.offer("aa");
+        underTest.offer("bb");
+        underTest.offer("cc");
+        underTest.offer("dddd");
+
+        assertThat(drain(underTest)).containsExactly("cc", "dddd");
+    }
+
+    @Test
+    public void dropNewest() {
+        final OutgoingMessageBuffer underTest = bufferOf(2, 1000L, OverflowStrategy.DROP_NEWEST);
+        underTest.offer("1");
+        underTest.offer("2");
+
+        assertThat(underTest.offer("3")).isFalse();
+        assertThat(drain(underTest)).containsExactly("1", "2");
+    }
+
+    @Test
+    public void failFast() {
+        final OutgoingMessageBuffer underTest = bufferOf(1, 1000L, OverflowStrategy.FAIL_FAST);
+        underTest.offer("1");
+
+        assertThatExceptionOfType(MessagingException.class).isThrownBy(() -> underTest.offer("2"));
+        assertThat(underTest.size()).isOne();
+    }
+
+    @Test
+    public void messageLargerThanBufferIsNeverBuffered() {
+        final OutgoingMessageBuffer underTest = bufferOf(10, 3L, OverflowStrategy.DROP_OLDEST);
+        underTest.offer("1");
+
+        assertThat(underTest.offer("1234")).isFalse();
+        assertThat(drain(underTest)).containsExactly("1");
+    }
+
+    @Test
+    public void utf8LengthMatchesEncoding() {
+        final String string = "aä€😀";
+
+        assertThat(OutgoingMessageBuffer.utf8Length(string))
+                .isEqualTo(string.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static OutgoingMessageBuffer bufferOf(final int maxMessages, final long maxBytes,
+            final OverflowStrategy overflowStrategy) {
+        return new OutgoingMessageBuffer("session", OutgoingBufferConfiguration.newBuilder()
+                .maxMessages(maxMessages)
+                .maxBytes(maxBytes)
+                .overflowStrategy(overflowStrategy)
+                .build());
+    }
+
+    private static List<String> drain(final OutgoingMessageBuffer buffer) {
+        final List<String> drained = new ArrayList<>();
+        buffer.drainTo(drained::add);
+        return drained;
+    }
+}
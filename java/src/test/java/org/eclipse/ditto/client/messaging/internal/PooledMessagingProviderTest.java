@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.awaitility.Awaitility;
+import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
+import org.eclipse.ditto.client.configuration.BasicAuthenticationConfiguration;
+import org.eclipse.ditto.client.configuration.ConnectionPoolConfiguration;
+import org.eclipse.ditto.client.configuration.WebSocketMessagingConfiguration;
+import org.eclipse.ditto.client.internal.bus.Classification;
+import org.eclipse.ditto.client.messaging.AuthenticationProviders;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests {@link PooledMessagingProvider} against a local {@link WebSocketEchoServer}.
+ */
+public final class PooledMessagingProviderTest {
+
+    private static final int POOL_SIZE = 3;
+    private static final int THINGS = 30;
+    private static final int MESSAGES_PER_THING = 5;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final ScheduledExecutorService scheduledExecutor = Executors.newScheduledThreadPool(1);
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    @After
+    public void closeResources() throws Exception {
+        for (final AutoCloseable resource : resources) {
+            resource.close();
+        }
+        executor.shutdownNow();
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Test(timeout = 20_000)
+    public void shardsMessagesByThingIdAndCorrelatesResponsesOfAllConnections() throws Exception {
+        final WebSocketEchoServer server = startServer();
+        final PooledMessagingProvider underTest =
+                connect(server, ConnectionPoolConfiguration.Sharding.ENTITY_ID, false);
+
+        final List<CompletableFuture<Adaptable>> echoes = new ArrayList<>();
+        for (int i = 0; i < MESSAGES_PER_THING; i++) {
+            for (int thing = 0; thing < THINGS; thing++) {
+                final String correlationId = "thing-" + thing + "-" + i;
+                echoes.add(expectEcho(underTest, correlationId));
+                underTest.emit(message("thing-" + thing, correlationId));
+            }
+        }
+
+        CompletableFuture.allOf(echoes.toArray(new CompletableFuture[0])).get(10L, TimeUnit.SECONDS);
+        final List<List<String>> messagesByConnection = server.getReceivedTextMessagesByConnection();
+        assertThat(messagesByConnection).hasSize(POOL_SIZE);
+        final Map<String, Set<Integer>> connectionsByThing = new HashMap<>();
+        for (int connection = 0; connection < POOL_SIZE; connection++) {
+            assertThat(messagesByConnection.get(connection)).isNotEmpty();
+            final Map<String, List<String>> correlationIdsByThing = new HashMap<>();
+            for (final String message : messagesByConnection.get(connection)) {
+                final String thing = thingOf(message);
+                connectionsByThing.computeIfAbsent(thing, t -> new HashSet<>()).add(connection);
+                correlationIdsByThing.computeIfAbsent(thing, t -> new ArrayList<>()).add(correlationIdOf(message));
+            }
+            // the messages of a thing arrive in the order they were sent
+            correlationIdsByThing.forEach((thing, correlationIds) -> assertThat(correlationIds)
+                    .containsExactly(expectedCorrelationIds(thing).toArray(new String[0])));
+        }
+        assertThat(connectionsByThing).hasSize(THINGS)
+                .allSatisfy((thing, connections) -> assertThat(connections).hasSize(1));
+    }
+
+    @Test(timeout = 20_000)
+    public void distributesMessagesRoundRobin() throws Exception {
+        final WebSocketEchoServer server = startServer();
+        final PooledMessagingProvider underTest =
+                connect(server, ConnectionPoolConfiguration.Sharding.ROUND_ROBIN, false);
+
+        final List<CompletableFuture<Adaptable>> echoes = new ArrayList<>();
+        for (int i = 0; i < POOL_SIZE * 10; i++) {
+            echoes.add(expectEcho(underTest, "cid-" + i));
+            underTest.emit(message("thing", "cid-" + i));
+        }
+
+        CompletableFuture.allOf(echoes.toArray(new CompletableFuture[0])).get(10L, TimeUnit.SECONDS);
+        assertThat(server.getReceivedTextMessagesByConnection()).hasSize(POOL_SIZE)
+                .allSatisfy(messages -> assertThat(messages).hasSize(10));
+    }
+
+    @Test(timeout = 20_000)
+    public void splitsSubscriptionsIntoDisjointNamespaces() throws Exception {
+        final WebSocketEchoServer server = startServer();
+        final PooledMessagingProvider underTest =
+                connect(server, ConnectionPoolConfiguration.Sharding.ENTITY_ID, false);
+
+        underTest.emit("START-SEND-EVENTS?namespaces=ns.a%2Cns.b%2Cns.c%2Cns.d&filter=exists%28thingId%29");
+        underTest.emit("STOP-SEND-EVENTS");
+
+        Awaitility.await().atMost(Duration.ofSeconds(5L)).untilAsserted(() -> {
+            final List<List<String>> messagesByConnection = server.getReceivedTextMessagesByConnection();
+            final List<String> namespaces = new ArrayList<>();
+            for (final List<String> messages : messagesByConnection) {
+                assertThat(messages).hasSize(2);
+                assertThat(messages.get(0)).startsWith("START-SEND-EVENTS?namespaces=")
+                        .endsWith("&filter=exists%28thingId%29");
+                assertThat(messages.get(1)).isEqualTo("STOP-SEND-EVENTS");
+                final String namespacesValue = messages.get(0).substring("START-SEND-EVENTS?namespaces=".length(),
+                        messages.get(0).indexOf('&'));
+                namespaces.addAll(Arrays.asList(namespacesValue.split("%2C")));
+            }
+            assertThat(namespaces).containsExactlyInAnyOrder("ns.a", "ns.b", "ns.c", "ns.d");
+        });
+    }
+
+    @Test(timeout = 20_000)
+    public void publishesAcknowledgementOfSplitSubscriptionOnceAllConnectionsAcknowledged() throws Exception {
+        final WebSocketEchoServer server = startServer();
+        final PooledMessagingProvider underTest =
+                connect(server, ConnectionPoolConfiguration.Sharding.ENTITY_ID, false);
+
+        underTest.emit("START-SEND-EVENTS?namespaces=ns.a%2Cns.b%2Cns.c");
+
+        assertThat(underTest.onMemberMessage("START-SEND-EVENTS:ACK")).isFalse();
+        assertThat(underTest.onMemberMessage("START-SEND-EVENTS:ACK")).isFalse();
+        assertThat(underTest.onMemberMessage("START-SEND-EVENTS:ACK")).isTrue();
+        assertThat(underTest.onMemberMessage("START-SEND-EVENTS:ACK")).isTrue();
+    }
+
+    @Test(timeout = 20_000)
+    public void stopsSubscriptionOfConnectionsDroppedByNarrowerResubscription() throws Exception {
+        final WebSocketEchoServer server = startServer();
+        final PooledMessagingProvider underTest =
+                connect(server, ConnectionPoolConfiguration.Sharding.ENTITY_ID, false);
+
+        underTest.emit("START-SEND-EVENTS?namespaces=ns.a%2Cns.b%2Cns.c");
+        underTest.emit("START-SEND-EVENTS?namespaces=ns.a");
+        underTest.emit("STOP-SEND-EVENTS");
+
+        Awaitility.await().atMost(Duration.ofSeconds(5L)).untilAsserted(() -> {
+            final List<List<String>> messagesByConnection = server.getReceivedTextMessagesByConnection();
+            assertThat(messagesByConnection).hasSize(POOL_SIZE)
+                    .allSatisfy(messages -> assertThat(messages).last().isEqualTo("STOP-SEND-EVENTS"));
+            // the connection keeping the subscription is the only one sent the narrower one and the final STOP
+            assertThat(messagesByConnection.stream().filter(messages -> messages.size() == 3))
+                    .singleElement()
+                    .satisfies(messages -> assertThat(messages.get(1)).isEqualTo("START-SEND-EVENTS?namespaces=ns.a"));
+            assertThat(messagesByConnection.stream().filter(messages -> messages.size() == 2)).hasSize(POOL_SIZE - 1);
+        });
+        // the acknowledgements of the connections dropped from the subscription are never published
+        assertThat(underTest.onMemberMessage("STOP-SEND-EVENTS:ACK")).isFalse();
+        assertThat(underTest.onMemberMessage("STOP-SEND-EVENTS:ACK")).isFalse();
+        assertThat(underTest.onMemberMessage("STOP-SEND-EVENTS:ACK")).isTrue();
+    }
+
+    @Test(timeout = 20_000)
+    public void sendsSubscriptionsWithoutNamespacesOnOneConnection() throws Exception {
+        final WebSocketEchoServer server = startServer();
+        final PooledMessagingProvider underTest =
+                connect(server, ConnectionPoolConfiguration.Sharding.ENTITY_ID, false);
+
+        underTest.emit("START-SEND-MESSAGES");
+        underTest.emit("STOP-SEND-MESSAGES");
+
+        Awaitility.await().atMost(Duration.ofSeconds(5L)).untilAsserted(() ->
+                assertThat(server.getReceivedTextMessagesByConnection().stream()
+                        .filter(messages -> !messages.isEmpty())
+                        .collect(Collectors.toList()))
+                        .containsExactly(Arrays.asList("START-SEND-MESSAGES", "STOP-SEND-MESSAGES")));
+    }
+
+    @Test(timeout = 30_000)
+    public void reconnectsConnectionsIndependently() throws Exception {
+        final WebSocketEchoServer server = startServer();
+        final PooledMessagingProvider underTest =
+                connect(server, ConnectionPoolConfiguration.Sharding.ENTITY_ID, true);
+        underTest.registerSubscriptionMessage(Classification.StreamingType.TWIN_EVENT,
+                "START-SEND-EVENTS?namespaces=ns.a%2Cns.b%2Cns.c");
+
+        server.dropConnection(0);
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(5L))
+                .until(() -> connectedMembers(underTest) == POOL_SIZE - 1);
+
+        // messages of the disconnected connection are sent via the others meanwhile
+        final List<CompletableFuture<Adaptable>> echoes = new ArrayList<>();
+        for (int thing = 0; thing < THINGS; thing++) {
+            echoes.add(expectEcho(underTest, "cid-" + thing));
+            underTest.emit(message("thing-" + thing, "cid-" + thing));
+        }
+        CompletableFuture.allOf(echoes.toArray(new CompletableFuture[0])).get(10L, TimeUnit.SECONDS);
+
+        Awaitility.await().atMost(Duration.ofSeconds(15L)).untilAsserted(() -> {
+            final List<List<String>> messagesByConnection = server.getReceivedTextMessagesByConnection();
+            assertThat(messagesByConnection).hasSize(POOL_SIZE + 1);
+            // the reconnected connection subscribes again for its share of the namespaces only
+            assertThat(messagesByConnection.get(POOL_SIZE)).singleElement()
+                    .satisfies(message -> assertThat(message).startsWith("START-SEND-EVENTS?namespaces=")
+                            .doesNotContain("%2C"));
+        });
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(5L))
+                .until(() -> connectedMembers(underTest) == POOL_SIZE);
+    }
+
+    @Test
+    public void extractsEntityKeyFromTopic() {
+        assertThat(PooledMessagingProvider.entityKeyOf(message("thing-1", "cid")))
+                .isEqualTo("org.eclipse.ditto/thing-1");
+        assertThat(PooledMessagingProvider.entityKeyOf("{\"headers\":{},\"topic\":\"ns/name/things\"}")).isNull();
+        assertThat(PooledMessagingProvider.entityKeyOf("{\"topic\":\"ns\",\"path\":\"/a/b\"}")).isNull();
+    }
+
+    private WebSocketEchoServer startServer() throws Exception {
+        final WebSocketEchoServer server = WebSocketEchoServer.start(false);
+        resources.add(server);
+        return server;
+    }
+
+    private PooledMessagingProvider connect(final WebSocketEchoServer server,
+            final ConnectionPoolConfiguration.Sharding sharding, final boolean reconnectEnabled) throws Exception {
+        final PooledMessagingProvider provider = PooledMessagingProvider.newInstance(
+                WebSocketMessagingConfiguration.newBuilder()
+                        .jsonSchemaVersion(JsonSchemaVersion.V_2)
+                        .endpoint(server.getEndpoint())
+                        .reconnectEnabled(reconnectEnabled)
+                        .connectionPoolConfiguration(ConnectionPoolConfiguration.newBuilder()
+                                .size(POOL_SIZE)
+                                .sharding(sharding)
+                                .build())
+                        .build(),
+                AuthenticationProviders.basic(BasicAuthenticationConfiguration.newBuilder()
+                        .username("dummy")
+                        .password("auth")
+                        .build()),
+                executor, scheduledExecutor);
+        resources.add(0, provider::close);
+        provider.initializeAsync().toCompletableFuture().get(5L, TimeUnit.SECONDS);
+        return provider;
+    }
+
+    private static long connectedMembers(final PooledMessagingProvider provider) {
+        return provider.getMembers().stream().filter(WebSocketMessagingProvider::isConnected).count();
+    }
+
+    private static CompletableFuture<Adaptable> expectEcho(final PooledMessagingProvider provider,
+            final String correlationId) {
+        return provider.getAdaptableBus()
+                .subscribeOnceForAdaptable(Classification.forCorrelationId(correlationId), Duration.ofSeconds(10L))
+                .toCompletableFuture();
+    }
+
+    private static String message(final String thingName, final String correlationId) {
+        return "{\"topic\":\"org.eclipse.ditto/" + thingName + "/things/twin/commands/modify\"," +
+                "\"headers\":{\"correlation-id\":\"" + correlationId + "\"}," +
+                "\"path\":\"/attributes/counter\",\"value\":42}";
+    }
+
+    private static String thingOf(final String message) {
+        final String prefix = "{\"topic\":\"org.eclipse.ditto/";
+        return message.substring(prefix.length(), message.indexOf('/', prefix.length()));
+    }
+
+    private static String correlationIdOf(final String message) {
+        final String prefix = "\"correlation-id\":\"";
+        final int start = message.indexOf(prefix) + prefix.length();
+        return message.substring(start, message.indexOf('"', start));
+    }
+
+    private static List<String> expectedCorrelationIds(final String thing) {
+        final List<String> result = new ArrayList<>();
+        for (int i = 0; i < MESSAGES_PER_THING; i++) {
+            result.add(thing + "-" + i);
+        }
+        return result;
+    }
+
+}
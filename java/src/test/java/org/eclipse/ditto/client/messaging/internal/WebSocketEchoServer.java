@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Minimal local WebSocket server echoing every data frame as it is, including the compression bit, so that
+ * {@code permessage-deflate} compressed messages are echoed compressed. Counts the bytes, reads, data frames and
+ * pings it receives after the opening handshake, and records the unfragmented text messages per connection.
+ */
+final class WebSocketEchoServer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebSocketEchoServer.class);
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    private final boolean perMessageDeflateAccepted;
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor;
+    private final AtomicLong receivedBytes = new AtomicLong();
+    private final AtomicInteger reads = new AtomicInteger();
+    private final AtomicInteger receivedDataFrames = new AtomicInteger();
+    private final AtomicInteger receivedMessages = new AtomicInteger();
+    private final AtomicInteger receivedPings = new AtomicInteger();
+    private final List<Socket> connections = new CopyOnWriteArrayList<>();
+    private final List<Queue<String>> receivedTextMessages = new CopyOnWriteArrayList<>();
+    private volatile boolean perMessageDeflateNegotiated;
+
+    private WebSocketEchoServer(final boolean perMessageDeflateAccepted) throws IOException {
+        this.perMessageDeflateAccepted = perMessageDeflateAccepted;
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor = Executors.newCachedThreadPool();
+        executor.execute(this::acceptConnections);
+    }
+
+    static WebSocketEchoServer start(final boolean perMessageDeflateAccepted) throws IOException {
+        return new WebSocketEchoServer(perMessageDeflateAccepted);
+    }
+
+    String getEndpoint() {
+        return "ws://127.0.0.1:" + serverSocket.getLocalPort();
+    }
+
+    long getReceivedBytes() {
+        return receivedBytes.get();
+    }
+
+    int getReads() {
+        return reads.get();
+    }
+
+    int getReceivedDataFrames() {
+        return receivedDataFrames.get();
+    }
+
+    int getReceivedMessages() {
+        return receivedMessages.get();
+    }
+
+    int getReceivedPings() {
+        return receivedPings.get();
+    }
+
+    boolean isPerMessageDeflateNegotiated() {
+        return perMessageDeflateNegotiated;
+    }
+
+    /**
+     * @return the text messages received so far per connection in the order the connections were accepted.
+     */
+    List<List<String>> getReceivedTextMessagesByConnection() {
+        final List<List<String>> result = new ArrayList<>();
+        receivedTextMessages.forEach(messages -> result.add(new ArrayList<>(messages)));
+        return result;
+    }
+
+    /**
+     * Drops a connection without closing handshake.
+     *
+     * @param index the index of the connection in the order the connections were accepted.
+     * @throws IOException if closing the socket fails.
+     */
+    void dropConnection(final int index) throws IOException {
+        connections.get(index).close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        serverSocket.close();
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                final Socket socket = serverSocket.accept();
+                final Queue<String> textMessages = new ConcurrentLinkedQueue<>();
+                connections.add(socket);
+                receivedTextMessages.add(textMessages);
+                executor.execute(() -> echo(socket, textMessages));
+            } catch (final IOException e) {
+                // server closed
+            }
+        }
+    }
+
+    private void echo(final Socket socket, final Queue<String> textMessages) {
+        try (final Socket s = socket) {
+            s.setTcpNoDelay(true);
+            final InputStream rawIn = s.getInputStream();
+            final OutputStream out = new BufferedOutputStream(s.getOutputStream());
+            handshake(rawIn, out);
+            final DataInputStream in =
+                    new DataInputStream(new BufferedInputStream(new CountingInputStream(rawIn), 1 << 16));
+            while (true) {
+                final int b0 = in.readUnsignedByte();
+                final int b1 = in.readUnsignedByte();
+                final int opcode = b0 & 0x0F;
+                long length = b1 & 0x7F;
+                if (length == 126) {
+                    length = in.readUnsignedShort();
+                } else if (length == 127) {
+                    length = in.readLong();
+                }
+                final byte[] mask = new byte[4];
+                if ((b1 & 0x80) != 0) {
+                    in.readFully(mask);
+                }
+                final byte[] payload = new byte[(int) length];
+                in.readFully(payload);
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] ^= mask[i % 4];
+                }
+                if (opcode == 0x8) {
+                    writeFrame(out, 0x88, payload);
+                    return;
+                } else if (opcode == 0x9) {
+                    receivedPings.incrementAndGet();
+                    writeFrame(out, 0x8A, payload);
+                } else if (opcode <= 0x2) {
+                    receivedDataFrames.incrementAndGet();
+                    if ((b0 & 0x80) != 0) {
+                        receivedMessages.incrementAndGet();
+                        if (b0 == 0x81) {
+                            textMessages.add(new String(payload, StandardCharsets.UTF_8));
+                        }
+                    }
+                    writeFrame(out, b0, payload);
+                }
+            }
+        } catch (final EOFException e) {
+            // client disconnected
+        } catch (final SocketException e) {
+            // connection dropped
+        } catch (final Exception e) {
+            if (!serverSocket.isClosed()) {
+                LOGGER.warn("Echoing the connection failed.", e);
+            }
+        }
+    }
+
+    private void handshake(final InputStream in, final OutputStream out) throws Exception {
+        String key = null;
+        boolean deflateOffered = false;
+        for (String line = readLine(in); !line.isEmpty(); line = readLine(in)) {
+            final int colon = line.indexOf(':');
+            if (colon > 0) {
+                final String name = line.substring(0, colon).trim();
+                final String value = line.substring(colon + 1).trim();
+                if ("Sec-WebSocket-Key".equalsIgnoreCase(name)) {
+                    key = value;
+                } else if ("Sec-WebSocket-Extensions".equalsIgnoreCase(name) && value.contains(PERMESSAGE_DEFLATE)) {
+                    deflateOffered = true;
+                }
+            }
+        }
+        final byte[] digest = MessageDigest.getInstance("SHA-1")
+                .digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.US_ASCII));
+        perMessageDeflateNegotiated = deflateOffered && perMessageDeflateAccepted;
+        final String response = "HTTP/1.1 101 Switching Protocols\r\n" +
+                "Upgrade: websocket\r\n" +
+                "Connection: Upgrade\r\n" +
+                "Sec-WebSocket-Accept: " + Base64.getEncoder().encodeToString(digest) + "\r\n" +
+                (perMessageDeflateNegotiated ? "Sec-WebSocket-Extensions: " + PERMESSAGE_DEFLATE + "\r\n" : "") +
+                "\r\n";
+        out.write(response.getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private static String readLine(final InputStream in) throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        for (int b = in.read(); b != '\n'; b = in.read()) {
+            if (b < 0) {
+                throw new EOFException();
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        return new String(line.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    private static void writeFrame(final OutputStream out, final int b0, final byte[] payload)
+            throws IOException {
+        out.write(b0);
+        if (payload.length < 126) {
+            out.write(payload.length);
+        } else if (payload.length <= 0xFFFF) {
+            out.write(126);
+            out.write(payload.length >>> 8);
+            out.write(payload.length);
+        } else {
+            out.write(127);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) ((long) payload.length >>> shift));
+            }
+        }
+        out.write(payload);
+        out.flush();
+    }
+
+    private final class CountingInputStream extends FilterInputStream {
+
+        private CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                reads.incrementAndGet();
+                receivedBytes.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read > 0) {
+                reads.incrementAndGet();
+                receivedBytes.addAndGet(read);
+            }
+            return read;
+        }
+
+    }
+
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.messaging.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.awaitility.Awaitility;
+import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
+import org.eclipse.ditto.client.configuration.BasicAuthenticationConfiguration;
+import org.eclipse.ditto.client.configuration.WebSocketFrameConfiguration;
+import org.eclipse.ditto.client.configuration.WebSocketMessagingConfiguration;
+import org.eclipse.ditto.client.internal.bus.Classification;
+import org.eclipse.ditto.client.messaging.AuthenticationProviders;
+import org.eclipse.ditto.protocol.Adaptable;
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests the frame settings of {@link WebSocketMessagingProvider} against a local {@link WebSocketEchoServer} and
+ * reports their effect on throughput and bytes on the wire.
+ */
+public final class WebSocketFrameSettingsTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebSocketFrameSettingsTest.class);
+    private static final int MESSAGES = 200;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ScheduledExecutorService scheduledExecutor = Executors.newScheduledThreadPool(1);
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    @After
+    public void closeResources() throws Exception {
+        for (final AutoCloseable resource : resources) {
+            resource.close();
+        }
+        executor.shutdownNow();
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Test(timeout = 20_000)
+    public void perMessageDeflateReducesBytesOnTheWire() throws Exception {
+        final WebSocketEchoServer plainServer = startServer(true);
+        final WebSocketEchoServer deflateServer = startServer(true);
+
+        final long plainNanos = echoMessages(connect(plainServer, WebSocketFrameConfiguration.defaultConfiguration()));
+        final long deflateNanos = echoMessages(connect(deflateServer, WebSocketFrameConfiguration.newBuilder()
+                .perMessageDeflateEnabled(true)
+                .build()));
+
+        report("plain", plainServer, plainNanos);
+        report("permessage-deflate", deflateServer, deflateNanos);
+        assertThat(plainServer.isPerMessageDeflateNegotiated()).isFalse();
+        assertThat(deflateServer.isPerMessageDeflateNegotiated()).isTrue();
+        assertThat(deflateServer.getReceivedMessages()).isEqualTo(MESSAGES);
+        assertThat(deflateServer.getReceivedBytes()).isLessThan(plainServer.getReceivedBytes() / 2);
+    }
+
+    @Test(timeout = 20_000)
+    public void perMessageDeflateIsNotUsedIfServerDeclines() throws Exception {
+        final WebSocketEchoServer server = startServer(false);
+
+        echoMessages(connect(server, WebSocketFrameConfiguration.newBuilder().perMessageDeflateEnabled(true).build()));
+
+        assertThat(server.isPerMessageDeflateNegotiated()).isFalse();
+        assertThat(server.getReceivedMessages()).isEqualTo(MESSAGES);
+    }
+
+    @Test(timeout = 20_000)
+    public void writeCoalescingWritesQueuedFramesAtOnce() throws Exception {
+        final WebSocketEchoServer immediateServer = startServer(false);
+        final WebSocketEchoServer coalescingServer = startServer(false);
+
+        final long immediateNanos =
+                echoMessages(connect(immediateServer, WebSocketFrameConfiguration.defaultConfiguration()));
+        final WebSocketMessagingProvider coalescing = connect(coalescingServer, WebSocketFrameConfiguration.newBuilder()
+                .writeCoalescingInterval(Duration.ofMillis(50L))
+                .build());
+        // the periodic flush runs on the only thread of the scheduled executor: block it until all frames are queued,
+        // so that they are written at once however fast the messages are emitted
+        final CountDownLatch flushBlocked = new CountDownLatch(1);
+        final CountDownLatch framesQueued = new CountDownLatch(1);
+        scheduledExecutor.execute(() -> {
+            flushBlocked.countDown();
+            try {
+                framesQueued.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        flushBlocked.await();
+        final long coalescingNanos = echoMessages(coalescing, framesQueued::countDown);
+
+        report("immediate writes", immediateServer, immediateNanos);
+        report("coalesced writes", coalescingServer, coalescingNanos);
+        assertThat(coalescingServer.getReceivedMessages()).isEqualTo(MESSAGES);
+        assertThat(coalescingServer.getReads()).isLessThan(MESSAGES / 4);
+    }
+
+    @Test(timeout = 20_000)
+    public void fragmentsMessagesAboveMaxPayloadSize() throws Exception {
+        final WebSocketEchoServer server = startServer(false);
+        final WebSocketMessagingProvider underTest = connect(server, WebSocketFrameConfiguration.newBuilder()
+                .maxPayloadSize(1024)
+                .build());
+
+        final CompletableFuture<Adaptable> echo = expectEcho(underTest, "large");
+        underTest.emit(message("large", 4000));
+
+        assertThat(echo.get(5L, TimeUnit.SECONDS).getPayload().getValue()).isPresent();
+        assertThat(server.getReceivedMessages()).isEqualTo(1);
+        assertThat(server.getReceivedDataFrames()).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test(timeout = 20_000)
+    public void sendsPingsInConfiguredInterval() throws Exception {
+        final WebSocketEchoServer server = startServer(false);
+        connect(server, WebSocketFrameConfiguration.newBuilder().pingInterval(Duration.ofMillis(100L)).build());
+
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(5L))
+                .untilAsserted(() -> assertThat(server.getReceivedPings()).isGreaterThanOrEqualTo(3));
+    }
+
+    private WebSocketEchoServer startServer(final boolean perMessageDeflateAccepted) throws Exception {
+        final WebSocketEchoServer server = WebSocketEchoServer.start(perMessageDeflateAccepted);
+        resources.add(server);
+        return server;
+    }
+
+    private WebSocketMessagingProvider connect(final WebSocketEchoServer server,
+            final WebSocketFrameConfiguration frameConfiguration) throws Exception {
+        final WebSocketMessagingProvider provider = WebSocketMessagingProvider.newInstance(
+                WebSocketMessagingConfiguration.newBuilder()
+                        .jsonSchemaVersion(JsonSchemaVersion.V_2)
+                        .endpoint(server.getEndpoint())
+                        .reconnectEnabled(false)
+                        .webSocketFrameConfiguration(frameConfiguration)
+                        .build(),
+                AuthenticationProviders.basic(BasicAuthenticationConfiguration.newBuilder()
+                        .username("dummy")
+                        .password("auth")
+                        .build()),
+                executor, scheduledExecutor);
+        resources.add(0, provider::close);
+        provider.initializeAsync().toCompletableFuture().get(5L, TimeUnit.SECONDS);
+        return provider;
+    }
+
+    private static long echoMessages(final WebSocketMessagingProvider provider) throws Exception {
+        return echoMessages(provider, () -> {});
+    }
+
+    private static long echoMessages(final WebSocketMessagingProvider provider, final Runnable afterEmitting)
+            throws Exception {
+        final List<CompletableFuture<Adaptable>> echoes = new ArrayList<>(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            echoes.add(expectEcho(provider, "cid-" + i));
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            provider.emit(message("cid-" + i, 512));
+        }
+        afterEmitting.run();
+        CompletableFuture.allOf(echoes.toArray(new CompletableFuture[0])).get(10L, TimeUnit.SECONDS);
+        return System.nanoTime() - start;
+    }
+
+    private static CompletableFuture<Adaptable> expectEcho(final WebSocketMessagingProvider provider,
+            final String correlationId) {
+        return provider.getAdaptableBus()
+                .subscribeOnceForAdaptable(Classification.forCorrelationId(correlationId), Duration.ofSeconds(10L))
+                .toCompletableFuture();
+    }
+
+    private static String message(final String correlationId, final int valueLength) {
+        final StringBuilder value = new StringBuilder(valueLength);
+        while (value.length() < valueLength) {
+            value.append("temperature=21.5;");
+        }
+        value.setLength(valueLength);
+        return "{\"topic\":\"org.eclipse.ditto/thing/things/twin/commands/modify\"," +
+                "\"headers\":{\"correlation-id\":\"" + correlationId + "\"}," +
+                "\"path\":\"/attributes/log\",\"value\":\"" + value + "\"}";
+    }
+
+    private static void report(final String mode, final WebSocketEchoServer server, final long nanos) {
+        LOGGER.info("{}: {} messages echoed in {} ms ({} messages/s), {} bytes in {} frames and {} reads on the wire",
+                mode, MESSAGES, TimeUnit.NANOSECONDS.toMillis(nanos), MESSAGES * 1_000_000_000L / Math.max(1L, nanos),
+                server.getReceivedBytes(), server.getReceivedDataFrames(), server.getReads());
+    }
+
+}
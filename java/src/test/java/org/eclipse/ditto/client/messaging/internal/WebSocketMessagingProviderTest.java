@@ -19,9 +19,11 @@ import java.io.PrintWriter;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.UnknownHostException;
+import java.time.Duration;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -34,10 +36,13 @@ import java.util.function.Consumer;
 import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
 import org.eclipse.ditto.client.configuration.BasicAuthenticationConfiguration;
 import org.eclipse.ditto.client.configuration.MessagingConfiguration;
+import org.eclipse.ditto.client.configuration.OutgoingBufferConfiguration;
 import org.eclipse.ditto.client.configuration.WebSocketMessagingConfiguration;
+import org.eclipse.ditto.client.internal.bus.Classification;
 import org.eclipse.ditto.client.messaging.AuthenticationProvider;
 import org.eclipse.ditto.client.messaging.AuthenticationProviders;
 import org.eclipse.ditto.client.messaging.MessagingException;
+import org.eclipse.ditto.protocol.Adaptable;
 import org.junit.AfterClass;
 import org.junit.Test;
 
@@ -121,6 +126,39 @@ public final class WebSocketMessagingProviderTest {
                 .withCauseInstanceOf(MessagingException.class);
     }
 
+    @Test
+    public void messagesAreBufferedWhileNotConnected() throws Exception {
+        final MessagingConfiguration config = WebSocketMessagingConfiguration.newBuilder()
+                .jsonSchemaVersion(JsonSchemaVersion.V_2)
+                .endpoint("ws://127.0.0.1:1")
+                .timeout(Duration.ofMillis(100L))
+                .outgoingBufferConfiguration(OutgoingBufferConfiguration.newBuilder()
+                        .maxMessages(1)
+                        .overflowStrategy(OutgoingBufferConfiguration.OverflowStrategy.FAIL_FAST)
+                        .build())
+                .build();
+        final ExecutorService e = Executors.newSingleThreadExecutor();
+        final ScheduledExecutorService se = Executors.newScheduledThreadPool(1);
+        final WebSocketMessagingProvider underTest =
+                WebSocketMessagingProvider.newInstance(config, dummyAuth(), e, se);
+        try {
+            // WHEN: a request is sent while the websocket is not connected
+            final CompletionStage<Adaptable> response = underTest.getAdaptableBus()
+                    .subscribeOnceForAdaptable(Classification.forCorrelationId("cid"), config.getTimeout());
+            underTest.emit("{\"topic\":\"org.eclipse.ditto/thing/things/twin/commands/retrieve\"}");
+
+            // THEN: the request is buffered and its response does not time out while disconnected
+            TimeUnit.MILLISECONDS.sleep(500L);
+            assertThat(response.toCompletableFuture()).isNotDone();
+
+            // THEN: further messages are rejected once the buffer is full
+            assertThatExceptionOfType(MessagingException.class)
+                    .isThrownBy(() -> underTest.emit("{}"));
+        } finally {
+            underTest.close();
+        }
+    }
+
     private MessagingConfiguration configOf(final String uri, final Consumer<Throwable> errorHandler,
             final boolean reconnect) {
         return WebSocketMessagingConfiguration.newBuilder()
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StripedClientMetrics}.
+ */
+public final class StripedClientMetricsTest {
+
+    @Test
+    public void countsFramesAndBytes() {
+        final StripedClientMetrics underTest = StripedClientMetrics.newInstance();
+
+        underTest.onFrameSent(10);
+        underTest.onFrameSent(5);
+        underTest.onFrameReceived(7);
+        underTest.onParseFailure();
+        underTest.onReconnectAttempt();
+        underTest.onOneTimeSubscriptionTimeout("CorrelationId");
+        underTest.onOneTimeSubscriptionTimeout("CorrelationId");
+
+        assertThat(underTest.getFramesSent()).isEqualTo(2L);
+        assertThat(underTest.getBytesSent()).isEqualTo(15L);
+        assertThat(underTest.getFramesReceived()).isEqualTo(1L);
+        assertThat(underTest.getBytesReceived()).isEqualTo(7L);
+        assertThat(underTest.getParseFailures()).isEqualTo(1L);
+        assertThat(underTest.getReconnectAttempts()).isEqualTo(1L);
+        assertThat(underTest.getOneTimeSubscriptionTimeouts()).containsEntry("CorrelationId", 2L);
+    }
+
+    @Test
+    public void gaugesAreReadWhenRequested() {
+        final StripedClientMetrics underTest = StripedClientMetrics.newInstance();
+        final AtomicLong subscribers = new AtomicLong(1L);
+        underTest.bindSubscriberCount("TWIN_EVENT", subscribers::get);
+        underTest.bindExecutorQueueLength("callback", () -> 3L);
+
+        subscribers.set(4L);
+
+        assertThat(underTest.getSubscriberCounts()).containsEntry("TWIN_EVENT", 4L);
+        assertThat(underTest.getExecutorQueueLengths()).containsEntry("callback", 3L);
+    }
+
+    @Test
+    public void percentilesAreBoundedByTwiceTheExactValue() {
+        final StripedClientMetrics underTest = StripedClientMetrics.newInstance();
+        for (long nanos = 1L; nanos <= 1000L; nanos++) {
+            underTest.onRoundTrip("things.commands:retrieveThing", nanos);
+        }
+
+        final StripedClientMetrics.LatencyHistogram histogram =
+                underTest.getRoundTrips().get("things.commands:retrieveThing");
+
+        assertThat(histogram.getCount()).isEqualTo(1000L);
+        assertThat(histogram.getTotalNanos()).isEqualTo(500500L);
+        assertThat(histogram.getMaxNanos()).isEqualTo(1000L);
+        assertThat(histogram.getPercentileNanos(0.5)).isBetween(500L, 1000L);
+        assertThat(histogram.getPercentileNanos(0.99)).isBetween(990L, 1000L);
+        assertThat(histogram.getPercentileNanos(1.0)).isEqualTo(1000L);
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> histogram.getPercentileNanos(1.5));
+    }
+
+}
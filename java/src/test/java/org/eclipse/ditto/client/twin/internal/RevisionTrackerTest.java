@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.twin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.signals.events.AttributeModified;
+import org.eclipse.ditto.things.model.signals.events.ThingDeleted;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RevisionTracker}.
+ */
+public final class RevisionTrackerTest {
+
+    private static final ThingId THING_ID = ThingId.of("org.eclipse.ditto:thing-1");
+    private static final ThingId OTHER_THING_ID = ThingId.of("org.eclipse.ditto:thing-2");
+
+    private final AtomicInteger pendingCallbacks = new AtomicInteger();
+
+    @Test
+    public void resyncsThingOnRevisionGap() {
+        final RevisionTracker underTest = newTracker(10);
+        underTest.observe(attributeModified(THING_ID, 5L));
+        underTest.observe(attributeModified(THING_ID, 6L));
+        underTest.observe(attributeModified(OTHER_THING_ID, 1L));
+        assertThat(pendingCallbacks).hasValue(0);
+
+        underTest.observe(attributeModified(THING_ID, 8L));
+
+        assertThat(pendingCallbacks).hasValue(1);
+        assertThat(underTest.startResync()).hasValueSatisfying(thingIds -> assertThat(thingIds).containsOnly(THING_ID));
+        assertThat(underTest.startResync()).isEmpty();
+        assertThat(underTest.completeResync(THING_ID, 8L)).hasValue(8L);
+        assertThat(underTest.finishResync(false)).isFalse();
+    }
+
+    @Test
+    public void resyncsAllTrackedThingsAfterReconnect() {
+        final RevisionTracker underTest = newTracker(10);
+        underTest.observe(attributeModified(THING_ID, 5L));
+        underTest.observe(attributeModified(OTHER_THING_ID, 1L));
+
+        underTest.onConnectionLost();
+        underTest.onConnectionRestored();
+
+        assertThat(pendingCallbacks).hasValue(1);
+        assertThat(underTest.startResync())
+                .hasValueSatisfying(thingIds -> assertThat(thingIds).containsOnly(THING_ID, OTHER_THING_ID));
+    }
+
+    @Test
+    public void resyncsAgainIfNewerEventWasConsumedMeanwhile() {
+        final RevisionTracker underTest = newTracker(10);
+        underTest.observe(attributeModified(THING_ID, 5L));
+        underTest.onConnectionRestored();
+        underTest.startResync();
+
+        underTest.observe(attributeModified(THING_ID, 7L));
+
+        assertThat(underTest.completeResync(THING_ID, 6L)).isEmpty();
+        assertThat(underTest.finishResync(false)).isTrue();
+        assertThat(underTest.startResync()).hasValueSatisfying(thingIds -> assertThat(thingIds).containsOnly(THING_ID));
+    }
+
+    @Test
+    public void reportsThingMissingFromResyncAsDeleted() {
+        final RevisionTracker underTest = newTracker(10);
+        underTest.observe(attributeModified(THING_ID, 5L));
+        underTest.onConnectionRestored();
+        underTest.startResync();
+
+        assertThat(underTest.completeResyncOfMissing(THING_ID)).contains(5L);
+        assertThat(underTest.finishResync(false)).isFalse();
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    public void keepsPendingThingsAfterFailedResync() {
+        final RevisionTracker underTest = newTracker(10);
+        underTest.observe(attributeModified(THING_ID, 5L));
+        underTest.onConnectionRestored();
+        underTest.startResync();
+
+        assertThat(underTest.finishResync(true)).isFalse();
+        assertThat(underTest.startResync()).hasValueSatisfying(thingIds -> assertThat(thingIds).containsOnly(THING_ID));
+    }
+
+    @Test
+    public void stopsTrackingDeletedAndLeastRecentlyChangedThings() {
+        final RevisionTracker underTest = newTracker(1);
+        underTest.observe(attributeModified(THING_ID, 5L));
+        underTest.observe(attributeModified(OTHER_THING_ID, 1L));
+        assertThat(underTest.size()).isEqualTo(1);
+
+        underTest.observe(ThingDeleted.of(OTHER_THING_ID, 2L, null, DittoHeaders.empty(), null));
+        underTest.onConnectionRestored();
+
+        assertThat(underTest.size()).isZero();
+        assertThat(underTest.startResync()).isEmpty();
+    }
+
+    @Test
+    public void reportsTrackedRevisionIfRetrievedOneIsUnknown() {
+        final RevisionTracker underTest = newTracker(10);
+        underTest.observe(attributeModified(THING_ID, 5L));
+        underTest.onConnectionRestored();
+        underTest.startResync();
+
+        assertThat(underTest.completeResync(THING_ID, null)).hasValue(5L);
+    }
+
+    @Test
+    public void ignoresGapsWhileConsumingRestrictedEvents() {
+        final RevisionTracker underTest = newTracker(10);
+        underTest.onConsumptionStarted(true);
+        underTest.observe(attributeModified(THING_ID, 5L));
+        underTest.observe(attributeModified(THING_ID, 8L));
+        assertThat(pendingCallbacks).hasValue(0);
+
+        underTest.onConnectionRestored();
+
+        assertThat(pendingCallbacks).hasValue(1);
+        assertThat(underTest.startResync()).hasValueSatisfying(thingIds -> assertThat(thingIds).containsOnly(THING_ID));
+        assertThat(underTest.completeResync(THING_ID, 8L)).hasValue(8L);
+    }
+
+    @Test
+    public void ignoresGapsIfGapDetectionIsDisabled() {
+        final RevisionTracker underTest = RevisionTracker.of(10, false, pendingCallbacks::incrementAndGet);
+        underTest.observe(attributeModified(THING_ID, 5L));
+        underTest.observe(attributeModified(THING_ID, 8L));
+
+        assertThat(pendingCallbacks).hasValue(0);
+        assertThat(underTest.startResync()).isEmpty();
+    }
+
+    private RevisionTracker newTracker(final int maximumTrackedThings) {
+        return RevisionTracker.of(maximumTrackedThings, true, pendingCallbacks::incrementAndGet);
+    }
+
+    private static AttributeModified attributeModified(final ThingId thingId, final long revision) {
+        return AttributeModified.of(thingId, JsonPointer.of("counter"), JsonValue.of(revision), revision, null,
+                DittoHeaders.empty(), null);
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.twin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.awaitility.Awaitility;
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.json.JsonArray;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.thingsearch.model.signals.events.SubscriptionHasNextPage;
+import org.junit.Assume;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Unit test for {@link SearchPagePrefetcher}.
+ */
+public final class SearchPagePrefetcherTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10L);
+
+    @Test(timeout = 20_000)
+    public void growsDemandWhileConsumerWaitsAndShrinksItWhilePagesPileUp() throws Exception {
+        final SearchPagePrefetcher<Integer> underTest = newPrefetcher(2, 4, 2);
+        final RecordingSubscription subscriptionA = new RecordingSubscription();
+        final RecordingSubscription subscriptionB = new RecordingSubscription();
+        final Subscriber<SubscriptionHasNextPage> partitionA = subscribe(underTest, subscriptionA);
+        final Subscriber<SubscriptionHasNextPage> partitionB = subscribe(underTest, subscriptionB);
+        final Iterator<Integer> items = underTest.asStream().iterator();
+        assertThat(subscriptionA.requests).containsExactly(2L);
+        assertThat(subscriptionB.requests).containsExactly(2L);
+
+        // the consumer waits for the first page: the demand doubles to 4 pages per subscription
+        final AtomicReference<Integer> firstItem = new AtomicReference<>();
+        final Thread consumer = new Thread(() -> firstItem.set(items.next()));
+        consumer.start();
+        Awaitility.await().atMost(TIMEOUT).until(() -> consumer.getState() == Thread.State.TIMED_WAITING);
+        partitionA.onNext(page(0));
+        consumer.join();
+        assertThat(firstItem).hasValue(0);
+        assertThat(subscriptionA.requests).containsExactly(2L, 3L);
+        assertThat(subscriptionB.requests).containsExactly(2L, 2L);
+
+        // more pages than requested ahead pile up: the demand shrinks back to 2 pages per subscription
+        partitionA.onNext(page(1));
+        partitionA.onNext(page(2));
+        partitionA.onNext(page(3));
+        for (int i = 0; i < 4; i++) {
+            partitionB.onNext(page(10 + i));
+        }
+        assertThat(items.next()).isEqualTo(1);
+        assertThat(items.next()).isEqualTo(2);
+        assertThat(subscriptionA.requests).containsExactly(2L, 3L);
+        assertThat(items.next()).isEqualTo(3);
+
+        // tops up to 2 pages ahead, where it would have requested 3 more to reach 4 pages without shrinking
+        assertThat(subscriptionA.requests).containsExactly(2L, 3L, 1L);
+        assertThat(subscriptionB.requests).containsExactly(2L, 2L);
+    }
+
+    @Test(timeout = 20_000)
+    public void splitsConsumeWholePagesFromBuffersOfTheirOwn() {
+        Assume.assumeTrue("splitting requires more than 1 processor",
+                Runtime.getRuntime().availableProcessors() > 1);
+        final SearchPagePrefetcher<Integer> underTest = newPrefetcher(2, 2, 1);
+        final Subscriber<SubscriptionHasNextPage> partition = subscribe(underTest, new RecordingSubscription());
+        final Spliterator<Integer> first = underTest.asStream().spliterator();
+        final Spliterator<Integer> second = first.trySplit();
+        assertThat(second).isNotNull();
+        partition.onNext(page(1, 2, 3));
+        partition.onNext(page(10, 11, 12));
+
+        final List<Integer> consumedByFirst = new ArrayList<>();
+        final List<Integer> consumedBySecond = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            assertThat(first.tryAdvance(consumedByFirst::add)).isTrue();
+            assertThat(second.tryAdvance(consumedBySecond::add)).isTrue();
+        }
+
+        assertThat(consumedByFirst).containsExactly(1, 2, 3);
+        assertThat(consumedBySecond).containsExactly(10, 11, 12);
+    }
+
+    private static SearchPagePrefetcher<Integer> newPrefetcher(final int initialDemand, final int maxDemand,
+            final int partitionCount) {
+        return SearchPagePrefetcher.of(SearchPagePrefetcherTest::items, Runnable::run, TIMEOUT, initialDemand,
+                maxDemand, 1, partitionCount);
+    }
+
+    private static Subscriber<SubscriptionHasNextPage> subscribe(final SearchPagePrefetcher<Integer> prefetcher,
+            final Subscription subscription) {
+        final Subscriber<SubscriptionHasNextPage> partition = prefetcher.newPartition();
+        partition.onSubscribe(subscription);
+        return partition;
+    }
+
+    private static SubscriptionHasNextPage page(final int... items) {
+        final JsonArray array = JsonArray.newBuilder()
+                .addAll(Arrays.stream(items).mapToObj(JsonValue::of).collect(Collectors.toList()))
+                .build();
+        return SubscriptionHasNextPage.of("subscription", array, DittoHeaders.empty());
+    }
+
+    private static List<Integer> items(final SubscriptionHasNextPage page) {
+        return page.getItems().stream().map(JsonValue::asInt).collect(Collectors.toList());
+    }
+
+    private static final class RecordingSubscription implements Subscription {
+
+        private final List<Long> requests = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void request(final long n) {
+            requests.add(n);
+        }
+
+        @Override
+        public void cancel() {
+            // nothing to cancel
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.twin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.client.configuration.ThingCacheConfiguration;
+import org.eclipse.ditto.client.metrics.ThingCacheStatistics;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.things.model.Thing;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.signals.events.AttributeModified;
+import org.eclipse.ditto.things.model.signals.events.ThingDeleted;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ThingCache}.
+ */
+public final class ThingCacheTest {
+
+    private static final ThingId THING_ID = ThingId.of("org.eclipse.ditto:thing-1");
+    private static final JsonPointer COUNTER = JsonPointer.of("counter");
+
+    @Test
+    public void servesRetrievedThingUpdatedByEvents() {
+        final ThingCache underTest = newConsumingCache(ThingCacheConfiguration.newBuilder().build());
+        load(underTest, THING_ID, 5L);
+
+        underTest.apply(AttributeModified.of(THING_ID, COUNTER, JsonValue.of(6), 6L, null, DittoHeaders.empty(), null));
+
+        assertThat(underTest.get(THING_ID).flatMap(Thing::getAttributes)
+                .flatMap(attributes -> attributes.getValue(COUNTER)))
+                .contains(JsonValue.of(6));
+        assertThat(underTest.getStatistics().getHitRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void dropsThingOnRevisionGap() {
+        final ThingCache underTest = newConsumingCache(ThingCacheConfiguration.newBuilder().build());
+        load(underTest, THING_ID, 5L);
+
+        underTest.apply(AttributeModified.of(THING_ID, COUNTER, JsonValue.of(7), 7L, null, DittoHeaders.empty(), null));
+
+        assertThat(underTest.get(THING_ID)).isEmpty();
+        final ThingCacheStatistics statistics = underTest.getStatistics();
+        assertThat(statistics.getStaleCount()).isEqualTo(1L);
+        assertThat(statistics.getCacheStatistics().getMissCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void doesNotCacheResponseOvertakenByEvent() {
+        final ThingCache underTest = newConsumingCache(ThingCacheConfiguration.newBuilder().build());
+        final Long token = underTest.startLoad(THING_ID);
+        underTest.apply(AttributeModified.of(THING_ID, COUNTER, JsonValue.of(6), 6L, null, DittoHeaders.empty(), null));
+        underTest.completeLoad(THING_ID, token, thing(THING_ID, 5L), etag(5L));
+
+        assertThat(underTest.get(THING_ID)).isEmpty();
+    }
+
+    @Test
+    public void dropsAllThingsWhenConnectionIsLost() {
+        final ThingCache underTest = newConsumingCache(ThingCacheConfiguration.newBuilder().build());
+        load(underTest, THING_ID, 5L);
+
+        underTest.onConnectionLost();
+        assertThat(underTest.startLoad(THING_ID)).isNull();
+        underTest.onConnectionRestored();
+
+        assertThat(underTest.get(THING_ID)).isEmpty();
+        assertThat(underTest.getStatistics().getInvalidationCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void doesNotServeThingsWhileConsumptionIsFiltered() {
+        final ThingCache underTest = ThingCache.of(ThingCacheConfiguration.newBuilder().build());
+        underTest.onConsumptionStarted(Collections.emptyList(), true);
+
+        assertThat(underTest.startLoad(THING_ID)).isNull();
+    }
+
+    @Test
+    public void removesDeletedThing() {
+        final ThingCache underTest = newConsumingCache(ThingCacheConfiguration.newBuilder().build());
+        load(underTest, THING_ID, 5L);
+
+        underTest.apply(ThingDeleted.of(THING_ID, 6L, null, DittoHeaders.empty(), null));
+
+        assertThat(underTest.get(THING_ID)).isEmpty();
+        assertThat(underTest.getStatistics().getStaleCount()).isZero();
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedThingBeyondMaximumWeight() {
+        final long weight = thing(THING_ID, 1L).toJsonString().length();
+        final ThingCache underTest = newConsumingCache(ThingCacheConfiguration.newBuilder()
+                .maximumWeight(2 * weight)
+                .build());
+        final ThingId second = ThingId.of("org.eclipse.ditto:thing-2");
+        final ThingId third = ThingId.of("org.eclipse.ditto:thing-3");
+        load(underTest, THING_ID, 1L);
+        load(underTest, second, 1L);
+        underTest.get(THING_ID);
+        load(underTest, third, 1L);
+
+        assertThat(underTest.get(THING_ID)).isPresent();
+        assertThat(underTest.get(second)).isEmpty();
+        assertThat(underTest.getStatistics().getCacheStatistics().getEvictionCount()).isEqualTo(1L);
+        assertThat(underTest.getStatistics().getWeight()).isEqualTo(2 * weight);
+    }
+
+    private static ThingCache newConsumingCache(final ThingCacheConfiguration configuration) {
+        final ThingCache cache = ThingCache.of(configuration);
+        cache.onConsumptionStarted(Collections.emptyList(), false);
+        return cache;
+    }
+
+    private static void load(final ThingCache cache, final ThingId thingId, final long revision) {
+        final Long token = cache.startLoad(thingId);
+        assertThat(token).isNotNull();
+        cache.completeLoad(thingId, token, thing(thingId, revision), etag(revision));
+    }
+
+    private static Thing thing(final ThingId thingId, final long counter) {
+        return Thing.newBuilder()
+                .setId(thingId)
+                .setAttribute(COUNTER, JsonValue.of(counter))
+                .build();
+    }
+
+    private static DittoHeaders etag(final long revision) {
+        return DittoHeaders.newBuilder()
+                .putHeader("etag", "\"rev:" + revision + "\"")
+                .build();
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.ditto.client.twin.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.ditto.base.model.headers.DittoHeaders;
+import org.eclipse.ditto.base.model.json.JsonSchemaVersion;
+import org.eclipse.ditto.client.DittoClient;
+import org.eclipse.ditto.client.DittoClients;
+import org.eclipse.ditto.client.configuration.ResyncConfiguration;
+import org.eclipse.ditto.client.configuration.WebSocketMessagingConfiguration;
+import org.eclipse.ditto.client.configuration.WriteBehindConfiguration;
+import org.eclipse.ditto.client.messaging.internal.MockMessagingProvider;
+import org.eclipse.ditto.json.JsonPointer;
+import org.eclipse.ditto.json.JsonValue;
+import org.eclipse.ditto.protocol.adapter.DittoProtocolAdapter;
+import org.eclipse.ditto.protocol.adapter.ProtocolAdapter;
+import org.eclipse.ditto.things.model.ThingId;
+import org.eclipse.ditto.things.model.signals.events.AttributeModified;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for the write-behind and the resynchronization of {@link TwinImpl}.
+ */
+public final class TwinImplTest {
+
+    private static final ThingId THING_ID = ThingId.of("org.eclipse.ditto:thing-1");
+    private static final ThingId OTHER_THING_ID = ThingId.of("org.eclipse.ditto:thing-2");
+    private static final ProtocolAdapter PROTOCOL_ADAPTER = DittoProtocolAdapter.newInstance();
+
+    private MockMessagingProvider messaging;
+    @Nullable private DittoClient client;
+
+    @Before
+    public void connect() {
+        messaging = new MockMessagingProvider(WebSocketMessagingConfiguration.newBuilder()
+                .endpoint("ws://localhost:8080")
+                .jsonSchemaVersion(JsonSchemaVersion.V_2)
+                .writeBehindConfiguration(WriteBehindConfiguration.newBuilder()
+                        .window(Duration.ofHours(1L))
+                        .build())
+                .build());
+        client = DittoClients.newInstance(messaging)
+                .connect()
+                .toCompletableFuture()
+                .join();
+    }
+
+    @After
+    public void destroy() {
+        if (client != null) {
+            client.destroy();
+        }
+    }
+
+    @Test
+    public void sendsBufferedUpdatesOfThingBeforeModifyingItThroughTwin() {
+        client.twin().forId(THING_ID).putAttribute("counter", 1);
+        client.twin().forId(OTHER_THING_ID).putAttribute("counter", 1);
+
+        client.twin().delete(THING_ID);
+
+        assertThat(messaging.expectEmitted()).contains("org.eclipse.ditto/thing-1/things/twin/commands/merge");
+        assertThat(messaging.expectEmitted()).contains("org.eclipse.ditto/thing-1/things/twin/commands/delete");
+    }
+
+    @Test
+    public void sendsBufferedUpdatesWhenDestroyed() {
+        client.twin().forId(THING_ID).putAttribute("counter", 1);
+
+        client.destroy();
+        client = null;
+
+        assertThat(messaging.expectEmitted()).contains("org.eclipse.ditto/thing-1/things/twin/commands/merge");
+    }
+
+    @Test
+    public void doesNotResyncThingWhoseEventsAreDispatchedOutOfOrder() throws Exception {
+        client.destroy();
+        final ReorderingExecutor executor = new ReorderingExecutor();
+        messaging = new MockMessagingProvider(WebSocketMessagingConfiguration.newBuilder()
+                .endpoint("ws://localhost:8080")
+                .jsonSchemaVersion(JsonSchemaVersion.V_2)
+                .resyncConfiguration(ResyncConfiguration.newBuilder().build())
+                .build(), executor);
+        client = DittoClients.newInstance(messaging)
+                .connect()
+                .toCompletableFuture()
+                .join();
+        final BlockingQueue<Long> revisions = new LinkedBlockingQueue<>();
+        client.twin().registerForThingChanges("changes", change -> revisions.add(change.getRevision()));
+        client.twin().startConsumption();
+        receiveAttributeModified(1L);
+        assertThat(revisions.poll(10L, TimeUnit.SECONDS)).isEqualTo(1L);
+        messaging.clearEmitted();
+
+        // would be consumed as revisions 3 and 2 if each event was dispatched by a task of its own
+        executor.hold();
+        receiveAttributeModified(2L);
+        receiveAttributeModified(3L);
+        executor.releaseInReverseOrder();
+
+        assertThat(revisions.poll(10L, TimeUnit.SECONDS)).isEqualTo(2L);
+        assertThat(revisions.poll(10L, TimeUnit.SECONDS)).isEqualTo(3L);
+        messaging.expectNoEmitted();
+    }
+
+    private void receiveAttributeModified(final long revision) {
+        messaging.receiveAdaptable(PROTOCOL_ADAPTER.toAdaptable(AttributeModified.of(THING_ID,
+                JsonPointer.of("counter"), JsonValue.of(revision), revision, null, DittoHeaders.empty(), null)));
+    }
+
+    /**
+     * Runs tasks on a pool, or holds them back to run them in reverse order of submission on release.
+     */
+    private static final class ReorderingExecutor extends AbstractExecutorService {
+
+        private final ExecutorService delegate = Executors.newFixedThreadPool(2);
+        private final List<Runnable> held = new ArrayList<>();
+        private boolean holding;
+
+        private synchronized void hold() {
+            holding = true;
+        }
+
+        private void releaseInReverseOrder() {
+            final List<Runnable> tasks;
+            synchronized (this) {
+                holding = false;
+                tasks = new ArrayList<>(held);
+                held.clear();
+            }
+            Collections.reverse(tasks);
+            tasks.forEach(Runnable::run);
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            synchronized (this) {
+                if (holding) {
+                    held.add(command);
+                    return;
+                }
+            }
+            delegate.execute(command);
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+
+}